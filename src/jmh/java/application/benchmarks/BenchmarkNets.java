@@ -0,0 +1,113 @@
+package application.benchmarks;
+
+import application.logic.Arc;
+import application.logic.MarkingData;
+import application.logic.PetriNet;
+import application.logic.Place;
+import application.logic.Transition;
+import application.logic.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the nets measured by the benchmarks: a ring of {@code size} transitions, each consuming
+ * one token from each of its {@code density} input places and producing one in each place of the next
+ * stage. A start transition feeds the ring from the initial place and an end transition leads to the
+ * final place, so the net passes {@link PetriNet#validate()}; firing the ring transitions in order
+ * never completes the computation.
+ */
+final class BenchmarkNets {
+
+    private BenchmarkNets() {}
+
+    /**
+     * A ring net and the IDs needed to drive it.
+     */
+    static final class Ring {
+        final PetriNet net;
+        final String startTransitionId;
+        final List<String> ringTransitionIds;
+        final List<String> ringPlaceIds;
+
+        private Ring(PetriNet net, String startTransitionId, List<String> ringTransitionIds, List<String> ringPlaceIds) {
+            this.net = net;
+            this.startTransitionId = startTransitionId;
+            this.ringTransitionIds = ringTransitionIds;
+            this.ringPlaceIds = ringPlaceIds;
+        }
+
+        /**
+         * @return A marking with one token in every ring place, so every ring transition is enabled.
+         */
+        MarkingData saturatedMarking() {
+            MarkingData marking = new MarkingData();
+            for (String placeId : ringPlaceIds) {
+                marking.setTokens(placeId, 1);
+            }
+            return marking;
+        }
+    }
+
+    /**
+     * @param size    Number of ring transitions (at least 2).
+     * @param density Input and output places per ring transition (arcs per transition = 2 * density).
+     * @param adminId The creator of the net.
+     */
+    static Ring ring(int size, int density, String adminId) {
+        if (size < 2 || density < 1) throw new IllegalArgumentException("size >= 2 and density >= 1 required");
+
+        PetriNet net = new PetriNet("Ring " + size + "x" + density, adminId);
+        Place in = place(net, "in");
+        Place out = place(net, "out");
+        net.setInitial(in);
+        net.setFinal(out);
+
+        List<List<Place>> stages = new ArrayList<>();
+        List<String> ringPlaceIds = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            List<Place> stage = new ArrayList<>();
+            for (int d = 0; d < density; d++) {
+                Place place = place(net, "r" + i + "_" + d);
+                stage.add(place);
+                ringPlaceIds.add(place.getId());
+            }
+            stages.add(stage);
+        }
+
+        Transition start = transition(net, "start");
+        arc(net, in.getId(), start.getId());
+        stages.getFirst().forEach(p -> arc(net, start.getId(), p.getId()));
+
+        List<String> ringTransitionIds = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Transition t = transition(net, "t" + i);
+            stages.get(i).forEach(p -> arc(net, p.getId(), t.getId()));
+            stages.get((i + 1) % size).forEach(p -> arc(net, t.getId(), p.getId()));
+            ringTransitionIds.add(t.getId());
+        }
+
+        Transition end = transition(net, "end");
+        arc(net, stages.getFirst().getFirst().getId(), end.getId());
+        arc(net, end.getId(), out.getId());
+
+        net.validate();
+        return new Ring(net, start.getId(), ringTransitionIds, ringPlaceIds);
+    }
+
+    private static Place place(PetriNet net, String name) {
+        Place place = new Place(net.getId(), name);
+        net.addPlace(place);
+        return place;
+    }
+
+    private static Transition transition(PetriNet net, String name) {
+        Transition transition = new Transition(net.getId(), name, Type.USER);
+        net.addTransition(transition);
+        return transition;
+    }
+
+    private static void arc(PetriNet net, String sourceId, String targetId) {
+        net.addArc(new Arc(net.getId(), sourceId, targetId));
+    }
+}
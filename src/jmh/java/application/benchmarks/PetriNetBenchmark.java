@@ -0,0 +1,64 @@
+package application.benchmarks;
+
+import application.logic.MarkingData;
+import application.logic.PetriNet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The firing rule on its own: enabling check, firing and copying a marking,
+ * on a saturated marking (every ring place holds a token) so the marking grows with the net.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PetriNetBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int density;
+
+    private PetriNet net;
+    private MarkingData marking;
+    private String transitionId;
+
+    @Setup
+    public void setUp() {
+        BenchmarkNets.Ring ring = BenchmarkNets.ring(size, density, "ADMbenchmark");
+        net = ring.net;
+        marking = ring.saturatedMarking();
+        // A transition in the middle of the ring, so lookups are not favoured by position
+        transitionId = ring.ringTransitionIds.get(size / 2);
+    }
+
+    @Benchmark
+    public boolean isEnabled() {
+        return net.isEnabled(transitionId, marking);
+    }
+
+    @Benchmark
+    public MarkingData fire() {
+        return net.fire(transitionId, marking);
+    }
+
+    @Benchmark
+    public MarkingData copyMarking() {
+        return new MarkingData(marking);
+    }
+}
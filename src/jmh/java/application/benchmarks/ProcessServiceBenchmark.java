@@ -0,0 +1,137 @@
+package application.benchmarks;
+
+import application.logic.AuthorizationContext;
+import application.logic.Computation;
+import application.logic.ProcessService;
+import application.logic.Transition;
+import application.logic.User;
+import application.repositories.PersistenceService;
+import application.repositories.PetriNetRepository;
+import application.repositories.SnapshotWriter;
+import application.repositories.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The service operations behind the computation view, with the computation file writes discarded.
+ * Users, nets and net layouts live in a fresh store in a temporary directory, seeded with the default accounts
+ * and deleted after each trial, so the store in {@code data/} is never touched.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessServiceBenchmark {
+
+    // Restart the computation now and then, so its history does not grow without bounds
+    private static final int STEPS_PER_COMPUTATION = 10_000;
+
+    private static final SnapshotWriter DISCARD = (file, snapshot, durability) -> CompletableFuture.completedFuture(null);
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int density;
+
+    private Path dataDirectory;
+    private UserRepository userRepository;
+    private ProcessService service;
+    private BenchmarkNets.Ring ring;
+    private AuthorizationContext user;
+    private AuthorizationContext otherUser;
+    private Computation computation;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpService() throws IOException {
+        dataDirectory = Files.createTempDirectory("petrinet-benchmark");
+        userRepository = new UserRepository(dataDirectory.toFile());
+        PetriNetRepository petriNetRepository = new PetriNetRepository(dataDirectory.toFile());
+        User admin = userRepository.getUserByEmail("admin");
+        ring = BenchmarkNets.ring(size, density, admin.getId());
+        petriNetRepository.savePetriNet(ring.net);
+
+        service = new ProcessService(userRepository, petriNetRepository, new HashMap<>(), DISCARD,
+                dataDirectory.resolve("coords").toFile());
+        user = service.getAuthorizationContext(userRepository.getUserByEmail("utente").getId());
+        otherUser = service.getAuthorizationContext(userRepository.getUserByEmail("uu").getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStore() throws IOException {
+        // Pending writes would otherwise recreate files in the deleted directory;
+        // waiting on a user batch also waits for the journal to be trimmed after the snapshot
+        userRepository.saveUsers(List.of()).join();
+        PersistenceService.getInstance().flush();
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void startComputation() {
+        computation = service.startNewComputation(user.getUserId(), ring.net.getId());
+        service.fireTransition(user, computation.getId(), ring.startTransitionId);
+        next = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteComputation() {
+        service.deleteComputation(user, computation.getId());
+    }
+
+    /**
+     * Fires the ring transitions in order; each fire checks permissions, copies the marking and records a step.
+     */
+    @Benchmark
+    public void fireTransition() {
+        service.fireTransition(user, computation.getId(), ring.ringTransitionIds.get(next));
+        next = (next + 1) % size;
+        if (computation.getSteps().size() >= STEPS_PER_COMPUTATION) {
+            deleteComputation();
+            startComputation();
+        }
+    }
+
+    @Benchmark
+    public List<Transition> getAvailableTransitions() {
+        return service.getAvailableTransitions(user, computation.getId());
+    }
+
+    /**
+     * Starting a computation clones the net through JSON; the computation is deleted again
+     * so the next invocation can start one.
+     */
+    @Benchmark
+    public Computation startNewComputation() {
+        Computation started = service.startNewComputation(otherUser.getUserId(), ring.net.getId());
+        service.deleteComputation(otherUser, started.getId());
+        return started;
+    }
+}
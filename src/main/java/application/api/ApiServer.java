@@ -0,0 +1,312 @@
+package application.api;
+
+import application.logic.ComputationEvent;
+import application.logic.ComputationEventBus;
+import application.logic.ProcessService;
+import application.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional embedded HTTP server exposing {@link ComputationApi} to other local tools.
+ * It only listens on the loopback interface, and only answers requests addressed to
+ * {@code localhost} or {@code 127.0.0.1}, so web pages cannot reach it by rebinding a DNS name.
+ * Callers authenticate with {@code Authorization: Bearer <token>}: every launch issues new tokens
+ * (see {@link ApiTokens}) and writes them to a file only its owner can read, {@code data/api.tokens} by default.
+ * Each exchange runs on its own virtual thread,
+ * and every response carries a Content-Length, so clients can keep connections alive.
+ * Enabled in the desktop application with {@code -Dpetrinet.api.port=<port>},
+ * or headless with {@code Cli serve <port>}.
+ */
+public class ApiServer {
+
+    /** Where the tokens of the current launch are written by default. */
+    public static final File DEFAULT_TOKEN_FILE = new File("data/api.tokens");
+    /** System property with the port to listen on; the server is off when it is not set. */
+    public static final String PORT_PROPERTY = "petrinet.api.port";
+
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final int EVENT_HEARTBEAT_SECONDS = 15;
+    private static final String BEARER = "Bearer ";
+
+    static {
+        // Headers and body are written separately: without TCP_NODELAY, Nagle's algorithm and the
+        // client's delayed ACK add about 40 ms to every response on a kept-alive connection.
+        // Read once by the JDK server, so it must be set before the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ComputationApi api;
+    private final ApiTokens tokens;
+    private final File tokenFile;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private HttpServer server;
+    private ExecutorService executor;
+    // Event streams wait for events in their handler: they must be woken up to let the server stop
+    private final Set<ComputationEventBus.Subscription> eventStreams = ConcurrentHashMap.newKeySet();
+
+    public ApiServer(ProcessService processService, UserRepository userRepository) {
+        this(processService, userRepository, DEFAULT_TOKEN_FILE);
+    }
+
+    /**
+     * @param tokenFile Where to write the tokens of this launch when the server starts.
+     */
+    public ApiServer(ProcessService processService, UserRepository userRepository, File tokenFile) {
+        this.tokens = new ApiTokens(userRepository);
+        this.tokenFile = tokenFile;
+        this.api = new ComputationApi(processService, tokens);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Writes the token file, then starts listening on the loopback interface.
+     *
+     * @param port The port, or 0 for any free port (see {@link #getPort()}).
+     * @throws IOException if the token file cannot be written or the port cannot be bound.
+     * @throws IllegalStateException if the server is already running.
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) throw new IllegalStateException("API server already running");
+        tokens.writeFile(tokenFile);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.start();
+        System.out.println("API listening on http://localhost:" + getPort() + "/api/, tokens in " + tokenFile);
+    }
+
+    /**
+     * @return The port the server is bound to.
+     */
+    public synchronized int getPort() {
+        if (server == null) throw new IllegalStateException("API server not running");
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, giving requests in progress up to a second to finish,
+     * and deletes the token file: its tokens die with this launch anyway.
+     * Open event streams are ended right away.
+     */
+    public synchronized void stop() {
+        if (server == null) return;
+        closeEventStreams();
+        server.stop(1);
+        // Streams opened while the server was stopping
+        closeEventStreams();
+        executor.close();
+        server = null;
+        executor = null;
+        if (!tokenFile.delete() && tokenFile.exists()) {
+            System.err.println("Could not delete " + tokenFile);
+        }
+    }
+
+
+    private void closeEventStreams() {
+        for (ComputationEventBus.Subscription subscription : eventStreams) {
+            subscription.close();
+        }
+    }
+
+    /**
+     * Starts a server on the port named by {@value #PORT_PROPERTY}, if the property is set.
+     *
+     * @return The running server, or null if the API is disabled.
+     * @throws IOException if the port cannot be bound.
+     */
+    public static ApiServer startIfConfigured(ProcessService processService, UserRepository userRepository) throws IOException {
+        Integer port = Integer.getInteger(PORT_PROPERTY);
+        if (port == null) return null;
+        ApiServer server = new ApiServer(processService, userRepository);
+        server.start(port);
+        return server;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (!isLocalHost(exchange.getRequestHeaders().getFirst("Host"))) {
+            try (exchange) {
+                send(exchange, ComputationApi.error(403, "Host not allowed"));
+            }
+            return;
+        }
+        if (exchange.getRequestURI().getPath().equals("/api/events") && exchange.getRequestMethod().equals("GET")) {
+            streamEvents(exchange);
+            return;
+        }
+        try (exchange) {
+            ComputationApi.Response response;
+            try {
+                JsonNode body = readBody(exchange);
+                response = api.handle(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                        parseQuery(exchange.getRequestURI().getRawQuery()),
+                        bearerToken(exchange), body);
+            } catch (JsonProcessingException e) {
+                response = ComputationApi.error(400, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                response = ComputationApi.error(400, e.getMessage());
+            }
+            send(exchange, response);
+        }
+    }
+
+    /**
+     * Streams computation events as server-sent events until the client goes away.
+     * Each event carries its sequence number as the SSE id; a comment is sent when the stream is idle,
+     * so dead connections are noticed. When events were lost because the client fell behind,
+     * a {@code dropped} event carrying the total lost so far comes before the next events;
+     * a subscriber disconnected for falling behind receives a final {@code overflow} event.
+     */
+    private void streamEvents(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            ComputationEventBus.Subscription subscription;
+            try {
+                subscription = api.openEventStream(bearerToken(exchange),
+                        parseQuery(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException e) {
+                send(exchange, ComputationApi.error(400, e.getMessage()));
+                return;
+            }
+            if (subscription == null) {
+                send(exchange, ComputationApi.error(401, "Missing or invalid API token (Authorization: Bearer header)"));
+                return;
+            }
+
+            eventStreams.add(subscription);
+            try (subscription) {
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+                exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+                exchange.sendResponseHeaders(200, 0);
+                OutputStream out = exchange.getResponseBody();
+                out.write("retry: 2000\n\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+
+                List<ComputationEvent> batch = new ArrayList<>();
+                long reportedDrops = 0;
+                while (true) {
+                    ComputationEvent first = subscription.poll(EVENT_HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+                    if (first == null) {
+                        if (subscription.isClosed()) {
+                            if (subscription.isOverflowed()) {
+                                out.write("event: overflow\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8));
+                                out.flush();
+                            }
+                            return;
+                        }
+                        out.write(": idle\n\n".getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        // Whatever queued up meanwhile goes out in the same write
+                        batch.add(first);
+                        subscription.drainTo(batch, 255);
+                        StringBuilder frames = new StringBuilder();
+                        // Drops are the oldest events, so they are reported before the ones that survived
+                        long dropped = subscription.getDropped();
+                        if (dropped > reportedDrops) {
+                            frames.append("event: dropped\ndata: {\"dropped\":").append(dropped).append("}\n\n");
+                            reportedDrops = dropped;
+                        }
+                        for (ComputationEvent event : batch) {
+                            frames.append("id: ").append(event.getSequence())
+                                    .append("\nevent: ").append(event.getKind())
+                                    .append("\ndata: ").append(mapper.writeValueAsString(ComputationApi.event(event)))
+                                    .append("\n\n");
+                        }
+                        batch.clear();
+                        out.write(frames.toString().getBytes(StandardCharsets.UTF_8));
+                    }
+                    out.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // The client disconnected
+            } finally {
+                eventStreams.remove(subscription);
+            }
+        }
+    }
+
+    /**
+     * Accepts the names the server can be reached by on the loopback interface, with or without a port.
+     */
+    static boolean isLocalHost(String host) {
+        if (host == null) return false;
+        int colon = host.lastIndexOf(':');
+        if (colon >= 0) {
+            String port = host.substring(colon + 1);
+            if (port.isEmpty() || !port.chars().allMatch(Character::isDigit)) return false;
+            host = host.substring(0, colon);
+        }
+        return host.equalsIgnoreCase("localhost") || host.equals("127.0.0.1");
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) return null;
+        return authorization.substring(BEARER.length()).trim();
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) throw new IllegalArgumentException("Request body too large");
+            return bytes.length == 0 ? null : mapper.readTree(bytes);
+        }
+    }
+
+    private void send(HttpExchange exchange, ComputationApi.Response response) throws IOException {
+        if (response.getBody() == null) {
+            exchange.sendResponseHeaders(response.getStatus(), -1);
+            return;
+        }
+        byte[] bytes = mapper.writeValueAsBytes(response.getBody());
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.getStatus(), bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Decodes a raw query string ({@code a=1&b=x%20y}); later values win.
+     */
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+}
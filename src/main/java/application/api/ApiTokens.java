@@ -0,0 +1,123 @@
+package application.api;
+
+import application.logic.User;
+import application.repositories.UserRepository;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Bearer tokens of the local API. Each launch draws a new random secret, and the token of a user
+ * is their ID signed with it ({@code <userId>.<HMAC-SHA256>}), so tokens need no storage,
+ * cover users registered later, and stop working when the server restarts.
+ * The tokens of all users are handed out through a file only its owner can read.
+ */
+public class ApiTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final UserRepository userRepository;
+    private final SecretKeySpec key;
+
+    public ApiTokens(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    /**
+     * @param user The user the token acts for.
+     * @return The token of the user for this launch.
+     */
+    public String issue(User user) {
+        return user.getId() + "." + sign(user.getId());
+    }
+
+    /**
+     * Finds the user a token was issued for.
+     *
+     * @param token The token, or null.
+     * @return The user, or null if the token is missing, forged, from another launch, or of a deleted user.
+     */
+    public User resolve(String token) {
+        if (token == null) return null;
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0) return null;
+        String userId = token.substring(0, dot);
+        byte[] expected = sign(userId).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) return null;
+        return userRepository.getUserById(userId);
+    }
+
+    /**
+     * Writes one {@code email<TAB>token} line per user, replacing the file.
+     * Where the file system supports it, the file is created readable and writable by its owner only.
+     *
+     * @param file The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeFile(File file) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (User user : userRepository.getAllUsers()) {
+            lines.append(user.getEmail()).append('\t').append(issue(user)).append('\n');
+        }
+        Path path = file.toPath();
+        Files.deleteIfExists(path);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system: restrict what can be restricted
+            Files.createFile(path);
+            file.setReadable(false, false);
+            file.setReadable(true, true);
+            file.setWritable(false, false);
+            file.setWritable(true, true);
+        }
+        Files.writeString(path, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the token of one user from a file written by {@link #writeFile}.
+     *
+     * @param file  The token file.
+     * @param email The email of the user.
+     * @return The token, or null if the file has none for that email.
+     * @throws IOException if the file cannot be read.
+     */
+    public static String readToken(File file, String email) throws IOException {
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        for (String line : lines) {
+            int tab = line.indexOf('\t');
+            if (tab > 0 && line.substring(0, tab).equalsIgnoreCase(email)) {
+                return line.substring(tab + 1);
+            }
+        }
+        return null;
+    }
+
+    private String sign(String userId) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(userId.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package application.api;
+
+import application.exceptions.ActiveComputationExistsException;
+import application.exceptions.EntityNotFoundException;
+import application.exceptions.InvalidComputationStateException;
+import application.exceptions.TransitionNotEnabledException;
+import application.exceptions.UnauthorizedAccessException;
+import application.logic.AuthorizationContext;
+import application.logic.Computation;
+import application.logic.ComputationEvent;
+import application.logic.ComputationEventBus;
+import application.logic.ComputationStep;
+import application.logic.PetriNet;
+import application.logic.ProcessService;
+import application.logic.Transition;
+import application.logic.User;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JSON endpoints of the local API, independent of the HTTP transport so they can be
+ * called directly (and batched). Every request acts as the user its bearer token was issued for
+ * (see {@link ApiTokens}), with the same rules as the desktop application.
+ *
+ * <pre>
+ * GET    /api/nets                           nets the user may run
+ * GET    /api/computations?offset=&amp;limit=    the user's computations, newest first
+ * POST   /api/computations                   {"netId": ...} starts a computation
+ * GET    /api/computations/{id}              one computation
+ * GET    /api/computations/{id}/transitions  transitions the user may fire now
+ * POST   /api/computations/{id}/fire         {"transitionId": ...} fires a transition
+ * DELETE /api/computations/{id}              deletes a computation
+ * POST   /api/batch                          [{"method", "path", "body"}, ...] runs requests in order
+ * GET    /api/events?computationId=&amp;netId=&amp;buffer=&amp;overflow=drop|disconnect
+ *                                            server-sent events of the visible computations
+ * </pre>
+ */
+public class ComputationApi {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int DEFAULT_EVENT_BUFFER = 1024;
+    static final int MAX_EVENT_BUFFER = 65_536;
+
+    private final ProcessService processService;
+    private final ApiTokens tokens;
+
+    /**
+     * The outcome of one request: an HTTP status and a body that Jackson can serialize (or null).
+     */
+    public static class Response {
+        private final int status;
+        private final Object body;
+
+        Response(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public int getStatus() { return status; }
+
+        public Object getBody() { return body; }
+    }
+
+    public ComputationApi(ProcessService processService, ApiTokens tokens) {
+        this.processService = processService;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Handles one request, turning the service exceptions into HTTP statuses.
+     *
+     * @param method    The HTTP method.
+     * @param path      The request path, without the query.
+     * @param query     The query parameters.
+     * @param token     The bearer token of the caller, or null.
+     * @param body      The JSON body, or null.
+     * @return The response; never throws for a bad request.
+     */
+    public Response handle(String method, String path, Map<String, String> query, String token, JsonNode body) {
+        User user = tokens.resolve(token);
+        if (user == null) {
+            return error(401, "Missing or invalid API token (Authorization: Bearer header)");
+        }
+        return handle(method, path, query, user, body);
+    }
+
+    private Response handle(String method, String path, Map<String, String> query, User user, JsonNode body) {
+        try {
+            AuthorizationContext context = processService.getAuthorizationContext(user.getId());
+            return route(method, path, query, context, user, body);
+        } catch (EntityNotFoundException e) {
+            return error(404, e.getMessage());
+        } catch (UnauthorizedAccessException e) {
+            return error(403, e.getMessage());
+        } catch (ActiveComputationExistsException | InvalidComputationStateException | TransitionNotEnabledException e) {
+            return error(409, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(400, e.getMessage());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            return error(500, e.getMessage());
+        }
+    }
+
+    /**
+     * Subscribes a user to the events of the computations they may see: their own,
+     * and all those on the nets they administer. Optional query parameters narrow the stream
+     * to one computation or one net, and set the buffer size and the overflow policy.
+     *
+     * @param token The bearer token of the caller, or null.
+     * @param query The query parameters.
+     * @return The subscription, or null if the token is missing or invalid.
+     * @throws IllegalArgumentException if a parameter is invalid.
+     */
+    public ComputationEventBus.Subscription openEventStream(String token, Map<String, String> query) {
+        User user = tokens.resolve(token);
+        if (user == null) return null;
+
+        String userId = user.getId();
+        String computationId = query.get("computationId");
+        String netId = query.get("netId");
+        int buffer = Math.min(intParam(query, "buffer", DEFAULT_EVENT_BUFFER), MAX_EVENT_BUFFER);
+        if (buffer < 1) throw new IllegalArgumentException("buffer must be positive");
+        ComputationEventBus.OverflowPolicy policy = switch (query.getOrDefault("overflow", "drop")) {
+            case "drop" -> ComputationEventBus.OverflowPolicy.DROP_OLDEST;
+            case "disconnect" -> ComputationEventBus.OverflowPolicy.DISCONNECT;
+            default -> throw new IllegalArgumentException("overflow must be drop or disconnect");
+        };
+
+        return processService.getEventBus().subscribe(event ->
+                (computationId == null || computationId.equals(event.getComputationId()))
+                        && (netId == null || netId.equals(event.getPetriNetId()))
+                        // Resolved per event (from the cache), so nets created later are included
+                        && (event.getUserId().equals(userId)
+                            || processService.getAuthorizationContext(userId).isAdminOf(event.getPetriNetId())),
+                buffer, policy);
+    }
+
+    static Map<String, Object> event(ComputationEvent event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("sequence", event.getSequence());
+        json.put("kind", event.getKind());
+        json.put("computationId", event.getComputationId());
+        json.put("netId", event.getPetriNetId());
+        json.put("userId", event.getUserId());
+        json.put("transitionId", event.getTransitionId());
+        json.put("steps", event.getStepCount() - 1);
+        json.put("marking", event.getMarking() != null ? event.getMarking().getTokensPerPlace() : null);
+        json.put("time", event.getTime());
+        return json;
+    }
+
+    private Response route(String method, String path, Map<String, String> query,
+                           AuthorizationContext context, User user, JsonNode body) {
+        String[] parts = path.replaceAll("^/+|/+$", "").split("/");
+        if (parts.length < 2 || !parts[0].equals("api")) {
+            return error(404, "No such endpoint: " + path);
+        }
+
+        switch (parts[1]) {
+            case "nets" -> {
+                if (parts.length == 2 && method.equals("GET")) return ok(nets(context));
+            }
+            case "batch" -> {
+                if (parts.length == 2 && method.equals("POST")) return ok(batch(user, body));
+            }
+            case "computations" -> {
+                if (parts.length == 2 && method.equals("GET")) return ok(page(context, query));
+                if (parts.length == 2 && method.equals("POST")) {
+                    Computation started = processService.startNewComputation(context.getUserId(), requiredText(body, "netId"));
+                    return new Response(201, summary(started));
+                }
+                if (parts.length == 3 && method.equals("GET")) return ok(summary(readable(context, parts[2])));
+                if (parts.length == 3 && method.equals("DELETE")) {
+                    processService.deleteComputation(context, parts[2]);
+                    return new Response(204, null);
+                }
+                if (parts.length == 4 && parts[3].equals("transitions") && method.equals("GET")) {
+                    return ok(processService.getAvailableTransitions(context, parts[2]).stream()
+                            .map(ComputationApi::transition).toList());
+                }
+                if (parts.length == 4 && parts[3].equals("fire") && method.equals("POST")) {
+                    processService.fireTransition(context, parts[2], requiredText(body, "transitionId"));
+                    return ok(summary(processService.getComputationById(parts[2])));
+                }
+            }
+            default -> {
+                return error(404, "No such endpoint: " + path);
+            }
+        }
+        return error(405, method + " is not supported on " + path);
+    }
+
+    /**
+     * Runs the requests of a batch in order, as the same user, and collects their responses.
+     * A failing request does not stop the others.
+     */
+    private List<Map<String, Object>> batch(User user, JsonNode body) {
+        if (body == null || !body.isArray()) throw new IllegalArgumentException("A batch is a JSON array of requests");
+        if (body.size() > MAX_BATCH_SIZE) throw new IllegalArgumentException("A batch holds at most " + MAX_BATCH_SIZE + " requests");
+
+        List<Map<String, Object>> responses = new ArrayList<>(body.size());
+        for (JsonNode request : body) {
+            String method = optionalText(request, "method", "GET");
+            String target = optionalText(request, "path", "");
+            Response response;
+            if (target.startsWith("/api/batch")) {
+                response = error(400, "Batches cannot be nested");
+            } else {
+                int queryStart = target.indexOf('?');
+                String path = queryStart < 0 ? target : target.substring(0, queryStart);
+                Map<String, String> query = queryStart < 0 ? Map.of() : ApiServer.parseQuery(target.substring(queryStart + 1));
+                JsonNode requestBody = request.has("body") ? request.get("body") : null;
+                response = handle(method, path, query, user, requestBody);
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("status", response.getStatus());
+            entry.put("body", response.getBody());
+            responses.add(entry);
+        }
+        return responses;
+    }
+
+    private List<Map<String, Object>> nets(AuthorizationContext context) {
+        List<Map<String, Object>> nets = new ArrayList<>();
+        for (PetriNet net : processService.getAvailableNetsForUser(context.getUserId())) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("id", net.getId());
+            json.put("name", net.getName());
+            json.put("adminId", net.getAdminId());
+            nets.add(json);
+        }
+        return nets;
+    }
+
+    private Map<String, Object> page(AuthorizationContext context, Map<String, String> query) {
+        int offset = intParam(query, "offset", 0);
+        int limit = Math.min(intParam(query, "limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+        if (offset < 0 || limit < 0) throw new IllegalArgumentException("offset and limit cannot be negative");
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("total", processService.countComputationsForUser(context.getUserId()));
+        json.put("offset", offset);
+        json.put("computations", processService.getComputationsPageForUser(context.getUserId(), offset, limit)
+                .stream().map(ComputationApi::summary).toList());
+        return json;
+    }
+
+    /**
+     * @throws UnauthorizedAccessException if the user neither owns the computation nor administers its net.
+     */
+    private Computation readable(AuthorizationContext context, String computationId) {
+        Computation computation = processService.getComputationById(computationId);
+        if (computation == null) throw new EntityNotFoundException("Computation not found");
+        if (!computation.getUserId().equals(context.getUserId()) && !context.isAdminOf(computation.getPetriNetId())) {
+            throw new UnauthorizedAccessException("User is not owner or admin");
+        }
+        return computation;
+    }
+
+    // --- JSON views (only what a client needs, not the whole net snapshot) ---
+
+    static Map<String, Object> summary(Computation computation) {
+        ComputationStep last = computation.getLastStep();
+        PetriNet snapshot = computation.getPetriNetSnapshot();
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", computation.getId());
+        json.put("netId", computation.getPetriNetId());
+        json.put("netName", snapshot != null ? snapshot.getName() : null);
+        json.put("userId", computation.getUserId());
+        json.put("status", computation.getStatus());
+        json.put("steps", computation.getSteps().size() - 1);
+        json.put("startTime", computation.getStartTime());
+        json.put("endTime", computation.getEndTime());
+        json.put("lastTransitionId", last != null ? last.getTransitionId() : null);
+        json.put("marking", last != null ? last.getMarkingData().getTokensPerPlace() : Map.of());
+        return json;
+    }
+
+    private static Map<String, Object> transition(Transition transition) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", transition.getId());
+        json.put("name", transition.getName());
+        json.put("type", transition.getType());
+        return json;
+    }
+
+    private static Response ok(Object body) {
+        return new Response(200, body);
+    }
+
+    static Response error(int status, String message) {
+        return new Response(status, Map.of("error", message != null ? message : "Error " + status));
+    }
+
+    private static String requiredText(JsonNode body, String field) {
+        JsonNode value = body != null ? body.get(field) : null;
+        if (value == null || !value.isTextual() || value.asText().isEmpty()) {
+            throw new IllegalArgumentException("Missing \"" + field + "\"");
+        }
+        return value.asText();
+    }
+
+    private static String optionalText(JsonNode node, String field, String defaultValue) {
+        JsonNode value = node.path(field);
+        return value.isTextual() ? value.textValue() : defaultValue;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+}
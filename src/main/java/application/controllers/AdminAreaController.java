@@ -1,8 +1,12 @@
 package application.controllers;
 
 import application.logic.*;
+import application.metrics.LatencyHistogram;
+import application.metrics.Metrics;
+import application.repositories.PetriNetCoordinates;
 import application.repositories.PetriNetRepository;
 import application.repositories.UserRepository;
+import application.ui.utils.TaskRunner;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -20,7 +24,6 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import javafx.stage.Stage;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
@@ -42,6 +45,8 @@ import javax.swing.*;
  */
 public class AdminAreaController implements Initializable {
 
+    private static final LatencyHistogram REFRESH_LATENCY = Metrics.getInstance().histogram("view.admin.refresh");
+
     private SharedResources sharedResources;
     private ProcessService processService;
     private PetriNetRepository petriNetRepository;
@@ -233,7 +238,7 @@ public class AdminAreaController implements Initializable {
                     setText(null);
                     setGraphic(null);
                 } else {
-                    PetriNet net = petriNetRepository.getPetriNets().get(comp.getPetriNetId());
+                    PetriNet net = petriNetRepository.getPetriNet(comp.getPetriNetId());
                     User user = userRepository.getUserById(comp.getUserId());
 
                     if (net != null && user != null) {
@@ -293,20 +298,25 @@ public class AdminAreaController implements Initializable {
      * This method implements Use Cases 6.1.1 (view own nets) and 6.1.2 (view related computations).
      */
     private void refreshData() {
-        errorLabel.setText("");
+        long start = REFRESH_LATENCY.start();
+        try {
+            errorLabel.setText("");
 
-        // Populate "My Created Nets" (Use Case 6.1.1): Filters the global list to include only nets
-        //    where the AdminID matches the current user's ID.
-        List<PetriNet> myNets = petriNetRepository.getPetriNets().values().stream()
-                .filter(net -> net.getAdminId().equals(currentUser.getId()))
-                .collect(Collectors.toList());
+            // Populate "My Created Nets" (Use Case 6.1.1): Filters the global list to include only nets
+            //    where the AdminID matches the current user's ID.
+            List<PetriNet> myNets = petriNetRepository.getPetriNets().values().stream()
+                    .filter(net -> net.getAdminId().equals(currentUser.getId()))
+                    .collect(Collectors.toList());
 
-        myNetsListView.setItems(FXCollections.observableArrayList(myNets));
+            myNetsListView.setItems(FXCollections.observableArrayList(myNets));
 
-        // Populate "Computations on My Nets" (Use Case 6.1.2): Fetches all computation instances
-        //    that are associated with the nets found in step 1.
-        List<Computation> adminComputations = processService.getComputationsForAdmin(currentUser.getId());
-        computationsListView.setItems(FXCollections.observableArrayList(adminComputations));
+            // Populate "Computations on My Nets" (Use Case 6.1.2): Fetches all computation instances
+            //    that are associated with the nets found in step 1.
+            List<Computation> adminComputations = processService.getComputationsForAdmin(currentUser.getId());
+            computationsListView.setItems(FXCollections.observableArrayList(adminComputations));
+        } finally {
+            REFRESH_LATENCY.stop(start);
+        }
     }
 
 
@@ -339,40 +349,63 @@ public class AdminAreaController implements Initializable {
             return;
         }
 
+        // Deleting rewrites the nets file and every affected computation: done in the background
+        String adminId = currentUser.getId();
+        TaskRunner.run(rootStackPane, "Deleting " + selectedNet.getName() + "...",
+                progress -> deleteNet(selectedNet, adminId, progress),
+                deleted -> {
+                    if (!deleted) {
+                        showError("Cannot delete net: Active computations are still running");
+                    }
+                    refreshData();
+                },
+                error -> showError("Delete failed: " + error.getMessage()),
+                // Some computations may already be gone
+                this::refreshData);
+    }
+
+    /**
+     * Deletes a net, its layout and all its computations. Runs on a background thread.
+     * Cancelling is only honored before the net itself is deleted: the net is then kept,
+     * possibly with fewer computations, and never left half deleted.
+     *
+     * @param net      The net to delete
+     * @param adminId  The administrator deleting it
+     * @param progress Progress over the computations being deleted
+     * @return false if the net still has active computations (or the deletion was cancelled) and was not deleted
+     */
+    private boolean deleteNet(PetriNet net, String adminId, TaskRunner.Progress progress) {
         // Are there active computations on this net?
-        boolean hasActiveComputations=processService.getComputationsForAdmin(currentUser.getId()).stream().anyMatch(c->c.getPetriNetId().equals(selectedNet.getId()) && c.isActive());
+        List<Computation> compsToDelete = processService.getComputationsForAdmin(adminId).stream()
+                .filter(c -> c.getPetriNetId().equals(net.getId()))
+                .toList();
 
-        if(hasActiveComputations){
-            showError("Cannot delete net: Active computations are still running");
-            return;
+        if (compsToDelete.stream().anyMatch(Computation::isActive)) {
+            return false;
         }
 
-        String coordsPath = "data/coords/" + selectedNet.getId() + "_coords.json";
-        File coordsFile = new File(coordsPath);
-
-        if (coordsFile.exists()) {
-            if (!coordsFile.delete()) {
-                System.err.println("Warning: Could not delete coordinates file.");
+        // Deletes all associated computations, while the admin still owns the net
+        AuthorizationContext context = processService.getAuthorizationContext(adminId);
+        int done = 0;
+        for (Computation c : compsToDelete) {
+            if (progress.isCancelled()) return false;
+            try {
+                processService.deleteComputation(context, c.getId());
+            } catch (UnauthorizedAccessException | EntityNotFoundException | IllegalStateException e) {
+                System.err.println("Silently ignoring deletion error for nested dependency: " + e.getMessage());
             }
-
+            progress.update(++done, compsToDelete.size());
         }
 
-        // Delete Net
-        petriNetRepository.deletePetriNet(selectedNet.getId());
+        // Last chance to cancel: from here on the net is deleted whatever happens
+        if (progress.isCancelled()) return false;
 
-        // Deletes all associated computations
-        List<Computation> compsToDelete = processService.getComputationsForAdmin(currentUser.getId()).stream()
-                .filter(c -> c.getPetriNetId().equals(selectedNet.getId()))
-                .toList();
+        // Deleted on the persistence writer, so a pending layout save cannot recreate the file
+        PetriNetCoordinates.deleteFile("data/coords/" + net.getId() + "_coords.json");
 
-        for(Computation c:compsToDelete){
-            try{
-                processService.deleteComputation(c.getId(),currentUser.getId());
-            }catch(UnauthorizedAccessException | EntityNotFoundException | IllegalStateException e){
-                System.err.println("Silently ignoring deletion error for nested dependency: " + e.getMessage());
-            }
-        }
-        refreshData();
+        // Delete Net
+        petriNetRepository.deletePetriNet(net.getId());
+        return true;
     }
 
     /**
@@ -393,7 +426,7 @@ public class AdminAreaController implements Initializable {
 
 
         try{
-            processService.deleteComputation(selectedComputation.getId(),currentUser.getId());
+            processService.deleteComputation(processService.getAuthorizationContext(currentUser.getId()), selectedComputation.getId());
             refreshData();
             computationsListView.getSelectionModel().clearSelection();
         }catch(UnauthorizedAccessException | EntityNotFoundException | IllegalStateException e){
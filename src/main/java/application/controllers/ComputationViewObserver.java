@@ -1,15 +1,24 @@
 package application.controllers;
 
 import application.logic.Computation;
+import application.logic.ComputationChanges;
 import application.logic.ComputationObserver;
+import javafx.application.Platform;
+
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * Concrete Observer class responsible for linking the Computation Model state
  * to the visual update logic in the ViewPetriNetController.
+ * Notifications are coalesced: however many steps are added meanwhile, the view is
+ * refreshed at most once per frame, always on the JavaFX application thread.
  */
 public class ComputationViewObserver extends ComputationObserver {
 
+    // About one refresh per frame at 60 Hz; override with -Dpetrinet.view.refreshIntervalMs
+    private static final long REFRESH_INTERVAL_MS = Long.getLong("petrinet.view.refreshIntervalMs", 16);
+
     private final Computation subject;
     private final ViewPetriNetController view;
 
@@ -24,14 +33,48 @@ public class ComputationViewObserver extends ComputationObserver {
         this.subject.attach(this);
     }
 
+    /**
+     * Stops observing the computation, e.g. when the view shows another one.
+     */
+    public void detach() {
+        subject.detach(this);
+    }
+
     /**
      * Called by the
      * Subject (Computation) when its state changes.
+     * Transitions are fired on background threads (see TaskRunner), so the view
+     * is always refreshed on the JavaFX application thread.
      */
     @Override
     public void update(Computation updatedComputation) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> update(updatedComputation));
+            return;
+        }
+
         view.setCurrentComputation(updatedComputation);
 
         view.refreshState();
     }
-}
\ No newline at end of file
+
+    /**
+     * Called once per refresh interval with all the steps added meanwhile.
+     * The view only needs the latest marking, so the batch collapses into one refresh.
+     */
+    @Override
+    public void update(Computation updatedComputation, ComputationChanges changes) {
+        if (changes.isEmpty()) return;
+        update(updatedComputation);
+    }
+
+    @Override
+    public long getNotificationIntervalMillis() {
+        return REFRESH_INTERVAL_MS;
+    }
+
+    @Override
+    public Executor getNotificationExecutor() {
+        return Platform::runLater;
+    }
+}
@@ -1,12 +1,15 @@
 package application.controllers;
 
 import application.logic.*;
+import application.metrics.LatencyHistogram;
+import application.metrics.Metrics;
 import application.repositories.PetriNetRepository;
 import application.repositories.UserRepository;
 import application.exceptions.UnauthorizedAccessException;
 import application.exceptions.EntityNotFoundException;
 import application.exceptions.ActiveComputationExistsException;
 import application.exceptions.InvalidComputationStateException;
+import application.ui.utils.TaskRunner;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -36,6 +39,8 @@ import java.util.ResourceBundle;
  */
 public class ExploreNetsController implements Initializable {
 
+    private static final LatencyHistogram REFRESH_LATENCY = Metrics.getInstance().histogram("view.explore.refresh");
+
     // --- Services ---
     private SharedResources sharedResources;
     private ProcessService processService;
@@ -113,38 +118,19 @@ public class ExploreNetsController implements Initializable {
      * Implements Use Case 6.2.1.
      */
     private void refreshData() {
-        if (errorLabel != null) {
-            errorLabel.setVisible(false);
-            errorLabel.setText("");
-        }
-        // Get all nets *except* the user's own (Req 2.1)
-        List<PetriNet> availableNets = processService.getAvailableNetsForUser(currentUser.getId());
-
-        //ordinamento delle net visualizzate
-        availableNets.sort((net1, net2) ->{
-            String name1 = net1.getName();
-            String name2 = net2.getName();
-
-            // Se entrambi i nomi iniziano con "NP", proviamo a ordinare per numero
-            if (name1.startsWith("NP") && name2.startsWith("NP")) {
-                try {
-                    //Togliamo "NP" e prendiamo solo il numero intero
-                    int num1 = Integer.parseInt(name1.substring(2));
-                    int num2 = Integer.parseInt(name2.substring(2));
-                    return Integer.compare(num1, num2);
-                } catch (NumberFormatException e) {
-                    //Se per caso c'è "NP-Test", torniamo all'ordine alfabetico
-                    return name1.compareToIgnoreCase(name2);
-                }
+        long start = REFRESH_LATENCY.start();
+        try {
+            if (errorLabel != null) {
+                errorLabel.setVisible(false);
+                errorLabel.setText("");
             }
+            // Get all nets *except* the user's own (Req 2.1), already in natural name order
+            List<PetriNet> availableNets = processService.getAvailableNetsForUser(currentUser.getId());
 
-            // Per tutti gli altri casi (nomi diversi), ordine alfabetico standard
-            return name1.compareToIgnoreCase(name2);
-
-        });
-
-
-        availableNetsListView.setItems(FXCollections.observableArrayList(availableNets));
+            availableNetsListView.setItems(FXCollections.observableArrayList(availableNets));
+        } finally {
+            REFRESH_LATENCY.stop(start);
+        }
     }
 
     // --- FXML Event Handlers ---
@@ -169,21 +155,40 @@ public class ExploreNetsController implements Initializable {
             return;
         }
 
-        try {
-
-            Computation computation = processService.startNewComputation(currentUser.getId(), selectedNet.getId());
+        // Starting a computation copies the net and reads its layout from disk: done in the background
+        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+        TaskRunner.run(rootStackPane, "Starting computation...",
+                progress -> processService.startNewComputation(currentUser.getId(), selectedNet.getId()),
+                computation -> openComputation(stage, computation),
+                error -> {
+                    if (error instanceof UnauthorizedAccessException || error instanceof EntityNotFoundException
+                            || error instanceof ActiveComputationExistsException
+                            || error instanceof InvalidComputationStateException
+                            || error instanceof IllegalStateException) {
+                        showError("Start Error: " + error.getMessage());
+                    } else {
+                        showError("Unexpected error: " + error.getMessage());
+                    }
+                });
+    }
 
+    /**
+     * Shows a newly started computation in the execution view.
+     *
+     * @param stage       The window to show it in
+     * @param computation The computation
+     */
+    private void openComputation(Stage stage, Computation computation) {
+        try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ViewPetriNet.fxml"));
             Parent root = loader.load();
 
             ViewPetriNetController controller = loader.getController();
             controller.loadComputation(this.currentUser, computation);
 
-            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
             stage.getScene().setRoot(root);
-
-        } catch (UnauthorizedAccessException | EntityNotFoundException | ActiveComputationExistsException | InvalidComputationStateException | IllegalStateException e) {
-            showError("Start Error: " + e.getMessage());
+        } catch (IOException e) {
+            showError("Unable to open the computation: " + e.getMessage());
         }
     }
 
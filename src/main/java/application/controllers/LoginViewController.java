@@ -1,8 +1,10 @@
 package application.controllers;
 
+import application.exceptions.RateLimitExceededException;
+import application.logic.AuthenticationService;
 import application.logic.SharedResources;
 import application.logic.User;
-import application.repositories.UserRepository;
+import application.ui.utils.TaskRunner;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -25,7 +27,7 @@ import java.util.ResourceBundle;
 public class LoginViewController implements Initializable {
 
     private SharedResources sharedResources;
-    private UserRepository userRepository;
+    private AuthenticationService authenticationService;
 
     // FXML Components
     @FXML private TextField emailTextField;
@@ -59,8 +61,8 @@ public class LoginViewController implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
+        // The user store may still be loading: it is resolved on the first login attempt
         this.sharedResources = SharedResources.getInstance();
-        this.userRepository = sharedResources.getUserRepository();
 
         UIHelper.setupCenterCropBackground(rootStackPane, backgroundImage);
 
@@ -111,12 +113,12 @@ public class LoginViewController implements Initializable {
 
     /**
      * Handles the 'Login' button click event.
-     * Validates credentials and navigates to the main view if success.
+     * Validates credentials in the background and navigates to the main view if success.
+     * Unknown emails and wrong passwords get the same answer, in the same time.
      * @param event The button click event.
-     * @throws Exception If navigation to the main view fails.
      */
     @FXML
-    private void handleLogin(ActionEvent event) throws Exception {
+    private void handleLogin(ActionEvent event) {
         String email = emailTextField.getText();
         String password = passwordFieldHidden.getText();
 
@@ -125,21 +127,35 @@ public class LoginViewController implements Initializable {
             return;
         }
 
-        if (userRepository.isEmailAvailable(email)) {
-            showError("This email address is not registered");
-            return;
-        }
-
-        if (userRepository.checkCorrectCredentials(email, password)) {
-            // Success: Get the user and pass it to the next view
-            User user = userRepository.getUserByEmail(email);
-            goToMainView(event, user);
-        } else {
-            // Failure
-            showError("Incorrect email or password");
-        }
-
         passwordFieldHidden.clear();
+
+        TaskRunner.run(rootStackPane, "Signing in...",
+                progress -> {
+                    // The user store may still be loading on the first attempt
+                    if (authenticationService == null) {
+                        authenticationService = sharedResources.getAuthenticationService();
+                    }
+                    User user = authenticationService.authenticate(email, password);
+                    if (user != null) {
+                        // Resolves the role and administered nets once for the whole session
+                        sharedResources.getProcessService().getAuthorizationContext(user.getId());
+                    }
+                    return user;
+                },
+                user -> {
+                    if (user == null) {
+                        showError("Incorrect email or password");
+                        return;
+                    }
+                    try {
+                        goToMainView(event, user);
+                    } catch (Exception e) {
+                        showError("Could not open the main view: " + e.getMessage());
+                    }
+                },
+                error -> showError(error instanceof RateLimitExceededException
+                        ? error.getMessage()
+                        : "Login failed: " + error.getMessage()));
     }
 
     /**
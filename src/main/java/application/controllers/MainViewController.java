@@ -1,6 +1,8 @@
 package application.controllers;
 
 import application.logic.*;
+import application.metrics.LatencyHistogram;
+import application.metrics.Metrics;
 import application.repositories.PetriNetRepository;
 import application.repositories.UserRepository;
 import application.exceptions.UnauthorizedAccessException;
@@ -13,6 +15,7 @@ import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.*;
@@ -21,16 +24,19 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.util.Duration;
 
 import java.io.IOException;
 import java.net.URL;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 /**
  * Controller for the MainView.fxml (Main Dashboard).
@@ -43,6 +49,7 @@ public class MainViewController implements Initializable {
     private PetriNetRepository petriNetRepository;
     private SharedResources sharedResources;
     private UserRepository userRepository;
+    private NetSearchIndex netSearchIndex;
 
     // --- State ---
     private User currentUser;
@@ -51,6 +58,41 @@ public class MainViewController implements Initializable {
 
     private ObservableList<Object> tableData = FXCollections.observableArrayList();
 
+    // --- Paging ---
+    // Rows fetched per page; enough to fill the table, so the scroll bar appears
+    private static final int PAGE_SIZE = 50;
+
+    private static final LatencyHistogram REFRESH_LATENCY = Metrics.getInstance().histogram("view.dashboard.refresh");
+    // Fraction of the scroll range after which the next page is fetched
+    private static final double LOAD_MORE_THRESHOLD = 0.9;
+    private int totalComputations;
+    // The nets matched by the search being shown, or null for the unfiltered list
+    private Set<String> filterNets;
+    // Last computation of the loaded search results, where the next page starts
+    private Computation lastLoaded;
+
+    // Net name and creator email by net ID, resolved once per refresh
+    private final Map<String, String> netNameCache = new HashMap<>();
+    private final Map<String, String> netCreatorCache = new HashMap<>();
+
+    /**
+     * A table row: the computation and its display values, resolved once when the row is created
+     * instead of on every cell render. The status is read live, as it changes while the net runs.
+     */
+    private static final class ComputationRow {
+        private final Computation computation;
+        private final String netName;
+        private final String creator;
+        private final String startedAt;
+
+        private ComputationRow(Computation computation, String netName, String creator, String startedAt) {
+            this.computation = computation;
+            this.netName = netName;
+            this.creator = creator;
+            this.startedAt = startedAt;
+        }
+    }
+
     // --- FXML Components ---
     @FXML private Label welcomeLabel;
     @FXML private Label yourComputationsCountLabel;
@@ -83,6 +125,9 @@ public class MainViewController implements Initializable {
 
     @FXML private ComboBox<String> searchTypeComboBox;
 
+    // Typing restarts this delay; the table is filtered once the user pauses
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(150));
+
     private final Timeline errorClearer = new Timeline(
             new KeyFrame(Duration.seconds(3), e -> {
                 if (errorLabel != null) {
@@ -97,9 +142,11 @@ public class MainViewController implements Initializable {
         this.processService = sharedResources.getProcessService();
         this.petriNetRepository = sharedResources.getPetriNetRepository();
         this.userRepository = sharedResources.getUserRepository();
+        this.netSearchIndex = sharedResources.getNetSearchIndex();
 
         mainTableView.setItems(tableData);
         setupComputationColumns();
+        setupPaging();
 
         // Disable action buttons by default
         viewButton.setDisable(true);
@@ -116,9 +163,10 @@ public class MainViewController implements Initializable {
 
         UIHelper.setupCenterCropBackground(rootStackPane, backgroundImage);
 
-        // Search listener for filtering nets
+        // Search listener for filtering nets, debounced so a burst of keystrokes filters once
+        searchDebounce.setOnFinished(e -> filterTable(searchTextField.getText()));
         searchTextField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filterTable(newValue);
+            searchDebounce.playFromStart();
         });
 
         // Re-filter if the search mode changes while there is input text
@@ -180,28 +228,11 @@ public class MainViewController implements Initializable {
         column3.setText("Date Started");
         column4.setText("Status");
 
-        column1.setCellValueFactory(cell -> {
-            Computation comp = (Computation) cell.getValue();
-            PetriNet net = petriNetRepository.getPetriNets().get(comp.getPetriNetId());
-            return new SimpleStringProperty(net != null ? net.getName() : "Unknown Net");
-        });
-
-        column2.setCellValueFactory(cell -> {
-            Computation comp = (Computation) cell.getValue();
-            PetriNet net = petriNetRepository.getPetriNets().get(comp.getPetriNetId());
-            User admin = (net != null) ? userRepository.getUserById(net.getAdminId()) : null;
-            return new SimpleStringProperty(admin != null ? admin.getEmail() : "Unknown");
-        });
-
-        column3.setCellValueFactory(cell -> {
-            Computation comp = (Computation) cell.getValue();
-            return new SimpleStringProperty(comp.getStartTime().format(formatter));
-        });
-
-        column4.setCellValueFactory(cell -> {
-            Computation comp = (Computation) cell.getValue();
-            return new SimpleStringProperty(comp.getStatus().toString());
-        });
+        column1.setCellValueFactory(cell -> new SimpleStringProperty(((ComputationRow) cell.getValue()).netName));
+        column2.setCellValueFactory(cell -> new SimpleStringProperty(((ComputationRow) cell.getValue()).creator));
+        column3.setCellValueFactory(cell -> new SimpleStringProperty(((ComputationRow) cell.getValue()).startedAt));
+        column4.setCellValueFactory(cell ->
+                new SimpleStringProperty(((ComputationRow) cell.getValue()).computation.getStatus().toString()));
 
         column4.setCellFactory(column -> new TableCell<Object, String>() {
             @Override
@@ -225,35 +256,94 @@ public class MainViewController implements Initializable {
         });
     }
 
+    /**
+     * Fetches the next page of computations when the table is scrolled close to the end.
+     * The scroll bar only exists once the table skin is created.
+     */
+    private void setupPaging() {
+        mainTableView.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            for (Node node : mainTableView.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                    bar.valueProperty().addListener((o, oldValue, newValue) -> {
+                        if (newValue.doubleValue() >= bar.getMax() * LOAD_MORE_THRESHOLD) {
+                            loadNextPage();
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Appends the next page of computations (newest first) to the table: the search results
+     * if a filter is shown, the user's computations otherwise. Does nothing once every one is loaded.
+     */
+    private void loadNextPage() {
+        int loaded = tableData.size();
+        if (currentUser == null || loaded >= totalComputations) {
+            return;
+        }
+        List<Computation> page = filterNets != null
+                ? processService.getComputationsPageForUserOnNets(currentUser.getId(), filterNets, lastLoaded, PAGE_SIZE)
+                : processService.getComputationsPageForUser(currentUser.getId(), loaded, PAGE_SIZE);
+        if (!page.isEmpty()) lastLoaded = page.getLast();
+        tableData.addAll(page.stream().map(this::toRow).toList());
+    }
+
+    /**
+     * Builds the row of a computation, resolving the net name and creator through the per-net caches.
+     */
+    private ComputationRow toRow(Computation comp) {
+        String netId = comp.getPetriNetId();
+        String netName = netNameCache.computeIfAbsent(netId, id -> {
+            PetriNet net = petriNetRepository.getPetriNet(id);
+            return net != null ? net.getName() : "Unknown Net";
+        });
+        String creator = netCreatorCache.computeIfAbsent(netId, id -> {
+            PetriNet net = petriNetRepository.getPetriNet(id);
+            User admin = (net != null) ? userRepository.getUserById(net.getAdminId()) : null;
+            return admin != null ? admin.getEmail() : "Unknown";
+        });
+        String startedAt = comp.getStartTime() != null ? comp.getStartTime().format(formatter) : "";
+        return new ComputationRow(comp, netName, creator, startedAt);
+    }
+
     /**
      * Refreshes dashboard statistics and the table data.
+     * Only the first page of computations is loaded; further pages follow while scrolling.
      */
     private void refreshDashboardData() {
         if(currentUser == null){
             return;
         }
 
-        if (errorLabel != null) errorLabel.setText("");
-
-        int yourComps = processService.getComputationsForUser(currentUser.getId()).size();
-        yourComputationsCountLabel.setText(String.valueOf(yourComps));
-
-        int totalNets = processService.getAvailableNetsForUser(currentUser.getId()).size();
-        totalNetsCountLabel.setText(String.valueOf(totalNets));
-
-        int totalUsers = userRepository.getAllUsers().size();
-        totalUsersCountLabel.setText(String.valueOf(totalUsers));
-
-        List<Computation> userComputations = processService.getComputationsForUser(currentUser.getId());
-        userComputations.sort((c1, c2) -> {
-            LocalDateTime t1 = c1.getStartTime();
-            LocalDateTime t2 = c2.getStartTime();
-            if(t1 == null) return 1;
-            if(t2 == null) return -1;
-            return t2.compareTo(t1);
-        });
-
-        tableData.setAll(userComputations);
+        long start = REFRESH_LATENCY.start();
+        try {
+            if (errorLabel != null) errorLabel.setText("");
+
+            // Nets may have been renamed or deleted since the last refresh
+            netNameCache.clear();
+            netCreatorCache.clear();
+
+            totalComputations = processService.countComputationsForUser(currentUser.getId());
+            yourComputationsCountLabel.setText(String.valueOf(totalComputations));
+
+            int totalNets = processService.getAvailableNetsForUser(currentUser.getId()).size();
+            totalNetsCountLabel.setText(String.valueOf(totalNets));
+
+            // Read from the type index, without scanning the users
+            int admins = userRepository.countUsersByType(Type.ADMIN);
+            int users = userRepository.countUsersByType(Type.USER);
+            totalUsersCountLabel.setText(String.valueOf(admins + users));
+            totalUsersCountLabel.setTooltip(new Tooltip(admins + " administrators, " + users + " users"));
+
+            filterNets = null;
+            lastLoaded = null;
+            tableData.clear();
+            loadNextPage();
+        } finally {
+            REFRESH_LATENCY.stop(start);
+        }
     }
 
     /**
@@ -265,29 +355,20 @@ public class MainViewController implements Initializable {
             refreshDashboardData();
             return;
         }
+        if (currentUser == null) {
+            return;
+        }
 
-        String lowerCaseFilter = searchKey.toLowerCase();
-        String searchMode = searchTypeComboBox.getValue();
-
-        List<Computation> userComputations = processService.getComputationsForUser(currentUser.getId());
-
-        List<Computation> filteredList = userComputations.stream()
-                .filter(comp -> {
-                    PetriNet net = petriNetRepository.getPetriNets().get(comp.getPetriNetId());
-                    if (net == null) return false;
-
-                    if ("Net Name".equals(searchMode)) {
-                        return net.getName().toLowerCase().contains(lowerCaseFilter);
-                    } else {
-                        User creator = userRepository.getUserById(net.getAdminId());
-                        String creatorName = (creator != null) ? creator.getUsername().toLowerCase() : "";
-                        String creatorEmail = (creator != null) ? creator.getEmail().toLowerCase() : "";
-                        return creatorName.contains(lowerCaseFilter) || creatorEmail.contains(lowerCaseFilter);
-                    }
-                })
-                .toList();
+        Set<String> matchingNets = "Net Name".equals(searchTypeComboBox.getValue())
+                ? netSearchIndex.findNetsByName(searchKey)
+                : netSearchIndex.findNetsByCreator(searchKey);
 
-        tableData.setAll(filteredList);
+        // Only the count is computed here; the results are merged page by page while scrolling
+        filterNets = matchingNets;
+        lastLoaded = null;
+        totalComputations = processService.countComputationsForUserOnNets(currentUser.getId(), matchingNets);
+        tableData.clear();
+        loadNextPage();
     }
 
     // --- EVENT HANDLERS ---
@@ -318,12 +399,12 @@ public class MainViewController implements Initializable {
     void handleView(ActionEvent event) throws IOException {
         Object selectedItem = mainTableView.getSelectionModel().getSelectedItem();
         // Fallback check, although the button should be disabled if nothing is selected
-        if(!(selectedItem instanceof Computation)){
+        if(!(selectedItem instanceof ComputationRow row)){
             showError("Please select a computation to view.");
             return;
         }
 
-        Computation computation = (Computation) selectedItem;
+        Computation computation = row.computation;
 
 
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ViewPetriNet.fxml"));
@@ -339,14 +420,14 @@ public class MainViewController implements Initializable {
     void handleDelete(ActionEvent event) {
         Object selectedItem = mainTableView.getSelectionModel().getSelectedItem();
         // Fallback check, although the button should be disabled if nothing is selected
-        if(!(selectedItem instanceof Computation)){
+        if(!(selectedItem instanceof ComputationRow row)){
             showError("Please select a computation to delete.");
             return;
         }
 
-        Computation selectedComp = (Computation) selectedItem;
+        Computation selectedComp = row.computation;
         try {
-            processService.deleteComputation(selectedComp.getId(), currentUser.getId());
+            processService.deleteComputation(processService.getAuthorizationContext(currentUser.getId()), selectedComp.getId());
             refreshDashboardData();
         } catch (UnauthorizedAccessException | EntityNotFoundException | IllegalStateException e) {
             showError(e.getMessage());
@@ -6,8 +6,12 @@ import application.exceptions.UnauthorizedAccessException;
 import application.logic.*;
 import application.repositories.PetriNetCoordinates;
 import application.ui.graphics.ArcViewFactory;
+import application.ui.graphics.NetViewport;
 import application.ui.graphics.TransitionViewFactory;
+import application.ui.graphics.ViewportCuller;
+import application.ui.utils.TaskRunner;
 import application.ui.utils.UnsavedChangesGuard;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -15,8 +19,11 @@ import javafx.fxml.Initializable;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.*;
 import javafx.scene.control.*;
+import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
@@ -60,7 +67,14 @@ public class NetCreationController implements Initializable {
     private final Map<Node, Place> placeMap = new HashMap<>();
     private final Map<Place, Node> placeViewMap = new HashMap<>();
     private final Map<Node, Transition> transitionMap = new HashMap<>();
+    private final Map<Transition, Node> transitionViewMap = new HashMap<>();
     private final Map<Node, Arc> arcMap = new HashMap<>();
+
+    // Arc views by the ID of the place/transition they touch, so deleting a node costs its degree
+    private final Map<String, Set<Node>> arcViewsByElement = new HashMap<>();
+
+    // Nodes picked with Shift/Ctrl + click, deleted together with the DELETE key
+    private final Set<Node> selection = new LinkedHashSet<>();
     private final Deque<Node> undoStack = new ArrayDeque<>();
 
     // --- FXML Elements ---
@@ -106,6 +120,13 @@ public class NetCreationController implements Initializable {
     // Ghost node that follows the mouse
     private Node ghostNode = null;
 
+    // One shared glow effect per color, instead of a new effect per node on each highlight
+    private static final Map<Color, DropShadow> GLOWS = new HashMap<>();
+
+    // Zoom and visible region of the drawing; only visible nodes are attached to the scene
+    private NetViewport netViewport;
+    private ViewportCuller culler;
+
     // --- Initialization ---
 
     /**
@@ -131,6 +152,10 @@ public class NetCreationController implements Initializable {
         this.sharedResources = SharedResources.getInstance();
         scrollPane.setPannable(true);
 
+        // Ctrl + mouse wheel zooms the net; off-screen nodes are kept out of the scene graph
+        netViewport = new NetViewport(drawingPane, scrollPane);
+        culler = new ViewportCuller(netViewport);
+
         UIHelper.setupCenterCropBackground(rootStackPane, backgroundImage);
 
         if (statusLabel != null)
@@ -156,6 +181,9 @@ public class NetCreationController implements Initializable {
 
         // Remove the ghost node when mouse exits the panel
         drawingPane.setOnMouseExited(e -> removeGhostNode());
+
+        // DELETE/BACKSPACE removes the selected nodes, ESC clears the selection
+        drawingPane.setOnKeyPressed(this::onDrawingPaneKeyPressed);
     }
 
     /**
@@ -206,10 +234,11 @@ public class NetCreationController implements Initializable {
      */
     private void resetToolState() {
         isDeleteMode = false;
-        arcSourceNode = null;
         if (arcSourceNode != null) {
             highlightValidTargets(false);
         }
+        arcSourceNode = null;
+        clearSelection();
         // Clear ghost node when switching tools
         removeGhostNode();
         drawingPane.setCursor(Cursor.DEFAULT);
@@ -257,7 +286,8 @@ public class NetCreationController implements Initializable {
 
     /**
      * Loads an existing Petri net and its layout for editing.
-     * Called when the user clicks "Edit" on a net.
+     * Called when the user clicks "Edit" on a net. Missing positions are computed on a background
+     * thread; the drawing pane is disabled until the net is drawn.
      *
      * @param netToEdit The logical Petri net model to load
      * @throws EntityNotFoundException if the net to edit is null
@@ -275,11 +305,30 @@ public class NetCreationController implements Initializable {
                     "data/coords/" + netToEdit.getId() + "_coords.json"
             );
         } catch (IOException e) {
-            showError("Warning", "Coordinate file not found. Using default layout.");
+            showError("Warning", "Coordinate file not found. Using automatic layout.");
             coords = new PetriNetCoordinates();
         }
 
-        drawExistingNet(coords);
+        // Nodes without a saved position are placed by the layout engine (kept once the net is saved)
+        PetriNetCoordinates saved = coords;
+        drawingPane.setDisable(true);
+        if (statusLabel != null) {
+            statusLabel.setText("Status: Computing layout...");
+            statusLabel.setTextFill(Color.web("#4da6ff"));
+        }
+        LayoutEngine.getInstance().completeAsync(netToEdit, saved).whenComplete((laidOut, error) ->
+                Platform.runLater(() -> {
+                    if (petriNet != netToEdit) return; // Another net was loaded meanwhile
+
+                    drawingPane.setDisable(false);
+                    if (laidOut != null) {
+                        if (statusLabel != null) statusLabel.setText("Status: Ready");
+                        drawExistingNet(laidOut);
+                    } else {
+                        showError("Automatic layout failed", error.getMessage());
+                        drawExistingNet(saved);
+                    }
+                }));
     }
 
     /**
@@ -288,11 +337,14 @@ public class NetCreationController implements Initializable {
      * @param coords The repository containing x/y positions for nodes
      */
     private void drawExistingNet(PetriNetCoordinates coords) {
-        drawingPane.getChildren().clear();
+        culler.clear();
         placeMap.clear();
         placeViewMap.clear();
         transitionMap.clear();
+        transitionViewMap.clear();
         arcMap.clear();
+        arcViewsByElement.clear();
+        selection.clear();
 
         // 1. Draw Places
         for (Place p : petriNet.getPlaces().values()) {
@@ -317,7 +369,7 @@ public class NetCreationController implements Initializable {
                 getOuterCircle(pNode).setStroke(Color.VIOLET);
             }
 
-            drawingPane.getChildren().add(pNode);
+            culler.addNode(pNode);
             placeMap.put(pNode, p);
             placeViewMap.put(p, pNode);
         }
@@ -333,33 +385,28 @@ public class NetCreationController implements Initializable {
                     this::toggleTransitionType
             );
 
-            drawingPane.getChildren().add(tNode);
+            culler.addNode(tNode);
             transitionMap.put(tNode, t);
+            transitionViewMap.put(t, tNode);
         }
 
         // 3. Draw Arcs
         for (Arc a : petriNet.getArcs().values()) {
-            Node srcNode = null;
-            Node tgtNode = null;
+            Node srcNode;
+            Node tgtNode;
 
             if (a.isSourcePlace()) {
                 srcNode = placeViewMap.get(petriNet.getPlaces().get(a.getSourceId()));
-                // Find target transition
-                tgtNode = transitionMap.entrySet().stream()
-                        .filter(e -> e.getValue().getId().equals(a.getTargetId()))
-                        .map(Map.Entry::getKey).findFirst().orElse(null);
+                tgtNode = transitionViewMap.get(petriNet.getTransitions().get(a.getTargetId()));
             } else {
-                // Find source transition
-                srcNode = transitionMap.entrySet().stream()
-                        .filter(e -> e.getValue().getId().equals(a.getSourceId()))
-                        .map(Map.Entry::getKey).findFirst().orElse(null);
+                srcNode = transitionViewMap.get(petriNet.getTransitions().get(a.getSourceId()));
                 tgtNode = placeViewMap.get(petriNet.getPlaces().get(a.getTargetId()));
             }
 
             if (srcNode != null && tgtNode != null) {
                 Line line = ArcViewFactory.createArcLine(srcNode, tgtNode);
-                drawingPane.getChildren().add(0, line); // Add behind nodes
-                arcMap.put(line, a);
+                culler.addArc(line); // Drawn behind nodes
+                registerArcView(line, a);
             }
         }
     }
@@ -382,7 +429,7 @@ public class NetCreationController implements Initializable {
         Group group = PlaceViewFactory.createPlaceNode(place, n, x, y,
                 this::designateInitial, this::designateFinal);
 
-        drawingPane.getChildren().add(group);
+        culler.addNode(group);
         placeMap.put(group, place);
         placeViewMap.put(place, group);
         undoStack.push(group);
@@ -405,8 +452,9 @@ public class NetCreationController implements Initializable {
         Group group = TransitionViewFactory.createTransitionNode(t, n, x, y,
                 this::toggleTransitionType);
 
-        drawingPane.getChildren().add(group);
+        culler.addNode(group);
         transitionMap.put(group, t);
+        transitionViewMap.put(t, group);
         undoStack.push(group);
         this.isDirty = true;
     }
@@ -437,8 +485,8 @@ public class NetCreationController implements Initializable {
             petriNet.addArc(arc);
 
             Line line = ArcViewFactory.createArcLine(srcNode, tgtNode);
-            drawingPane.getChildren().add(line);
-            arcMap.put(line, arc);
+            culler.addArc(line);
+            registerArcView(line, arc);
             this.isDirty = true;
             return true;
         } catch (IllegalArgumentException ex) {
@@ -536,12 +584,7 @@ public class NetCreationController implements Initializable {
      * @return The group node, or null if not found
      */
     private Group getGroupForTransition(Transition t) {
-        return transitionMap.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(t))
-                .map(Map.Entry::getKey)
-                .filter(n -> n instanceof Group)
-                .map(n -> (Group) n)
-                .findFirst().orElse(null);
+        return transitionViewMap.get(t) instanceof Group g ? g : null;
     }
 
     // --- Event Handling ---
@@ -554,6 +597,15 @@ public class NetCreationController implements Initializable {
      */
     private void onDrawingPaneClicked(MouseEvent e) {
         double x = e.getX(), y = e.getY();
+        // Focus the drawing so it receives the DELETE key
+        drawingPane.requestFocus();
+
+        // Shift/Ctrl + click adds or removes a node from the selection (not while drawing)
+        if ((e.isShiftDown() || e.isShortcutDown())
+                && (currentMode == DrawingMode.NONE || currentMode == DrawingMode.DELETE)) {
+            toggleSelection(findNodeAt(x, y));
+            return;
+        }
 
         switch (currentMode) {
             case PLACE -> {
@@ -589,32 +641,35 @@ public class NetCreationController implements Initializable {
                 Node clicked = findNodeAt(x, y);
                 if (clicked == null) return;
 
-                if (placeMap.containsKey(clicked)) {
-                    removePlace(clicked);
-                } else if (transitionMap.containsKey(clicked)) {
-                    removeTransition(clicked);
+                if (placeMap.containsKey(clicked) || transitionMap.containsKey(clicked)) {
+                    removeNodes(List.of(clicked));
                 } else if (arcMap.containsKey(clicked)) {
                     removeArc(clicked);
                 }
             }
             default -> {
+                // A plain click on the empty drawing drops the selection
+                if (findNodeAt(x, y) == null) clearSelection();
             }
         }
     }
 
     /**
      * Finds a node at the specified coordinates.
+     * Only the nodes indexed in the grid cell under the point are tested, places first.
      *
      * @param x X coordinate
      * @param y Y coordinate
      * @return The node at that position, or null if none found
      */
     private Node findNodeAt(double x, double y) {
-        for (Node n : placeMap.keySet())
-            if (n.contains(x - n.getLayoutX(), y - n.getLayoutY())) return n;
+        List<Node> candidates = culler.nodesAt(x, y);
 
-        for (Node n : transitionMap.keySet())
-            if (n.contains(x - n.getLayoutX(), y - n.getLayoutY())) return n;
+        for (Node n : candidates)
+            if (placeMap.containsKey(n) && n.contains(x - n.getLayoutX(), y - n.getLayoutY())) return n;
+
+        for (Node n : candidates)
+            if (transitionMap.containsKey(n) && n.contains(x - n.getLayoutX(), y - n.getLayoutY())) return n;
 
         return null;
     }
@@ -699,11 +754,15 @@ public class NetCreationController implements Initializable {
      */
     @FXML
     private void clearNet(ActionEvent e) {
-        drawingPane.getChildren().clear();
+        culler.clear();
+        removeGhostNode();
         placeMap.clear();
         placeViewMap.clear();
         transitionMap.clear();
+        transitionViewMap.clear();
         arcMap.clear();
+        arcViewsByElement.clear();
+        selection.clear();
         undoStack.clear();
 
         petriNet = new PetriNet(
@@ -718,17 +777,26 @@ public class NetCreationController implements Initializable {
      * Saves both the logical Petri net definition and the visual layout coordinates.
      *
      * @param e The action event
-     * @return true if save was successful, false otherwise
      */
     @FXML
-    private boolean savePetriNet(ActionEvent e) {
+    private void savePetriNet(ActionEvent e) {
+        saveNet(null);
+    }
+
+    /**
+     * Validates the net and writes it, with its layout, in the background.
+     * Validation and reading node positions happen on the JavaFX thread; while the files are
+     * written the editor is covered by the TaskRunner overlay, so the net cannot change meanwhile.
+     *
+     * @param onSaved Run on the JavaFX thread once the net is saved, may be null
+     */
+    private void saveNet(Runnable onSaved) {
+        PetriNetCoordinates coords = new PetriNetCoordinates();
         try {
             // 1. Validate the net logic
             petriNet.validate();
 
             // 2. Create and populate the coordinates object
-            PetriNetCoordinates coords = new PetriNetCoordinates();
-
             for (Map.Entry<Node, Place> entry : placeMap.entrySet()) {
                 coords.setPlacePosition(entry.getValue().getId(),
                         entry.getKey().getLayoutX(),
@@ -740,57 +808,88 @@ public class NetCreationController implements Initializable {
                         entry.getKey().getLayoutX(),
                         entry.getKey().getLayoutY());
             }
-
-            // 3. Save both files
-            sharedResources.getPetriNetRepository().savePetriNet(petriNet);
-
-            File coordsDir = new File("data/coords/");
-            if (!coordsDir.exists()) coordsDir.mkdirs();
-
-            coords.saveToFile("data/coords/" + petriNet.getId() + "_coords.json");
-
-            this.isDirty = false;
-            showStatus("Net saved successfully!", false);
-            return true;
-
-        } catch (IllegalArgumentException | IllegalStateException | IOException ex) {
+        } catch (IllegalArgumentException | IllegalStateException ex) {
             showError("Save Error", ex.getMessage());
-            return false;
+            return;
         }
-    }
 
-    // --- Removal Logic ---
+        // 3. Save both files
+        PetriNet net = petriNet;
+        TaskRunner.run(rootStackPane, "Saving net...",
+                progress -> {
+                    sharedResources.getPetriNetRepository().savePetriNet(net);
+
+                    File coordsDir = new File("data/coords/");
+                    if (!coordsDir.exists()) coordsDir.mkdirs();
+
+                    coords.saveToFile("data/coords/" + net.getId() + "_coords.json");
+                    return null;
+                },
+                done -> {
+                    this.isDirty = false;
+                    showStatus("Net saved successfully!", false);
+                    if (onSaved != null) onSaved.run();
+                },
+                error -> showError("Save Error", error.getMessage()));
+    }
 
     /**
-     * Removes a place from the net and canvas.
+     * Navigates to another view once the net has been saved.
      *
-     * @param node The visual node representing the place
+     * @param event    The action event that triggered the navigation
+     * @param fxmlPath The target view
      */
-    private void removePlace(Node node) {
-        Place p = placeMap.remove(node);
-        if (p == null) return;
-
-        placeViewMap.remove(p);
-        petriNet.removePlace(p.getId());
-        removeConnectedArcs(p.getId());
-        drawingPane.getChildren().remove(node);
-
-        this.isDirty = true;
+    private void navigateAfterSave(ActionEvent event, String fxmlPath) {
+        try {
+            NavigationHelper.navigate(event, fxmlPath, currentUser);
+        } catch (IOException ex) {
+            showError("Navigation Error", ex.getMessage());
+        }
     }
 
+    // --- Removal Logic ---
+
     /**
-     * Removes a transition from the net and canvas.
+     * Removes places and transitions, together with their arcs, from the net and canvas.
+     * All the model changes are applied first and the views are then detached in a single
+     * scene graph update, so deleting a large selection does not redraw once per element.
+     * Each node only costs its number of arcs, found through the adjacency indexes.
      *
-     * @param node The visual node representing the transition
+     * @param nodes The visual nodes to remove (places and/or transitions)
      */
-    private void removeTransition(Node node) {
-        Transition t = transitionMap.remove(node);
-        if (t == null) return;
+    private void removeNodes(Collection<Node> nodes) {
+        Set<Node> removedViews = new HashSet<>();
+
+        for (Node node : nodes) {
+            String elementId;
+            Place p = placeMap.remove(node);
+            if (p != null) {
+                placeViewMap.remove(p);
+                petriNet.removePlace(p.getId());
+                elementId = p.getId();
+            } else {
+                Transition t = transitionMap.remove(node);
+                if (t == null) continue;
+                transitionViewMap.remove(t);
+                petriNet.removeTransition(t.getId());
+                elementId = t.getId();
+            }
+
+            removedViews.add(node);
+            selection.remove(node);
 
-        petriNet.removeTransition(t.getId());
-        removeConnectedArcs(t.getId());
-        drawingPane.getChildren().remove(node);
+            // The model already dropped these arcs; only the views are left to forget
+            Set<Node> arcViews = arcViewsByElement.remove(elementId);
+            if (arcViews == null) continue;
+            for (Node arcNode : arcViews) {
+                if (removedViews.add(arcNode)) {
+                    unregisterArcView(arcNode);
+                }
+            }
+        }
 
+        if (removedViews.isEmpty()) return;
+        culler.removeAll(removedViews);
         this.isDirty = true;
     }
 
@@ -800,35 +899,97 @@ public class NetCreationController implements Initializable {
      * @param node The visual node representing the arc
      */
     private void removeArc(Node node) {
-        Arc a = arcMap.remove(node);
+        Arc a = unregisterArcView(node);
         if (a == null) return;
 
         petriNet.removeArc(a.getId());
-        drawingPane.getChildren().remove(node);
+        culler.remove(node);
 
         this.isDirty = true;
     }
 
     /**
-     * Removes all arcs connected to a specific node.
+     * Records an arc view, indexed by both the elements it connects.
      *
-     * @param nodeId The ID of the node whose arcs should be removed
+     * @param line The visual node of the arc
+     * @param arc  The logical arc
      */
-    private void removeConnectedArcs(String nodeId) {
-        List<Node> arcsToRemove = new ArrayList<>();
+    private void registerArcView(Node line, Arc arc) {
+        arcMap.put(line, arc);
+        arcViewsByElement.computeIfAbsent(arc.getSourceId(), k -> new HashSet<>()).add(line);
+        arcViewsByElement.computeIfAbsent(arc.getTargetId(), k -> new HashSet<>()).add(line);
+    }
 
-        for (Map.Entry<Node, Arc> entry : arcMap.entrySet()) {
-            Arc arc = entry.getValue();
-            if (arc.getSourceId().equals(nodeId) || arc.getTargetId().equals(nodeId)) {
-                arcsToRemove.add(entry.getKey());
+    /**
+     * Forgets an arc view. Does not touch the model or the canvas.
+     *
+     * @param line The visual node of the arc
+     * @return The logical arc, or null if the view was unknown
+     */
+    private Arc unregisterArcView(Node line) {
+        Arc arc = arcMap.remove(line);
+        if (arc == null) return null;
+
+        for (String elementId : List.of(arc.getSourceId(), arc.getTargetId())) {
+            Set<Node> views = arcViewsByElement.get(elementId);
+            if (views != null) {
+                views.remove(line);
+                if (views.isEmpty()) arcViewsByElement.remove(elementId);
             }
         }
+        return arc;
+    }
 
-        for (Node arcNode : arcsToRemove) {
-            removeArc(arcNode);
+    // --- Selection ---
+
+    /**
+     * Adds a node to the selection, or removes it if already selected.
+     *
+     * @param node The clicked node, may be null
+     */
+    private void toggleSelection(Node node) {
+        if (node == null) return;
+
+        if (selection.remove(node)) {
+            setGlow(node, false, Color.CRIMSON);
+        } else {
+            selection.add(node);
+            setGlow(node, true, Color.CRIMSON);
         }
 
-        this.isDirty = true;
+        statusLabel.setText(selection.isEmpty()
+                ? "Status: Ready"
+                : selection.size() + " selected (DELETE to remove, ESC to clear)");
+    }
+
+    /**
+     * Empties the selection and removes its highlighting.
+     */
+    private void clearSelection() {
+        for (Node node : selection) {
+            setGlow(node, false, Color.CRIMSON);
+        }
+        selection.clear();
+    }
+
+    /**
+     * Handles keyboard shortcuts on the drawing.
+     *
+     * @param e The key event
+     */
+    private void onDrawingPaneKeyPressed(KeyEvent e) {
+        if (selection.isEmpty()) return;
+
+        if (e.getCode() == KeyCode.DELETE || e.getCode() == KeyCode.BACK_SPACE) {
+            int count = selection.size();
+            removeNodes(new ArrayList<>(selection));
+            showStatus(count + " elements deleted", false);
+            e.consume();
+        } else if (e.getCode() == KeyCode.ESCAPE) {
+            clearSelection();
+            statusLabel.setText("Status: Ready");
+            e.consume();
+        }
     }
 
     // --- Graphic Helpers ---
@@ -901,9 +1062,7 @@ public class NetCreationController implements Initializable {
         UnsavedChangesGuard.SaveChoice choice = UnsavedChangesGuard.promptUserForSaveConfirmation();
         switch (choice) {
             case SAVE_AND_CONTINUE:
-                if (savePetriNet(event)) {
-                    NavigationHelper.navigate(event, "/fxml/AdminArea.fxml", currentUser);
-                }
+                saveNet(() -> navigateAfterSave(event, "/fxml/AdminArea.fxml"));
                 break;
             case DISCARD_AND_CONTINUE:
                 NavigationHelper.navigate(event, "/fxml/AdminArea.fxml", currentUser);
@@ -929,9 +1088,7 @@ public class NetCreationController implements Initializable {
         UnsavedChangesGuard.SaveChoice choice = UnsavedChangesGuard.promptUserForSaveConfirmation();
         switch (choice) {
             case SAVE_AND_CONTINUE:
-                if (savePetriNet(event)) {
-                    NavigationHelper.navigate(event, "/fxml/ExploreNetsView.fxml", currentUser);
-                }
+                saveNet(() -> navigateAfterSave(event, "/fxml/ExploreNetsView.fxml"));
                 break;
             case DISCARD_AND_CONTINUE:
                 NavigationHelper.navigate(event, "/fxml/ExploreNetsView.fxml", currentUser);
@@ -957,9 +1114,7 @@ public class NetCreationController implements Initializable {
         UnsavedChangesGuard.SaveChoice choice = UnsavedChangesGuard.promptUserForSaveConfirmation();
         switch (choice) {
             case SAVE_AND_CONTINUE:
-                if (savePetriNet(event)) {
-                    NavigationHelper.navigate(event, "/fxml/MainView.fxml", currentUser);
-                }
+                saveNet(() -> navigateAfterSave(event, "/fxml/MainView.fxml"));
                 break;
             case DISCARD_AND_CONTINUE:
                 NavigationHelper.navigate(event, "/fxml/MainView.fxml", currentUser);
@@ -1021,9 +1176,7 @@ public class NetCreationController implements Initializable {
         UnsavedChangesGuard.SaveChoice choice = UnsavedChangesGuard.promptUserForSaveConfirmation();
         switch (choice) {
             case SAVE_AND_CONTINUE:
-                if (savePetriNet(event)) {
-                    NavigationHelper.navigate(event, "/fxml/LoginView.fxml", currentUser);
-                }
+                saveNet(() -> navigateAfterSave(event, "/fxml/LoginView.fxml"));
                 break;
             case DISCARD_AND_CONTINUE:
                 NavigationHelper.navigate(event, "/fxml/LoginView.fxml", currentUser);
@@ -1116,14 +1269,21 @@ public class NetCreationController implements Initializable {
      * @param color     The glow color
      */
     private void setGlow(Node node, boolean highlight, Color color) {
-        if (highlight) {
-            javafx.scene.effect.DropShadow glow = new javafx.scene.effect.DropShadow();
-            glow.setColor(color);
-            glow.setRadius(20);
-            glow.setSpread(0.5);
-            node.setEffect(glow);
-        } else {
-            node.setEffect(null);
-        }
+        node.setEffect(highlight ? GLOWS.computeIfAbsent(color, NetCreationController::createGlow) : null);
+    }
+
+    /**
+     * Creates the glow effect for a color. Effects are immutable once created
+     * and shared by every highlighted node.
+     *
+     * @param color The glow color
+     * @return The glow effect
+     */
+    private static DropShadow createGlow(Color color) {
+        DropShadow glow = new DropShadow();
+        glow.setColor(color);
+        glow.setRadius(20);
+        glow.setSpread(0.5);
+        return glow;
     }
 }
\ No newline at end of file
@@ -5,13 +5,20 @@ import application.exceptions.InvalidComputationStateException;
 import application.exceptions.SystemContextException;
 import application.exceptions.TransitionNotEnabledException;
 import application.logic.*;
+import application.metrics.LatencyHistogram;
+import application.metrics.Metrics;
 import application.repositories.PetriNetCoordinates;
 import application.repositories.PetriNetRepository;
 import application.ui.graphics.ArcViewFactory;
+import application.ui.graphics.CanvasNetRenderer;
+import application.ui.graphics.NetViewport;
 import application.ui.graphics.PlaceViewFactory;
 import application.ui.graphics.TransitionViewFactory;
+import application.ui.graphics.ViewportCuller;
+import application.ui.utils.TaskRunner;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -34,9 +41,11 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.paint.Color;
@@ -48,7 +57,10 @@ import javafx.scene.paint.Color;
  */
 public class ViewPetriNetController implements Initializable {
 
+    private static final LatencyHistogram REFRESH_LATENCY = Metrics.getInstance().histogram("view.net.refresh");
+
     @FXML private Pane drawingPane;
+    @FXML private ScrollPane scrollPane;
     @FXML private Label netNameLabel;
     @FXML private Label statusLabel;
     @FXML private Label messageLabel; // Displays success/error messages
@@ -80,6 +92,19 @@ public class ViewPetriNetController implements Initializable {
     private final Map<String, Group> placeNodes = new HashMap<>();
     private final Map<String, Group> transitionNodes = new HashMap<>();
 
+    // What is currently displayed, so refreshState() only touches what changed
+    private final Map<String, Circle> tokenNodes = new HashMap<>();
+    private MarkingData shownMarking;
+    private Set<String> highlightedTransitions = new HashSet<>();
+    private boolean styledOnce = false;
+
+    // Zoom and visible region of the drawing; only visible nodes are attached to the scene
+    private NetViewport netViewport;
+    private ViewportCuller culler;
+
+    // Used instead of the scene-graph nodes for very large nets
+    private CanvasNetRenderer canvasRenderer;
+
     private ComputationViewObserver viewObserver;
 
     // Track the currently open Help stage
@@ -144,20 +169,70 @@ public class ViewPetriNetController implements Initializable {
         netNameLabel.setText(currentNet.getName());
         updateStatusLabel();
 
-        // Create observer to watch for computation state changes
+        // Create observer to watch for computation state changes (replacing the one of a previous computation)
+        if (this.viewObserver != null) {
+            this.viewObserver.detach();
+        }
         this.viewObserver = new ComputationViewObserver(computation, this);
 
+        // Nets without a saved layout (imported or generated) are laid out in the background first
+        if (!LayoutEngine.hasAllPositions(currentNet, coordinates)) {
+            layoutAndDraw();
+            return;
+        }
+
         drawPetriNet();
         refreshState();
     }
 
+    /**
+     * Computes the missing node positions on a background thread, then draws the net.
+     * Falls back to the default stacked positions if the layout fails.
+     */
+    private void layoutAndDraw() {
+        PetriNet net = currentNet;
+        if (messageLabel != null) {
+            messageLabel.setText("Computing layout...");
+            messageLabel.setTextFill(Color.BLACK);
+        }
+
+        LayoutEngine.getInstance().completeAsync(net, coordinates).whenComplete((laidOut, error) ->
+                Platform.runLater(() -> {
+                    if (currentNet != net) return; // Another computation was loaded meanwhile
+
+                    if (laidOut != null) {
+                        coordinates = laidOut;
+                        if (messageLabel != null) messageLabel.setText("");
+                    } else {
+                        showError("Automatic layout failed: " + error.getMessage());
+                    }
+                    drawPetriNet();
+                    refreshState();
+                }));
+    }
+
     /**
      * Draws the static Petri Net structure (Places, Transitions, Arcs) using factory methods.
+     * Nets above the {@link CanvasNetRenderer} threshold are painted on a canvas instead.
      */
     public void drawPetriNet() {
-        drawingPane.getChildren().clear();
+        if (canvasRenderer != null) {
+            canvasRenderer.detach();
+            canvasRenderer = null;
+        }
+        culler.clear();
         placeNodes.clear();
         transitionNodes.clear();
+        tokenNodes.clear();
+        shownMarking = null;
+        highlightedTransitions = new HashSet<>();
+        styledOnce = false;
+
+        if (CanvasNetRenderer.shouldUse(currentNet)) {
+            canvasRenderer = new CanvasNetRenderer(currentNet, coordinates, this::handleTransitionClick);
+            canvasRenderer.attach(netViewport);
+            return;
+        }
 
         drawPlaces();
         drawTransitions();
@@ -183,7 +258,7 @@ public class ViewPetriNetController implements Initializable {
             placeNode.setOnMousePressed(null);
             placeNode.setOnMouseDragged(null);
 
-            drawingPane.getChildren().add(placeNode);
+            culler.addNode(placeNode);
             placeNodes.put(place.getId(), placeNode);
         }
     }
@@ -208,7 +283,7 @@ public class ViewPetriNetController implements Initializable {
             transitionNode.setOnMousePressed(null);
             transitionNode.setOnMouseDragged(null);
 
-            drawingPane.getChildren().add(transitionNode);
+            culler.addNode(transitionNode);
             transitionNodes.put(transition.getId(), transitionNode);
         }
     }
@@ -228,73 +303,107 @@ public class ViewPetriNetController implements Initializable {
 
             if (source != null && target != null) {
                 Line arcLine = ArcViewFactory.createArcLine(source, target);
-                drawingPane.getChildren().addFirst(arcLine); // Add behind nodes
+                culler.addArc(arcLine); // Drawn behind nodes
             }
         }
     }
 
     /**
      * Refreshes the dynamic state of the view (tokens and enabled transitions).
-     * Updates visual elements based on current marking and user permissions.
+     * Only places whose token count changed since the last refresh, and transitions
+     * whose availability flipped, are touched.
      */
     public void refreshState() {
-        MarkingData curr = currentComputation.getLastStep().getMarkingData();
-
-        // Get transitions available based on marking and user role permissions
-        List<Transition> availableTransitions = processService.getAvailableTransitions(
-                currentComputation.getId(),
-                currentUser.getId()
-        );
-
-        // Update token counts in places
-        for (Map.Entry<String, Group> entry : placeNodes.entrySet()) {
-            String placeId = entry.getKey();
-            Group group = entry.getValue();
-            int tokens = curr.getTokens(placeId);
-            updatePlaceTokensVisual(group, tokens);
-        }
+        long start = REFRESH_LATENCY.start();
+        try {
+            MarkingData curr = currentComputation.getLastStep().getMarkingData();
 
-        // Update transition appearance based on availability (NFR2.2)
-        for (Map.Entry<String, Group> entry : transitionNodes.entrySet()) {
-            Transition t = currentNet.getTransitions().get(entry.getKey());
-            Group group = entry.getValue();
-            Rectangle rect = (Rectangle) group.getChildren().getFirst(); // Rectangle is first child
+            // Get transitions available based on marking and user role permissions
+            List<Transition> availableTransitions = processService.getAvailableTransitions(
+                    processService.getAuthorizationContext(currentUser.getId()),
+                    currentComputation.getId()
+            );
+
+            if (canvasRenderer != null) {
+                canvasRenderer.updateState(curr, availableTransitions, currentComputation.isActive());
+                updateStatusLabel();
+                return;
+            }
 
-            boolean isAvailable = availableTransitions.contains(t);
+            // Update token counts only in the places that changed (all of them on the first refresh)
+            Set<String> changedPlaces = shownMarking == null ? placeNodes.keySet() : curr.changedPlaces(shownMarking);
+            for (String placeId : changedPlaces) {
+                Group group = placeNodes.get(placeId);
+                if (group != null) {
+                    updatePlaceTokensVisual(placeId, group, curr.getTokens(placeId));
+                }
+            }
+            shownMarking = curr;
 
-            if (isAvailable && currentComputation.isActive()) {
-                rect.setStroke(Color.LIMEGREEN);
-                rect.setStrokeWidth(4.0); // Highlight enabled transitions
+            // Update transition appearance based on availability (NFR2.2)
+            Set<String> available = new HashSet<>();
+            if (currentComputation.isActive()) {
+                for (Transition t : availableTransitions) {
+                    available.add(t.getId());
+                }
+            }
+            // Only transitions whose availability flipped (all of them on the first refresh)
+            Set<String> flipped = new HashSet<>();
+            if (styledOnce) {
+                for (String id : available) {
+                    if (!highlightedTransitions.contains(id)) flipped.add(id);
+                }
+                for (String id : highlightedTransitions) {
+                    if (!available.contains(id)) flipped.add(id);
+                }
             } else {
-                rect.setStroke(Color.BLACK);
-                rect.setStrokeWidth(2.0); // Default appearance
+                flipped.addAll(transitionNodes.keySet());
             }
-        }
 
-        updateStatusLabel();
+            for (String transitionId : flipped) {
+                Group group = transitionNodes.get(transitionId);
+                if (group == null) continue;
+                Rectangle rect = (Rectangle) group.getChildren().getFirst(); // Rectangle is first child
+
+                if (available.contains(transitionId)) {
+                    rect.setStroke(Color.LIMEGREEN);
+                    rect.setStrokeWidth(4.0); // Highlight enabled transitions
+                } else {
+                    rect.setStroke(Color.BLACK);
+                    rect.setStrokeWidth(2.0); // Default appearance
+                }
+            }
+            highlightedTransitions = available;
+            styledOnce = true;
+
+            updateStatusLabel();
+        } finally {
+            REFRESH_LATENCY.stop(start);
+        }
     }
 
     /**
      * Updates the visual representation of tokens within a Place node.
+     * The token circle of each place is created once and then only shown or hidden.
      *
+     * @param placeId    The place id
      * @param placeGroup The place group node
      * @param tokenCount The number of tokens to display
      */
-    private void updatePlaceTokensVisual(Group placeGroup, int tokenCount) {
-        // Remove all existing tokens (nodes marked with id="token")
-        placeGroup.getChildren().removeIf(node ->
-                node.getId() != null && node.getId().equals("token")
-        );
+    private void updatePlaceTokensVisual(String placeId, Group placeGroup, int tokenCount) {
+        Circle token = tokenNodes.get(placeId);
 
-        // Add new tokens if present
-        if (tokenCount > 0) {
-            Circle token = new Circle(0, 0, 8, Color.BLACK);
-            token.setId("token"); // Mark for future cleanup
+        if (token == null) {
+            if (tokenCount == 0) return;
+            token = new Circle(0, 0, 8, Color.BLACK);
+            token.setId("token");
 
             // TODO: add label if token count > 1
 
             placeGroup.getChildren().add(token);
+            tokenNodes.put(placeId, token);
         }
+        token.setVisible(tokenCount > 0);
     }
 
     /**
@@ -311,24 +420,26 @@ public class ViewPetriNetController implements Initializable {
             return;
         }
 
-        try {
-            // Observer pattern handles the flow:
-            // 1. ProcessService fires transition, updates computation whjoch then calls notifyObservers()
-            // 2. Observer receives update notification
-            // 3. Observer calls refreshState() to update the view
-            processService.fireTransition(
-                    currentComputation.getId(),
-                    t.getId(),
-                    currentUser.getId()
-            );
-            showSuccess("Transition " + t.getName() + " fired");
-
-        } catch (TransitionNotEnabledException e) {
-            showError("Transition not enabled: " + e.getMessage());
-        } catch (IllegalStateException e) {
-            // Handle permission denial or other state errors
-            showError("Action denied: " + e.getMessage());
-        }
+        // Observer pattern handles the flow:
+        // 1. ProcessService fires transition (in the background, it saves to disk), updates computation which then calls notifyObservers()
+        // 2. Observer receives update notification
+        // 3. Observer calls refreshState() on the JavaFX thread to update the view
+        String computationId = currentComputation.getId();
+        AuthorizationContext context = processService.getAuthorizationContext(currentUser.getId());
+        TaskRunner.run(rootStackPane, "Firing " + t.getName() + "...",
+                progress -> {
+                    processService.fireTransition(context, computationId, t.getId());
+                    return null;
+                },
+                done -> showSuccess("Transition " + t.getName() + " fired"),
+                error -> {
+                    if (error instanceof TransitionNotEnabledException) {
+                        showError("Transition not enabled: " + error.getMessage());
+                    } else {
+                        // Handle permission denial or other state errors
+                        showError("Action denied: " + error.getMessage());
+                    }
+                });
     }
 
     /**
@@ -449,6 +560,10 @@ public class ViewPetriNetController implements Initializable {
             throw new SystemContextException("Required services not available in SharedResources");
         }
 
+        // Ctrl + mouse wheel zooms the net; off-screen nodes are kept out of the scene graph
+        this.netViewport = new NetViewport(drawingPane, scrollPane);
+        this.culler = new ViewportCuller(netViewport);
+
         if (backgroundImage != null && rootStackPane != null) {
             backgroundImage.fitWidthProperty().bind(rootStackPane.widthProperty());
             backgroundImage.fitHeightProperty().bind(rootStackPane.heightProperty());
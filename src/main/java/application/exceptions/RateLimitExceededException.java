@@ -0,0 +1,10 @@
+package application.exceptions;
+
+/**
+ * Thrown when too many login attempts are made, for one account or overall.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
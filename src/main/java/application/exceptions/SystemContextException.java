@@ -7,4 +7,7 @@ public class SystemContextException extends RuntimeException {
     public SystemContextException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+    public SystemContextException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -44,6 +44,27 @@ public class Arc {
         this.weight = 1;
     }
 
+    /**
+     * Constructs an arc with a given ID and weight, so that generated nets can be reproduced exactly.
+     * @param id The ID of the arc (starting with 'A').
+     * @param petriNetId The ID of the parent Petri Net.
+     * @param sourceId The ID of the source element (P or T).
+     * @param targetId The ID of the target element (T or P).
+     * @param weight The number of tokens required/produced.
+     * @throws IllegalArgumentException if the connection is invalid (e.g., P->P or T->T).
+     */
+    Arc(String id, String petriNetId, String sourceId, String targetId, int weight) {
+        if (!isValidConnection(sourceId, targetId)) {
+            throw new IllegalArgumentException("You cannot connect elements of the same type!");
+        }
+
+        this.id = Objects.requireNonNull(id);
+        this.petriNetId = Objects.requireNonNull(petriNetId);
+        this.sourceId = sourceId;
+        this.targetId = targetId;
+        this.weight = weight;
+    }
+
     /**
      * Checks if the connection adheres to the Petri Net bipartite rule (P->T or T->P).
      */
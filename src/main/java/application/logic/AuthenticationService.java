@@ -0,0 +1,180 @@
+package application.logic;
+
+import application.exceptions.RateLimitExceededException;
+import application.repositories.UserRepository;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifies login credentials off the JavaFX thread.
+ * BCrypt runs on a small bounded pool, so a burst of logins cannot use every core or queue up
+ * without limit. Attempts are rate limited per account (to slow down password guessing)
+ * and overall (to protect the pool). An unknown email is checked against a dummy hash,
+ * so it takes as long as a wrong password. Hashes made at an old cost factor are
+ * upgraded on the first successful login (see {@link PasswordHasher}).
+ */
+public class AuthenticationService {
+
+    private static final int THREADS = Integer.getInteger("petrinet.auth.threads",
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int QUEUE_CAPACITY = Integer.getInteger("petrinet.auth.queue", 64);
+    private static final int GLOBAL_PER_SECOND = Integer.getInteger("petrinet.auth.globalPerSecond", 20);
+    private static final int MAX_ATTEMPTS = Integer.getInteger("petrinet.auth.maxAttempts", 5);
+    private static final Duration ATTEMPT_WINDOW = Duration.ofSeconds(Long.getLong("petrinet.auth.windowSeconds", 300));
+
+    // Buckets of accounts that have not failed recently are dropped once there are this many
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final UserRepository userRepository;
+    private final LongSupplier clock;
+    private final int maxAttempts;
+    private final Duration attemptWindow;
+
+    private final ExecutorService pool;
+    private final TokenBucket globalLimit;
+    private final Map<String, TokenBucket> accountLimits = new ConcurrentHashMap<>();
+
+    // Checked when the email is unknown, so the answer takes the same time
+    private volatile String dummyHash;
+
+    /**
+     * Creates the service with the limits configured through system properties.
+     *
+     * @param userRepository The user repository instance.
+     */
+    public AuthenticationService(UserRepository userRepository) {
+        this(userRepository, System::nanoTime, GLOBAL_PER_SECOND, MAX_ATTEMPTS, ATTEMPT_WINDOW);
+    }
+
+    /**
+     * Creates the service with explicit limits and clock (used by tests).
+     *
+     * @param userRepository  The user repository instance.
+     * @param clock           Source of the current time in nanoseconds.
+     * @param globalPerSecond Attempts allowed per second over all accounts.
+     * @param maxAttempts     Attempts allowed per account within the window.
+     * @param attemptWindow   Time for an account to regain all its attempts.
+     */
+    AuthenticationService(UserRepository userRepository, LongSupplier clock,
+                          int globalPerSecond, int maxAttempts, Duration attemptWindow) {
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.maxAttempts = maxAttempts;
+        this.attemptWindow = attemptWindow;
+        this.globalLimit = new TokenBucket(globalPerSecond, TimeUnit.SECONDS.toNanos(1), clock.getAsLong());
+        this.dummyHash = PasswordHasher.hash("not-a-password");
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "auth-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.pool = executor;
+    }
+
+    /**
+     * Checks credentials in the background.
+     *
+     * @param email    The email typed by the user.
+     * @param password The password typed by the user.
+     * @return A future with the authenticated user, or null if the email or password is wrong.
+     * @throws RateLimitExceededException if the account or the service has had too many attempts.
+     */
+    public CompletableFuture<User> authenticateAsync(String email, String password) {
+        if (email == null || password == null || email.isEmpty() || password.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String account = email.toLowerCase(Locale.ROOT);
+        long now = clock.getAsLong();
+
+        TokenBucket accountLimit = accountLimits.computeIfAbsent(account,
+                k -> new TokenBucket(maxAttempts, attemptWindow.toNanos(), now));
+        if (!accountLimit.tryAcquire(now)) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(accountLimit.nanosUntilAvailable(now)));
+            throw new RateLimitExceededException("Too many login attempts for this account. Try again in " + seconds + " s.");
+        }
+        if (!globalLimit.tryAcquire(now)) {
+            throw new RateLimitExceededException("Too many login attempts. Please try again shortly.");
+        }
+        pruneAccountLimits(now);
+
+        try {
+            return CompletableFuture.supplyAsync(() -> verify(account, password), pool);
+        } catch (RejectedExecutionException e) {
+            throw new RateLimitExceededException("Too many login attempts. Please try again shortly.");
+        }
+    }
+
+    /**
+     * Checks credentials, blocking the caller (never call it on the JavaFX thread).
+     *
+     * @param email    The email typed by the user.
+     * @param password The password typed by the user.
+     * @return The authenticated user, or null if the email or password is wrong.
+     * @throws RateLimitExceededException if the account or the service has had too many attempts.
+     */
+    public User authenticate(String email, String password) {
+        try {
+            return authenticateAsync(email, password).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Runs on the pool: one BCrypt check whether or not the account exists.
+     */
+    private User verify(String account, String password) {
+        User user = userRepository.getUserByEmail(account);
+        if (user == null) {
+            PasswordHasher.verify(password, currentDummyHash());
+            return null;
+        }
+        if (!user.checkPassword(password)) {
+            return null;
+        }
+
+        // A successful login clears the failed attempts of the account
+        accountLimits.remove(account);
+
+        if (PasswordHasher.needsRehash(user.getHashedpw())) {
+            user.setPassword(password);
+            userRepository.updateUser(user);
+        }
+        return user;
+    }
+
+    private String currentDummyHash() {
+        String hash = dummyHash;
+        if (PasswordHasher.needsRehash(hash)) {
+            hash = PasswordHasher.hash("not-a-password");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Keeps the per-account map small under an attack spread over many emails.
+     */
+    private void pruneAccountLimits(long now) {
+        if (accountLimits.size() > PRUNE_THRESHOLD) {
+            accountLimits.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package application.logic;
+
+import java.util.Set;
+
+/**
+ * What a logged-in user may do, resolved once per session by {@link ProcessService#getAuthorizationContext(String)}:
+ * the user, their role and the nets they administer.
+ * Immutable; the service replaces it when nets are created or deleted.
+ */
+public final class AuthorizationContext {
+
+    private final User user;
+    private final Set<String> administeredNetIds;
+    private final long netsVersion;
+
+    AuthorizationContext(User user, Set<String> administeredNetIds, long netsVersion) {
+        this.user = user;
+        this.administeredNetIds = Set.copyOf(administeredNetIds);
+        this.netsVersion = netsVersion;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getUserId() {
+        return user.getId();
+    }
+
+    public boolean isAdmin() {
+        return user.isAdmin();
+    }
+
+    /**
+     * @param netId The ID of a net (or of the net a snapshot was taken from).
+     * @return True if the user is the administrator who created the net.
+     */
+    public boolean isAdminOf(String netId) {
+        return administeredNetIds.contains(netId);
+    }
+
+    /**
+     * @return The IDs of the nets created by the user; empty for regular users.
+     */
+    public Set<String> getAdministeredNetIds() {
+        return administeredNetIds;
+    }
+
+    /**
+     * @return The version of the net list this context was resolved against.
+     */
+    long getNetsVersion() {
+        return netsVersion;
+    }
+}
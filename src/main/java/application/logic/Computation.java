@@ -2,6 +2,10 @@ package application.logic;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 // Imports needed for Jackson
 import application.repositories.PetriNetCoordinates;
@@ -29,13 +33,13 @@ public class Computation {
     private final String id;
     private final String petriNetId;
     private final String userId;
-    private ComputationStatus status; // Mutable: changes during lifecycle
+    private volatile ComputationStatus status; // Mutable: changes during lifecycle
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
     private final LocalDateTime startTime;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
-    private LocalDateTime endTime; // Mutable: set on completion
+    private volatile LocalDateTime endTime; // Mutable: set on completion
 
     /**
      * A snapshot of the Petri net structure at the time the computation started.
@@ -53,7 +57,7 @@ public class Computation {
     // Holds the history of this computation
     private final List<ComputationStep> steps = new ArrayList<>();
 
-    private transient List<ComputationObserver> observers = new ArrayList<>();
+    private transient List<Subscription> observers = new CopyOnWriteArrayList<>();
 
     /**
      * Business constructor for starting a new computation.
@@ -111,7 +115,7 @@ public class Computation {
         this.endTime = endTime;
         this.petriNetSnapshot = petriNetSnapshot;
         this.coordinatesSnapshot = coordinatesSnapshot;
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
         if (steps != null) {
             this.steps.addAll(steps);
         }
@@ -123,20 +127,35 @@ public class Computation {
      */
     public void attach(ComputationObserver observer) {
         if(observers==null) {
-            observers = new ArrayList<>();
+            observers = new CopyOnWriteArrayList<>();
+        }
+        observers.add(new Subscription(Objects.requireNonNull(observer)));
+    }
+
+    /**
+     * Detaches an observer. Notifications still pending for it are dropped.
+     */
+    public void detach(ComputationObserver observer) {
+        if (observers == null) return;
+        for (Subscription subscription : observers) {
+            if (subscription.observer == observer) {
+                subscription.cancel();
+                observers.remove(subscription);
+            }
         }
-        observers.add(observer);
     }
 
     /**
      * Notifies all attached observers that the computation state has changed.
+     * @param newStep The step just added, or null.
+     * @param completed True if the computation was just completed.
      */
-    private void notifyObservers() {
+    private void notifyObservers(ComputationStep newStep, boolean completed) {
         if (observers == null) {
-            observers = new ArrayList<>();
+            observers = new CopyOnWriteArrayList<>();
         }
-        for (ComputationObserver observer : observers) {
-            observer.update(this);
+        for (Subscription subscription : observers) {
+            subscription.changed(newStep, completed);
         }
     }
 
@@ -149,7 +168,7 @@ public class Computation {
         }
         this.status = ComputationStatus.COMPLETED;
         this.endTime = LocalDateTime.now();
-        notifyObservers();
+        notifyObservers(null, true);
     }
 
     /**
@@ -161,8 +180,10 @@ public class Computation {
         if (!step.getComputationId().equals(this.id)) {
             throw new IllegalArgumentException("Step does not belong to this computation");
         }
-        steps.add(step);
-        notifyObservers();
+        synchronized (this) {
+            steps.add(step);
+        }
+        notifyObservers(step, false);
     }
 
     /**
@@ -184,7 +205,7 @@ public class Computation {
      * @return The last ComputationStep, or null.
      */
     @JsonIgnore
-    public ComputationStep getLastStep() {
+    public synchronized ComputationStep getLastStep() {
         return steps.isEmpty() ? null : steps.get(steps.size() - 1);
     }
 
@@ -195,6 +216,16 @@ public class Computation {
         return Collections.unmodifiableList(steps);
     }
 
+    /**
+     * Creates a detached copy used for persistence. Only the step list is copied: steps and
+     * snapshots are never modified once recorded, so they are shared with the live computation.
+     * @return A copy that can be serialized while this computation keeps changing.
+     */
+    synchronized Computation copyForPersistence() {
+        return new Computation(id, petriNetId, userId, status, startTime, endTime,
+                steps, petriNetSnapshot, coordinatesSnapshot);
+    }
+
     // --- Getters ---
 
     public String getId() { return id; }
@@ -224,4 +255,74 @@ public class Computation {
                 id, petriNetId, userId, status, startTime, endTime, steps.size()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Delivery state of one observer. Synchronous observers are called right away;
+     * throttled ones get the changes merged and delivered at most once per interval,
+     * from a shared notifier thread (or the observer's own executor).
+     */
+    private final class Subscription {
+        private final ComputationObserver observer;
+        private final List<ComputationStep> pendingSteps = new ArrayList<>();
+        private boolean pendingCompletion;
+        private boolean scheduled;
+        private volatile boolean cancelled;
+        // Far in the past, so the first change after a quiet period is delivered at once
+        private long lastDeliveryNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+
+        Subscription(ComputationObserver observer) {
+            this.observer = observer;
+        }
+
+        void changed(ComputationStep newStep, boolean completed) {
+            long interval = observer.getNotificationIntervalMillis();
+            if (interval <= 0) {
+                observer.update(Computation.this,
+                        new ComputationChanges(newStep == null ? List.of() : List.of(newStep), completed));
+                return;
+            }
+
+            long delay;
+            synchronized (this) {
+                if (newStep != null) pendingSteps.add(newStep);
+                pendingCompletion |= completed;
+                if (scheduled) return; // Merged into the delivery already planned
+                scheduled = true;
+                long elapsed = System.nanoTime() - lastDeliveryNanos;
+                delay = Math.max(0, TimeUnit.MILLISECONDS.toNanos(interval) - elapsed);
+            }
+            Notifier.SCHEDULER.schedule(this::deliver, delay, TimeUnit.NANOSECONDS);
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            pendingSteps.clear();
+        }
+
+        private void deliver() {
+            ComputationChanges changes;
+            synchronized (this) {
+                scheduled = false;
+                lastDeliveryNanos = System.nanoTime();
+                if (cancelled) return;
+                changes = new ComputationChanges(new ArrayList<>(pendingSteps), pendingCompletion);
+                pendingSteps.clear();
+                pendingCompletion = false;
+            }
+            observer.getNotificationExecutor().execute(() -> {
+                if (!cancelled) observer.update(Computation.this, changes);
+            });
+        }
+    }
+
+    /**
+     * Lazily started timer thread shared by every throttled observer.
+     */
+    private static final class Notifier {
+        static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "computation-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package application.logic;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The changes of a Computation accumulated since an observer was last notified.
+ * Observers that throttle their notifications receive one of these per delivery
+ * instead of one notification per step.
+ */
+public class ComputationChanges {
+
+    private final List<ComputationStep> newSteps;
+    private final boolean completed;
+
+    /**
+     * @param newSteps  The steps added since the last delivery, oldest first.
+     * @param completed True if the computation was completed since the last delivery.
+     */
+    public ComputationChanges(List<ComputationStep> newSteps, boolean completed) {
+        this.newSteps = Collections.unmodifiableList(newSteps);
+        this.completed = completed;
+    }
+
+    /**
+     * @return The steps added since the last delivery, oldest first.
+     */
+    public List<ComputationStep> getNewSteps() {
+        return newSteps;
+    }
+
+    /**
+     * @return True if the computation was completed since the last delivery.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return True if nothing changed.
+     */
+    public boolean isEmpty() {
+        return newSteps.isEmpty() && !completed;
+    }
+
+    @Override
+    public String toString() {
+        return "ComputationChanges[newSteps=" + newSteps.size() + ", completed=" + completed + "]";
+    }
+}
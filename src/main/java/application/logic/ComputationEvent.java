@@ -0,0 +1,58 @@
+package application.logic;
+
+import java.time.Instant;
+
+/**
+ * A change in the lifecycle of a computation, as published on the {@link ComputationEventBus}.
+ * Immutable. Sequence numbers grow by one per published event, across all subscribers: they order
+ * the events, but a subscriber also sees gaps for the events its filter rejects.
+ */
+public final class ComputationEvent {
+
+    public enum Kind { STARTED, STEP_FIRED, COMPLETED, DELETED }
+
+    private final long sequence;
+    private final Kind kind;
+    private final String computationId;
+    private final String petriNetId;
+    private final String userId;
+    private final String transitionId;
+    private final int stepCount;
+    private final MarkingData marking;
+    private final Instant time;
+
+    ComputationEvent(long sequence, Kind kind, Computation computation, ComputationStep step) {
+        this.sequence = sequence;
+        this.kind = kind;
+        this.computationId = computation.getId();
+        this.petriNetId = computation.getPetriNetId();
+        this.userId = computation.getUserId();
+        this.transitionId = step != null ? step.getTransitionId() : null;
+        this.stepCount = computation.getSteps().size();
+        // Markings are never modified once recorded in a step, so they can be shared
+        this.marking = step != null ? step.getMarkingData() : null;
+        this.time = Instant.now();
+    }
+
+    public long getSequence() { return sequence; }
+    public Kind getKind() { return kind; }
+    public String getComputationId() { return computationId; }
+    public String getPetriNetId() { return petriNetId; }
+    public String getUserId() { return userId; }
+
+    /** @return The transition fired by the step that caused the event, or null. */
+    public String getTransitionId() { return transitionId; }
+
+    /** @return The number of steps of the computation, including the initial one. */
+    public int getStepCount() { return stepCount; }
+
+    /** @return The marking after the event, or null for deletions. */
+    public MarkingData getMarking() { return marking; }
+
+    public Instant getTime() { return time; }
+
+    @Override
+    public String toString() {
+        return "ComputationEvent{" + sequence + " " + kind + " " + computationId + "}";
+    }
+}
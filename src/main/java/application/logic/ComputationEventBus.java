@@ -0,0 +1,249 @@
+package application.logic;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Publish/subscribe channel for the lifecycle of all computations, owned by the {@link ProcessService}.
+ * Unlike a {@link ComputationObserver}, which follows one computation inside one view,
+ * a subscriber sees every computation matching its filter and consumes events at its own pace.
+ * <p>
+ * Publishing never blocks the service: each subscriber has a bounded queue, and when a slow
+ * subscriber lets it fill up, its {@link OverflowPolicy} decides whether the oldest event is dropped
+ * or the subscriber is disconnected. Sequence numbers are shared by all subscribers, so events
+ * filtered out for a subscriber also leave gaps: lost events are counted by {@link Subscription#getDropped()}.
+ */
+public class ComputationEventBus {
+
+    public enum OverflowPolicy {
+        /** Discards the oldest queued event to make room; the subscriber stays connected. */
+        DROP_OLDEST,
+        /** Closes the subscription; the subscriber must resubscribe and reload the current state. */
+        DISCONNECT
+    }
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @return True if anyone is subscribed, so publishers can skip building events nobody reads.
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Publishes an event to every matching subscriber without waiting for any of them.
+     *
+     * @param kind        What happened.
+     * @param computation The computation concerned.
+     * @param step        The step recorded by the change, or null.
+     */
+    void publish(ComputationEvent.Kind kind, Computation computation, ComputationStep step) {
+        if (subscriptions.isEmpty()) return;
+        ComputationEvent event = new ComputationEvent(sequence.incrementAndGet(), kind, computation, step);
+        for (Subscription subscription : subscriptions) {
+            if (subscription.accepts(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Subscribes to the events accepted by a filter, to be read with {@link Subscription#poll}.
+     *
+     * @param filter   Selects the events to queue (e.g. one user's computations).
+     * @param capacity Maximum number of queued events.
+     * @param policy   What to do when the queue is full.
+     * @return The subscription; close it when done.
+     */
+    public Subscription subscribe(Predicate<ComputationEvent> filter, int capacity, OverflowPolicy policy) {
+        Subscription subscription = new Subscription(filter, capacity, policy);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Subscribes a listener, called on its own virtual thread in publication order.
+     *
+     * @param filter   Selects the events to deliver.
+     * @param capacity Maximum number of events waiting for the listener.
+     * @param policy   What to do when the listener falls behind.
+     * @param listener Receives the events.
+     * @return The subscription; closing it stops the delivery thread.
+     */
+    public Subscription listen(Predicate<ComputationEvent> filter, int capacity, OverflowPolicy policy,
+                               Consumer<ComputationEvent> listener) {
+        Objects.requireNonNull(listener);
+        Subscription subscription = subscribe(filter, capacity, policy);
+        Thread.ofVirtual().name("computation-events").start(() -> {
+            try {
+                while (!subscription.isClosed()) {
+                    ComputationEvent event = subscription.poll(1, TimeUnit.MINUTES);
+                    if (event == null) continue;
+                    try {
+                        listener.accept(event);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                }
+            } catch (InterruptedException e) {
+                subscription.close();
+            }
+        });
+        return subscription;
+    }
+
+    /**
+     * One subscriber's bounded queue of events.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final Predicate<ComputationEvent> filter;
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final ArrayDeque<ComputationEvent> queue = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private long dropped;
+        private boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscription(Predicate<ComputationEvent> filter, int capacity, OverflowPolicy policy) {
+            if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+            this.filter = Objects.requireNonNull(filter);
+            this.capacity = capacity;
+            this.policy = Objects.requireNonNull(policy);
+        }
+
+        /**
+         * A failing filter must not break the change being published: the event is skipped.
+         */
+        private boolean accepts(ComputationEvent event) {
+            try {
+                return filter.test(event);
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        private void offer(ComputationEvent event) {
+            lock.lock();
+            try {
+                if (closed) return;
+                if (queue.size() == capacity) {
+                    dropped++;
+                    if (policy == OverflowPolicy.DISCONNECT) {
+                        overflowed = true;
+                        closeLocked();
+                        return;
+                    }
+                    queue.pollFirst();
+                }
+                queue.addLast(event);
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Takes the next event, waiting for one up to a timeout.
+         *
+         * @return The event, or null if none arrived in time or the subscription is closed.
+         * @throws InterruptedException if the waiting thread is interrupted.
+         */
+        public ComputationEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            lock.lockInterruptibly();
+            try {
+                while (queue.isEmpty() && !closed && nanos > 0) {
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                return closed ? null : queue.pollFirst();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Moves the queued events, up to a maximum, into a collection without waiting.
+         *
+         * @return The number of events moved.
+         */
+        public int drainTo(Collection<? super ComputationEvent> target, int maxEvents) {
+            lock.lock();
+            try {
+                int moved = 0;
+                while (moved < maxEvents && !queue.isEmpty()) {
+                    target.add(queue.pollFirst());
+                    moved++;
+                }
+                return moved;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return The number of events lost because the queue was full.
+         */
+        public long getDropped() {
+            lock.lock();
+            try {
+                return dropped;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return True if the subscription was closed because the subscriber fell behind.
+         */
+        public boolean isOverflowed() {
+            lock.lock();
+            try {
+                return overflowed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Stops the subscription; a thread waiting in {@link #poll} returns null.
+         */
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                closeLocked();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void closeLocked() {
+            if (closed) return;
+            closed = true;
+            queue.clear();
+            notEmpty.signalAll();
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package application.logic;
 
+import java.util.concurrent.Executor;
+
 /**
  * Defines the contract for classes that want to observe state changes in a Computation object.
+ * By default observers are notified synchronously, once per change. An observer that redraws
+ * on every notification can instead ask for coalesced notifications by overriding
+ * {@link #getNotificationIntervalMillis()} (and {@link #getNotificationExecutor()} to be
+ * called back on a specific thread, e.g. the JavaFX application thread).
  */
 public abstract class ComputationObserver {
 
@@ -11,4 +17,31 @@ public abstract class ComputationObserver {
      * @param updatedComputation The updated Computation object, allowing the observer to pull the new state.
      */
     public abstract void update(Computation updatedComputation);
-}
\ No newline at end of file
+
+    /**
+     * Called with every change accumulated since the previous call.
+     * The default implementation ignores the details and calls {@link #update(Computation)}.
+     * @param updatedComputation The updated Computation object.
+     * @param changes What changed since the previous call.
+     */
+    public void update(Computation updatedComputation, ComputationChanges changes) {
+        update(updatedComputation);
+    }
+
+    /**
+     * Minimum time between two notifications of this observer.
+     * Changes happening in between are merged into a single {@link ComputationChanges}.
+     * @return The interval in milliseconds; 0 (the default) notifies synchronously on every change.
+     */
+    public long getNotificationIntervalMillis() {
+        return 0;
+    }
+
+    /**
+     * Where coalesced notifications are delivered. Ignored for synchronous observers.
+     * @return The executor running the notification; by default the notifier thread itself.
+     */
+    public Executor getNotificationExecutor() {
+        return Runnable::run;
+    }
+}
@@ -32,8 +32,9 @@ public class ComputationStep {
      */
     public ComputationStep(String computationId, String transitionId, MarkingData markingData) {
         this.id = "S" + UUID.randomUUID().toString(); // "S" for Step
+        // Not interned: callers pass the computation's own id, and a deleted computation must not stay pinned
         this.computationId = Objects.requireNonNull(computationId);
-        this.transitionId = transitionId;
+        this.transitionId = IdDictionary.getInstance().intern(transitionId);
         this.markingData = Objects.requireNonNull(markingData);
         this.timeStamp = LocalDateTime.now();
     }
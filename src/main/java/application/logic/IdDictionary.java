@@ -0,0 +1,177 @@
+package application.logic;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary of element identifiers.
+ * Every Place, Transition, Arc and Computation id is an "X" + UUID string, and the same ids
+ * are repeated in every step of every computation (marking keys, transition ids, computation ids).
+ * The dictionary keeps a single canonical String instance per id and maps it to a compact int code,
+ * so in-memory structures such as {@link MarkingData} can store ints instead of string keys.
+ */
+public final class IdDictionary {
+
+    private static final IdDictionary instance = new IdDictionary();
+
+    // Length of a textual UUID (8-4-4-4-12)
+    private static final int UUID_LENGTH = 36;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] ids = new String[1024];
+    private int size = 0; // Guarded by 'this'
+
+    private IdDictionary() {}
+
+    /**
+     * Returns the single shared dictionary.
+     */
+    public static IdDictionary getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the canonical instance of an id, registering it on first sight.
+     * @param id The id to intern (may be null).
+     * @return The canonical String equal to {@code id}, or null.
+     */
+    public String intern(String id) {
+        if (id == null) return null;
+        // Encode first: registering may grow the array, and ids[codeOf(id)] would read the old one
+        int code = codeOf(id);
+        return ids[code];
+    }
+
+    /**
+     * Returns the compact code of an id, registering it on first sight.
+     * Codes are dense, start at 0 and never change for the lifetime of the process.
+     * @param id The id to encode.
+     * @return The int code of the id.
+     */
+    public int codeOf(String id) {
+        Integer code = codes.get(id);
+        return code != null ? code : register(id);
+    }
+
+    /**
+     * Returns the code of an id without registering it.
+     * @param id The id to look up.
+     * @return The int code, or -1 if the id has never been registered.
+     */
+    public int find(String id) {
+        Integer code = codes.get(id);
+        return code != null ? code : -1;
+    }
+
+    /**
+     * Resolves a code back to its canonical id.
+     * @param code A code previously returned by {@link #codeOf(String)}.
+     * @return The canonical id.
+     * @throws IllegalArgumentException if the code was never assigned.
+     */
+    public String idOf(int code) {
+        String[] snapshot = ids;
+        if (code < 0 || code >= snapshot.length || snapshot[code] == null) {
+            throw new IllegalArgumentException("Unknown id code: " + code);
+        }
+        return snapshot[code];
+    }
+
+    /**
+     * @return The number of distinct ids registered so far.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized int register(String id) {
+        Integer existing = codes.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        // Store the array slot before publishing the code, so readers never see an empty slot
+        ids[size] = id;
+        codes.put(id, size);
+        return size++;
+    }
+
+    /**
+     * Checks whether a string is a repeated element reference worth interning.
+     * Step ids ("S" + UUID) and computation ids ("CO" + UUID) are deliberately skipped:
+     * the dictionary never shrinks, so every step or computation ever loaded would stay pinned in it,
+     * even after the computation is deleted.
+     */
+    static boolean isSharedElementId(String value) {
+        int prefixLength = value.length() - UUID_LENGTH;
+        if (prefixLength < 1 || prefixLength > 3) return false;
+        if (prefixLength == 1 && value.charAt(0) == 'S') return false;
+        if (prefixLength == 2 && value.startsWith("CO")) return false;
+
+        // Cheap UUID shape check: dashes at the canonical positions
+        return value.charAt(prefixLength + 8) == '-'
+                && value.charAt(prefixLength + 13) == '-'
+                && value.charAt(prefixLength + 18) == '-'
+                && value.charAt(prefixLength + 23) == '-';
+    }
+
+    /**
+     * Builds a Jackson module that interns element ids while parsing,
+     * both as plain string values and as map keys (e.g. {@code tokensPerPlace}).
+     * @return The module to register on an ObjectMapper.
+     */
+    public static Module jacksonModule() {
+        SimpleModule module = new SimpleModule("IdDictionaryModule");
+        module.addDeserializer(String.class, new InterningStringDeserializer());
+        module.addKeyDeserializer(String.class, new InterningKeyDeserializer());
+        return module;
+    }
+
+    /**
+     * String deserializer that routes element ids through the dictionary.
+     */
+    private static class InterningStringDeserializer extends StdScalarDeserializer<String> {
+
+        InterningStringDeserializer() {
+            super(String.class);
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_STRING)) {
+                return canonical(p.getText());
+            }
+            return StringDeserializer.instance.deserialize(p, ctxt);
+        }
+    }
+
+    /**
+     * Map key deserializer that routes element ids through the dictionary.
+     */
+    private static class InterningKeyDeserializer extends KeyDeserializer {
+        @Override
+        public Object deserializeKey(String key, DeserializationContext ctxt) {
+            return canonical(key);
+        }
+    }
+
+    private static String canonical(String value) {
+        if (value != null && isSharedElementId(value)) {
+            return instance.intern(value);
+        }
+        return value;
+    }
+}
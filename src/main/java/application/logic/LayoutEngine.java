@@ -0,0 +1,575 @@
+package application.logic;
+
+import application.repositories.PetriNetCoordinates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Computes a readable layout for nets that have no saved coordinates (imported or generated nets).
+ * Uses a layered (Sugiyama-style) drawing of the bipartite place/transition graph:
+ * <ol>
+ *     <li>cycles are broken by reversing the back edges of a depth-first search started at the initial place;</li>
+ *     <li>every node gets a layer (column) with longest-path layering, so arcs flow left to right;</li>
+ *     <li>arcs spanning a few layers are split with dummy nodes;</li>
+ *     <li>nodes are reordered inside their layer with barycenter sweeps, keeping the order with the fewest crossings;</li>
+ *     <li>vertical positions are pulled towards the neighbours' positions, keeping a minimum spacing.</li>
+ * </ol>
+ * Results are cached per net structure, so reopening the same net does not compute it again.
+ */
+public final class LayoutEngine {
+
+    public static final double LAYER_SPACING = 150;
+    public static final double NODE_SPACING = 80;
+    public static final double MARGIN = 100;
+
+    // Barycenter sweeps (alternating down/up) and vertical refinement passes
+    private static final int ORDERING_SWEEPS = 8;
+    private static final int REFINEMENT_PASSES = 4;
+
+    // Arcs are drawn as straight lines, so dummy nodes only steer the ordering. Splitting arcs that jump
+    // back across a long net (loops) would add thousands of dummies each; such arcs are left out instead.
+    private static final int MAX_SPLIT_SPAN = 8;
+
+    private static final int CACHE_SIZE = 16;
+
+    private static final LayoutEngine instance = new LayoutEngine();
+
+    // LRU cache, keyed by net ID + structure fingerprint (see versionKey)
+    private final Map<String, PetriNetCoordinates> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PetriNetCoordinates> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "layout-engine");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private LayoutEngine() {
+    }
+
+    public static LayoutEngine getInstance() {
+        return instance;
+    }
+
+    /**
+     * Checks whether every place and transition of a net has a position.
+     *
+     * @param net    The net.
+     * @param coords Its coordinates, may be null.
+     * @return True if nothing needs to be laid out.
+     */
+    public static boolean hasAllPositions(PetriNet net, PetriNetCoordinates coords) {
+        if (coords == null) return net.getPlaces().isEmpty() && net.getTransitions().isEmpty();
+
+        for (String placeId : net.getPlaces().keySet()) {
+            if (coords.getPlacePosition(placeId) == null) return false;
+        }
+        for (String transitionId : net.getTransitions().keySet()) {
+            if (coords.getTransitionPosition(transitionId) == null) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lays out a whole net. The result is cached; callers get their own copy.
+     * The net must not be modified while this runs.
+     *
+     * @param net The net to lay out.
+     * @return Positions for every place and transition.
+     */
+    public PetriNetCoordinates layout(PetriNet net) {
+        String key = versionKey(net);
+        PetriNetCoordinates cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached == null) {
+            cached = computeLayout(net);
+            synchronized (cache) {
+                cache.put(key, cached);
+            }
+        }
+        return copyOf(cached);
+    }
+
+    /**
+     * Fills in the positions missing from a net's coordinates.
+     * Existing positions are kept; missing ones come from {@link #layout(PetriNet)},
+     * shifted to the right of the existing drawing so they do not overlap it.
+     *
+     * @param net      The net.
+     * @param existing The saved coordinates, may be null or incomplete. Not modified.
+     * @return The existing coordinates if complete, otherwise a new completed object.
+     */
+    public PetriNetCoordinates complete(PetriNet net, PetriNetCoordinates existing) {
+        if (hasAllPositions(net, existing)) return existing;
+
+        PetriNetCoordinates computed = layout(net);
+        if (existing == null || (existing.getPlacePositions().isEmpty() && existing.getTransitionPositions().isEmpty())) {
+            return computed;
+        }
+
+        PetriNetCoordinates result = copyOf(existing);
+        double offsetX = 0;
+        for (PetriNetCoordinates.Position pos : existing.getPlacePositions().values()) {
+            offsetX = Math.max(offsetX, pos.x);
+        }
+        for (PetriNetCoordinates.Position pos : existing.getTransitionPositions().values()) {
+            offsetX = Math.max(offsetX, pos.x);
+        }
+        offsetX += LAYER_SPACING - MARGIN;
+
+        for (String placeId : net.getPlaces().keySet()) {
+            PetriNetCoordinates.Position pos = computed.getPlacePosition(placeId);
+            if (result.getPlacePosition(placeId) == null && pos != null) {
+                result.setPlacePosition(placeId, pos.x + offsetX, pos.y);
+            }
+        }
+        for (String transitionId : net.getTransitions().keySet()) {
+            PetriNetCoordinates.Position pos = computed.getTransitionPosition(transitionId);
+            if (result.getTransitionPosition(transitionId) == null && pos != null) {
+                result.setTransitionPosition(transitionId, pos.x + offsetX, pos.y);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #complete(PetriNet, PetriNetCoordinates)}, on a background thread.
+     * The net must not be modified until the returned future completes.
+     *
+     * @param net      The net.
+     * @param existing The saved coordinates, may be null or incomplete. Not modified.
+     * @return A future completed with the completed coordinates.
+     */
+    public CompletableFuture<PetriNetCoordinates> completeAsync(PetriNet net, PetriNetCoordinates existing) {
+        if (hasAllPositions(net, existing)) return CompletableFuture.completedFuture(existing);
+        return CompletableFuture.supplyAsync(() -> complete(net, existing), executor);
+    }
+
+    /**
+     * Builds the cache key of a net: its ID plus an order-independent fingerprint of its
+     * places, transitions and arcs, so any structural change gives a new key.
+     */
+    static String versionKey(PetriNet net) {
+        long fingerprint = 0;
+        for (String placeId : net.getPlaces().keySet()) {
+            fingerprint += mix(placeId.hashCode());
+        }
+        for (String transitionId : net.getTransitions().keySet()) {
+            fingerprint += mix(~transitionId.hashCode());
+        }
+        for (Arc arc : net.getArcs().values()) {
+            fingerprint += mix(31L * arc.getSourceId().hashCode() + arc.getTargetId().hashCode());
+        }
+        return net.getId() + ":" + net.getPlaces().size() + ":" + net.getTransitions().size() + ":"
+                + net.getArcs().size() + ":" + Long.toHexString(fingerprint) + ":" + net.getInitialPlaceId();
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer: spreads similar hashes before they are summed
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static PetriNetCoordinates copyOf(PetriNetCoordinates source) {
+        PetriNetCoordinates copy = new PetriNetCoordinates();
+        source.getPlacePositions().forEach((id, pos) -> copy.setPlacePosition(id, pos.x, pos.y));
+        source.getTransitionPositions().forEach((id, pos) -> copy.setTransitionPosition(id, pos.x, pos.y));
+        return copy;
+    }
+
+    // --- Layered layout ---
+
+    private static PetriNetCoordinates computeLayout(PetriNet net) {
+        // 1. Number the nodes: the initial place first, then places and transitions by ID for stable results
+        List<String> ids = new ArrayList<>(net.getPlaces().size() + net.getTransitions().size());
+        String initialId = net.getInitialPlaceId();
+        if (initialId != null && net.getPlaces().containsKey(initialId)) ids.add(initialId);
+        List<String> others = new ArrayList<>(net.getPlaces().keySet());
+        others.remove(initialId);
+        others.sort(null);
+        ids.addAll(others);
+        int placeCount = ids.size();
+        List<String> transitionIds = new ArrayList<>(net.getTransitions().keySet());
+        transitionIds.sort(null);
+        ids.addAll(transitionIds);
+
+        int n = ids.size();
+        Map<String, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) index.put(ids.get(i), i);
+
+        List<int[]> edges = new ArrayList<>(net.getArcs().size());
+        for (Arc arc : net.getArcs().values()) {
+            Integer source = index.get(arc.getSourceId());
+            Integer target = index.get(arc.getTargetId());
+            if (source != null && target != null) edges.add(new int[]{source, target});
+        }
+
+        // 2. Break cycles, then assign layers
+        breakCycles(n, edges);
+        int[] layerOf = longestPathLayers(n, edges);
+
+        // 3. Split long arcs with dummy nodes, so every segment joins two adjacent layers
+        IntList layers = new IntList(n);
+        for (int v = 0; v < n; v++) layers.add(layerOf[v]);
+        List<int[]> segments = new ArrayList<>(edges.size());
+        for (int[] edge : edges) {
+            if (layerOf[edge[1]] - layerOf[edge[0]] > MAX_SPLIT_SPAN) continue;
+            int previous = edge[0];
+            for (int layer = layerOf[edge[0]] + 1; layer < layerOf[edge[1]]; layer++) {
+                int dummy = layers.size();
+                layers.add(layer);
+                segments.add(new int[]{previous, dummy});
+                previous = dummy;
+            }
+            segments.add(new int[]{previous, edge[1]});
+        }
+        int total = layers.size();
+        int[][] up = adjacency(total, segments, true);
+        int[][] down = adjacency(total, segments, false);
+
+        // 4. Order the nodes inside each layer
+        int[][] order = initialOrder(total, layers, up, down);
+        minimizeCrossings(order, up, down, total);
+
+        // 5. Vertical positions, then write the real nodes out
+        double[] y = assignY(order, up, down, total);
+
+        PetriNetCoordinates coords = new PetriNetCoordinates();
+        for (int v = 0; v < n; v++) {
+            double x = MARGIN + layers.get(v) * LAYER_SPACING;
+            if (v < placeCount) {
+                coords.setPlacePosition(ids.get(v), x, y[v]);
+            } else {
+                coords.setTransitionPosition(ids.get(v), x, y[v]);
+            }
+        }
+        return coords;
+    }
+
+    /**
+     * Reverses the back edges of an iterative depth-first search, which makes the graph acyclic.
+     * Roots are tried in node order, so the initial place is the first one.
+     */
+    private static void breakCycles(int n, List<int[]> edges) {
+        int[][] out = new int[n][];
+        int[] degree = new int[n];
+        for (int[] edge : edges) degree[edge[0]]++;
+        for (int v = 0; v < n; v++) out[v] = new int[degree[v]];
+        Arrays.fill(degree, 0);
+        for (int e = 0; e < edges.size(); e++) {
+            int source = edges.get(e)[0];
+            out[source][degree[source]++] = e;
+        }
+
+        // Nodes without incoming arcs are better roots than nodes in the middle of a cycle
+        boolean[] hasIncoming = new boolean[n];
+        for (int[] edge : edges) hasIncoming[edge[1]] = true;
+        int[] roots = new int[n];
+        int count = 0;
+        if (n > 0) roots[count++] = 0;
+        for (int v = 1; v < n; v++) if (!hasIncoming[v]) roots[count++] = v;
+        for (int v = 1; v < n; v++) if (hasIncoming[v]) roots[count++] = v;
+
+        byte[] state = new byte[n]; // 0 = unvisited, 1 = on the stack, 2 = done
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        boolean[] reversed = new boolean[edges.size()];
+
+        for (int r = 0; r < n; r++) {
+            int root = roots[r];
+            if (state[root] != 0) continue;
+
+            int sp = 0;
+            stack[sp++] = root;
+            state[root] = 1;
+            while (sp > 0) {
+                int v = stack[sp - 1];
+                if (cursor[v] < out[v].length) {
+                    int e = out[v][cursor[v]++];
+                    int w = edges.get(e)[1];
+                    if (state[w] == 1) {
+                        reversed[e] = true;
+                    } else if (state[w] == 0) {
+                        state[w] = 1;
+                        stack[sp++] = w;
+                    }
+                } else {
+                    state[v] = 2;
+                    sp--;
+                }
+            }
+        }
+
+        for (int e = 0; e < edges.size(); e++) {
+            if (reversed[e]) {
+                int[] edge = edges.get(e);
+                edges.set(e, new int[]{edge[1], edge[0]});
+            }
+        }
+    }
+
+    /**
+     * Longest-path layering of an acyclic graph: every node is one layer after its furthest predecessor.
+     */
+    private static int[] longestPathLayers(int n, List<int[]> edges) {
+        int[][] out = adjacency(n, edges, false);
+        int[] inDegree = new int[n];
+        for (int[] edge : edges) inDegree[edge[1]]++;
+
+        int[] layer = new int[n];
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) if (inDegree[v] == 0) queue[tail++] = v;
+
+        while (head < tail) {
+            int v = queue[head++];
+            for (int w : out[v]) {
+                layer[w] = Math.max(layer[w], layer[v] + 1);
+                if (--inDegree[w] == 0) queue[tail++] = w;
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Builds neighbour arrays: predecessors if {@code incoming}, successors otherwise.
+     */
+    private static int[][] adjacency(int n, List<int[]> edges, boolean incoming) {
+        int from = incoming ? 1 : 0;
+        int to = incoming ? 0 : 1;
+        int[] degree = new int[n];
+        for (int[] edge : edges) degree[edge[from]]++;
+        int[][] result = new int[n][];
+        for (int v = 0; v < n; v++) result[v] = new int[degree[v]];
+        Arrays.fill(degree, 0);
+        for (int[] edge : edges) result[edge[from]][degree[edge[from]]++] = edge[to];
+        return result;
+    }
+
+    /**
+     * Starting order: breadth-first from the first layer, so connected nodes start close to each other.
+     */
+    private static int[][] initialOrder(int total, IntList layers, int[][] up, int[][] down) {
+        int layerCount = 0;
+        for (int v = 0; v < total; v++) layerCount = Math.max(layerCount, layers.get(v) + 1);
+
+        IntList[] byLayer = new IntList[layerCount];
+        for (int l = 0; l < layerCount; l++) byLayer[l] = new IntList(4);
+
+        boolean[] seen = new boolean[total];
+        int[] queue = new int[total];
+        int head = 0, tail = 0;
+        for (int v = 0; v < total; v++) {
+            if (up[v].length == 0) {
+                seen[v] = true;
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int v = queue[head++];
+            byLayer[layers.get(v)].add(v);
+            for (int w : down[v]) {
+                if (!seen[w]) {
+                    seen[w] = true;
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        int[][] order = new int[layerCount][];
+        for (int l = 0; l < layerCount; l++) order[l] = byLayer[l].toArray();
+        return order;
+    }
+
+    /**
+     * Barycenter heuristic: alternately sorts each layer by the mean position of its neighbours
+     * in the layer above (downward sweep) or below (upward sweep). The order with the fewest
+     * crossings seen during the sweeps is kept.
+     */
+    private static void minimizeCrossings(int[][] order, int[][] up, int[][] down, int total) {
+        int[] pos = new int[total];
+        updatePositions(order, pos);
+
+        long best = countCrossings(order, down, pos);
+        int[][] bestOrder = deepCopy(order);
+        double[] key = new double[total];
+
+        for (int sweep = 0; sweep < ORDERING_SWEEPS && best > 0; sweep++) {
+            boolean downward = sweep % 2 == 0;
+            if (downward) {
+                for (int l = 1; l < order.length; l++) sortByBarycenter(order[l], up, pos, key);
+            } else {
+                for (int l = order.length - 2; l >= 0; l--) sortByBarycenter(order[l], down, pos, key);
+            }
+
+            long crossings = countCrossings(order, down, pos);
+            if (crossings < best) {
+                best = crossings;
+                bestOrder = deepCopy(order);
+            }
+        }
+
+        for (int l = 0; l < order.length; l++) order[l] = bestOrder[l];
+    }
+
+    private static void sortByBarycenter(int[] layer, int[][] neighbours, int[] pos, double[] key) {
+        for (int v : layer) {
+            int[] adjacent = neighbours[v];
+            if (adjacent.length == 0) {
+                key[v] = pos[v]; // No neighbours on that side: stay where it is
+                continue;
+            }
+            double sum = 0;
+            for (int w : adjacent) sum += pos[w];
+            key[v] = sum / adjacent.length;
+        }
+
+        Integer[] boxed = new Integer[layer.length];
+        for (int i = 0; i < layer.length; i++) boxed[i] = layer[i];
+        Arrays.sort(boxed, (a, b) -> Double.compare(key[a], key[b])); // Stable: ties keep their order
+        for (int i = 0; i < layer.length; i++) {
+            layer[i] = boxed[i];
+            pos[layer[i]] = i;
+        }
+    }
+
+    /**
+     * Counts arc crossings between every pair of adjacent layers, in O(E log V) per pair:
+     * segments are listed by upper endpoint, and crossings are the inversions of their lower endpoints.
+     */
+    static long countCrossings(int[][] order, int[][] down, int[] pos) {
+        long crossings = 0;
+        for (int l = 0; l + 1 < order.length; l++) {
+            int width = order[l + 1].length;
+            long[] tree = new long[width + 1];
+            long inserted = 0;
+
+            for (int v : order[l]) {
+                int[] targets = new int[down[v].length];
+                for (int i = 0; i < targets.length; i++) targets[i] = pos[down[v][i]];
+                Arrays.sort(targets);
+
+                for (int target : targets) {
+                    // Segments already inserted whose lower end is to the right of this one cross it
+                    long notAfter = 0;
+                    for (int i = target + 1; i > 0; i -= i & -i) notAfter += tree[i];
+                    crossings += inserted - notAfter;
+                }
+                for (int target : targets) {
+                    for (int i = target + 1; i <= width; i += i & -i) tree[i]++;
+                    inserted++;
+                }
+            }
+        }
+        return crossings;
+    }
+
+    /**
+     * Assigns vertical positions: starts from evenly spaced layers, then repeatedly moves
+     * each node towards the mean position of its neighbours, keeping the layer order and spacing.
+     */
+    private static double[] assignY(int[][] order, int[][] up, int[][] down, int total) {
+        double[] y = new double[total];
+        for (int[] layer : order) {
+            for (int i = 0; i < layer.length; i++) y[layer[i]] = i * NODE_SPACING;
+        }
+
+        for (int pass = 0; pass < REFINEMENT_PASSES; pass++) {
+            if (pass % 2 == 0) {
+                for (int l = 1; l < order.length; l++) pullTowards(order[l], up, y);
+            } else {
+                for (int l = order.length - 2; l >= 0; l--) pullTowards(order[l], down, y);
+            }
+        }
+
+        double min = Double.MAX_VALUE;
+        for (double value : y) min = Math.min(min, value);
+        double shift = total == 0 ? 0 : MARGIN - min;
+        for (int v = 0; v < total; v++) y[v] += shift;
+        return y;
+    }
+
+    private static void pullTowards(int[] layer, int[][] neighbours, double[] y) {
+        int k = layer.length;
+        if (k == 0) return;
+
+        double[] desired = new double[k];
+        for (int i = 0; i < k; i++) {
+            int[] adjacent = neighbours[layer[i]];
+            if (adjacent.length == 0) {
+                desired[i] = y[layer[i]];
+            } else {
+                double sum = 0;
+                for (int w : adjacent) sum += y[w];
+                desired[i] = sum / adjacent.length;
+            }
+        }
+
+        // Push overlapping nodes down, then up, and take the middle: both keep the spacing, so does their mean
+        double[] forward = new double[k];
+        double[] backward = new double[k];
+        for (int i = 0; i < k; i++) {
+            forward[i] = i == 0 ? desired[i] : Math.max(desired[i], forward[i - 1] + NODE_SPACING);
+        }
+        for (int i = k - 1; i >= 0; i--) {
+            backward[i] = i == k - 1 ? desired[i] : Math.min(desired[i], backward[i + 1] - NODE_SPACING);
+        }
+        for (int i = 0; i < k; i++) y[layer[i]] = (forward[i] + backward[i]) / 2;
+    }
+
+    private static void updatePositions(int[][] order, int[] pos) {
+        for (int[] layer : order) {
+            for (int i = 0; i < layer.length; i++) pos[layer[i]] = i;
+        }
+    }
+
+    private static int[][] deepCopy(int[][] order) {
+        int[][] copy = new int[order.length][];
+        for (int l = 0; l < order.length; l++) copy[l] = order[l].clone();
+        return copy;
+    }
+
+    /**
+     * Minimal growable int array, to avoid boxing one Integer per node.
+     */
+    private static final class IntList {
+        private int[] values;
+        private int size;
+
+        IntList(int capacity) {
+            values = new int[Math.max(capacity, 1)];
+        }
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
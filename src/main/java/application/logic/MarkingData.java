@@ -1,25 +1,37 @@
-
 package application.logic;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents the Marking of a single Petri net computation.
  * This class tracks the distribution of tokens across all places.
  * This object corresponds to the 'MarkingData' (5.2.6) when serialized.
+ *
+ * Internally the marking is stored as two parallel int arrays sorted by place code
+ * (see {@link IdDictionary}), which keeps every step of a long history compact.
  */
 public class MarkingData {
 
-    // Questo è il dato che verrà serializzato in JSON.
-    private Map<String, Integer> tokensPerPlace;
+    private static final int[] EMPTY = new int[0];
+
+    // Place codes (sorted ascending) and the matching token counts. Only places with tokens are stored.
+    private int[] placeCodes;
+    private int[] tokenCounts;
+    private int size;
 
     /**
      * Default constructor. Creates an empty marking.
      * Used by Jackson for deserialization.
      */
     public MarkingData() {
-        this.tokensPerPlace = new HashMap<>();
+        this.placeCodes = EMPTY;
+        this.tokenCounts = EMPTY;
+        this.size = 0;
     }
 
     /**
@@ -27,23 +39,37 @@ public class MarkingData {
      * This is essential for the 'fire()' method.
      */
     public MarkingData(MarkingData other) {
-        this.tokensPerPlace = new HashMap<>(other.tokensPerPlace);
+        this.placeCodes = Arrays.copyOf(other.placeCodes, other.size);
+        this.tokenCounts = Arrays.copyOf(other.tokenCounts, other.size);
+        this.size = other.size;
     }
 
-    // --- Getters e Setters per la serializzazione Jackson ---
+    // --- Getters and Setters for Jackson serialization ---
 
     /**
-     * @return token data map.
+     * @return A read-only view of the token data, keyed by place ID.
      */
     public Map<String, Integer> getTokensPerPlace() {
-        return tokensPerPlace;
+        IdDictionary dictionary = IdDictionary.getInstance();
+        Map<String, Integer> view = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            view.put(dictionary.idOf(placeCodes[i]), tokenCounts[i]);
+        }
+        return Collections.unmodifiableMap(view);
     }
 
     /**
      * @param tokensPerPlace The new token data map.
      */
     public void setTokensPerPlace(Map<String, Integer> tokensPerPlace) {
-        this.tokensPerPlace = tokensPerPlace;
+        this.placeCodes = EMPTY;
+        this.tokenCounts = EMPTY;
+        this.size = 0;
+        if (tokensPerPlace != null) {
+            for (Map.Entry<String, Integer> entry : tokensPerPlace.entrySet()) {
+                setTokens(entry.getKey(), entry.getValue());
+            }
+        }
     }
 
     /*Business Logic*/
@@ -52,7 +78,8 @@ public class MarkingData {
      * Gets the number of tokens for a specific place.
      */
     public int getTokens(String placeId) {
-        return tokensPerPlace.getOrDefault(placeId, 0);
+        int index = indexOf(placeId);
+        return index >= 0 ? tokenCounts[index] : 0;
     }
 
     /**
@@ -70,11 +97,7 @@ public class MarkingData {
         if (count < 0) {
             throw new IllegalArgumentException("Token count cannot be negative.");
         }
-        if (count == 0) {
-            tokensPerPlace.remove(placeId);
-        } else {
-            tokensPerPlace.put(placeId, count);
-        }
+        put(placeId, count);
     }
 
     /**
@@ -85,7 +108,7 @@ public class MarkingData {
             throw new IllegalArgumentException("Amount to add must be positive.");
         }
         int newCount = getTokens(placeId) + amount;
-        tokensPerPlace.put(placeId, newCount);
+        put(placeId, newCount);
     }
 
     /**
@@ -103,13 +126,102 @@ public class MarkingData {
             );
         }
 
-        int newCount = currentCount - amount;
-        if (newCount == 0) {
-            tokensPerPlace.remove(placeId);
-        } else {
-            tokensPerPlace.put(placeId, newCount);
+        put(placeId, currentCount - amount);
+    }
+
+    /**
+     * Lists the places whose token count differs from another marking.
+     * Both markings are sorted by place code, so this is a single merge walk over the
+     * places that hold tokens, independent of the total number of places in the net.
+     *
+     * @param previous The marking to compare with (null counts as empty).
+     * @return The ids of the places whose token count changed.
+     */
+    public Set<String> changedPlaces(MarkingData previous) {
+        Set<String> changed = new HashSet<>();
+        int[] otherCodes = previous != null ? previous.placeCodes : EMPTY;
+        int[] otherCounts = previous != null ? previous.tokenCounts : EMPTY;
+        int otherSize = previous != null ? previous.size : 0;
+
+        IdDictionary dictionary = IdDictionary.getInstance();
+        int i = 0, j = 0;
+        while (i < size || j < otherSize) {
+            if (j >= otherSize || (i < size && placeCodes[i] < otherCodes[j])) {
+                changed.add(dictionary.idOf(placeCodes[i++]));
+            } else if (i >= size || otherCodes[j] < placeCodes[i]) {
+                changed.add(dictionary.idOf(otherCodes[j++]));
+            } else {
+                if (tokenCounts[i] != otherCounts[j]) {
+                    changed.add(dictionary.idOf(placeCodes[i]));
+                }
+                i++;
+                j++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Two markings are equal when every place holds the same number of tokens,
+     * so markings can be used as keys when exploring the reachable states of a net.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MarkingData other)) return false;
+        return Arrays.equals(placeCodes, 0, size, other.placeCodes, 0, other.size)
+                && Arrays.equals(tokenCounts, 0, size, other.tokenCounts, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * (31 * hash + placeCodes[i]) + tokenCounts[i];
         }
+        return hash;
+    }
+
+    // --- Compact storage helpers ---
+
+    /**
+     * Finds the slot of a place, or a negative value if the place holds no tokens.
+     */
+    private int indexOf(String placeId) {
+        int code = IdDictionary.getInstance().find(placeId);
+        return code < 0 ? -1 : Arrays.binarySearch(placeCodes, 0, size, code);
     }
 
-    //TODO: altri metodi helper
-}
\ No newline at end of file
+    /**
+     * Stores a token count, removing the slot when the count drops to zero.
+     */
+    private void put(String placeId, int count) {
+        int code = IdDictionary.getInstance().codeOf(placeId);
+        int index = Arrays.binarySearch(placeCodes, 0, size, code);
+
+        if (index >= 0) {
+            if (count == 0) {
+                System.arraycopy(placeCodes, index + 1, placeCodes, index, size - index - 1);
+                System.arraycopy(tokenCounts, index + 1, tokenCounts, index, size - index - 1);
+                size--;
+            } else {
+                tokenCounts[index] = count;
+            }
+            return;
+        }
+
+        if (count == 0) return;
+
+        int insertAt = -index - 1;
+        if (size == placeCodes.length) {
+            int newLength = Math.max(4, size * 2);
+            placeCodes = Arrays.copyOf(placeCodes, newLength);
+            tokenCounts = Arrays.copyOf(tokenCounts, newLength);
+        }
+        System.arraycopy(placeCodes, insertAt, placeCodes, insertAt + 1, size - insertAt);
+        System.arraycopy(tokenCounts, insertAt, tokenCounts, insertAt + 1, size - insertAt);
+        placeCodes[insertAt] = code;
+        tokenCounts[insertAt] = count;
+        size++;
+    }
+}
@@ -0,0 +1,99 @@
+package application.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A precomputed key ordering names the way people expect: case-insensitively, with runs of
+ * digits compared by value, so "NP2" comes before "NP10".
+ * The name is split into text and number chunks once, when the key is created, so comparing
+ * two keys never parses anything. Numbers are compared by their digits, without size limits.
+ * Equal names are ordered by ID, so keys of different entities are never equal.
+ */
+public final class NaturalSortKey implements Comparable<NaturalSortKey> {
+
+    private final String id;
+    private final String name;
+    // Alternating chunks; a chunk of digits is stored without leading zeros
+    private final String[] chunks;
+    private final boolean[] numeric;
+
+    /**
+     * @param id   The ID of the entity, used to break ties.
+     * @param name The display name.
+     */
+    public NaturalSortKey(String id, String name) {
+        this.id = id;
+        this.name = name == null ? "" : name;
+
+        List<String> parts = new ArrayList<>();
+        List<Boolean> digits = new ArrayList<>();
+        String lower = this.name.toLowerCase(Locale.ROOT);
+        int start = 0;
+        while (start < lower.length()) {
+            boolean isDigit = Character.isDigit(lower.charAt(start));
+            int end = start + 1;
+            while (end < lower.length() && Character.isDigit(lower.charAt(end)) == isDigit) end++;
+
+            String part = lower.substring(start, end);
+            if (isDigit) {
+                int firstSignificant = 0;
+                while (firstSignificant < part.length() - 1 && part.charAt(firstSignificant) == '0') firstSignificant++;
+                part = part.substring(firstSignificant);
+            }
+            parts.add(part);
+            digits.add(isDigit);
+            start = end;
+        }
+
+        this.chunks = parts.toArray(new String[0]);
+        this.numeric = new boolean[digits.size()];
+        for (int i = 0; i < numeric.length; i++) numeric[i] = digits.get(i);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int compareTo(NaturalSortKey other) {
+        int common = Math.min(chunks.length, other.chunks.length);
+        for (int i = 0; i < common; i++) {
+            int result;
+            if (numeric[i] && other.numeric[i]) {
+                // Without leading zeros, a longer run of digits is a larger number
+                result = Integer.compare(chunks[i].length(), other.chunks[i].length());
+                if (result == 0) result = chunks[i].compareTo(other.chunks[i]);
+            } else {
+                result = chunks[i].compareTo(other.chunks[i]);
+            }
+            if (result != 0) return result;
+        }
+        int result = Integer.compare(chunks.length, other.chunks.length);
+        if (result != 0) return result;
+
+        // Same natural order ("NP01" and "np1"): fall back to the exact name, then the ID
+        result = name.compareTo(other.name);
+        return result != 0 ? result : id.compareTo(other.id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof NaturalSortKey key && id.equals(key.id) && name.equals(key.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * id.hashCode() + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NaturalSortKey[" + name + "]";
+    }
+}
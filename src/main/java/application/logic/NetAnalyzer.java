@@ -0,0 +1,175 @@
+package application.logic;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Explores the states a Petri net can reach from its initial marking (one token in the initial place),
+ * with the same firing rule and completion rule as a computation.
+ * The exploration is breadth first and stops after a maximum number of states,
+ * so unbounded nets are reported as such instead of running out of memory.
+ */
+public class NetAnalyzer {
+
+    public static final int DEFAULT_MAX_STATES = 100_000;
+
+    private final int maxStates;
+
+    public NetAnalyzer() {
+        this(DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * @param maxStates The number of markings after which the exploration stops.
+     */
+    public NetAnalyzer(int maxStates) {
+        if (maxStates < 1) {
+            throw new IllegalArgumentException("maxStates must be positive");
+        }
+        this.maxStates = maxStates;
+    }
+
+    /**
+     * The outcome of an analysis.
+     */
+    public static class Result {
+        private final String validationError;
+        private final int reachableStates;
+        private final boolean complete;
+        private final boolean finalReachable;
+        private final int deadlocks;
+        private final int maxTokens;
+        private final Set<String> deadTransitionIds;
+
+        Result(String validationError, int reachableStates, boolean complete, boolean finalReachable,
+               int deadlocks, int maxTokens, Set<String> deadTransitionIds) {
+            this.validationError = validationError;
+            this.reachableStates = reachableStates;
+            this.complete = complete;
+            this.finalReachable = finalReachable;
+            this.deadlocks = deadlocks;
+            this.maxTokens = maxTokens;
+            this.deadTransitionIds = Collections.unmodifiableSet(deadTransitionIds);
+        }
+
+        /** @return True if the net passes {@link PetriNet#validate()}. */
+        public boolean isValid() { return validationError == null; }
+
+        /** @return Why the net is not valid, or null. */
+        public String getValidationError() { return validationError; }
+
+        /** @return The number of distinct markings visited. */
+        public int getReachableStates() { return reachableStates; }
+
+        /** @return True if every reachable marking was visited (the limit was not hit). */
+        public boolean isComplete() { return complete; }
+
+        /** @return True if some firing sequence puts a token in the final place. */
+        public boolean isFinalReachable() { return finalReachable; }
+
+        /** @return The number of visited markings, other than completed ones, where nothing is enabled. */
+        public int getDeadlocks() { return deadlocks; }
+
+        /** @return The largest number of tokens seen in one place. */
+        public int getMaxTokens() { return maxTokens; }
+
+        /** @return The transitions never enabled in a visited marking. */
+        public Set<String> getDeadTransitionIds() { return deadTransitionIds; }
+
+        @Override
+        public String toString() {
+            return String.format("valid=%s, states=%d%s, finalReachable=%s, deadlocks=%d, maxTokens=%d, deadTransitions=%d",
+                    isValid() ? "yes" : "no (" + validationError + ")",
+                    reachableStates, complete ? "" : " (limit reached)",
+                    finalReachable, deadlocks, maxTokens, deadTransitionIds.size());
+        }
+    }
+
+    /**
+     * Validates the net and explores its reachable markings.
+     *
+     * @param net The net to analyze.
+     * @return The analysis result.
+     */
+    public Result analyze(PetriNet net) {
+        String validationError = null;
+        try {
+            net.validate();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            validationError = e.getMessage();
+        }
+
+        Set<String> deadTransitions = new LinkedHashSet<>(net.getTransitions().keySet());
+        String initialPlaceId = net.getInitialPlaceId();
+        if (initialPlaceId == null) {
+            return new Result(validationError, 0, true, false, 0, 0, deadTransitions);
+        }
+
+        String finalPlaceId = net.getFinalPlaceId();
+        MarkingData initial = new MarkingData();
+        initial.setTokens(initialPlaceId, 1);
+
+        Set<MarkingData> visited = new HashSet<>();
+        Queue<MarkingData> frontier = new ArrayDeque<>();
+        visited.add(initial);
+        frontier.add(initial);
+
+        boolean complete = true;
+        boolean finalReachable = false;
+        int deadlocks = 0;
+        int maxTokens = 1;
+
+        while (!frontier.isEmpty()) {
+            MarkingData marking = frontier.poll();
+            for (int tokens : marking.getTokensPerPlace().values()) {
+                maxTokens = Math.max(maxTokens, tokens);
+            }
+
+            // A computation ends as soon as the final place is marked
+            if (finalPlaceId != null && marking.getTokens(finalPlaceId) > 0) {
+                finalReachable = true;
+                continue;
+            }
+
+            boolean anyEnabled = false;
+            for (String transitionId : net.getTransitions().keySet()) {
+                if (!net.isEnabled(transitionId, marking)) continue;
+                anyEnabled = true;
+                deadTransitions.remove(transitionId);
+
+                MarkingData next = net.fire(transitionId, marking);
+                if (visited.contains(next)) continue;
+                if (visited.size() >= maxStates) {
+                    complete = false;
+                    continue;
+                }
+                visited.add(next);
+                frontier.add(next);
+            }
+            if (!anyEnabled) {
+                deadlocks++;
+            }
+        }
+
+        return new Result(validationError, visited.size(), complete, finalReachable,
+                deadlocks, maxTokens, deadTransitions);
+    }
+
+    /**
+     * @return The names of the given transitions in the net, for reports.
+     */
+    public static Set<String> namesOf(PetriNet net, Set<String> transitionIds) {
+        Map<String, Transition> transitions = net.getTransitions();
+        Set<String> names = new LinkedHashSet<>();
+        for (String id : transitionIds) {
+            Transition transition = transitions.get(id);
+            names.add(transition != null ? transition.getName() : id);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,102 @@
+package application.logic;
+
+import application.repositories.PetriNetRepository;
+import application.repositories.RepositoryListener;
+import application.repositories.UserRepository;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory search index over net names and net creators (username and email).
+ * It follows the repositories through {@link RepositoryListener}s, so searching never rescans
+ * or lowercases the stored nets and users.
+ */
+public class NetSearchIndex {
+
+    private final SubstringIndex netNames = new SubstringIndex();
+    private final SubstringIndex creators = new SubstringIndex();
+
+    // Which admin created each net, and the reverse
+    private final Map<String, String> adminByNet = new HashMap<>();
+    private final Map<String, Set<String>> netsByAdmin = new HashMap<>();
+
+    /**
+     * Creates an empty index, filled through {@link #putNet}, {@link #removeNet} and {@link #putUser}.
+     */
+    NetSearchIndex() {
+    }
+
+    /**
+     * Creates an index of the current nets and users, kept up to date as the repositories change.
+     *
+     * @param userRepository     The user repository instance.
+     * @param petriNetRepository The Petri net repository instance.
+     */
+    public NetSearchIndex(UserRepository userRepository, PetriNetRepository petriNetRepository) {
+        userRepository.addListener(this::putUser);
+        petriNetRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void saved(PetriNet net) {
+                putNet(net);
+            }
+
+            @Override
+            public void deleted(String id) {
+                removeNet(id);
+            }
+        });
+    }
+
+    /**
+     * Finds the nets whose name contains the query, ignoring case.
+     *
+     * @param query The text typed by the user.
+     * @return The IDs of the matching nets.
+     */
+    public synchronized Set<String> findNetsByName(String query) {
+        return netNames.find(query);
+    }
+
+    /**
+     * Finds the nets whose creator's username or email contains the query, ignoring case.
+     *
+     * @param query The text typed by the user.
+     * @return The IDs of the matching nets.
+     */
+    public synchronized Set<String> findNetsByCreator(String query) {
+        Set<String> nets = new HashSet<>();
+        for (String adminId : creators.find(query)) {
+            nets.addAll(netsByAdmin.getOrDefault(adminId, Set.of()));
+        }
+        return nets;
+    }
+
+    synchronized void putNet(PetriNet net) {
+        removeNet(net.getId());
+        netNames.put(net.getId(), net.getName());
+        adminByNet.put(net.getId(), net.getAdminId());
+        netsByAdmin.computeIfAbsent(net.getAdminId(), k -> new HashSet<>()).add(net.getId());
+    }
+
+    synchronized void removeNet(String netId) {
+        netNames.remove(netId);
+        String adminId = adminByNet.remove(netId);
+        if (adminId != null) {
+            Set<String> nets = netsByAdmin.get(adminId);
+            nets.remove(netId);
+            if (nets.isEmpty()) netsByAdmin.remove(adminId);
+        }
+    }
+
+    synchronized void putUser(User user) {
+        // Only administrators create nets, so regular users are never a search result
+        if (user.isAdmin()) {
+            creators.put(user.getId(), user.getUsername(), user.getEmail());
+        } else {
+            creators.remove(user.getId());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package application.logic;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * Hashes and checks passwords with BCrypt at a configurable cost factor.
+ * The cost comes from the {@code petrinet.bcrypt.cost} system property: a number between
+ * 4 and 31, or {@code auto} to pick the highest cost that hashes within
+ * {@code petrinet.bcrypt.targetMs} milliseconds (default 100) on this machine.
+ * Hashes made at another cost still verify; {@link #needsRehash(String)} tells when to upgrade them.
+ */
+public final class PasswordHasher {
+
+    /** Cost of the hashes already stored in the user file. */
+    public static final int DEFAULT_COST = 10;
+    private static final int MIN_COST = 4;
+    private static final int MAX_COST = 31;
+
+    private static volatile int cost = initialCost();
+
+    private PasswordHasher() {}
+
+    private static int initialCost() {
+        String configured = System.getProperty("petrinet.bcrypt.cost");
+        if (configured == null || configured.isBlank()) {
+            return DEFAULT_COST;
+        }
+        if ("auto".equalsIgnoreCase(configured.trim())) {
+            return calibrate(Long.getLong("petrinet.bcrypt.targetMs", 100));
+        }
+        try {
+            return clamp(Integer.parseInt(configured.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid petrinet.bcrypt.cost '" + configured + "', using " + DEFAULT_COST);
+            return DEFAULT_COST;
+        }
+    }
+
+    /**
+     * Measures BCrypt on this machine and returns the highest cost whose hash takes at most the target time.
+     * Each extra cost unit doubles the work, so the cost is extrapolated from one measurement.
+     *
+     * @param targetMillis The time one hash may take.
+     * @return The calibrated cost, never below {@link #DEFAULT_COST}.
+     */
+    public static int calibrate(long targetMillis) {
+        // Warm up, then time one hash at a low cost
+        BCrypt.hashpw("calibration", BCrypt.gensalt(MIN_COST + 2));
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration", BCrypt.gensalt(DEFAULT_COST));
+        double millis = Math.max(0.01, (System.nanoTime() - start) / 1_000_000.0);
+
+        int calibrated = DEFAULT_COST;
+        while (calibrated < MAX_COST && millis * 2 <= targetMillis) {
+            millis *= 2;
+            calibrated++;
+        }
+        return calibrated;
+    }
+
+    /**
+     * @return The cost used for new hashes.
+     */
+    public static int getCost() {
+        return cost;
+    }
+
+    /**
+     * Changes the cost used for new hashes, e.g. after a calibration.
+     *
+     * @param newCost The new cost factor.
+     */
+    public static void setCost(int newCost) {
+        cost = clamp(newCost);
+    }
+
+    /**
+     * @param plainPassword The password to hash.
+     * @return A BCrypt hash at the current cost.
+     */
+    public static String hash(String plainPassword) {
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost));
+    }
+
+    /**
+     * @param plainPassword The password to check.
+     * @param hash          The stored hash.
+     * @return True if the password matches; false also for a malformed hash.
+     */
+    public static boolean verify(String plainPassword, String hash) {
+        try {
+            return BCrypt.checkpw(plainPassword, hash);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param hash A stored hash ("$2a$10$...").
+     * @return The cost factor of the hash, or -1 if it cannot be read.
+     */
+    public static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') return -1;
+        int end = hash.indexOf('$', 4);
+        if (end < 0) return -1;
+        try {
+            return Integer.parseInt(hash.substring(end - 2, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param hash A stored hash.
+     * @return True if the hash was made at a different cost than the current one.
+     */
+    public static boolean needsRehash(String hash) {
+        return costOf(hash) != cost;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(MIN_COST, Math.min(MAX_COST, value));
+    }
+}
@@ -31,6 +31,13 @@ public class PetriNet {
     private final Map<String, Transition> transitions = new HashMap<>();
     private final Map<String, Arc> arcs = new HashMap<>();
 
+    // Adjacency index (element ID -> arcs), derived from the arcs map and never serialized.
+    // Lets removals, enabling checks and firing cost the degree of an element instead of the whole net.
+    @JsonIgnore
+    private final Map<String, List<Arc>> incomingArcs = new HashMap<>();
+    @JsonIgnore
+    private final Map<String, List<Arc>> outgoingArcs = new HashMap<>();
+
     /**
      * Default constructor required for deserialization (Jackson).
      */
@@ -53,6 +60,20 @@ public class PetriNet {
         this.dateCreated = LocalDateTime.now();
     }
 
+    /**
+     * Constructs an empty net with a given ID and creation date, so that generated nets can be reproduced exactly.
+     * @param id The ID of the net (starting with "NP").
+     * @param name The name of the net.
+     * @param adminId The ID of the administrator who owns the net.
+     * @param dateCreated The creation date.
+     */
+    PetriNet(String id, String name, String adminId, LocalDateTime dateCreated) {
+        this.id = Objects.requireNonNull(id);
+        this.name = Objects.requireNonNull(name);
+        this.adminId = Objects.requireNonNull(adminId);
+        this.dateCreated = Objects.requireNonNull(dateCreated);
+    }
+
     // --- JACKSON SETTERS ---
     // These are required so Jackson can reconstruct the object from JSON.
     // They are kept private/package-private so business logic cannot misuse them.
@@ -101,6 +122,12 @@ public class PetriNet {
         if (parsedArcs != null) {
             this.arcs.clear();
             this.arcs.putAll(parsedArcs);
+
+            incomingArcs.clear();
+            outgoingArcs.clear();
+            for (Arc arc : arcs.values()) {
+                indexArc(arc);
+            }
         }
     }
     // --- END JACKSON SETTERS ---
@@ -164,6 +191,7 @@ public class PetriNet {
 
         verifyInitialFinal(arc);
         arcs.put(arc.getId(), arc);
+        indexArc(arc);
     }
 
     /**
@@ -265,6 +293,24 @@ public class PetriNet {
         return Collections.unmodifiableMap(arcs);
     }
 
+    /**
+     * Gets the arcs whose target is the given element.
+     * @param elementId The ID of a Place or Transition.
+     * @return The incoming arcs (empty if there are none).
+     */
+    public List<Arc> getIncomingArcs(String elementId) {
+        return Collections.unmodifiableList(incomingArcs.getOrDefault(elementId, List.of()));
+    }
+
+    /**
+     * Gets the arcs whose source is the given element.
+     * @param elementId The ID of a Place or Transition.
+     * @return The outgoing arcs (empty if there are none).
+     */
+    public List<Arc> getOutgoingArcs(String elementId) {
+        return Collections.unmodifiableList(outgoingArcs.getOrDefault(elementId, List.of()));
+    }
+
     /**
      * Gets the formatted date of creation for display or serialization.
      */
@@ -310,16 +356,7 @@ public class PetriNet {
         List<Place> candidates = new ArrayList<>();
 
         for (Place place : places.values()) {
-            boolean hasIncomingArc = false;
-
-            for (Arc arc : arcs.values()) {
-                if (arc.getTargetId().equals(place.getId())) {
-                    hasIncomingArc = true;
-                    break;
-                }
-            }
-
-            if (!hasIncomingArc) {
+            if (!incomingArcs.containsKey(place.getId())) {
                 candidates.add(place);
             }
         }
@@ -345,16 +382,7 @@ public class PetriNet {
         List<Place> candidates = new ArrayList<>();
 
         for (Place place : places.values()) {
-            boolean hasOutgoingArc = false;
-
-            for (Arc arc : arcs.values()) {
-                if (arc.getSourceId().equals(place.getId())) {
-                    hasOutgoingArc = true;
-                    break;
-                }
-            }
-
-            if (!hasOutgoingArc) {
+            if (!outgoingArcs.containsKey(place.getId())) {
                 candidates.add(place);
             }
         }
@@ -385,8 +413,8 @@ public class PetriNet {
      * Checks if an arc already exists between the given source and target IDs.
      */
     public boolean hasArcBetween(String sourceId, String targetId) {
-        for (Arc arc : arcs.values()) {
-            if (arc.getSourceId().equals(sourceId) && arc.getTargetId().equals(targetId)) {
+        for (Arc arc : outgoingArcs.getOrDefault(sourceId, List.of())) {
+            if (arc.getTargetId().equals(targetId)) {
                 return true;
             }
         }
@@ -433,16 +461,50 @@ public class PetriNet {
      * @param arcId The ID of the Arc to remove.
      */
     public void removeArc(String arcId) {
-        arcs.remove(arcId);
+        Arc arc = arcs.remove(arcId);
+        if (arc != null) {
+            unindexArc(arc);
+        }
     }
 
     /**
      * Helper to remove all Arcs connected to a specific Place or Transition ID.
+     * Uses the adjacency index, so it only touches the arcs of that element.
      */
     public void removeArcsConnectedTo(String elementId) {
-        arcs.values().removeIf(arc ->
-                arc.getSourceId().equals(elementId) || arc.getTargetId().equals(elementId)
-        );
+        List<Arc> connected = new ArrayList<>(incomingArcs.getOrDefault(elementId, List.of()));
+        connected.addAll(outgoingArcs.getOrDefault(elementId, List.of()));
+
+        for (Arc arc : connected) {
+            removeArc(arc.getId());
+        }
+    }
+
+    /**
+     * Adds an arc to the adjacency index of both its endpoints.
+     */
+    private void indexArc(Arc arc) {
+        outgoingArcs.computeIfAbsent(arc.getSourceId(), k -> new ArrayList<>()).add(arc);
+        incomingArcs.computeIfAbsent(arc.getTargetId(), k -> new ArrayList<>()).add(arc);
+    }
+
+    /**
+     * Removes an arc from the adjacency index, dropping empty entries
+     * so that "no incoming/outgoing arcs" is a simple key lookup.
+     */
+    private void unindexArc(Arc arc) {
+        unindex(outgoingArcs, arc.getSourceId(), arc);
+        unindex(incomingArcs, arc.getTargetId(), arc);
+    }
+
+    private static void unindex(Map<String, List<Arc>> index, String elementId, Arc arc) {
+        List<Arc> list = index.get(elementId);
+        if (list == null) return;
+
+        list.remove(arc);
+        if (list.isEmpty()) {
+            index.remove(elementId);
+        }
     }
 
     /**
@@ -458,15 +520,13 @@ public class PetriNet {
         }
 
         // Check if all input places have enough tokens
-        for (Arc arc : arcs.values()) {
-            if (arc.getTargetId().equals(transitionId)) {
-                // This is an input arc: (Place) -> (Transition)
-                String inputPlaceId = arc.getSourceId();
-                int weight = arc.getWeight();
-
-                if (marking.getTokens(inputPlaceId) < weight) {
-                    return false; // Not enough tokens
-                }
+        for (Arc arc : incomingArcs.getOrDefault(transitionId, List.of())) {
+            // This is an input arc: (Place) -> (Transition)
+            String inputPlaceId = arc.getSourceId();
+            int weight = arc.getWeight();
+
+            if (marking.getTokens(inputPlaceId) < weight) {
+                return false; // Not enough tokens
             }
         }
         return true; // All requirements met
@@ -488,21 +548,13 @@ public class PetriNet {
         MarkingData newMarking = new MarkingData(currentMarking);
 
         // Remove tokens from input places (M'(p) = M(p) - W(p, t))
-        for (Arc arc : arcs.values()) {
-            if (arc.getTargetId().equals(transitionId)) {
-                String inputPlaceId = arc.getSourceId();
-                int weight = arc.getWeight();
-                newMarking.removeTokens(inputPlaceId, weight);
-            }
+        for (Arc arc : incomingArcs.getOrDefault(transitionId, List.of())) {
+            newMarking.removeTokens(arc.getSourceId(), arc.getWeight());
         }
 
         // Add tokens to output places (M'(p) = ... + W(t, p))
-        for (Arc arc : arcs.values()) {
-            if (arc.getSourceId().equals(transitionId)) {
-                String outputPlaceId = arc.getTargetId();
-                int weight = arc.getWeight();
-                newMarking.addTokens(outputPlaceId, weight);
-            }
+        for (Arc arc : outgoingArcs.getOrDefault(transitionId, List.of())) {
+            newMarking.addTokens(arc.getTargetId(), arc.getWeight());
         }
 
         return newMarking; // Return the new state
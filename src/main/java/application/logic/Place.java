@@ -28,6 +28,18 @@ public class Place {
         this.petriNetId = Objects.requireNonNull(petriNetId);
     }
 
+    /**
+     * Constructs a place with a given ID, so that generated nets can be reproduced exactly.
+     * @param id The ID of the place (starting with 'P').
+     * @param petriNetId The ID of the parent Petri Net.
+     * @param name The descriptive name of the place.
+     */
+    Place(String id, String petriNetId, String name) {
+        this.id = Objects.requireNonNull(id);
+        this.name = Objects.requireNonNull(name);
+        this.petriNetId = Objects.requireNonNull(petriNetId);
+    }
+
     /**
      * Gets the descriptive name of the place.
      */
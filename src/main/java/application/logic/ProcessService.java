@@ -1,8 +1,15 @@
 package application.logic;
 
 // Imports for Jackson (JSON) and file management
+import application.metrics.Counter;
+import application.metrics.LatencyHistogram;
+import application.metrics.Metrics;
+import application.repositories.ChecksummedFiles;
+import application.repositories.PersistenceService;
 import application.repositories.PetriNetCoordinates;
 import application.repositories.PetriNetRepository;
+import application.repositories.RepositoryListener;
+import application.repositories.SnapshotWriter;
 import application.repositories.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -15,14 +22,28 @@ import application.exceptions.ActiveComputationExistsException;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Manages all business logic for running processes.
+ * The computation map is guarded by the service monitor, because it is saved
+ * in the background by the {@link PersistenceService} writer thread.
  */
 public class ProcessService {
 
@@ -33,9 +54,38 @@ public class ProcessService {
     // --- Internal State (In-memory repository for all computations) ---
     private final Map<String, Computation> computations = new HashMap<>();
 
+    // Newest first; computations without a start time go last
+    private static final Comparator<Computation> NEWEST_FIRST = Comparator
+            .comparing(Computation::getStartTime, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(Computation::getId);
+
+    // Index of the computations of each user, kept in sync with the map above
+    private final Map<String, NavigableSet<Computation>> computationsByUser = new HashMap<>();
+    // The same computations, further split by net
+    private final Map<String, Map<String, NavigableSet<Computation>>> computationsByUserAndNet = new HashMap<>();
+
+    // --- Authorization (one context per logged-in user, dropped when the net list changes) ---
+    private final Map<String, AuthorizationContext> authorizationContexts = new ConcurrentHashMap<>();
+    private final AtomicLong netsVersion = new AtomicLong();
+
+    // Lifecycle events of all computations, for dashboards and other processes
+    private final ComputationEventBus eventBus = new ComputationEventBus();
+
+    // --- Metrics ---
+    // Firing is the hottest path: only one fire in 64 is timed, as two clock reads can cost 10% of a fire
+    private static final LatencyHistogram FIRE_LATENCY = Metrics.getInstance().histogram("process.fire", 64);
+    private static final Counter FIRES_REJECTED = Metrics.getInstance().counter("process.fire.rejected");
+    private static final LatencyHistogram START_LATENCY = Metrics.getInstance().histogram("process.start");
+    private static final LatencyHistogram SNAPSHOT_JSON = Metrics.getInstance().histogram("json.snapshot");
+    private static final LatencyHistogram COMPUTATIONS_JSON = Metrics.getInstance().histogram("json.computations.write");
+    private static final LatencyHistogram COMPUTATIONS_LOAD = Metrics.getInstance().histogram("repository.computations.load");
+
     // --- Persistence Tools ---
-    private final ObjectMapper mapper = new ObjectMapper();
-    private final File computationFile = new File("data/computations.json");
+    private static final File COMPUTATION_FILE = new File("data/computations.json");
+    private final File computationFile = COMPUTATION_FILE;
+    private final SnapshotWriter persistence;
+    // Where the layout of each net is read from, frozen into new computations
+    private final File coordinatesDirectory;
 
     /**
      * Initializes the service, configures Jackson for serialization,
@@ -45,43 +95,213 @@ public class ProcessService {
      * @param petriNetRepository The Petri net repository instance.
      */
     public ProcessService(UserRepository userRepository, PetriNetRepository petriNetRepository) {
+        this(userRepository, petriNetRepository, loadComputationsFromFile());
+    }
+
+    /**
+     * Initializes the service with computations that were already loaded,
+     * e.g. in parallel with the repositories during application startup.
+     *
+     * @param userRepository     The user repository instance.
+     * @param petriNetRepository The Petri net repository instance.
+     * @param loadedComputations The computations read from disk (see {@link #loadComputationsFromFile()}).
+     */
+    public ProcessService(UserRepository userRepository, PetriNetRepository petriNetRepository,
+                          Map<String, Computation> loadedComputations) {
+        this(userRepository, petriNetRepository, loadedComputations, PersistenceService.getInstance());
+    }
+
+    /**
+     * Initializes the service with its own writer for the computation file,
+     * e.g. one that discards the snapshots when benchmarking the engine.
+     *
+     * @param userRepository     The user repository instance.
+     * @param petriNetRepository The Petri net repository instance.
+     * @param loadedComputations The computations read from disk, or null.
+     * @param persistence        Receives the snapshots of the computation file.
+     */
+    public ProcessService(UserRepository userRepository, PetriNetRepository petriNetRepository,
+                          Map<String, Computation> loadedComputations, SnapshotWriter persistence) {
+        this(userRepository, petriNetRepository, loadedComputations, persistence, new File("data/coords"));
+    }
+
+    /**
+     * Initializes the service with its own writer and net layouts read from another directory
+     * than {@code data/coords/}, e.g. a temporary store when benchmarking.
+     *
+     * @param userRepository       The user repository instance.
+     * @param petriNetRepository   The Petri net repository instance.
+     * @param loadedComputations   The computations read from disk, or null.
+     * @param persistence          Receives the snapshots of the computation file.
+     * @param coordinatesDirectory The directory holding the {@code <netId>_coords.json} layouts.
+     */
+    public ProcessService(UserRepository userRepository, PetriNetRepository petriNetRepository,
+                          Map<String, Computation> loadedComputations, SnapshotWriter persistence,
+                          File coordinatesDirectory) {
+        this.persistence = persistence;
+        this.coordinatesDirectory = coordinatesDirectory;
         this.userRepository = userRepository;
         this.petriNetRepository = petriNetRepository;
 
+        if (loadedComputations != null) {
+            loadedComputations.values().forEach(this::addComputation);
+        }
+
+        // Creating or deleting a net changes who administers what
+        petriNetRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void saved(PetriNet net) {
+                netsVersion.incrementAndGet();
+            }
+
+            @Override
+            public void deleted(String id) {
+                netsVersion.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * @return The bus on which the service publishes the start, steps, completion and deletion of computations.
+     */
+    public ComputationEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Resolves what a user may do: their role and the nets they administer.
+     * Resolved once (normally at login) and cached until a net is created or deleted.
+     *
+     * @param userId The ID of the user.
+     * @return The authorization context of the user.
+     * @throws EntityNotFoundException if the user is not found.
+     */
+    public AuthorizationContext getAuthorizationContext(String userId) {
+        long version = netsVersion.get();
+        AuthorizationContext cached = authorizationContexts.get(userId);
+        if (cached != null && cached.getNetsVersion() == version) {
+            return cached;
+        }
+
+        User user = userRepository.getUserById(userId);
+        if (user == null) throw new EntityNotFoundException("User not found");
+
+        Set<String> administered = new HashSet<>();
+        if (user.isAdmin()) {
+            for (PetriNet net : petriNetRepository.getPetriNets().values()) {
+                if (net.getAdminId().equals(userId)) administered.add(net.getId());
+            }
+        }
+        AuthorizationContext context = new AuthorizationContext(user, administered, version);
+        authorizationContexts.put(userId, context);
+        return context;
+    }
+
+    /**
+     * Adds a computation to the map and to the per-user index. Caller must hold the service monitor.
+     */
+    private void addComputation(Computation comp) {
+        computations.put(comp.getId(), comp);
+        computationsByUser.computeIfAbsent(comp.getUserId(), k -> new TreeSet<>(NEWEST_FIRST)).add(comp);
+        computationsByUserAndNet.computeIfAbsent(comp.getUserId(), k -> new HashMap<>())
+                .computeIfAbsent(comp.getPetriNetId(), k -> new TreeSet<>(NEWEST_FIRST)).add(comp);
+    }
+
+    /**
+     * Removes a computation from the map and from the per-user index. Caller must hold the service monitor.
+     */
+    private void removeComputation(Computation comp) {
+        computations.remove(comp.getId());
+        NavigableSet<Computation> userComputations = computationsByUser.get(comp.getUserId());
+        if (userComputations != null) {
+            userComputations.remove(comp);
+            if (userComputations.isEmpty()) {
+                computationsByUser.remove(comp.getUserId());
+            }
+        }
+        Map<String, NavigableSet<Computation>> byNet = computationsByUserAndNet.get(comp.getUserId());
+        if (byNet != null) {
+            NavigableSet<Computation> netComputations = byNet.get(comp.getPetriNetId());
+            if (netComputations != null) {
+                netComputations.remove(comp);
+                if (netComputations.isEmpty()) byNet.remove(comp.getPetriNetId());
+            }
+            if (byNet.isEmpty()) computationsByUserAndNet.remove(comp.getUserId());
+        }
+    }
+
+    /**
+     * Holds the Jackson mapper used to read and write computations. Jackson takes hundreds of
+     * milliseconds to load, so it is only initialized once a computation is actually stored or read.
+     */
+    private static final class MapperHolder {
+        static final ObjectMapper MAPPER = createMapper();
+    }
+
+    private static ObjectMapper mapper() {
+        return MapperHolder.MAPPER;
+    }
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(IdDictionary.jacksonModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper.enable(SerializationFeature.INDENT_OUTPUT);
-
-        loadComputationsFromFile();
+        return mapper;
     }
 
     /**
-     * Loads the computation map from its JSON file on startup.
+     * Loads the computation map from its JSON file.
+     * Does not touch any service state, so it can run on a background thread during startup.
+     *
+     * @return The computations found on disk, or an empty map.
      */
-    private void loadComputationsFromFile() {
-        if(!computationFile.exists() || computationFile.length() == 0) {
+    public static Map<String, Computation> loadComputationsFromFile() {
+        Map<String, Computation> loadedMap = new HashMap<>();
+        if(!ChecksummedFiles.exists(COMPUTATION_FILE)) {
             System.out.println("No computation file found. Starting fresh.");
-            return;
+            return loadedMap;
         }
+        long start = COMPUTATIONS_LOAD.start();
         try {
-            Map<String, Computation> loadedMap = mapper.readValue(computationFile,
+            ObjectMapper mapper = mapper();
+            loadedMap = mapper.readValue(ChecksummedFiles.read(COMPUTATION_FILE),
                     mapper.getTypeFactory().constructMapType(HashMap.class, String.class, Computation.class)
             );
-            computations.putAll(loadedMap);
         }catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            COMPUTATIONS_LOAD.stop(start);
         }
+        return loadedMap;
     }
 
     /**
-     * Saves the entire computation map to its JSON file.
-     * Called automatically after every state-changing operation.
+     * Schedules a save of the entire computation map to its JSON file.
+     * Called automatically after every state-changing operation; bursts of changes
+     * (e.g. several transitions fired in a row) are written once by the persistence writer.
      */
     private void saveComputationsToFile() {
-        try{
-            mapper.writeValue(computationFile,computations);
-        }catch (IOException e) {
-            e.printStackTrace();
+        persistence.write(computationFile, this::serializeComputations, PersistenceService.Durability.FIRE_AND_FORGET);
+    }
+
+    /**
+     * Serializes the computations on the writer thread. Only copying the map is done
+     * under the lock, so the UI is not held up while the JSON is produced.
+     */
+    private byte[] serializeComputations() throws IOException {
+        Map<String, Computation> copy = new HashMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, Computation> entry : computations.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue().copyForPersistence());
+            }
+        }
+        long start = COMPUTATIONS_JSON.start();
+        try {
+            return mapper().writeValueAsBytes(copy);
+        } finally {
+            COMPUTATIONS_JSON.stop(start);
         }
     }
 
@@ -101,8 +321,17 @@ public class ProcessService {
      * @throws InvalidComputationStateException if the initial place is not defined.
      */
     public Computation startNewComputation(String userId, String netId) throws IllegalStateException {
+        long start = START_LATENCY.start();
+        try {
+            return createComputation(userId, netId);
+        } finally {
+            START_LATENCY.stop(start);
+        }
+    }
+
+    private Computation createComputation(String userId, String netId) {
         User user = userRepository.getUserById(userId);
-        PetriNet originalNet = petriNetRepository.getPetriNets().get(netId);
+        PetriNet originalNet = petriNetRepository.getPetriNet(netId);
 
         if(user == null) throw new EntityNotFoundException("User not found");
         if(originalNet == null) throw new EntityNotFoundException("PetriNet not found");
@@ -110,26 +339,26 @@ public class ProcessService {
         if(user.isAdmin() && originalNet.getAdminId().equals(user.getId()))
             throw new UnauthorizedAccessException("Admin cannot start computation of his own net");
 
-        boolean hasActive = computations.values().stream()
-                .anyMatch(c -> c.getUserId().equals(user.getId()) && c.getPetriNetId().equals(netId) && c.isActive());
-
-        if(hasActive) {
-            throw new ActiveComputationExistsException("User already has an active computation for this net");
-        }
+        ensureNoActiveComputation(userId, netId);
 
         // We serialize and deserialize to create a completely detached clone in memory.
         PetriNet clonedNetSnapshot;
+        long cloneStart = SNAPSHOT_JSON.start();
         try {
-            String jsonFormat = mapper.writeValueAsString(originalNet);
-            clonedNetSnapshot = mapper.readValue(jsonFormat, PetriNet.class);
+            String jsonFormat = mapper().writeValueAsString(originalNet);
+            clonedNetSnapshot = mapper().readValue(jsonFormat, PetriNet.class);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to create a reliable snapshot of the Petri Net.", e);
+        } finally {
+            SNAPSHOT_JSON.stop(cloneStart);
         }
 
-        // Load the current coordinates to freeze them in the snapshot
+        // Load the current coordinates to freeze them in the snapshot.
+        // Done outside the lock: the read may wait for a pending layout write.
         PetriNetCoordinates currentCoords;
         try {
-            currentCoords = PetriNetCoordinates.loadFromFile("data/coords/" + netId + "_coords.json");
+            currentCoords = PetriNetCoordinates.loadFromFile(
+                    new File(coordinatesDirectory, netId + "_coords.json").getPath());
         } catch (IOException e) {
             currentCoords = new PetriNetCoordinates(); // Fallback if no layout exists
         }
@@ -150,12 +379,30 @@ public class ProcessService {
         ComputationStep initialStep = new ComputationStep(newComp.getId(), null, initialMarking);
 
         newComp.addStep(initialStep);
-        computations.put(newComp.getId(), newComp);
+        synchronized (this) {
+            // Checked again: another thread may have started one while the snapshot was built
+            ensureNoActiveComputation(userId, netId);
+            addComputation(newComp);
+            eventBus.publish(ComputationEvent.Kind.STARTED, newComp, initialStep);
+        }
         saveComputationsToFile();
 
         return newComp;
     }
 
+    /**
+     * @throws ActiveComputationExistsException if the user already has an active computation for the net.
+     */
+    private synchronized void ensureNoActiveComputation(String userId, String netId) {
+        NavigableSet<Computation> netComputations = computationsByUserAndNet
+                .getOrDefault(userId, Map.of()).get(netId);
+        boolean hasActive = netComputations != null && netComputations.stream().anyMatch(Computation::isActive);
+
+        if(hasActive) {
+            throw new ActiveComputationExistsException("User already has an active computation for this net");
+        }
+    }
+
     /**
      * Implements Use Case 6.2.3: Execute Transition.
      * Fires a transition using the snapshot stored in the computation.
@@ -170,12 +417,40 @@ public class ProcessService {
      * @throws InvalidComputationStateException if the computation is not active.
      */
     public void fireTransition(String computationId, String transitionId, String userId) throws IllegalStateException{
+        fireTransition(getAuthorizationContext(userId), computationId, transitionId);
+    }
+
+    /**
+     * Implements Use Case 6.2.3 for a user whose permissions are already resolved.
+     *
+     * @param context       The authorization context of the user that wants to fire.
+     * @param computationId ID of computation to update.
+     * @param transitionId  ID of transition to fire.
+     * @throws UnauthorizedAccessException if the user does not have permissions.
+     * @throws TransitionNotEnabledException if the transition does not have enough tokens.
+     * @throws EntityNotFoundException if the computation, net, or transition is not found.
+     * @throws InvalidComputationStateException if the computation is not active.
+     * @see #fireTransition(String, String, String)
+     */
+    public synchronized void fireTransition(AuthorizationContext context, String computationId, String transitionId) {
+        long start = FIRE_LATENCY.start();
+        try {
+            fire(context, computationId, transitionId);
+        } catch (RuntimeException e) {
+            FIRES_REJECTED.increment();
+            throw e;
+        } finally {
+            FIRE_LATENCY.stop(start);
+        }
+    }
+
+    /**
+     * Checks and fires a transition. Caller must hold the service monitor.
+     */
+    private void fire(AuthorizationContext context, String computationId, String transitionId) {
         Computation comp = computations.get(computationId);
         if(comp == null) throw new EntityNotFoundException("Computation not found");
 
-        User user = userRepository.getUserById(userId);
-        if(user == null) throw new EntityNotFoundException("User not found");
-
         // Use the snapshot stored in the computation
         PetriNet net = comp.getPetriNetSnapshot();
         if(net == null) throw new EntityNotFoundException("PetriNet snapshot not found in computation");
@@ -187,14 +462,14 @@ public class ProcessService {
 
         // (Req 5.4: "Users shall be able to delete their own computations")
         // (Req 5.3: "Administrators shall be able to delete any computation related to their Petri nets")
-        boolean isOwner = comp.getUserId().equals(userId);
-        boolean isAdmin = user.isAdmin() && net.getAdminId().equals(user.getId());
+        boolean isOwner = comp.getUserId().equals(context.getUserId());
+        boolean isAdmin = context.isAdminOf(comp.getPetriNetId());
 
         if(!isOwner && !isAdmin) {
             throw new UnauthorizedAccessException("User is not owner or admin");
         }
 
-        checkFirePermissions(user, net, transition);
+        checkFirePermissions(context.getUser(), net, transition);
 
         MarkingData curr = comp.getLastStep().getMarkingData();
 
@@ -207,10 +482,12 @@ public class ProcessService {
         // 6.2.3: New marking is recorded with a timestamp
         ComputationStep newStep = new ComputationStep(comp.getId(), transitionId, newMarking);
         comp.addStep(newStep);
+        eventBus.publish(ComputationEvent.Kind.STEP_FIRED, comp, newStep);
 
         String finalPlaceId = net.getFinalPlaceId();
         if(finalPlaceId != null && newMarking.getTokens(finalPlaceId) > 0) {
             comp.completeComputation();
+            eventBus.publish(ComputationEvent.Kind.COMPLETED, comp, newStep);
         }
 
         saveComputationsToFile();
@@ -250,10 +527,28 @@ public class ProcessService {
      * @return A List of Transition objects that are both enabled AND permitted for the user.
      */
     public List<Transition> getAvailableTransitions(String computationId, String userId) {
+        AuthorizationContext context;
+        try {
+            context = getAuthorizationContext(userId);
+        } catch (EntityNotFoundException e) {
+            return new ArrayList<>();
+        }
+        return getAvailableTransitions(context, computationId);
+    }
+
+    /**
+     * Gets the transitions a user with resolved permissions can currently fire.
+     *
+     * @param context       The authorization context of the user asking.
+     * @param computationId The ID of the active computation.
+     * @return A List of Transition objects that are both enabled AND permitted for the user.
+     * @see #getAvailableTransitions(String, String)
+     */
+    public synchronized List<Transition> getAvailableTransitions(AuthorizationContext context, String computationId) {
         Computation comp = computations.get(computationId);
-        User user = userRepository.getUserById(userId);
+        User user = context.getUser();
 
-        if(comp == null || user == null || !comp.isActive())
+        if(comp == null || !comp.isActive())
             return new ArrayList<>();
 
         //Use the snapshot stored in the computation
@@ -287,7 +582,7 @@ public class ProcessService {
      * @param computationId ID of the computation.
      * @return List of enabled transitions.
      */
-    public List<Transition> getEnabledTransitions(String computationId) {
+    public synchronized List<Transition> getEnabledTransitions(String computationId) {
         Computation comp = computations.get(computationId);
 
         if (comp == null || !comp.isActive()) {
@@ -319,29 +614,53 @@ public class ProcessService {
      * @throws EntityNotFoundException if the user is not found.
      */
     public void deleteComputation(String computationId, String userId) throws IllegalStateException {
+        if(getComputationById(computationId) == null) return;
+        deleteComputation(getAuthorizationContext(userId), computationId);
+    }
+
+    /**
+     * Implements Use Case 5.3 and 5.4 for a user whose permissions are already resolved.
+     *
+     * @param context       The authorization context of the user that wants to delete the computation.
+     * @param computationId ID of computation to delete.
+     * @throws UnauthorizedAccessException if the user does not have permissions.
+     * @see #deleteComputation(String, String)
+     */
+    public synchronized void deleteComputation(AuthorizationContext context, String computationId) {
         Computation comp = computations.get(computationId);
         if(comp == null) return;
 
-        User user = userRepository.getUserById(userId);
-        if(user == null) throw new EntityNotFoundException("User not found");
-
-        // Here we still check the live repository to see who currently owns the net template
-        PetriNet net = petriNetRepository.getPetriNets().get(comp.getPetriNetId());
-
         // FR 5.4: "Users shall be able to delete their own computations"
-        boolean isOwner = comp.getUserId().equals(userId);
+        boolean isOwner = comp.getUserId().equals(context.getUserId());
 
         // FR 5.3: "Admins shall be able to delete any computation related to their Petri nets"
-        boolean isAdminOfNet = net != null && user.isAdmin() && net.getAdminId().equals(user.getId());
+        boolean isAdminOfNet = context.isAdminOf(comp.getPetriNetId());
 
         if(isOwner || isAdminOfNet) {
-            computations.remove(computationId);
+            removeComputation(comp);
+            eventBus.publish(ComputationEvent.Kind.DELETED, comp, null);
             saveComputationsToFile();
         } else {
             throw new UnauthorizedAccessException("User is not owner or admin of this computation");
         }
     }
 
+    /**
+     * Adds computations recorded elsewhere (e.g. a generated workload) and saves the computation file once.
+     * A computation with the ID of an existing one replaces it. No permission checks are made
+     * and no events are published: this is for filling a store, not for running nets.
+     *
+     * @param imported The computations to add.
+     */
+    public synchronized void importComputations(Collection<Computation> imported) {
+        for (Computation comp : imported) {
+            Computation existing = computations.get(comp.getId());
+            if (existing != null) removeComputation(existing);
+            addComputation(comp);
+        }
+        saveComputationsToFile();
+    }
+
     /**
      * Implements Use Case 6.1.2: Manage Computations.
      * Obtains computations of all users on the nets created by an admin.
@@ -350,9 +669,9 @@ public class ProcessService {
      * @param adminId The ID of the administrator.
      * @return A list of computations belonging to the administrator's nets.
      */
-    public List<Computation> getComputationsForAdmin(String adminId) {
+    public synchronized List<Computation> getComputationsForAdmin(String adminId) {
         return computations.values().stream().filter(c -> {
-            PetriNet net = petriNetRepository.getPetriNets().get(c.getPetriNetId());
+            PetriNet net = petriNetRepository.getPetriNet(c.getPetriNetId());
             return net != null && net.getAdminId().equals(adminId);
         }).collect(Collectors.toList());
     }
@@ -361,12 +680,127 @@ public class ProcessService {
      * Implements Use case 6.2.2.
      *
      * @param userId The user ID.
-     * @return A list of computations started by the specified user.
+     * @return A list of computations started by the specified user, newest first.
      */
-    public List<Computation> getComputationsForUser(String userId) {
-        return computations.values().stream()
-                .filter(c -> c.getUserId().equals(userId))
-                .collect(Collectors.toList());
+    public synchronized List<Computation> getComputationsForUser(String userId) {
+        NavigableSet<Computation> userComputations = computationsByUser.get(userId);
+        return userComputations == null ? new ArrayList<>() : new ArrayList<>(userComputations);
+    }
+
+    /**
+     * Obtains one page of the computations started by a user, newest first.
+     * Only the requested page is copied, so a dashboard can show users with many
+     * computations without materializing the whole list.
+     *
+     * @param userId The user ID.
+     * @param offset Index of the first computation of the page.
+     * @param limit  Maximum number of computations to return.
+     * @return The computations of the page; empty past the end.
+     */
+    public synchronized List<Computation> getComputationsPageForUser(String userId, int offset, int limit) {
+        if (offset < 0 || limit < 0) throw new IllegalArgumentException("Offset and limit must not be negative");
+
+        NavigableSet<Computation> userComputations = computationsByUser.get(userId);
+        List<Computation> page = new ArrayList<>(Math.min(limit, 256));
+        if (userComputations == null || offset >= userComputations.size()) return page;
+
+        // Walk from the closer end of the set
+        if (offset <= userComputations.size() / 2) {
+            userComputations.stream().skip(offset).limit(limit).forEach(page::add);
+        } else {
+            int skipFromEnd = Math.max(0, userComputations.size() - offset - limit);
+            int count = Math.min(limit, userComputations.size() - offset);
+            userComputations.descendingSet().stream().skip(skipFromEnd).limit(count).forEach(page::add);
+            Collections.reverse(page);
+        }
+        return page;
+    }
+
+    /**
+     * Obtains the computations a user started on any of the given nets, newest first.
+     * Only the user's computations on those nets are visited, e.g. to show search results.
+     *
+     * @param userId The user ID.
+     * @param netIds The IDs of the nets.
+     * @return The matching computations, newest first.
+     */
+    public synchronized List<Computation> getComputationsForUserOnNets(String userId, Collection<String> netIds) {
+        return getComputationsPageForUserOnNets(userId, netIds, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Obtains one page of the computations a user started on any of the given nets, newest first.
+     * The per-net indexes are merged lazily from the end of the previous page, so a search matching
+     * most nets still only visits the computations of the page it returns.
+     *
+     * @param userId The user ID.
+     * @param netIds The IDs of the nets.
+     * @param after  The last computation of the previous page, or null for the first page.
+     * @param limit  Maximum number of computations to return.
+     * @return The computations of the page; empty past the end.
+     */
+    public synchronized List<Computation> getComputationsPageForUserOnNets(String userId, Collection<String> netIds,
+                                                                         Computation after, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit must not be negative");
+
+        // One cursor per net, on its next computation; the heap yields the newest of them
+        PriorityQueue<Map.Entry<Computation, Iterator<Computation>>> cursors =
+                new PriorityQueue<>(Map.Entry.comparingByKey(NEWEST_FIRST));
+        for (NavigableSet<Computation> netComputations : computationsOnNets(userId, netIds)) {
+            Iterator<Computation> iterator = (after == null ? netComputations : netComputations.tailSet(after, false)).iterator();
+            if (iterator.hasNext()) cursors.add(Map.entry(iterator.next(), iterator));
+        }
+
+        List<Computation> page = new ArrayList<>(Math.min(limit, 256));
+        while (page.size() < limit && !cursors.isEmpty()) {
+            Map.Entry<Computation, Iterator<Computation>> newest = cursors.poll();
+            page.add(newest.getKey());
+            Iterator<Computation> iterator = newest.getValue();
+            if (iterator.hasNext()) cursors.add(Map.entry(iterator.next(), iterator));
+        }
+        return page;
+    }
+
+    /**
+     * @param userId The user ID.
+     * @param netIds The IDs of the nets.
+     * @return The number of computations the user started on any of the given nets.
+     */
+    public synchronized int countComputationsForUserOnNets(String userId, Collection<String> netIds) {
+        int count = 0;
+        for (NavigableSet<Computation> netComputations : computationsOnNets(userId, netIds)) {
+            count += netComputations.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the non-empty per-net indexes of a user for the given nets, visiting the smaller of the two sides.
+     * Caller must hold the service monitor.
+     */
+    private List<NavigableSet<Computation>> computationsOnNets(String userId, Collection<String> netIds) {
+        Map<String, NavigableSet<Computation>> byNet = computationsByUserAndNet.getOrDefault(userId, Map.of());
+        List<NavigableSet<Computation>> result = new ArrayList<>();
+        if (netIds.size() <= byNet.size()) {
+            for (String netId : netIds) {
+                NavigableSet<Computation> netComputations = byNet.get(netId);
+                if (netComputations != null) result.add(netComputations);
+            }
+        } else {
+            byNet.forEach((netId, netComputations) -> {
+                if (netIds.contains(netId)) result.add(netComputations);
+            });
+        }
+        return result;
+    }
+
+    /**
+     * @param userId The user ID.
+     * @return The number of computations started by the user.
+     */
+    public synchronized int countComputationsForUser(String userId) {
+        NavigableSet<Computation> userComputations = computationsByUser.get(userId);
+        return userComputations == null ? 0 : userComputations.size();
     }
 
     /**
@@ -375,14 +809,14 @@ public class ProcessService {
      * Useful for "User Dashboard".
      *
      * @param userId The user ID requesting available networks.
-     * @return A list of available PetriNet templates.
+     * @return A list of available PetriNet templates, in natural name order.
      */
     public List<PetriNet> getAvailableNetsForUser(String userId) {
         User user = userRepository.getUserById(userId);
         if(user == null) return new ArrayList<>();
 
         // FR 2.1 and 2.2: An admin cannot subscribe to his own net
-        return petriNetRepository.getPetriNets().values().stream()
+        return petriNetRepository.getSortedPetriNets().stream()
                 .filter(n -> !n.getAdminId().equals(userId)).collect(Collectors.toList());
     }
 
@@ -392,7 +826,7 @@ public class ProcessService {
      * @param computationId The ID of the computation to retrieve.
      * @return The Computation object, or null if not found.
      */
-    public Computation getComputationById(String computationId) {
+    public synchronized Computation getComputationById(String computationId) {
         return computations.get(computationId);
     }
 }
\ No newline at end of file
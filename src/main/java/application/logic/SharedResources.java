@@ -1,25 +1,74 @@
 package application.logic;
 
+import application.exceptions.SystemContextException;
 import application.repositories.PetriNetRepository;
 import application.repositories.UserRepository;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
 /**
  * Provides global access to repositories.
- *
+ * The stores are loaded in parallel on background threads as soon as the singleton is created,
+ * so the login screen can be shown immediately. A getter only blocks if its store is still loading.
  */
 public class SharedResources {
 
     private static final SharedResources instance = new SharedResources();
 
-    private final UserRepository userRepository;
-    private final PetriNetRepository petriNetRepository;
-    private final ProcessService processService;
+    private final CompletableFuture<UserRepository> userRepository;
+    private final CompletableFuture<PetriNetRepository> petriNetRepository;
+    private final CompletableFuture<ProcessService> processService;
+    private final CompletableFuture<NetSearchIndex> netSearchIndex;
+    private final CompletableFuture<AuthenticationService> authenticationService;
+
+    // Per-phase startup timings, in completion order
+    private final Map<String, Duration> startupTimings = Collections.synchronizedMap(new LinkedHashMap<>());
 
     private SharedResources() {
         // Instantiated only once at the start of the application.
-        this.userRepository = new UserRepository();
-        this.petriNetRepository = new PetriNetRepository();
-        this.processService = new ProcessService(userRepository, petriNetRepository);
+        long bootstrapStart = System.nanoTime();
+        ExecutorService loader = Executors.newFixedThreadPool(3, bootstrapThreadFactory());
+
+        this.userRepository = CompletableFuture.supplyAsync(
+                () -> timed("users", UserRepository::new), loader);
+        this.petriNetRepository = CompletableFuture.supplyAsync(
+                () -> timed("nets", PetriNetRepository::new), loader);
+        CompletableFuture<Map<String, Computation>> computations = CompletableFuture.supplyAsync(
+                () -> timed("computations", ProcessService::loadComputationsFromFile), loader);
+
+        // The search index is built while the computations are still loading
+        this.netSearchIndex = CompletableFuture.allOf(userRepository, petriNetRepository)
+                .thenApplyAsync(ignored -> timed("search", () -> new NetSearchIndex(
+                        userRepository.join(), petriNetRepository.join())), loader);
+
+        this.authenticationService = userRepository.thenApplyAsync(
+                users -> timed("auth", () -> new AuthenticationService(users)), loader);
+
+        // The service only needs the stores to be ready, wiring itself is cheap
+        this.processService = CompletableFuture.allOf(userRepository, petriNetRepository, computations,
+                        netSearchIndex, authenticationService)
+                .thenApply(ignored -> timed("service", () -> new ProcessService(
+                        userRepository.join(), petriNetRepository.join(), computations.join())));
+
+        processService.whenComplete((service, error) -> {
+            loader.shutdown();
+            startupTimings.put("total", Duration.ofNanos(System.nanoTime() - bootstrapStart));
+            if (error != null) {
+                System.err.println("Startup failed: " + error.getMessage());
+            } else {
+                System.out.println("Startup completed: " + startupTimings);
+            }
+        });
     }
 
     /**
@@ -32,12 +81,77 @@ public class SharedResources {
     // --- Getters for the shared resources ---
 
     public UserRepository getUserRepository() {
-        return userRepository;
+        return await("users", userRepository);
     }
 
     public PetriNetRepository getPetriNetRepository() {
-        return petriNetRepository;
+        return await("nets", petriNetRepository);
     }
 
-    public ProcessService getProcessService() {return processService;}
+    public ProcessService getProcessService() {return await("service", processService);}
+
+    public NetSearchIndex getNetSearchIndex() {
+        return await("search", netSearchIndex);
+    }
+
+    public AuthenticationService getAuthenticationService() {
+        return await("auth", authenticationService);
+    }
+
+    /**
+     * Checks whether every store has finished loading.
+     * @return true if no getter will block.
+     */
+    public boolean isReady() {
+        return processService.isDone();
+    }
+
+    /**
+     * Gets the duration of each startup phase ("users", "nets", "computations", "search", "auth", "service", "total"),
+     * plus "wait:*" entries for the time callers spent blocked on a store that was still loading.
+     * @return A snapshot of the recorded timings.
+     */
+    public Map<String, Duration> getStartupTimings() {
+        synchronized (startupTimings) {
+            return new LinkedHashMap<>(startupTimings);
+        }
+    }
+
+    /**
+     * Runs a loading phase and records how long it took.
+     */
+    private <T> T timed(String phase, Supplier<T> loader) {
+        long start = System.nanoTime();
+        try {
+            return loader.get();
+        } finally {
+            startupTimings.put(phase, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Returns a loaded store, blocking the caller only if it is not ready yet.
+     */
+    private <T> T await(String phase, CompletableFuture<T> store) {
+        if (store.isDone() && !store.isCompletedExceptionally()) {
+            return store.join();
+        }
+        long start = System.nanoTime();
+        try {
+            return store.join();
+        } catch (CompletionException e) {
+            throw new SystemContextException("Failed to load " + phase + " store", e.getCause());
+        } finally {
+            startupTimings.merge("wait:" + phase, Duration.ofNanos(System.nanoTime() - start), Duration::plus);
+        }
+    }
+
+    private static ThreadFactory bootstrapThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bootstrap-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -0,0 +1,100 @@
+package application.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case-insensitive substring search over short text fields, backed by an n-gram inverted index.
+ * Every substring of up to {@link #GRAM} characters of every field points to the IDs containing it.
+ * Queries of up to {@link #GRAM} characters are answered by a single lookup; longer queries
+ * only check the IDs listed under their rarest n-gram.
+ * Not thread-safe: the owner synchronizes.
+ */
+final class SubstringIndex {
+
+    static final int GRAM = 3;
+
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final Map<String, List<String>> fieldsById = new HashMap<>();
+
+    /**
+     * Indexes the fields of an ID, replacing what was indexed for it before.
+     */
+    void put(String id, String... fields) {
+        remove(id);
+        List<String> lowered = new ArrayList<>(fields.length);
+        for (String field : fields) {
+            if (field == null || field.isEmpty()) continue;
+            String text = field.toLowerCase(Locale.ROOT);
+            lowered.add(text);
+            for (String gram : grams(text)) {
+                postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+            }
+        }
+        fieldsById.put(id, lowered);
+    }
+
+    /**
+     * Removes an ID and all its fields from the index.
+     */
+    void remove(String id) {
+        List<String> fields = fieldsById.remove(id);
+        if (fields == null) return;
+        for (String text : fields) {
+            for (String gram : grams(text)) {
+                Set<String> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param query The text to look for, in any case.
+     * @return A new set with the IDs having a field that contains the query; every ID for an empty query.
+     */
+    Set<String> find(String query) {
+        String text = query.toLowerCase(Locale.ROOT);
+        if (text.isEmpty()) return new HashSet<>(fieldsById.keySet());
+        if (text.length() <= GRAM) return new HashSet<>(postings.getOrDefault(text, Set.of()));
+
+        // Any match contains every n-gram of the query: only the IDs under the rarest one are checked
+        Set<String> candidates = null;
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            Set<String> ids = postings.get(text.substring(i, i + GRAM));
+            if (ids == null) return new HashSet<>();
+            if (candidates == null || ids.size() < candidates.size()) candidates = ids;
+        }
+
+        Set<String> result = new HashSet<>();
+        for (String id : candidates) {
+            for (String field : fieldsById.get(id)) {
+                if (field.contains(text)) {
+                    result.add(id);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The distinct substrings of the text of length 1 to {@link #GRAM}.
+     */
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            for (int len = 1; len <= GRAM && i + len <= text.length(); len++) {
+                grams.add(text.substring(i, i + len));
+            }
+        }
+        return grams;
+    }
+}
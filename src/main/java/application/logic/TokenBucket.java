@@ -0,0 +1,62 @@
+package application.logic;
+
+/**
+ * A token bucket rate limiter: holds up to {@code capacity} tokens, refilled continuously
+ * at a fixed rate. Each allowed action takes one token. Time is passed in by the caller
+ * (in nanoseconds), so tests can drive it with a fake clock.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param capacity     Maximum burst size.
+     * @param refillNanos  Time to refill the whole bucket from empty, in nanoseconds.
+     * @param now          The current time.
+     */
+    TokenBucket(int capacity, long refillNanos, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / refillNanos;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Takes a token if one is available.
+     * @return True if the action is allowed.
+     */
+    synchronized boolean tryAcquire(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return How long until the next token is available, 0 if one is available now.
+     */
+    synchronized long nanosUntilAvailable(long now) {
+        refill(now);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * @return True if the bucket is full, i.e. it is not limiting anything and can be discarded.
+     */
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -34,6 +34,20 @@ public class Transition {
         this.name = Objects.requireNonNull(name, "Name cannot be null");
     }
 
+    /**
+     * Constructs a transition with a given ID, so that generated nets can be reproduced exactly.
+     * @param id The ID of the transition (starting with 'T')
+     * @param petriNetId ID of the Petri net this transition belongs to
+     * @param name The name of the transition
+     * @param type The execution role type (USER or ADMIN)
+     */
+    Transition(String id, String petriNetId, String name, Type type) {
+        this.id = Objects.requireNonNull(id, "ID cannot be null");
+        this.type = Objects.requireNonNull(type, "Type cannot be null");
+        this.petriNetId = Objects.requireNonNull(petriNetId, "PetriNet ID cannot be null");
+        this.name = Objects.requireNonNull(name, "Name cannot be null");
+    }
+
 
     // --- Standard Getters and Setters ---
 
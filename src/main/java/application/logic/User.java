@@ -1,7 +1,6 @@
 package application.logic;
 
 import java.util.UUID;
-import org.mindrot.jbcrypt.BCrypt;
 
 public class User {
 
@@ -16,8 +15,25 @@ public class User {
      * La password verrà hashata automaticamente.
      */
     public User(String email, String plainPassword, Type type) {
-        this.email = email;
+        this(email, type);
         this.hashedpw = hashPassword(plainPassword);
+    }
+
+    /**
+     * Crea un nuovo utente da una password già hashata (es. gli account predefiniti),
+     * senza il costo di BCrypt.
+     */
+    public static User withHashedPassword(String email, String hashedpw, Type type) {
+        User user = new User(email, type);
+        user.hashedpw = hashedpw;
+        return user;
+    }
+
+    /**
+     * Assegna email, tipo, username e un nuovo ID; la password è impostata dal chiamante.
+     */
+    private User(String email, Type type) {
+        this.email = email;
         this.type = type;
 
         if(email.contains("@")) {
@@ -44,14 +60,14 @@ public class User {
     }
 
     private String hashPassword(String password) {
-        return BCrypt.hashpw(password, BCrypt.gensalt());
+        return PasswordHasher.hash(password);
     }
 
     /**
      * Verifica che la password in chiaro corrisponda alla password hashata memorizzata.
      */
     public boolean checkPassword(String password) {
-        return BCrypt.checkpw(password, this.hashedpw);
+        return PasswordHasher.verify(password, this.hashedpw);
     }
 
     public void setPassword(String plainPassword) {
@@ -0,0 +1,195 @@
+package application.logic;
+
+import application.repositories.CsvCodec;
+import application.repositories.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Creates many accounts at once, e.g. to onboard a whole class.
+ * Passwords are hashed in parallel on every core (BCrypt dominates the cost of creating a user),
+ * then all users are stored in a single atomic write of the user file.
+ */
+public class UserImporter {
+
+    private final UserRepository userRepository;
+    private final int parallelism;
+
+    /**
+     * One account to create.
+     */
+    public static class Entry {
+        private final String email;
+        private final String password;
+        private final Type type;
+        private final String username;
+
+        /**
+         * @param email    The email of the account.
+         * @param password The password in clear, hashed by the import.
+         * @param type     The account type.
+         * @param username The username, or null to derive it from the email.
+         */
+        public Entry(String email, String password, Type type, String username) {
+            this.email = email;
+            this.password = password;
+            this.type = type;
+            this.username = username;
+        }
+
+        public String getEmail() { return email; }
+    }
+
+    /**
+     * The outcome of an import.
+     */
+    public static class Result {
+        private final int imported;
+        private final List<String> skipped;
+        private final Duration hashingTime;
+        private final Duration totalTime;
+
+        Result(int imported, List<String> skipped, Duration hashingTime, Duration totalTime) {
+            this.imported = imported;
+            this.skipped = Collections.unmodifiableList(skipped);
+            this.hashingTime = hashingTime;
+            this.totalTime = totalTime;
+        }
+
+        public int getImported() { return imported; }
+
+        /** @return One line per entry that was not imported, with the reason. */
+        public List<String> getSkipped() { return skipped; }
+
+        public Duration getHashingTime() { return hashingTime; }
+
+        public Duration getTotalTime() { return totalTime; }
+
+        /** @return Imported users per second of total time. */
+        public double getUsersPerSecond() {
+            double seconds = totalTime.toNanos() / 1e9;
+            return seconds > 0 ? imported / seconds : imported;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Imported %d users (%d skipped) in %d ms (hashing %d ms): %.1f users/s",
+                    imported, skipped.size(), totalTime.toMillis(), hashingTime.toMillis(), getUsersPerSecond());
+        }
+    }
+
+    /**
+     * @param userRepository The repository receiving the users.
+     */
+    public UserImporter(UserRepository userRepository) {
+        this(userRepository, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param userRepository The repository receiving the users.
+     * @param parallelism    Number of threads hashing passwords.
+     */
+    public UserImporter(UserRepository userRepository, int parallelism) {
+        this.userRepository = userRepository;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Reads entries from CSV with the columns {@code email,password[,type[,username]]}.
+     * A first line starting with "email" is taken as a header. Missing types default to USER.
+     *
+     * @param csv The CSV content.
+     * @return The entries, in file order.
+     * @throws IllegalArgumentException if a line has an unknown type.
+     */
+    public static List<Entry> parseCsv(String csv) {
+        List<Entry> entries = new ArrayList<>();
+        List<List<String>> records = CsvCodec.parse(csv);
+        for (int i = 0; i < records.size(); i++) {
+            List<String> fields = records.get(i);
+            if (i == 0 && fields.getFirst().trim().equalsIgnoreCase("email")) continue;
+
+            String email = fields.getFirst().trim();
+            String password = fields.size() > 1 ? fields.get(1) : "";
+            Type type = fields.size() > 2 && !fields.get(2).isBlank()
+                    ? Type.valueOf(fields.get(2).trim().toUpperCase(Locale.ROOT))
+                    : Type.USER;
+            String username = fields.size() > 3 && !fields.get(3).isBlank() ? fields.get(3).trim() : null;
+            entries.add(new Entry(email, password, type, username));
+        }
+        return entries;
+    }
+
+    /**
+     * Validates, hashes and stores the entries, blocking until the batch is on disk.
+     * Entries with an empty password, an invalid or already used email are skipped,
+     * including emails registered by someone else during the import.
+     *
+     * @param entries The accounts to create.
+     * @return What was imported and how fast.
+     */
+    public Result importUsers(List<Entry> entries) {
+        long start = System.nanoTime();
+
+        List<String> skipped = new ArrayList<>();
+        List<Entry> accepted = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Entry entry : entries) {
+            String email = entry.email == null ? "" : entry.email;
+            if (entry.password == null || entry.password.isEmpty()) {
+                skipped.add(email + ": empty password");
+            } else if (!userRepository.isEmailValid(email)) {
+                skipped.add(email + ": invalid email");
+            } else if (!seen.add(email.toLowerCase(Locale.ROOT)) || !userRepository.isEmailAvailable(email)) {
+                skipped.add(email + ": email already registered");
+            } else {
+                accepted.add(entry);
+            }
+        }
+
+        long hashStart = System.nanoTime();
+        List<User> users = hashAll(accepted);
+        Duration hashingTime = Duration.ofNanos(System.nanoTime() - hashStart);
+
+        int imported = users.size();
+        if (!users.isEmpty()) {
+            // Someone may have registered one of these emails while the passwords were hashed
+            for (User rejected : userRepository.saveUsers(users).join()) {
+                skipped.add(rejected.getEmail() + ": email already registered");
+                imported--;
+            }
+        }
+        return new Result(imported, skipped, hashingTime, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Creates the users (hashing each password) on a pool with one thread per core.
+     */
+    private List<User> hashAll(List<Entry> entries) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> entries.parallelStream().map(entry -> {
+                User user = new User(entry.email, entry.password, entry.type);
+                if (entry.username != null) {
+                    user.setUsername(entry.username);
+                }
+                return user;
+            }).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("User import failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
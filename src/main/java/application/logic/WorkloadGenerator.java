@@ -0,0 +1,508 @@
+package application.logic;
+
+import application.repositories.PetriNetCoordinates;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates synthetic workflow nets, users and computation histories from a seed, so that storage,
+ * analysis and the views can be stress-tested with data nobody has to draw by hand.
+ * A generator created with the same seed and asked for the same things produces the same
+ * IDs, names, dates and histories.
+ * <p>
+ * A net is built by refining the connection between its initial and final place into sequences,
+ * parallel fork/join blocks, choices and loops. Every net therefore has a single source and
+ * a single sink and passes {@link PetriNet#validate()}, and it is sound: from every reachable marking
+ * the final place can still be marked. Weighted arcs are obtained by giving each inner place
+ * a weight used by all of its arcs, which keeps the behaviour of the unweighted net.
+ * <p>
+ * Not thread-safe: use one generator per thread.
+ */
+public class WorkloadGenerator {
+
+    /**
+     * The building blocks a generated net is made of.
+     */
+    public enum Topology {
+        /** A single chain of transitions. */
+        SEQUENCE,
+        /** Nested parallel blocks, each opened by a fork and closed by a join transition. */
+        FORK_JOIN,
+        /** Nested exclusive choices between alternative paths. */
+        CHOICE,
+        /** Nested loops, each left or repeated at the end of its body. */
+        LOOP,
+        /** All of the above. */
+        MIXED
+    }
+
+    /** Password of every generated user. */
+    public static final String GENERATED_PASSWORD = "password";
+    // BCrypt hash (cost 10) of GENERATED_PASSWORD, shared by all generated users so no hashing is needed
+    private static final String GENERATED_PASSWORD_HASH = "$2a$10$o1E99KHOoKnD.yEumjTs5.HMRYfvM4wjbypw5DOSd6sWzCXDb2qpC";
+
+    /** Largest net that can be generated, in places plus transitions. */
+    public static final int MAX_ELEMENTS = 1_000_000;
+
+    // Generated dates start here and spread over the following months
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final long HISTORY_SPAN_SECONDS = 90L * 24 * 3600;
+    private static final int MAX_STEP_GAP_SECONDS = 600;
+
+    // Segments up to this budget may become a plain chain; larger ones are always refined
+    private static final int MAX_CHAIN = 12;
+    private static final int MAX_BRANCHES = 4;
+
+    private enum Pattern { CHAIN, SEQUENCE, FORK_JOIN, CHOICE, LOOP }
+
+    private final long seed;
+    private final SplittableRandom random;
+    private int userCount;
+    private int netCount;
+
+    /**
+     * @param seed Determines everything the generator produces.
+     */
+    public WorkloadGenerator(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    // --- Nets ---
+
+    /**
+     * Generates a valid workflow net.
+     *
+     * @param topology     The building blocks to use.
+     * @param elements     The number of places and transitions, between 3 and {@value #MAX_ELEMENTS}.
+     *                     A {@link Topology#SEQUENCE} net always has an odd number of them,
+     *                     and a {@link Topology#FORK_JOIN} net may have a few less.
+     * @param maxArcWeight The highest arc weight; 1 for an unweighted net.
+     * @param adminId      The ID of the administrator owning the net.
+     * @return The net, already validated.
+     * @throws IllegalArgumentException if a parameter is out of range.
+     */
+    public PetriNet generateNet(Topology topology, int elements, int maxArcWeight, String adminId) {
+        if (elements < 3 || elements > MAX_ELEMENTS) {
+            throw new IllegalArgumentException("elements must be between 3 and " + MAX_ELEMENTS);
+        }
+        if (maxArcWeight < 1) throw new IllegalArgumentException("maxArcWeight must be at least 1");
+
+        netCount++;
+        PetriNet net = new PetriNet(nextId("NP"), "gen-" + topology.name().toLowerCase() + "-" + netCount,
+                adminId, EPOCH.plusMinutes(netCount));
+        new NetBuilder(net, topology, maxArcWeight).build(elements);
+        net.validate();
+        return net;
+    }
+
+    /**
+     * A piece of the net still to be built: a path from {@code entry} to {@code exit}
+     * made of {@code budget} new places and transitions.
+     */
+    private static final class Segment {
+        final Place entry;
+        final Place exit;
+        final int budget;
+
+        Segment(Place entry, Place exit, int budget) {
+            this.entry = entry;
+            this.exit = exit;
+            this.budget = budget;
+        }
+    }
+
+    /**
+     * Builds one net. Segments are refined from an explicit stack, so the depth of the
+     * nesting is not limited by the call stack.
+     */
+    private final class NetBuilder {
+        private final PetriNet net;
+        private final Topology topology;
+        private final int maxArcWeight;
+        private int placeCount;
+        private int transitionCount;
+
+        NetBuilder(PetriNet net, Topology topology, int maxArcWeight) {
+            this.net = net;
+            this.topology = topology;
+            this.maxArcWeight = maxArcWeight;
+        }
+
+        void build(int elements) {
+            Place in = new Place(nextId("P"), net.getId(), "start");
+            Place out = new Place(nextId("P"), net.getId(), "end");
+            net.addPlace(in);
+            net.addPlace(out);
+            net.setInitial(in);
+            net.setFinal(out);
+
+            Deque<Segment> pending = new ArrayDeque<>();
+            pending.push(new Segment(in, out, elements - 2));
+            while (!pending.isEmpty()) {
+                refine(pending.pop(), pending);
+            }
+        }
+
+        private void refine(Segment segment, Deque<Segment> pending) {
+            Place entry = segment.entry;
+            Place exit = segment.exit;
+            int budget = segment.budget;
+
+            switch (choosePattern(budget)) {
+                case CHAIN -> {
+                    // k transitions and the k - 1 places between them. An even budget needs one more element:
+                    // a second place in parallel, or a second transition in choice, on one of the hops
+                    int length = Math.max(1, (budget + 1) / 2);
+                    int parallelAt = -1;
+                    int choiceAt = -1;
+                    if (budget % 2 == 0 && topology != Topology.SEQUENCE) {
+                        boolean parallel = topology == Topology.FORK_JOIN || (topology == Topology.MIXED && random.nextBoolean());
+                        if (parallel && length >= 2) {
+                            parallelAt = random.nextInt(length - 1);
+                        } else if (topology != Topology.FORK_JOIN) {
+                            choiceAt = random.nextInt(length);
+                        }
+                    }
+
+                    Place previous = entry;
+                    Place twin = null;
+                    for (int i = 0; i < length; i++) {
+                        Place next = i == length - 1 ? exit : place();
+                        Transition transition = transition();
+                        connect(previous, transition);
+                        if (twin != null) connect(twin, transition);
+                        connect(transition, next);
+                        twin = null;
+                        if (i == parallelAt) {
+                            twin = place();
+                            connect(transition, twin);
+                        }
+                        if (i == choiceAt) {
+                            Transition alternative = transition();
+                            connect(previous, alternative);
+                            connect(alternative, next);
+                        }
+                        previous = next;
+                    }
+                }
+                case SEQUENCE -> {
+                    Place middle = place();
+                    int first = odd(1 + random.nextInt(budget - 2));
+                    pending.push(new Segment(middle, exit, budget - 1 - first));
+                    pending.push(new Segment(entry, middle, first));
+                }
+                case FORK_JOIN -> {
+                    int branches = 2 + random.nextInt(Math.min(MAX_BRANCHES, (budget - 2) / 3) - 1);
+                    Transition fork = transition();
+                    Transition join = transition();
+                    connect(entry, fork);
+                    connect(join, exit);
+                    int[] budgets = split(budget - 2 - 2 * branches, branches);
+                    for (int i = branches - 1; i >= 0; i--) {
+                        Place branchIn = place();
+                        Place branchOut = place();
+                        connect(fork, branchIn);
+                        connect(branchOut, join);
+                        pending.push(new Segment(branchIn, branchOut, budgets[i]));
+                    }
+                }
+                case CHOICE -> {
+                    int branches = 2 + random.nextInt(Math.min(MAX_BRANCHES, budget) - 1);
+                    int[] budgets = split(budget, branches);
+                    for (int i = branches - 1; i >= 0; i--) {
+                        pending.push(new Segment(entry, exit, budgets[i]));
+                    }
+                }
+                case LOOP -> {
+                    // entry -> enter -> head ... body ... tail -> leave -> exit, and tail -> back -> head
+                    Place head = place();
+                    Place tail = place();
+                    Transition enter = transition();
+                    Transition back = transition();
+                    Transition leave = transition();
+                    connect(entry, enter);
+                    connect(enter, head);
+                    connect(tail, back);
+                    connect(back, head);
+                    connect(tail, leave);
+                    connect(leave, exit);
+                    pending.push(new Segment(head, tail, budget - 5));
+                }
+            }
+        }
+
+        private Pattern choosePattern(int budget) {
+            if (topology == Topology.SEQUENCE || budget < 3) return Pattern.CHAIN;
+
+            List<Pattern> candidates = new ArrayList<>(4);
+            if (budget > MAX_CHAIN || random.nextBoolean()) {
+                candidates.add(Pattern.SEQUENCE);
+            } else {
+                candidates.add(Pattern.CHAIN);
+            }
+            boolean mixed = topology == Topology.MIXED;
+            if ((mixed || topology == Topology.FORK_JOIN) && budget >= 8) candidates.add(Pattern.FORK_JOIN);
+            if (mixed || topology == Topology.CHOICE) candidates.add(Pattern.CHOICE);
+            if ((mixed || topology == Topology.LOOP) && budget >= 6) candidates.add(Pattern.LOOP);
+            return candidates.get(random.nextInt(candidates.size()));
+        }
+
+        private Place place() {
+            Place place = new Place(nextId("P"), net.getId(), "p" + (++placeCount));
+            net.addPlace(place);
+            return place;
+        }
+
+        private Transition transition() {
+            Transition transition = new Transition(nextId("T"), net.getId(), "t" + (++transitionCount), Type.USER);
+            net.addTransition(transition);
+            return transition;
+        }
+
+        private void connect(Place place, Transition transition) {
+            arc(place.getId(), transition.getId(), place.getId());
+        }
+
+        private void connect(Transition transition, Place place) {
+            arc(transition.getId(), place.getId(), place.getId());
+        }
+
+        private void arc(String sourceId, String targetId, String placeId) {
+            net.addArc(new Arc(nextId("A"), net.getId(), sourceId, targetId, weightOf(placeId)));
+        }
+
+        /**
+         * The weight of all arcs of a place, derived from its (random) ID instead of being stored.
+         * The initial and final places keep weight 1: a computation starts with a single token.
+         */
+        private int weightOf(String placeId) {
+            if (maxArcWeight == 1 || placeId.equals(net.getInitialPlaceId()) || placeId.equals(net.getFinalPlaceId())) {
+                return 1;
+            }
+            return 1 + Math.floorMod(placeId.hashCode(), maxArcWeight);
+        }
+    }
+
+    /**
+     * Splits a budget into parts of at least 1, at random.
+     * All parts but the last are odd, so they can become chains without losing an element.
+     */
+    private int[] split(int budget, int parts) {
+        int[] result = new int[parts];
+        double[] shares = new double[parts];
+        double total = 0;
+        for (int i = 0; i < parts; i++) {
+            shares[i] = 0.1 + random.nextDouble();
+            total += shares[i];
+        }
+        int spare = budget - parts;
+        int assigned = 0;
+        for (int i = 0; i < parts - 1; i++) {
+            result[i] = odd(1 + (int) (spare * shares[i] / total));
+            assigned += result[i];
+        }
+        result[parts - 1] = budget - assigned;
+        return result;
+    }
+
+    /**
+     * Rounds a positive number down to an odd one: a chain has an odd number of places and transitions.
+     */
+    private static int odd(int n) {
+        return n % 2 == 0 ? n - 1 : n;
+    }
+
+    // --- Users ---
+
+    /**
+     * Generates users, all with the password {@value #GENERATED_PASSWORD}.
+     * Emails are unique across the calls of a generator and include the seed,
+     * so populations generated from different seeds can share a store.
+     *
+     * @param admins The number of administrators.
+     * @param users  The number of plain users.
+     * @return The administrators followed by the users.
+     */
+    public List<User> generateUsers(int admins, int users) {
+        List<User> generated = new ArrayList<>(admins + users);
+        for (int i = 0; i < admins + users; i++) {
+            Type type = i < admins ? Type.ADMIN : Type.USER;
+            String username = (type == Type.ADMIN ? "admin" : "user") + (++userCount);
+            String email = username + "@seed" + seed + ".example.com";
+            generated.add(new User(nextId(type == Type.ADMIN ? "ADM" : "USR"), email, GENERATED_PASSWORD_HASH, type, username));
+        }
+        return generated;
+    }
+
+    // --- Computations ---
+
+    /**
+     * Generates the history of one run of a net: from one token in the initial place, enabled
+     * transitions are fired at random until the final place is marked, nothing is enabled,
+     * or {@code maxSteps} transitions have fired.
+     * The computation refers to the given net as its snapshot instead of a copy,
+     * so the net must not be edited afterwards.
+     *
+     * @param net      The net to run.
+     * @param userId   The user owning the computation.
+     * @param maxSteps The most transitions to fire.
+     * @return A completed computation if the final place was reached, otherwise an active one.
+     */
+    public Computation generateComputation(PetriNet net, String userId, int maxSteps) {
+        String computationId = nextId("CO");
+        LocalDateTime startTime = EPOCH.plusSeconds(random.nextLong(HISTORY_SPAN_SECONDS));
+        LocalDateTime time = startTime;
+
+        MarkingData marking = new MarkingData();
+        marking.setTokens(net.getInitialPlaceId(), 1);
+        List<ComputationStep> steps = new ArrayList<>();
+        steps.add(new ComputationStep(nextId("S"), computationId, null, time, marking));
+
+        EnabledSet enabled = new EnabledSet();
+        for (String transitionId : net.getTransitions().keySet()) {
+            enabled.update(net, transitionId, marking);
+        }
+
+        String finalPlaceId = net.getFinalPlaceId();
+        while (steps.size() <= maxSteps && !enabled.isEmpty() && marking.getTokens(finalPlaceId) == 0) {
+            String transitionId = enabled.get(random.nextInt(enabled.size()));
+            marking = net.fire(transitionId, marking);
+            time = time.plusSeconds(1 + random.nextInt(MAX_STEP_GAP_SECONDS));
+            steps.add(new ComputationStep(nextId("S"), computationId, transitionId, time, marking));
+
+            // Only transitions sharing a place with the fired one can have changed
+            Set<String> affected = new LinkedHashSet<>();
+            for (Arc arc : net.getIncomingArcs(transitionId)) {
+                net.getOutgoingArcs(arc.getSourceId()).forEach(a -> affected.add(a.getTargetId()));
+            }
+            for (Arc arc : net.getOutgoingArcs(transitionId)) {
+                net.getOutgoingArcs(arc.getTargetId()).forEach(a -> affected.add(a.getTargetId()));
+            }
+            for (String affectedId : affected) {
+                enabled.update(net, affectedId, marking);
+            }
+        }
+
+        boolean completed = marking.getTokens(finalPlaceId) > 0;
+        return new Computation(computationId, net.getId(), userId,
+                completed ? Computation.ComputationStatus.COMPLETED : Computation.ComputationStatus.ACTIVE,
+                startTime, completed ? time : null, steps, net, new PetriNetCoordinates());
+    }
+
+    /**
+     * The enabled transitions, with constant-time updates and random access.
+     */
+    private static final class EnabledSet {
+        private final List<String> ids = new ArrayList<>();
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        void update(PetriNet net, String transitionId, MarkingData marking) {
+            boolean isEnabled = net.isEnabled(transitionId, marking);
+            Integer position = positions.get(transitionId);
+            if (isEnabled && position == null) {
+                positions.put(transitionId, ids.size());
+                ids.add(transitionId);
+            } else if (!isEnabled && position != null) {
+                // Swap with the last one, so removal does not shift the list
+                String last = ids.removeLast();
+                positions.remove(transitionId);
+                if (!last.equals(transitionId)) {
+                    ids.set(position, last);
+                    positions.put(last, position);
+                }
+            }
+        }
+
+        String get(int index) { return ids.get(index); }
+        int size() { return ids.size(); }
+        boolean isEmpty() { return ids.isEmpty(); }
+    }
+
+    // --- Whole workloads ---
+
+    /**
+     * A generated population of users, nets and computations that fit together.
+     */
+    public static final class Workload {
+        private final List<User> users;
+        private final List<PetriNet> nets;
+        private final List<Computation> computations;
+
+        private Workload(List<User> users, List<PetriNet> nets, List<Computation> computations) {
+            this.users = Collections.unmodifiableList(users);
+            this.nets = Collections.unmodifiableList(nets);
+            this.computations = Collections.unmodifiableList(computations);
+        }
+
+        public List<User> getUsers() { return users; }
+        public List<PetriNet> getNets() { return nets; }
+        public List<Computation> getComputations() { return computations; }
+    }
+
+    /**
+     * Generates users, nets owned by the administrators among them, and computations of those nets.
+     * The nets cycle through all topologies and every third one has arc weights up to 3.
+     * Computations follow the rules of the {@link ProcessService}: nobody runs a net they administer,
+     * and a user has at most one active computation per net.
+     *
+     * @param admins       The number of administrators (at least 1 if there are nets).
+     * @param users        The number of plain users.
+     * @param nets         The number of nets.
+     * @param netElements  The places and transitions of each net (see {@link #generateNet}).
+     * @param computations The number of computations to generate; fewer are returned if the
+     *                     rules above leave no room for more.
+     * @param maxSteps     The most transitions fired in each computation.
+     * @return The workload.
+     * @throws IllegalArgumentException if a parameter is out of range.
+     */
+    public Workload generateWorkload(int admins, int users, int nets, int netElements, int computations, int maxSteps) {
+        if (nets > 0 && admins < 1) throw new IllegalArgumentException("Nets need at least one administrator");
+
+        List<User> people = generateUsers(admins, users);
+        List<User> administrators = people.subList(0, admins);
+
+        List<PetriNet> generatedNets = new ArrayList<>(nets);
+        Topology[] topologies = Topology.values();
+        for (int i = 0; i < nets; i++) {
+            User owner = administrators.get(random.nextInt(admins));
+            generatedNets.add(generateNet(topologies[i % topologies.length], netElements, i % 3 == 2 ? 3 : 1, owner.getId()));
+        }
+
+        List<Computation> generatedComputations = new ArrayList<>(computations);
+        Set<String> activePairs = new HashSet<>();
+        int attempts = 0;
+        while (generatedComputations.size() < computations && !generatedNets.isEmpty() && attempts++ < computations * 10) {
+            User runner = people.get(random.nextInt(people.size()));
+            PetriNet net = generatedNets.get(random.nextInt(generatedNets.size()));
+            String pair = runner.getId() + "/" + net.getId();
+            if (net.getAdminId().equals(runner.getId()) || activePairs.contains(pair)) continue;
+
+            Computation computation = generateComputation(net, runner.getId(), maxSteps);
+            if (computation.isActive()) activePairs.add(pair);
+            generatedComputations.add(computation);
+        }
+        return new Workload(people, generatedNets, generatedComputations);
+    }
+
+    /**
+     * A UUID-shaped ID drawn from the seeded generator, in the format used by the model classes.
+     */
+    private String nextId(String prefix) {
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L; // version 4
+        long low = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L; // IETF variant
+        return prefix + new UUID(high, low);
+    }
+}
@@ -0,0 +1,219 @@
+package application.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records durations in nanoseconds, HdrHistogram style: buckets are linear within each power of two
+ * and logarithmic across them, so every recorded value is kept with about 3% precision from
+ * 1 ns up to {@value #MAX_TRACKABLE_SECONDS} seconds in a fixed 9 KB array.
+ * Recording is lock-free (one atomic increment and one adder update) and never allocates.
+ * <p>
+ * Timing a call costs two clock reads. On paths where that is too much, a histogram can time only
+ * one call in {@code sampleInterval}; each timed call then counts for {@code sampleInterval} calls,
+ * so counts stay estimates of the real totals and percentiles are unaffected.
+ * <pre>
+ * long start = histogram.start();
+ * try { ... } finally { histogram.stop(start); }
+ * </pre>
+ */
+public final class LatencyHistogram implements LatencyMXBean {
+
+    // 2^SUB_BUCKET_BITS linear buckets per power of two: relative error below 1 / 2^SUB_BUCKET_BITS
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Largest power of two tracked; longer durations land in the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    static final long MAX_TRACKABLE_SECONDS = (1L << MAX_EXPONENT) / 1_000_000_000L;
+
+    // Returned by start() for calls that are not timed
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final String name;
+    private final int sampleMask;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    // Deliberately not atomic: a lost update only shifts which call gets timed
+    private int calls;
+
+    /**
+     * @param sampleInterval Times one call in this many; a power of two.
+     */
+    LatencyHistogram(String name, int sampleInterval) {
+        if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("sampleInterval must be a power of two");
+        }
+        this.name = name;
+        this.sampleMask = sampleInterval - 1;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSampleInterval() {
+        return sampleMask + 1;
+    }
+
+    /**
+     * Starts timing a call, if it is one of the sampled ones.
+     *
+     * @return The value to pass to {@link #stop(long)}.
+     */
+    public long start() {
+        if (!Metrics.ENABLED) return NOT_SAMPLED;
+        if (sampleMask != 0 && (++calls & sampleMask) != 0) return NOT_SAMPLED;
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time elapsed since {@link #start()}, if that call was sampled.
+     */
+    public void stop(long start) {
+        if (start == NOT_SAMPLED) return;
+        add(System.nanoTime() - start, sampleMask + 1);
+    }
+
+    /**
+     * Records one duration measured elsewhere.
+     *
+     * @param nanos The duration in nanoseconds; negative values count as 0.
+     */
+    public void record(long nanos) {
+        if (Metrics.ENABLED) add(nanos, 1);
+    }
+
+    private void add(long nanos, int weight) {
+        long value = Math.max(0, nanos);
+        counts.addAndGet(bucketOf(value), weight);
+        totalNanos.add(value * weight);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * @return The lowest value that falls in a bucket.
+     */
+    static long lowestValueOf(int bucket) {
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        if (shift <= 0) return bucket;
+        return ((long) (bucket & (SUB_BUCKETS - 1)) + SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * @return The highest value that falls in a bucket.
+     */
+    static long highestValueOf(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowestValueOf(bucket + 1) - 1;
+    }
+
+    /**
+     * Copies the current counts. Values recorded while copying may or may not be included.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum());
+    }
+
+    // --- JMX ---
+
+    @Override
+    public long getCount() { return snapshot().getCount(); }
+
+    @Override
+    public double getMeanMicros() { return snapshot().getMean() / 1_000.0; }
+
+    @Override
+    public double getP50Micros() { return snapshot().getValueAtPercentile(50) / 1_000.0; }
+
+    @Override
+    public double getP90Micros() { return snapshot().getValueAtPercentile(90) / 1_000.0; }
+
+    @Override
+    public double getP99Micros() { return snapshot().getValueAtPercentile(99) / 1_000.0; }
+
+    @Override
+    public double getP999Micros() { return snapshot().getValueAtPercentile(99.9) / 1_000.0; }
+
+    @Override
+    public double getMaxMicros() { return snapshot().getMax() / 1_000.0; }
+
+    /**
+     * The counts of a histogram at one moment. Two snapshots can be subtracted to get
+     * the distribution of the values recorded in between.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * @param earlier A snapshot of the same histogram taken before this one.
+         * @return The values recorded between the two snapshots.
+         */
+        public Snapshot minus(Snapshot earlier) {
+            long[] difference = new long[counts.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                difference[i] = Math.max(0, counts[i] - earlier.counts[i]);
+                total += difference[i];
+            }
+            return new Snapshot(difference, total, Math.max(0, totalNanos - earlier.totalNanos));
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The mean in nanoseconds, or 0 if nothing was recorded.
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * @param percentile Between 0 and 100.
+         * @return The highest value equivalent (within the bucket precision) to the value at the percentile,
+         *         in nanoseconds, or 0 if nothing was recorded.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return highestValueOf(i);
+            }
+            return highestValueOf(counts.length - 1);
+        }
+
+        /**
+         * @return The highest value recorded, within the bucket precision, in nanoseconds.
+         */
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) return highestValueOf(i);
+            }
+            return 0;
+        }
+    }
+}
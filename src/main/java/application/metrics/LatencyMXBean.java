@@ -0,0 +1,14 @@
+package application.metrics;
+
+/**
+ * JMX view of a {@link LatencyHistogram}. Times are in microseconds, cumulated since startup.
+ */
+public interface LatencyMXBean {
+    long getCount();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP90Micros();
+    double getP99Micros();
+    double getP999Micros();
+    double getMaxMicros();
+}
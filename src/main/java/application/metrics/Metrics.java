@@ -0,0 +1,109 @@
+package application.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the application's counters and latency histograms.
+ * Instrumented classes look their metrics up once, into static fields, and then only pay for
+ * a {@link System#nanoTime()} pair and a lock-free update on each timed call.
+ * <p>
+ * Metrics can be read over JMX once {@link #registerMBeans()} was called, under
+ * {@code application.metrics:type=Latency|Counter,name=<name>}, and dumped periodically by a
+ * {@link MetricsReporter}. They are switched off, down to a constant check,
+ * with {@code -Dpetrinet.metrics=false}.
+ */
+public final class Metrics {
+
+    /** System property that disables all metrics when set to {@code false}. */
+    public static final String ENABLED_PROPERTY = "petrinet.metrics";
+
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+
+    private static final String JMX_DOMAIN = "application.metrics";
+
+    private static final Metrics instance = new Metrics();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private MBeanServer mbeanServer;
+
+    private Metrics() {}
+
+    public static Metrics getInstance() {
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @param name A dotted name, e.g. {@code process.fire.rejected}.
+     * @return The counter with that name, created on first use.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> register(new Counter(n), "Counter", n));
+    }
+
+    /**
+     * @param name A dotted name, e.g. {@code process.start}.
+     * @return The histogram with that name, timing every call, created on first use.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histogram(name, 1);
+    }
+
+    /**
+     * @param name           A dotted name, e.g. {@code process.fire}.
+     * @param sampleInterval Times one call in this many (a power of two), for the hottest paths.
+     * @return The histogram with that name, created on first use.
+     */
+    public LatencyHistogram histogram(String name, int sampleInterval) {
+        return histograms.computeIfAbsent(name, n -> register(new LatencyHistogram(n, sampleInterval), "Latency", n));
+    }
+
+    /**
+     * @return Every counter, by name.
+     */
+    public SortedMap<String, Counter> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    /**
+     * @return Every histogram, by name.
+     */
+    public SortedMap<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Publishes every metric, present and future, on the platform MBean server.
+     * Loading the JMX classes takes a while, so this is only done by long-running processes.
+     */
+    public synchronized void registerMBeans() {
+        if (mbeanServer != null) return;
+        mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        counters.forEach((name, counter) -> register(counter, "Counter", name));
+        histograms.forEach((name, histogram) -> register(histogram, "Latency", name));
+    }
+
+    private synchronized <T> T register(T metric, String type, String name) {
+        if (mbeanServer == null) return metric;
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (!mbeanServer.isRegistered(objectName)) {
+                mbeanServer.registerMBean(metric, objectName);
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+        return metric;
+    }
+}
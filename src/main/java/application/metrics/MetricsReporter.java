@@ -0,0 +1,155 @@
+package application.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically dumps the metrics that changed since the previous dump, either as CSV rows
+ * appended to a file or as lines on the log (standard output). Each row covers one interval:
+ * counts, mean and percentiles are of the values recorded during that interval only.
+ * <p>
+ * Enabled with {@code -Dpetrinet.metrics.report=<file.csv>} or {@code -Dpetrinet.metrics.report=log};
+ * the interval is {@code petrinet.metrics.period} seconds (60 by default).
+ */
+public class MetricsReporter {
+
+    /** System property naming the CSV file to append to, or {@code log}. */
+    public static final String REPORT_PROPERTY = "petrinet.metrics.report";
+    /** System property with the dump interval in seconds. */
+    public static final String PERIOD_PROPERTY = "petrinet.metrics.period";
+
+    static final String CSV_HEADER = "time,name,type,count,total,mean_us,p50_us,p90_us,p99_us,p999_us,max_us";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final Metrics metrics;
+    private final Path csvFile;
+    private final PrintStream log;
+    private final Map<String, LatencyHistogram.Snapshot> previousHistograms = new HashMap<>();
+    private final Map<String, Long> previousCounters = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param metrics The registry to dump.
+     * @param csvFile The CSV file to append to, or null to write to {@code log}.
+     * @param log     Where lines go when there is no CSV file.
+     */
+    public MetricsReporter(Metrics metrics, Path csvFile, PrintStream log) {
+        this.metrics = metrics;
+        this.csvFile = csvFile;
+        this.log = log;
+    }
+
+    /**
+     * Starts a reporter as configured by {@value #REPORT_PROPERTY}, if set.
+     *
+     * @return The running reporter, or null if reporting is disabled.
+     */
+    public static MetricsReporter startIfConfigured() {
+        String target = System.getProperty(REPORT_PROPERTY);
+        if (target == null || target.isBlank() || !Metrics.isEnabled()) return null;
+        long period = Long.getLong(PERIOD_PROPERTY, 60);
+        MetricsReporter reporter = new MetricsReporter(Metrics.getInstance(),
+                target.equalsIgnoreCase("log") ? null : Path.of(target), System.out);
+        reporter.start(period, TimeUnit.SECONDS);
+        return reporter;
+    }
+
+    /**
+     * Dumps the metrics every period, on a daemon thread.
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (scheduler != null) throw new IllegalStateException("Reporter already running");
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::reportQuietly, period, period, unit);
+    }
+
+    /**
+     * Stops the periodic dumps and writes a last one, so the final interval is not lost.
+     */
+    public synchronized void stop() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        scheduler = null;
+        reportQuietly();
+    }
+
+    private void reportQuietly() {
+        try {
+            report();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes one row per metric that changed since the previous call.
+     */
+    public synchronized void report() throws IOException {
+        String time = LocalDateTime.now().format(TIME_FORMAT);
+        StringBuilder rows = new StringBuilder();
+
+        metrics.getCounters().forEach((name, counter) -> {
+            long total = counter.getCount();
+            long delta = total - previousCounters.getOrDefault(name, 0L);
+            previousCounters.put(name, total);
+            if (delta > 0) {
+                rows.append(time).append(',').append(name).append(",counter,")
+                        .append(delta).append(',').append(total).append(",,,,,,").append('\n');
+            }
+        });
+
+        metrics.getHistograms().forEach((name, histogram) -> {
+            LatencyHistogram.Snapshot current = histogram.snapshot();
+            LatencyHistogram.Snapshot previous = previousHistograms.put(name, current);
+            LatencyHistogram.Snapshot interval = previous == null ? current : current.minus(previous);
+            if (interval.getCount() > 0) {
+                rows.append(time).append(',').append(name).append(",latency,")
+                        .append(interval.getCount()).append(',').append(current.getCount()).append(',')
+                        .append(micros(interval.getMean())).append(',')
+                        .append(micros(interval.getValueAtPercentile(50))).append(',')
+                        .append(micros(interval.getValueAtPercentile(90))).append(',')
+                        .append(micros(interval.getValueAtPercentile(99))).append(',')
+                        .append(micros(interval.getValueAtPercentile(99.9))).append(',')
+                        .append(micros(interval.getMax())).append('\n');
+            }
+        });
+
+        if (rows.isEmpty()) return;
+        if (csvFile == null) {
+            rows.toString().lines().forEach(row -> log.println("[metrics] " + row));
+            return;
+        }
+
+        boolean newFile = !Files.exists(csvFile);
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (newFile) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+            writer.write(rows.toString());
+        }
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000.0);
+    }
+}
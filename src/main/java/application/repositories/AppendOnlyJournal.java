@@ -0,0 +1,179 @@
+package application.repositories;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log of change records, replayed over the last snapshot of a store.
+ * Each record is written as {@code <crc32c> <length> <payload>\n}, so appending one costs a
+ * single small write, and a record torn by a crash is detected by its checksum and dropped.
+ * After the store writes a new snapshot, {@link #dropPrefix(long)} removes the records it contains.
+ * Not thread-safe: the owning repository synchronizes.
+ */
+final class AppendOnlyJournal {
+
+    private final Path path;
+    private FileChannel channel;
+    private long length;
+
+    AppendOnlyJournal(File file) {
+        this.path = file.toPath().toAbsolutePath();
+        this.length = file.length();
+    }
+
+    /**
+     * Calls the consumer with every intact record, oldest first. Stops at the first damaged
+     * record and cuts the file there, so later appends do not end up behind garbage.
+     *
+     * @return The number of records replayed.
+     */
+    int replay(Consumer<String> consumer) throws IOException {
+        if (!Files.exists(path)) return 0;
+        byte[] bytes = Files.readAllBytes(path);
+
+        int position = 0;
+        int count = 0;
+        while (position < bytes.length) {
+            int end = readRecord(bytes, position, consumer);
+            if (end < 0) {
+                System.err.println("Damaged record in " + path + " at byte " + position + ", ignoring the rest.");
+                try (FileChannel truncate = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    truncate.truncate(position);
+                    truncate.force(true);
+                }
+                break;
+            }
+            position = end;
+            count++;
+        }
+        length = position;
+        return count;
+    }
+
+    /**
+     * Appends a record and forces it to disk.
+     *
+     * @param payload The record, any text.
+     */
+    void append(String payload) throws IOException {
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        CRC32C crc = new CRC32C();
+        crc.update(data, 0, data.length);
+        byte[] header = String.format("%08x %d ", crc.getValue(), data.length).getBytes(StandardCharsets.US_ASCII);
+
+        ByteBuffer buffer = ByteBuffer.allocate(header.length + data.length + 1);
+        buffer.put(header).put(data).put((byte) '\n').flip();
+
+        FileChannel out = open();
+        while (buffer.hasRemaining()) {
+            length += out.write(buffer);
+        }
+        out.force(false);
+    }
+
+    /**
+     * @return The current size of the journal in bytes, i.e. the offset of the next record.
+     */
+    long length() {
+        return length;
+    }
+
+    /**
+     * Atomically removes the records before the given offset, keeping those appended after it.
+     *
+     * @param offset A value previously returned by {@link #length()}.
+     */
+    void dropPrefix(long offset) throws IOException {
+        if (offset <= 0) return;
+        close();
+
+        byte[] bytes = Files.exists(path) ? Files.readAllBytes(path) : new byte[0];
+        int keepFrom = (int) Math.min(offset, bytes.length);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer rest = ByteBuffer.wrap(bytes, keepFrom, bytes.length - keepFrom);
+            while (rest.hasRemaining()) {
+                tempChannel.write(rest);
+            }
+            tempChannel.force(true);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        length = bytes.length - keepFrom;
+    }
+
+    /**
+     * Closes the file; the next append reopens it.
+     */
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (channel == null) {
+            Path directory = path.getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    /**
+     * Parses and checks the record starting at the given offset.
+     *
+     * @return The offset after the record, or -1 if it is torn or corrupted.
+     */
+    private static int readRecord(byte[] bytes, int start, Consumer<String> consumer) {
+        int firstSpace = indexOf(bytes, (byte) ' ', start);
+        int secondSpace = firstSpace < 0 ? -1 : indexOf(bytes, (byte) ' ', firstSpace + 1);
+        if (secondSpace < 0) return -1;
+
+        long expectedCrc;
+        int length;
+        try {
+            expectedCrc = Long.parseLong(new String(bytes, start, firstSpace - start, StandardCharsets.US_ASCII), 16);
+            length = Integer.parseInt(new String(bytes, firstSpace + 1, secondSpace - firstSpace - 1, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+
+        int dataStart = secondSpace + 1;
+        int end = dataStart + length;
+        if (length < 0 || end >= bytes.length || bytes[end] != '\n') return -1;
+
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, dataStart, length);
+        if (crc.getValue() != expectedCrc) return -1;
+
+        consumer.accept(new String(bytes, dataStart, length, StandardCharsets.UTF_8));
+        return end + 1;
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        // The header is short: give up quickly on garbage
+        int limit = Math.min(bytes.length, from + 32);
+        for (int i = from; i < limit; i++) {
+            if (bytes[i] == value) return i;
+        }
+        return -1;
+    }
+}
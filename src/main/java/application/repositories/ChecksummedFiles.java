@@ -0,0 +1,218 @@
+package application.repositories;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Crash-safe storage format shared by every data file.
+ * A file is written to a temporary sibling, forced to disk and atomically renamed over the target;
+ * the previous content is kept as a ".prev" generation. Each file ends with a footer line
+ * {@code #CRC32C:<hex>:<length>} so a torn or corrupted file is detected while it is read,
+ * in the same pass, and the last good generation is used instead.
+ */
+public final class ChecksummedFiles {
+
+    private static final String FOOTER_PREFIX = "#CRC32C:";
+    private static final String PREVIOUS_SUFFIX = ".prev";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private ChecksummedFiles() {}
+
+    /**
+     * Atomically replaces the content of a file, keeping the old content as the previous generation.
+     *
+     * @param target   The file to write.
+     * @param content  The new content, without footer.
+     * @param syncDirectory Whether the renames must also be forced to disk before returning.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(File target, byte[] content, boolean syncDirectory) throws IOException {
+        Path path = target.toPath().toAbsolutePath();
+        Path directory = path.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+
+        Path temp = sibling(path, TEMP_SUFFIX);
+        byte[] footer = footer(content).getBytes(StandardCharsets.US_ASCII);
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.wrap(content));
+            writeFully(channel, ByteBuffer.wrap(footer));
+            // The data must be on disk before the rename makes it visible
+            channel.force(true);
+        }
+
+        if (Files.exists(path)) {
+            move(path, sibling(path, PREVIOUS_SUFFIX));
+        }
+        move(temp, path);
+
+        if (syncDirectory && directory != null) {
+            forceDirectory(directory);
+        }
+    }
+
+    /**
+     * Reads and verifies a file, falling back to the previous generation if the current one
+     * is missing or fails its checksum. Files written before footers were introduced are accepted as they are,
+     * as long as nothing shows that a footer was lost: once a previous generation exists, the current one
+     * was written with a footer and must still have it.
+     *
+     * @param file The file to read.
+     * @return A stream over the verified content, without footer.
+     * @throws FileNotFoundException If no readable generation exists.
+     */
+    public static InputStream read(File file) throws IOException {
+        Path path = file.toPath();
+        Path previous = sibling(path, PREVIOUS_SUFFIX);
+        InputStream current = readVerified(path, !Files.exists(previous));
+        if (current != null) {
+            return current;
+        }
+
+        InputStream fallback = readVerified(previous, true);
+        if (fallback != null) {
+            System.err.println("Recovered " + file + " from its previous generation.");
+            return fallback;
+        }
+        throw new FileNotFoundException("No valid generation of " + file);
+    }
+
+    /**
+     * @return True if the file, or a previous generation of it, exists and is not empty.
+     */
+    public static boolean exists(File file) {
+        return file.length() > 0 || sibling(file.toPath(), PREVIOUS_SUFFIX).toFile().length() > 0;
+    }
+
+    /**
+     * Deletes a file together with its previous generation and any leftover temporary file.
+     *
+     * @param file The file to delete.
+     * @throws IOException If a generation cannot be deleted.
+     */
+    public static void delete(File file) throws IOException {
+        Path path = file.toPath();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(sibling(path, PREVIOUS_SUFFIX));
+        Files.deleteIfExists(sibling(path, TEMP_SUFFIX));
+    }
+
+    /**
+     * Reads one generation in a single pass: the bytes are loaded once, the checksum is computed
+     * over them and the returned stream is a view of the same array.
+     *
+     * @param legacyAllowed Whether content without footer may be a file written before footers existed.
+     * @return The verified content, or null if the file is missing, empty or corrupted.
+     */
+    private static InputStream readVerified(Path path, boolean legacyAllowed) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length == 0) {
+            return null;
+        }
+
+        int length = contentLength(bytes);
+        if (length == -1 && legacyAllowed) {
+            return new ByteArrayInputStream(bytes);
+        }
+        if (length == -1) {
+            System.err.println("Missing checksum in " + path + ", ignoring this generation.");
+            return null;
+        }
+        if (length == -2) {
+            System.err.println("Checksum mismatch in " + path + ", ignoring this generation.");
+            return null;
+        }
+        return new ByteArrayInputStream(bytes, 0, length);
+    }
+
+    /**
+     * Parses and checks the footer.
+     *
+     * @return The content length, -1 if there is no footer, -2 if the footer does not match the content
+     *         or was cut short.
+     */
+    private static int contentLength(byte[] bytes) {
+        int end = bytes.length;
+        if (bytes[end - 1] == '\n') end--;
+
+        int lineStart = end;
+        while (lineStart > 0 && bytes[lineStart - 1] != '\n') {
+            lineStart--;
+        }
+        String lastLine = new String(bytes, lineStart, end - lineStart, StandardCharsets.US_ASCII);
+        if (!lastLine.startsWith(FOOTER_PREFIX)) {
+            // A file torn inside the footer prefix is not a legacy file
+            return !lastLine.isEmpty() && FOOTER_PREFIX.startsWith(lastLine) ? -2 : -1;
+        }
+
+        String[] parts = lastLine.substring(FOOTER_PREFIX.length()).split(":");
+        if (parts.length != 2 || lineStart == 0) {
+            return -2;
+        }
+        try {
+            long expectedCrc = Long.parseLong(parts[0], 16);
+            int length = Integer.parseInt(parts[1]);
+            // The footer starts right after the content and its separating newline
+            if (length != lineStart - 1) {
+                return -2;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(bytes, 0, length);
+            return crc.getValue() == expectedCrc ? length : -2;
+        } catch (NumberFormatException e) {
+            return -2;
+        }
+    }
+
+    private static String footer(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content, 0, content.length);
+        return String.format("\n%s%08x:%d\n", FOOTER_PREFIX, crc.getValue(), content.length);
+    }
+
+    private static Path sibling(Path path, String suffix) {
+        return path.resolveSibling(path.getFileName() + suffix);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Makes the renames durable. Not supported on every platform (e.g. Windows), where it is skipped.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for syncing on this platform
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package application.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV encoding used by the user store and the user import.
+ * Fields containing a comma, a quote or a line break are quoted, with quotes doubled,
+ * so e-mails and usernames round-trip whatever they contain.
+ */
+public final class CsvCodec {
+
+    private CsvCodec() {}
+
+    /**
+     * Encodes one record, without the trailing line break.
+     */
+    public static String format(String... fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) line.append(',');
+            String field = fields[i] == null ? "" : fields[i];
+            if (needsQuotes(field)) {
+                line.append('"').append(field.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(field);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Splits a text into records, honouring quoted fields that contain commas or line breaks.
+     * Blank lines are skipped; a missing closing quote ends the field at the end of the text.
+     *
+     * @param text The CSV content.
+     * @return The records, each a list of its fields.
+     */
+    public static List<List<String>> parse(CharSequence text) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') i++;
+                if (fieldStarted || !field.isEmpty()) {
+                    fields.add(field.toString());
+                    records.add(fields);
+                    fields = new ArrayList<>();
+                }
+                field.setLength(0);
+                fieldStarted = false;
+            } else {
+                field.append(c);
+                fieldStarted = true;
+            }
+        }
+        if (fieldStarted || !field.isEmpty()) {
+            fields.add(field.toString());
+            records.add(fields);
+        }
+        return records;
+    }
+
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,302 @@
+package application.repositories;
+
+import application.metrics.Counter;
+import application.metrics.LatencyHistogram;
+import application.metrics.Metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared background writer for every data file of the application.
+ * Repositories hand in a snapshot of their state instead of writing on the caller's thread
+ * (usually the JavaFX application thread). A single writer thread drains a bounded queue and
+ * coalesces bursts of changes to the same file into one write (group commit).
+ */
+public final class PersistenceService implements SnapshotWriter {
+
+    /**
+     * How hard a write must hit the disk before it is reported as done.
+     * Either way the content is written atomically (see {@link ChecksummedFiles}).
+     */
+    public enum Durability {
+        /** The new file and its rename are both forced to the storage device. */
+        DURABLE,
+        /** The new file is forced to disk, but the OS decides when to persist the rename. */
+        FIRE_AND_FORGET
+    }
+
+    /**
+     * Produces the bytes of a file. Called on the writer thread, right before the write,
+     * so a burst of changes is serialized only once.
+     */
+    @FunctionalInterface
+    public interface Snapshot {
+        byte[] take() throws IOException;
+    }
+
+    private static final int QUEUE_CAPACITY = 256;
+
+    // How long shutdown() waits for the writer to finish its last batch
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    // How long the writer waits for more changes before committing a batch
+    private static final long GROUP_COMMIT_WINDOW_MS = Long.getLong("petrinet.persistence.groupCommitMs", 5);
+
+    // Serializing the snapshot and writing it, per file
+    private static final LatencyHistogram WRITE_LATENCY = Metrics.getInstance().histogram("persistence.write");
+    private static final Counter WRITE_FAILURES = Metrics.getInstance().counter("persistence.write.failed");
+
+    private static final PersistenceService instance = createShared();
+
+    private final BlockingQueue<WriteRequest> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    // Requests that are queued but not yet picked up by the writer, one per file
+    private final Map<File, WriteRequest> pending = new HashMap<>();
+
+    // Every future not yet completed, used by flush()
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Most recent write of each file, used to read back what was just written
+    private final Map<File, CompletableFuture<Void>> latest = new ConcurrentHashMap<>();
+
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    /**
+     * Starts a writer of its own. Only tests create more than the shared one.
+     */
+    PersistenceService() {
+        writer = new Thread(this::runWriter, "persistence-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static PersistenceService createShared() {
+        PersistenceService service = new PersistenceService();
+        Runtime.getRuntime().addShutdownHook(new Thread(service::shutdown, "persistence-shutdown"));
+        return service;
+    }
+
+    /**
+     * Returns the single shared writer.
+     */
+    public static PersistenceService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Schedules a write of a file. If a write of the same file is already waiting,
+     * the two are merged and only the most recent snapshot is written.
+     *
+     * @param target     The file to (over)write.
+     * @param snapshot   Supplier of the file content, called on the writer thread.
+     * @param durability Whether the write must be forced to disk.
+     * @return A future completed once the content is on disk.
+     */
+    @Override
+    public CompletableFuture<Void> write(File target, Snapshot snapshot, Durability durability) {
+        return enqueue(target, snapshot, durability);
+    }
+
+    /**
+     * Schedules a write of content that was already serialized by the caller.
+     *
+     * @see #write(File, Snapshot, Durability)
+     */
+    public CompletableFuture<Void> write(File target, byte[] content, Durability durability) {
+        return enqueue(target, () -> content, durability);
+    }
+
+    /**
+     * Schedules the deletion of a file, superseding any write of it that is still waiting.
+     *
+     * @param target The file to delete.
+     * @return A future completed once the file is gone.
+     */
+    public CompletableFuture<Void> delete(File target) {
+        return enqueue(target, null, Durability.FIRE_AND_FORGET);
+    }
+
+    /**
+     * Blocks until the most recent write (or delete) of a file has completed,
+     * so a following read sees the latest content. Returns immediately if nothing is pending.
+     *
+     * @param target The file about to be read.
+     */
+    public void awaitPending(File target) {
+        CompletableFuture<Void> last = latest.get(target.getAbsoluteFile());
+        if (last == null) return;
+        try {
+            last.join();
+        } catch (RuntimeException e) {
+            // Failures were already reported by the writer
+        }
+    }
+
+    /**
+     * Blocks until every write scheduled so far has completed.
+     * Must not be called from the JavaFX application thread for long queues.
+     */
+    public void flush() {
+        CompletableFuture<?>[] snapshot = inFlight.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(snapshot).join();
+        } catch (RuntimeException e) {
+            // Failures were already reported by the writer
+        }
+    }
+
+    /**
+     * Stops the writer after writing everything still queued, and waits (for a bounded time)
+     * until it has finished. Registered as a JVM shutdown hook, so nothing accepted before exit is lost.
+     */
+    public void shutdown() {
+        if (closed) return;
+        flush();
+        closed = true;
+        // Not interrupted: an interrupt in the middle of a write would close the file channel.
+        // The writer notices the flag within one poll and drains what was queued meanwhile.
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            System.err.println("Persistence writer still busy after " + SHUTDOWN_TIMEOUT_MS + " ms");
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(File target, Snapshot snapshot, Durability durability) {
+        File key = target.getAbsoluteFile();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        inFlight.add(done);
+        latest.put(key, done);
+        done.whenComplete((ignored, error) -> {
+            inFlight.remove(done);
+            latest.remove(key, done);
+        });
+
+        if (closed) {
+            // After shutdown there is no writer left: write on the caller's thread
+            WriteRequest request = new WriteRequest(key, snapshot, durability);
+            request.waiters.add(done);
+            execute(request);
+            return done;
+        }
+
+        WriteRequest request;
+        synchronized (pending) {
+            request = pending.get(key);
+            if (request != null) {
+                // Group commit: the queued request will write the latest state anyway
+                request.merge(snapshot, durability, done);
+                return done;
+            }
+            request = new WriteRequest(key, snapshot, durability);
+            request.waiters.add(done);
+            pending.put(key, request);
+        }
+
+        try {
+            queue.put(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            synchronized (pending) {
+                pending.remove(key, request);
+            }
+            execute(request);
+        }
+        return done;
+    }
+
+    private void runWriter() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                WriteRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                // Give a burst of changes the chance to pile up behind this request
+                if (GROUP_COMMIT_WINDOW_MS > 0) {
+                    Thread.sleep(GROUP_COMMIT_WINDOW_MS);
+                }
+
+                List<WriteRequest> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                // Only stopped by shutdown(), once the queue is drained
+            }
+        }
+    }
+
+    /**
+     * Claims a batch of requests (so no more changes merge into them) and writes each file once.
+     */
+    private void commit(List<WriteRequest> batch) {
+        synchronized (pending) {
+            for (WriteRequest request : batch) {
+                pending.remove(request.target, request);
+            }
+        }
+        for (WriteRequest request : batch) {
+            execute(request);
+        }
+    }
+
+    private void execute(WriteRequest request) {
+        long start = WRITE_LATENCY.start();
+        try {
+            if (request.snapshot == null) {
+                ChecksummedFiles.delete(request.target);
+            } else {
+                ChecksummedFiles.write(request.target, request.snapshot.take(), request.durability == Durability.DURABLE);
+            }
+            WRITE_LATENCY.stop(start);
+            request.waiters.forEach(f -> f.complete(null));
+        } catch (IOException | RuntimeException e) {
+            WRITE_FAILURES.increment();
+            System.err.println("Failed to write " + request.target + ": " + e.getMessage());
+            e.printStackTrace();
+            request.waiters.forEach(f -> f.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * A pending write (or delete, when the snapshot is null) of one file.
+     */
+    private static class WriteRequest {
+        final File target;
+        Snapshot snapshot;
+        Durability durability;
+        final List<CompletableFuture<Void>> waiters = new ArrayList<>();
+
+        WriteRequest(File target, Snapshot snapshot, Durability durability) {
+            this.target = target;
+            this.snapshot = snapshot;
+            this.durability = durability;
+        }
+
+        /**
+         * Folds a newer change of the same file into this request. Guarded by the pending map lock.
+         */
+        void merge(Snapshot newer, Durability newerDurability, CompletableFuture<Void> waiter) {
+            this.snapshot = newer;
+            if (newerDurability == Durability.DURABLE) {
+                this.durability = Durability.DURABLE;
+            }
+            waiters.add(waiter);
+        }
+    }
+}
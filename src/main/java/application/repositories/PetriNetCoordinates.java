@@ -1,5 +1,6 @@
 package application.repositories;
 
+import application.logic.IdDictionary;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -137,18 +138,25 @@ public class PetriNetCoordinates {
     }
 
     /**
-     * Serializes this object and saves it to a JSON file.
+     * Serializes this object and schedules its write to a JSON file.
+     * The layout is serialized immediately; the disk write runs on the {@link PersistenceService}.
      *
      * @param filePath The destination path for the JSON file.
-     * @throws IOException If an error occurs during file writing.
+     * @throws IOException If an error occurs during serialization.
      */
     public void saveToFile(String filePath) throws IOException {
         ObjectMapper mapper = new ObjectMapper();
-        File f = new File(filePath);
-        if (f.getParentFile() != null) {
-            f.getParentFile().mkdirs();
-        }
-        mapper.writeValue(f, this);
+        byte[] content = mapper.writeValueAsBytes(this);
+        PersistenceService.getInstance().write(new File(filePath), content, PersistenceService.Durability.DURABLE);
+    }
+
+    /**
+     * Schedules the deletion of a coordinates file, after any write of it still pending.
+     *
+     * @param filePath The path of the JSON file to delete.
+     */
+    public static void deleteFile(String filePath) {
+        PersistenceService.getInstance().delete(new File(filePath));
     }
 
     /**
@@ -159,7 +167,11 @@ public class PetriNetCoordinates {
      * @throws IOException If the file is not found or cannot be parsed.
      */
     public static PetriNetCoordinates loadFromFile(String filePath) throws IOException {
+        File file = new File(filePath);
+        PersistenceService.getInstance().awaitPending(file);
+
         ObjectMapper mapper = new ObjectMapper();
-        return mapper.readValue(new File(filePath), PetriNetCoordinates.class);
+        mapper.registerModule(IdDictionary.jacksonModule());
+        return mapper.readValue(ChecksummedFiles.read(file), PetriNetCoordinates.class);
     }
 }
\ No newline at end of file
@@ -2,78 +2,214 @@ package application.repositories;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import application.logic.IdDictionary;
+import application.logic.NaturalSortKey;
 import application.logic.PetriNet;
+import application.metrics.LatencyHistogram;
+import application.metrics.Metrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 public class PetriNetRepository {
 
-    private Map<String, PetriNet> petriNets = new HashMap<>();
-    private final ObjectMapper mapper = new ObjectMapper();
-    private final File file = new File("data/petriNetRepository.json");
+    // Written under the monitor, read without it (service calls run on background threads)
+    private final Map<String, PetriNet> petriNets = new ConcurrentHashMap<>();
 
-    public PetriNetRepository() {
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    // Metadata index: the natural sort key of each net, and the nets in that order
+    private final Map<String, NaturalSortKey> sortKeys = new HashMap<>();
+    private final NavigableMap<NaturalSortKey, PetriNet> sortedNets = new TreeMap<>();
+    // Created on first use: loading Jackson dominates the startup time of an empty store
+    private ObjectMapper mapper;
+    private final File file;
+    private final PersistenceService persistence = PersistenceService.getInstance();
+    private final List<RepositoryListener<PetriNet>> listeners = new CopyOnWriteArrayList<>();
+
+    private static final LatencyHistogram LOAD_LATENCY = Metrics.getInstance().histogram("repository.nets.load");
+    // Includes serializing every net to JSON; the disk write is timed by the persistence writer
+    private static final LatencyHistogram SAVE_LATENCY = Metrics.getInstance().histogram("repository.nets.save");
 
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+    public PetriNetRepository() {
+        this(new File("data"));
+    }
 
-        if (!file.exists() || file.length() == 0) {
+    /**
+     * Opens (or creates) the net store in a given directory instead of {@code data/}.
+     *
+     * @param dataDirectory The directory holding the nets file.
+     */
+    public PetriNetRepository(File dataDirectory) {
+        file = new File(dataDirectory, "petriNetRepository.json");
+        if (!ChecksummedFiles.exists(file)) {
             try {
                 createFile();
             } catch (IOException e) {
                 e.printStackTrace();
             }
         } else {
+            long start = LOAD_LATENCY.start();
             loadPetriNets();
+            LOAD_LATENCY.stop(start);
         }
     }
 
+    private synchronized ObjectMapper mapper() {
+        if (mapper == null) {
+            mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());
+            mapper.registerModule(IdDictionary.jacksonModule());
+            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+            mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        }
+        return mapper;
+    }
+
     private void loadPetriNets() {
-        if (!file.exists() || file.length() == 0) return;
+        if (!ChecksummedFiles.exists(file)) return;
 
-        try {
-            petriNets = mapper.readValue(
-                    file,
+        try (InputStream in = ChecksummedFiles.read(file)) {
+            byte[] json = in.readAllBytes();
+            // Nothing to read: skip loading Jackson
+            if (json.length < 16 && new String(json, StandardCharsets.UTF_8).replaceAll("\\s", "").equals("{}")) return;
+
+            ObjectMapper mapper = mapper();
+            Map<String, PetriNet> loaded = mapper.readValue(
+                    json,
                     mapper.getTypeFactory().constructMapType(HashMap.class, String.class, PetriNet.class)
             );
+            petriNets.putAll(loaded);
         } catch (IOException e) {
             e.printStackTrace();
         }
+        petriNets.values().forEach(this::indexNet);
+    }
+
+    /**
+     * Adds a net to the sorted view, replacing its previous entry (the name may have changed).
+     */
+    private void indexNet(PetriNet net) {
+        unindexNet(net.getId());
+        NaturalSortKey key = new NaturalSortKey(net.getId(), net.getName());
+        sortKeys.put(net.getId(), key);
+        sortedNets.put(key, net);
+    }
+
+    private void unindexNet(String id) {
+        NaturalSortKey key = sortKeys.remove(id);
+        if (key != null) {
+            sortedNets.remove(key);
+        }
     }
 
-    public void savePetriNets() {
+    /**
+     * Schedules a write of all nets on the persistence writer.
+     * Nets are edited in place by the editor, so they are serialized here on the caller's thread
+     * and only the disk write happens in the background.
+     * Mutators are synchronized because controllers call them from background tasks.
+     */
+    public synchronized void savePetriNets() {
+        long start = SAVE_LATENCY.start();
         try {
-            mapper.writeValue(file, petriNets);
+            persistence.write(file, mapper().writeValueAsBytes(petriNets), PersistenceService.Durability.DURABLE);
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            SAVE_LATENCY.stop(start);
         }
     }
 
     private void createFile() throws IOException {
-        mapper.writeValue(file, petriNets);
+        // An empty map, written without loading Jackson
+        ChecksummedFiles.write(file, "{ }".getBytes(StandardCharsets.UTF_8), true);
     }
 
+    /**
+     * Gets every net by ID. Safe to read from any thread: iterating never throws
+     * a ConcurrentModificationException and reflects the nets at some point during the iteration.
+     *
+     * @return A read-only view of the nets.
+     */
     public Map<String, PetriNet> getPetriNets() {
-        return petriNets;
+        return Collections.unmodifiableMap(petriNets);
+    }
+
+    /**
+     * @param id The ID of a net.
+     * @return The net, or null if there is no such net.
+     */
+    public PetriNet getPetriNet(String id) {
+        return id == null ? null : petriNets.get(id);
     }
 
-    public void savePetriNet(PetriNet net) {
+    /**
+     * Gets every net in natural name order ("NP2" before "NP10").
+     * The order is maintained as nets are saved and deleted, so nothing is sorted here.
+     *
+     * @return A new list of the nets, in natural name order.
+     */
+    public synchronized List<PetriNet> getSortedPetriNets() {
+        return new ArrayList<>(sortedNets.values());
+    }
+
+    public synchronized void savePetriNet(PetriNet net) {
         String id = net.getId();
         // Sovrascrive se l'ID esiste, altrimenti aggiunge
         petriNets.put(id, net);
+        indexNet(net);
         savePetriNets();
+        listeners.forEach(l -> l.saved(net));
     }
 
-    public void deletePetriNet(String id) {
+    /**
+     * Stores many new or changed nets with a single write of the file,
+     * instead of one per net as {@link #savePetriNet(PetriNet)} would.
+     *
+     * @param nets The nets to save.
+     */
+    public synchronized void savePetriNets(Collection<PetriNet> nets) {
+        for (PetriNet net : nets) {
+            petriNets.put(net.getId(), net);
+            indexNet(net);
+        }
+        savePetriNets();
+        for (PetriNet net : nets) {
+            listeners.forEach(l -> l.saved(net));
+        }
+    }
+
+    public synchronized void deletePetriNet(String id) {
         if (petriNets.containsKey(id)) {
             petriNets.remove(id);
+            unindexNet(id);
             savePetriNets();
+            listeners.forEach(l -> l.deleted(id));
         }
     }
 
+    /**
+     * Registers a listener for saved and deleted nets.
+     * The listener is first told about every net already stored, under the same lock as later
+     * changes, so an index built this way cannot miss one.
+     *
+     * @param listener The listener to add.
+     */
+    public synchronized void addListener(RepositoryListener<PetriNet> listener) {
+        petriNets.values().forEach(listener::saved);
+        listeners.add(listener);
+    }
+
 }
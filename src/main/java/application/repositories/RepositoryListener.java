@@ -0,0 +1,24 @@
+package application.repositories;
+
+/**
+ * Receives the changes made to a repository, e.g. to keep a derived index up to date.
+ * Callbacks run on the thread that changed the repository, while it holds the repository lock,
+ * so they must be quick and must not call back into the repository from another thread.
+ *
+ * @param <T> The type of the stored entities.
+ */
+public interface RepositoryListener<T> {
+
+    /**
+     * Called when an entity is added or overwritten (also when it was edited in place and saved again).
+     * @param entity The saved entity.
+     */
+    void saved(T entity);
+
+    /**
+     * Called when an entity is removed.
+     * @param id The ID of the removed entity.
+     */
+    default void deleted(String id) {
+    }
+}
@@ -0,0 +1,22 @@
+package application.repositories;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where services hand the snapshots of their data files. Implemented by the {@link PersistenceService};
+ * benchmarks and tests can plug in a writer that discards them.
+ */
+@FunctionalInterface
+public interface SnapshotWriter {
+
+    /**
+     * Schedules a write of a file.
+     *
+     * @param target     The file to (over)write.
+     * @param snapshot   Supplier of the file content.
+     * @param durability Whether the write must be forced to disk.
+     * @return A future completed once the content is on disk.
+     */
+    CompletableFuture<Void> write(File target, PersistenceService.Snapshot snapshot, PersistenceService.Durability durability);
+}
@@ -1,57 +1,94 @@
 package application.repositories;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.Map;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import application.logic.Type;
 import application.logic.User;
+import application.metrics.LatencyHistogram;
+import application.metrics.Metrics;
 import org.apache.commons.validator.routines.EmailValidator;
 
 public class UserRepository {
 
+    // Stored with their BCrypt hashes, so that seeding a new store does not hash any password
     private final List<User> admins = List.of(
-            new User("pietro.sala@univr.it", "mela44", Type.ADMIN),
-            new User("carlo.combi@univr.it", "ananas37", Type.ADMIN),
-            new User("matteo.drago@studenti.univr.it", "fragola82", Type.ADMIN),
-            new User("luca.quaresima@studenti.univr.it", "lampone83", Type.ADMIN),
-            new User("aa", "aa", Type.ADMIN),
-            new User("admin", "admin", Type.ADMIN)
+            User.withHashedPassword("pietro.sala@univr.it", "$2a$10$izG4nlAxEapJHZGHCXgxne3p9qifem4oIqIYz/vImiiF5OcyUzHwe", Type.ADMIN), // mela44
+            User.withHashedPassword("carlo.combi@univr.it", "$2a$10$uIYwSojXmKGgeTkSBc8RHOi0PrZP/nCrwk93oyJKdZ8vCLoIaQVtm", Type.ADMIN), // ananas37
+            User.withHashedPassword("matteo.drago@studenti.univr.it", "$2a$10$sy/5V.75745jisQ.ZStlBe9ZQmZ7hn5sBVbTmNdtMQ6yM1rKneUYu", Type.ADMIN), // fragola82
+            User.withHashedPassword("luca.quaresima@studenti.univr.it", "$2a$10$n1xcTCkZc0HU.5kJVk7mW.lJRfdFbyLkfl5hU.wSdzKM34A8C1mgC", Type.ADMIN), // lampone83
+            User.withHashedPassword("aa", "$2a$10$bIoWwgOdlge/lcoKzzpet.1eMfKL16sYtJtaxqv2Ig87qfENq69VK", Type.ADMIN), // aa
+            User.withHashedPassword("admin", "$2a$10$uZoP8ojHn8FFmvkxeGceXONtM99VvSw1QeszF1tbVbg3koxB6QV8W", Type.ADMIN) // admin
     );
 
     private final List<User> defaultUsers = List.of(
-            new User("utente", "utente", Type.USER),
-            new User("uu", "uu", Type.USER)
+            User.withHashedPassword("utente", "$2a$10$WdttP5ke7KyKriV9mg389urso8aEEtRC1wrIclnLaCi5lzBfOj0YK", Type.USER), // utente
+            User.withHashedPassword("uu", "$2a$10$19pzpGMsAWGVDXbNcQCRl.q5yzv5UasASeSInYQ2KhRGGtsXGxpoK", Type.USER) // uu
     );
 
-    private final Map<String, User> usersById = new HashMap<>();
-    private final Map<String, User> usersByEmail = new HashMap<>();
+    // Lookups are lock-free; changes are serialized by the repository monitor, which also orders the journal
+    private final Map<String, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<Type, Set<String>> userIdsByType = new ConcurrentHashMap<>();
 
-    private final File file = new File("data/userData.csv");
+    private final File file;
+    private final PersistenceService persistence = PersistenceService.getInstance();
+    private final List<RepositoryListener<User>> listeners = new CopyOnWriteArrayList<>();
+
+    // Changes since the CSV snapshot, one record per saved user
+    private static final String PUT_RECORD = "PUT";
+    private static final int COMPACT_EVERY = Integer.getInteger("petrinet.users.compactEvery", 500);
+
+    private static final LatencyHistogram LOAD_LATENCY = Metrics.getInstance().histogram("repository.users.load");
+    private static final LatencyHistogram SAVE_LATENCY = Metrics.getInstance().histogram("repository.users.save");
+    private final AppendOnlyJournal journal;
+    private int recordsSinceSnapshot;
+    // The snapshot write waiting on the persistence writer, if any
+    private CompletableFuture<Void> pendingCompaction;
+    // Journal offset covered by the snapshot being written
+    private long compactedLength;
 
     public UserRepository() {
-        if (!file.exists() || file.length() == 0) {
+        this(new File("data"));
+    }
+
+    /**
+     * Opens (or creates) the user store in a given directory instead of {@code data/}.
+     *
+     * @param dataDirectory The directory holding the CSV snapshot and its journal.
+     */
+    public UserRepository(File dataDirectory) {
+        file = new File(dataDirectory, "userData.csv");
+        journal = new AppendOnlyJournal(new File(dataDirectory, "userData.journal"));
+        if (!ChecksummedFiles.exists(file)) {
             try {
                 initializeFile();
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
+        long start = LOAD_LATENCY.start();
         loadUsersFromFile();
+        replayJournal();
+        LOAD_LATENCY.stop(start);
         syncAdmins();
         syncUsers();
     }
 
     private void initializeFile() throws IOException {
-        if(file.getParentFile() != null){
-            file.getParentFile().mkdirs();
-        }
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        StringWriter buffer = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(buffer)) {
             writeHeader(writer);
         }
+        ChecksummedFiles.write(file, buffer.toString().getBytes(StandardCharsets.UTF_8), true);
     }
 
     private void writeHeader(BufferedWriter writer) throws IOException {
@@ -60,24 +97,34 @@ public class UserRepository {
     }
 
     private void writeUser(BufferedWriter writer, User user) throws IOException {
-        writer.write(user.getId() + "," + user.getEmail() + "," + user.getHashedpw() + "," + user.getType() + "," + user.getUsername());
+        writer.write(CsvCodec.format(userFields(user)));
         writer.newLine();
     }
 
+    private static String[] userFields(User user) {
+        return new String[]{user.getId(), user.getEmail(), user.getHashedpw(), user.getType().name(), user.getUsername()};
+    }
+
+    /**
+     * Builds a user from the five CSV fields, or returns null if the record is malformed.
+     */
+    private static User parseUser(List<String> fields, int offset) {
+        if (fields.size() - offset != 5) return null;
+        try {
+            return new User(fields.get(offset), fields.get(offset + 1), fields.get(offset + 2),
+                    Type.valueOf(fields.get(offset + 3)), fields.get(offset + 4));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private void loadUsersFromFile() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            reader.readLine(); // salta intestazione
-
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length == 5) {
-                    String id = parts[0];
-                    String email = parts[1];
-                    String hashedPassword = parts[2];
-                    Type type = Type.valueOf(parts[3]);
-                    String username = parts[4];
-                    User user = new User(id, email, hashedPassword, type, username);
+        try (InputStream in = ChecksummedFiles.read(file)) {
+            List<List<String>> records = CsvCodec.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            // The first record is the header
+            for (int i = 1; i < records.size(); i++) {
+                User user = parseUser(records.get(i), 0);
+                if (user != null) {
                     addUserToMaps(user);
                 }
             }
@@ -86,67 +133,171 @@ public class UserRepository {
         }
     }
 
-    private void addUserToMaps(User user) {
-        usersById.put(user.getId(), user);
-        usersByEmail.put(user.getEmail().toLowerCase(), user);
+    /**
+     * Applies the changes recorded after the last snapshot, then folds them into a new one.
+     */
+    private synchronized void replayJournal() {
+        try {
+            int replayed = journal.replay(record -> {
+                List<List<String>> parsed = CsvCodec.parse(record);
+                if (parsed.size() != 1 || !PUT_RECORD.equals(parsed.getFirst().getFirst())) return;
+                User user = parseUser(parsed.getFirst(), 1);
+                if (user != null) {
+                    addUserToMaps(user);
+                }
+            });
+            recordsSinceSnapshot = replayed;
+            if (replayed > 0) {
+                scheduleCompaction();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
-    public void updateUser(User user) {
-        // Aggiorna la memoria RAM
-        usersById.put(user.getId(), user);
+    private synchronized void addUserToMaps(User user) {
+        User previous = usersById.put(user.getId(), user);
+        if (previous != null && !previous.getEmail().equalsIgnoreCase(user.getEmail())) {
+            usersByEmail.remove(previous.getEmail().toLowerCase(), previous);
+        }
+        if (previous != null && previous.getType() != user.getType()) {
+            userIdsByType.get(previous.getType()).remove(user.getId());
+        }
         usersByEmail.put(user.getEmail().toLowerCase(), user);
+        userIdsByType.computeIfAbsent(user.getType(), t -> ConcurrentHashMap.newKeySet()).add(user.getId());
+        listeners.forEach(l -> l.saved(user));
+    }
 
-        // Sovrascrivi il file
-        rewriteAllUsersToFile();
+    /**
+     * Registers a listener for saved and updated users.
+     * The listener is first told about every user already stored, under the same lock as later changes.
+     *
+     * @param listener The listener to add.
+     */
+    public synchronized void addListener(RepositoryListener<User> listener) {
+        usersById.values().forEach(listener::saved);
+        listeners.add(listener);
     }
 
-    private void rewriteAllUsersToFile() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writeHeader(writer);
-            for (User u : usersById.values()) {
-                writeUser(writer, u);
-            }
+    public void updateUser(User user) {
+        saveUser(user);
+    }
+
+    /**
+     * Stores a new or changed user. Only one journal record is written (and forced to disk);
+     * the CSV file is rewritten in the background every {@code COMPACT_EVERY} changes.
+     *
+     * @param user The user to save.
+     */
+    public synchronized void saveUser(User user) {
+        long start = SAVE_LATENCY.start();
+        addUserToMaps(user);
+        try {
+            String[] fields = userFields(user);
+            String[] record = new String[fields.length + 1];
+            record[0] = PUT_RECORD;
+            System.arraycopy(fields, 0, record, 1, fields.length);
+            journal.append(CsvCodec.format(record));
         } catch (IOException e) {
+            // Without the journal the change would be lost on exit: fall back to a full snapshot
             e.printStackTrace();
+            scheduleCompaction();
+            return;
+        } finally {
+            SAVE_LATENCY.stop(start);
+        }
+        if (++recordsSinceSnapshot >= COMPACT_EVERY) {
+            scheduleCompaction();
         }
     }
 
-    public void saveUser(User user) {
-        try {
-            if (!file.exists() || file.length() == 0) {
-                initializeFile();
+    /**
+     * Stores many new or changed users at once. Instead of one journal record each,
+     * the whole batch goes into a single atomic rewrite of the CSV file.
+     * Emails are checked again under the repository lock: a user whose email already belongs
+     * to another user (stored, or earlier in the batch) is not saved.
+     *
+     * @param users The users to save.
+     * @return A future completed once the batch is on disk, with the users that were rejected.
+     */
+    public synchronized CompletableFuture<List<User>> saveUsers(Collection<User> users) {
+        List<User> rejected = new ArrayList<>();
+        for (User user : users) {
+            User owner = usersByEmail.get(user.getEmail().toLowerCase());
+            if (owner != null && !owner.getId().equals(user.getId())) {
+                rejected.add(user);
+            } else {
+                addUserToMaps(user);
             }
-            appendUserToFile(user);
-            addUserToMaps(user);
-            System.out.println("Utente salvato: " + user.getEmail());
+        }
+        return scheduleCompaction().thenApply(ignored -> rejected);
+    }
+
+    /**
+     * Schedules a rewrite of the CSV snapshot on the persistence writer. Once it is on disk,
+     * the journal records it includes are dropped. Replaying a record twice is harmless,
+     * so a crash in between loses nothing.
+     */
+    private synchronized CompletableFuture<Void> scheduleCompaction() {
+        if (pendingCompaction != null) return pendingCompaction;
+        recordsSinceSnapshot = 0;
+        CompletableFuture<Void> written = persistence.write(file, this::takeSnapshot, PersistenceService.Durability.DURABLE)
+                .whenComplete((ignored, error) -> trimJournal(error == null));
+        // After shutdown the write runs right away, on this thread
+        pendingCompaction = written.isDone() ? null : written;
+        return written;
+    }
+
+    private synchronized byte[] takeSnapshot() throws IOException {
+        // Changes made from now on need a new snapshot
+        pendingCompaction = null;
+        compactedLength = journal.length();
+        return toCsvBytes();
+    }
+
+    private synchronized void trimJournal(boolean snapshotWritten) {
+        if (!snapshotWritten) return;
+        try {
+            journal.dropPrefix(compactedLength);
+            compactedLength = 0;
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
-    private void syncAdmins(){
-        for(User admin : admins) {
-            if(!usersByEmail.containsKey(admin.getEmail().toLowerCase())) {
-                saveUser(admin);
-
-                System.out.println("Utente salvato: " + admin.getEmail());
+    private synchronized byte[] toCsvBytes() throws IOException {
+        StringWriter buffer = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(buffer)) {
+            writeHeader(writer);
+            for (User u : usersById.values()) {
+                writeUser(writer, u);
             }
         }
+        return buffer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void syncAdmins(){
+        syncDefaults(admins);
     }
 
     private void syncUsers(){
-        for(User user : defaultUsers) {
+        syncDefaults(defaultUsers);
+    }
+
+    /**
+     * Adds the default accounts missing from the store, in a single snapshot write.
+     */
+    private void syncDefaults(List<User> defaults) {
+        List<User> missing = new ArrayList<>();
+        for(User user : defaults) {
             if(!usersByEmail.containsKey(user.getEmail().toLowerCase())) {
-                saveUser(user);
+                missing.add(user);
 
                 System.out.println("Utente salvato: " + user.getEmail());
             }
         }
-    }
-
-    private void appendUserToFile(User user) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
-            writeUser(writer, user);
+        if(!missing.isEmpty()) {
+            saveUsers(missing);
         }
     }
 
@@ -162,6 +313,24 @@ public class UserRepository {
         return new ArrayList<>(usersById.values());
     }
 
+    /**
+     * @return The number of stored users.
+     */
+    public int getUserCount() {
+        return usersById.size();
+    }
+
+    /**
+     * Counts the users of one type from the type index, without scanning the users.
+     *
+     * @param type The type to count.
+     * @return The number of users of that type.
+     */
+    public int countUsersByType(Type type) {
+        Set<String> ids = userIdsByType.get(type);
+        return ids == null ? 0 : ids.size();
+    }
+
     public boolean checkCorrectCredentials(String email, String password) {
         if (email == null || password == null || email.isEmpty() || password.isEmpty()) return false;
         User user = getUserByEmail(email);
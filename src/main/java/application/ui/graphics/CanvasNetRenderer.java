@@ -0,0 +1,387 @@
+package application.ui.graphics;
+
+import application.logic.Arc;
+import application.logic.MarkingData;
+import application.logic.PetriNet;
+import application.logic.Place;
+import application.logic.Transition;
+import application.logic.Type;
+import application.repositories.PetriNetCoordinates;
+import javafx.geometry.Bounds;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Scale;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Canvas-based renderer for the execution view of very large nets.
+ * Instead of one scene-graph Group per place and transition, only the visible part of the net is
+ * painted on a single viewport-sized Canvas, at the zoom level of the {@link NetViewport}. Elements are kept in a {@link SpatialGrid}, which is used
+ * both to find the transition under the mouse and to repaint only the regions whose state changed.
+ * Shapes and colors match {@link PlaceViewFactory}, {@link TransitionViewFactory} and {@link ArcViewFactory}.
+ */
+public class CanvasNetRenderer {
+
+    /** System property overriding the element count above which this renderer is used. */
+    public static final String THRESHOLD_PROPERTY = "petrinet.canvas.threshold";
+    public static final int DEFAULT_THRESHOLD = 2000;
+
+    private static final double PLACE_RADIUS = 20;
+    private static final double TOKEN_RADIUS = 8;
+    private static final double TRANSITION_WIDTH = 15;
+    private static final double TRANSITION_HEIGHT = 40;
+    private static final double PLACE_LABEL_OFFSET = 35;
+    private static final double TRANSITION_LABEL_OFFSET = 33;
+    private static final double LABEL_DESCENT = 5;
+    private static final double STROKE_PADDING = 3;
+    private static final double CELL_SIZE = 128;
+
+    // Above this many changed elements a full repaint is cheaper than many clipped ones
+    private static final int MAX_DIRTY_REGIONS = 64;
+
+    // Declaration order is paint order: arcs stay behind nodes
+    private enum Kind { ARC, PLACE, TRANSITION }
+
+    /**
+     * A painted element and the data needed to draw it.
+     */
+    private static final class Element {
+        final Kind kind;
+        final String id;
+        final double x, y;          // Center (start point for arcs)
+        final double endX, endY;    // End point, arcs only
+        final String label;
+        final double labelWidth;
+
+        Element(Kind kind, String id, double x, double y, double endX, double endY, String label, double labelWidth) {
+            this.kind = kind;
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.endX = endX;
+            this.endY = endY;
+            this.label = label;
+            this.labelWidth = labelWidth;
+        }
+    }
+
+    private final PetriNet net;
+    private final Consumer<Transition> onTransitionClick;
+
+    private final Canvas canvas = new Canvas();
+    private final SpatialGrid<Element> grid = new SpatialGrid<>(CELL_SIZE);
+    private final Map<String, Element> places = new HashMap<>();
+    private final Map<String, Element> transitions = new HashMap<>();
+
+    // Last painted state
+    private final Map<String, Integer> tokens = new HashMap<>();
+    private final Set<String> highlighted = new HashSet<>();
+    private MarkingData paintedMarking;
+
+    private double extentX, extentY;   // Bottom-right corner of the net
+    private double originX, originY;   // Net coordinates of the canvas top-left corner
+    private double zoom = 1;
+
+    // The canvas has one pixel per screen pixel: this undoes the zoom of the drawing pane
+    private final Scale unzoom = new Scale(1, 1, 0, 0);
+
+    private NetViewport viewport;
+    private final Runnable viewportListener = this::updateViewport;
+
+    /**
+     * Decides whether a net is large enough to be drawn on a canvas.
+     * The threshold can be changed with the {@value #THRESHOLD_PROPERTY} system property.
+     *
+     * @param net The net about to be displayed.
+     * @return True if places + transitions + arcs exceed the threshold.
+     */
+    public static boolean shouldUse(PetriNet net) {
+        int elements = net.getPlaces().size() + net.getTransitions().size() + net.getArcs().size();
+        return elements > Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Builds the spatial index of a net.
+     *
+     * @param net               The net to draw.
+     * @param coordinates       The layout of the net.
+     * @param onTransitionClick Called when the user clicks on a transition.
+     */
+    public CanvasNetRenderer(PetriNet net, PetriNetCoordinates coordinates, Consumer<Transition> onTransitionClick) {
+        this.net = net;
+        this.onTransitionClick = onTransitionClick;
+
+        Text measure = new Text();
+        for (Place place : net.getPlaces().values()) {
+            PetriNetCoordinates.Position pos = coordinates.getPlacePosition(place.getId());
+            if (pos == null) {
+                pos = new PetriNetCoordinates.Position(100, 100 + (places.size() * 50));
+            }
+            Element element = new Element(Kind.PLACE, place.getId(), pos.x, pos.y, 0, 0,
+                    place.getName(), widthOf(measure, place.getName()));
+            places.put(place.getId(), element);
+            index(element);
+        }
+
+        for (Transition transition : net.getTransitions().values()) {
+            PetriNetCoordinates.Position pos = coordinates.getTransitionPosition(transition.getId());
+            if (pos == null) {
+                pos = new PetriNetCoordinates.Position(300, 100 + (transitions.size() * 50));
+            }
+            Element element = new Element(Kind.TRANSITION, transition.getId(), pos.x, pos.y, 0, 0,
+                    transition.getName(), widthOf(measure, transition.getName()));
+            transitions.put(transition.getId(), element);
+            index(element);
+        }
+
+        for (Arc arc : net.getArcs().values()) {
+            Element source = arc.isSourcePlace() ? places.get(arc.getSourceId()) : transitions.get(arc.getSourceId());
+            Element target = arc.isSourcePlace() ? transitions.get(arc.getTargetId()) : places.get(arc.getTargetId());
+            if (source != null && target != null) {
+                index(new Element(Kind.ARC, arc.getId(), source.x, source.y, target.x, target.y, null, 0));
+            }
+        }
+
+        canvas.setOnMouseClicked(event -> {
+            Transition transition = transitionAt(originX + event.getX() / zoom, originY + event.getY() / zoom);
+            if (transition != null) {
+                onTransitionClick.accept(transition);
+            }
+        });
+        canvas.setOnMouseMoved(event -> canvas.setCursor(
+                transitionAt(originX + event.getX() / zoom, originY + event.getY() / zoom) != null
+                        ? Cursor.HAND : Cursor.DEFAULT));
+        canvas.getTransforms().add(unzoom);
+    }
+
+    /**
+     * Adds the canvas to the drawing pane and keeps it aligned with the visible part of the viewport.
+     * The drawing pane is enlarged if the net does not fit in it.
+     *
+     * @param viewport The scroll/zoom state of the drawing pane.
+     */
+    public void attach(NetViewport viewport) {
+        this.viewport = viewport;
+
+        Pane drawingPane = viewport.getDrawingPane();
+        drawingPane.setPrefWidth(Math.max(drawingPane.getPrefWidth(), extentX + CELL_SIZE));
+        drawingPane.setPrefHeight(Math.max(drawingPane.getPrefHeight(), extentY + CELL_SIZE));
+        drawingPane.getChildren().add(canvas);
+
+        viewport.addListener(viewportListener);
+        updateViewport();
+    }
+
+    /**
+     * Removes the canvas and its listeners. Must be called before the view is redrawn.
+     */
+    public void detach() {
+        if (viewport != null) {
+            viewport.removeListener(viewportListener);
+            viewport.getDrawingPane().getChildren().remove(canvas);
+        }
+        viewport = null;
+    }
+
+    /**
+     * Updates tokens and transition highlights, repainting only the elements that changed.
+     *
+     * @param marking              The current marking.
+     * @param availableTransitions The transitions the user can fire now.
+     * @param active               Whether the computation is still running.
+     */
+    public void updateState(MarkingData marking, Collection<Transition> availableTransitions, boolean active) {
+        List<Element> dirty = new ArrayList<>();
+
+        // Only the places whose count differs from the last painted marking
+        Set<String> changedPlaces = paintedMarking == null ? places.keySet() : marking.changedPlaces(paintedMarking);
+        for (String placeId : changedPlaces) {
+            Element place = places.get(placeId);
+            if (place != null) {
+                tokens.put(placeId, marking.getTokens(placeId));
+                dirty.add(place);
+            }
+        }
+        paintedMarking = marking;
+
+        Set<String> nowHighlighted = new HashSet<>();
+        if (active) {
+            for (Transition t : availableTransitions) {
+                nowHighlighted.add(t.getId());
+            }
+        }
+        for (String id : nowHighlighted) {
+            if (!highlighted.contains(id) && transitions.containsKey(id)) dirty.add(transitions.get(id));
+        }
+        for (String id : highlighted) {
+            if (!nowHighlighted.contains(id) && transitions.containsKey(id)) dirty.add(transitions.get(id));
+        }
+        highlighted.clear();
+        highlighted.addAll(nowHighlighted);
+
+        if (dirty.size() > MAX_DIRTY_REGIONS) {
+            repaintAll();
+            return;
+        }
+        for (Element element : dirty) {
+            repaint(grid.getBounds(element));
+        }
+    }
+
+    private void index(Element element) {
+        Bounds bounds = boundsOf(element);
+        grid.put(element, bounds);
+        extentX = Math.max(extentX, bounds.getMaxX());
+        extentY = Math.max(extentY, bounds.getMaxY());
+    }
+
+    private Bounds boundsOf(Element element) {
+        return switch (element.kind) {
+            case PLACE -> {
+                double halfWidth = Math.max(PLACE_RADIUS, element.labelWidth / 2) + STROKE_PADDING;
+                yield SpatialGrid.boundsOf(element.x - halfWidth, element.y - PLACE_RADIUS - STROKE_PADDING,
+                        element.x + halfWidth, element.y + PLACE_LABEL_OFFSET + LABEL_DESCENT);
+            }
+            case TRANSITION -> {
+                double halfWidth = Math.max(TRANSITION_WIDTH / 2, element.labelWidth / 2) + STROKE_PADDING;
+                yield SpatialGrid.boundsOf(element.x - halfWidth, element.y - TRANSITION_HEIGHT / 2 - STROKE_PADDING,
+                        element.x + halfWidth, element.y + TRANSITION_LABEL_OFFSET + LABEL_DESCENT);
+            }
+            case ARC -> SpatialGrid.boundsOf(
+                    Math.min(element.x, element.endX) - STROKE_PADDING,
+                    Math.min(element.y, element.endY) - STROKE_PADDING,
+                    Math.max(element.x, element.endX) + STROKE_PADDING,
+                    Math.max(element.y, element.endY) + STROKE_PADDING);
+        };
+    }
+
+    /**
+     * Finds the transition whose rectangle contains a point of the net.
+     */
+    private Transition transitionAt(double x, double y) {
+        for (Element element : grid.itemsAt(x, y)) {
+            if (element.kind == Kind.TRANSITION
+                    && Math.abs(x - element.x) <= TRANSITION_WIDTH / 2 + STROKE_PADDING
+                    && Math.abs(y - element.y) <= TRANSITION_HEIGHT / 2 + STROKE_PADDING) {
+                return net.getTransitions().get(element.id);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resizes and moves the canvas to cover exactly the visible part of the drawing pane.
+     */
+    private void updateViewport() {
+        if (viewport == null) return;
+
+        Bounds visible = viewport.getVisibleRegion();
+        zoom = viewport.getZoom();
+        originX = visible.getMinX();
+        originY = visible.getMinY();
+
+        unzoom.setX(1 / zoom);
+        unzoom.setY(1 / zoom);
+        canvas.setWidth(Math.ceil(visible.getWidth() * zoom));
+        canvas.setHeight(Math.ceil(visible.getHeight() * zoom));
+        canvas.relocate(originX, originY);
+        repaintAll();
+    }
+
+    private void repaintAll() {
+        repaint(SpatialGrid.boundsOf(originX, originY,
+                originX + canvas.getWidth() / zoom, originY + canvas.getHeight() / zoom));
+    }
+
+    /**
+     * Clears and redraws a region of the net (in net coordinates), clipped to it.
+     */
+    private void repaint(Bounds region) {
+        if (region == null || canvas.getWidth() == 0 || canvas.getHeight() == 0) return;
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        gc.scale(zoom, zoom);
+        gc.translate(-originX, -originY);
+        gc.beginPath();
+        gc.rect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+        gc.closePath();
+        gc.clip();
+        gc.clearRect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+
+        List<Element> visible = new ArrayList<>(grid.itemsIn(region));
+        visible.sort(Comparator.comparing(element -> element.kind));
+        for (Element element : visible) {
+            switch (element.kind) {
+                case ARC -> drawArc(gc, element);
+                case PLACE -> drawPlace(gc, element);
+                case TRANSITION -> drawTransition(gc, element);
+            }
+        }
+        gc.restore();
+    }
+
+    private void drawArc(GraphicsContext gc, Element arc) {
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(2);
+        gc.strokeLine(arc.x, arc.y, arc.endX, arc.endY);
+    }
+
+    private void drawPlace(GraphicsContext gc, Element place) {
+        double diameter = PLACE_RADIUS * 2;
+        gc.setFill(Color.LIGHTBLUE);
+        gc.fillOval(place.x - PLACE_RADIUS, place.y - PLACE_RADIUS, diameter, diameter);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.strokeOval(place.x - PLACE_RADIUS, place.y - PLACE_RADIUS, diameter, diameter);
+
+        if (tokens.getOrDefault(place.id, 0) > 0) {
+            gc.setFill(Color.BLACK);
+            gc.fillOval(place.x - TOKEN_RADIUS, place.y - TOKEN_RADIUS, TOKEN_RADIUS * 2, TOKEN_RADIUS * 2);
+        }
+        drawLabel(gc, place, PLACE_LABEL_OFFSET);
+    }
+
+    private void drawTransition(GraphicsContext gc, Element transition) {
+        Transition t = net.getTransitions().get(transition.id);
+        double left = transition.x - TRANSITION_WIDTH / 2;
+        double top = transition.y - TRANSITION_HEIGHT / 2;
+
+        gc.setFill(t != null && t.getType() == Type.ADMIN ? Color.RED : Color.BLUE);
+        gc.fillRect(left, top, TRANSITION_WIDTH, TRANSITION_HEIGHT);
+
+        // Highlight enabled transitions (NFR2.2)
+        boolean isAvailable = highlighted.contains(transition.id);
+        gc.setStroke(isAvailable ? Color.LIMEGREEN : Color.BLACK);
+        gc.setLineWidth(isAvailable ? 4.0 : 2.0);
+        gc.strokeRect(left, top, TRANSITION_WIDTH, TRANSITION_HEIGHT);
+
+        drawLabel(gc, transition, TRANSITION_LABEL_OFFSET);
+    }
+
+    private void drawLabel(GraphicsContext gc, Element element, double offsetY) {
+        // Level of detail: labels are unreadable when zoomed out
+        if (element.label == null || (viewport != null && !viewport.isDetailVisible())) return;
+        gc.setFill(Color.BLACK);
+        gc.fillText(element.label, element.x - element.labelWidth / 2, element.y + offsetY);
+    }
+
+    private static double widthOf(Text measure, String label) {
+        if (label == null) return 0;
+        measure.setText(label);
+        return measure.getLayoutBounds().getWidth();
+    }
+}
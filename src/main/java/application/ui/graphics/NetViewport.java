@@ -0,0 +1,180 @@
+package application.ui.graphics;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.Bindings;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.transform.Scale;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scroll and zoom state of a net drawing.
+ * Wraps the drawing pane of a {@link ScrollPane} so it can be zoomed with Ctrl + mouse wheel,
+ * and tells renderers which part of the net is currently visible.
+ * Coordinates returned by this class are in the drawing pane's own (unzoomed) space,
+ * the same space used by {@link application.repositories.PetriNetCoordinates}.
+ */
+public class NetViewport {
+
+    public static final double MIN_ZOOM = 0.1;
+    public static final double MAX_ZOOM = 3.0;
+
+    // Below this zoom level labels are not drawn (level of detail)
+    public static final double DETAIL_ZOOM = 0.6;
+
+    private static final double ZOOM_STEP = 1.1;
+
+    private final Pane drawingPane;
+    private final ScrollPane scrollPane;
+    private final Scale scale = new Scale(1, 1, 0, 0);
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    /**
+     * Installs zoom support on a drawing pane that is the content of a scroll pane.
+     *
+     * @param drawingPane The pane holding the net nodes.
+     * @param scrollPane  The scroll pane showing the drawing pane.
+     */
+    public NetViewport(Pane drawingPane, ScrollPane scrollPane) {
+        this.drawingPane = drawingPane;
+        this.scrollPane = scrollPane;
+
+        // A Group parent makes the scroll pane account for the zoomed size of the drawing
+        drawingPane.getTransforms().add(scale);
+        scrollPane.setContent(new Group(drawingPane));
+
+        // Keep the drawing at least as large as the viewport, like fitToWidth/fitToHeight did
+        drawingPane.minWidthProperty().bind(Bindings.createDoubleBinding(
+                () -> scrollPane.getViewportBounds().getWidth() / scale.getX(),
+                scrollPane.viewportBoundsProperty(), scale.xProperty()));
+        drawingPane.minHeightProperty().bind(Bindings.createDoubleBinding(
+                () -> scrollPane.getViewportBounds().getHeight() / scale.getY(),
+                scrollPane.viewportBoundsProperty(), scale.yProperty()));
+
+        scrollPane.addEventFilter(ScrollEvent.SCROLL, event -> {
+            if (!event.isControlDown() || event.getDeltaY() == 0) return;
+            double factor = event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP;
+            zoomAt(getZoom() * factor, event.getSceneX(), event.getSceneY());
+            event.consume();
+        });
+
+        InvalidationListener changed = obs -> fireChanged();
+        scrollPane.hvalueProperty().addListener(changed);
+        scrollPane.vvalueProperty().addListener(changed);
+        scrollPane.viewportBoundsProperty().addListener(changed);
+        drawingPane.layoutBoundsProperty().addListener(changed);
+        scale.xProperty().addListener(changed);
+    }
+
+    /**
+     * Registers a callback run whenever the visible region or the zoom level changes.
+     *
+     * @param listener The callback.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a callback registered with {@link #addListener(Runnable)}.
+     *
+     * @param listener The callback.
+     */
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return The current zoom factor (1 = 100%).
+     */
+    public double getZoom() {
+        return scale.getX();
+    }
+
+    /**
+     * @return True if the zoom level is high enough for labels to be readable.
+     */
+    public boolean isDetailVisible() {
+        return getZoom() >= DETAIL_ZOOM;
+    }
+
+    /**
+     * @return The drawing pane this viewport belongs to.
+     */
+    public Pane getDrawingPane() {
+        return drawingPane;
+    }
+
+    /**
+     * Computes the part of the drawing pane currently shown by the scroll pane.
+     *
+     * @return The visible region, in drawing pane coordinates.
+     */
+    public Bounds getVisibleRegion() {
+        Bounds viewport = scrollPane.getViewportBounds();
+        double contentWidth = drawingPane.getLayoutBounds().getWidth() * scale.getX();
+        double contentHeight = drawingPane.getLayoutBounds().getHeight() * scale.getY();
+
+        double offsetX = Math.max(0, contentWidth - viewport.getWidth())
+                * fraction(scrollPane.getHvalue(), scrollPane.getHmin(), scrollPane.getHmax());
+        double offsetY = Math.max(0, contentHeight - viewport.getHeight())
+                * fraction(scrollPane.getVvalue(), scrollPane.getVmin(), scrollPane.getVmax());
+
+        return SpatialGrid.boundsOf(
+                offsetX / scale.getX(), offsetY / scale.getY(),
+                (offsetX + viewport.getWidth()) / scale.getX(), (offsetY + viewport.getHeight()) / scale.getY());
+    }
+
+    /**
+     * Changes the zoom level, keeping the point under the given scene position still.
+     */
+    private void zoomAt(double zoom, double sceneX, double sceneY) {
+        double clamped = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        if (clamped == getZoom()) return;
+
+        Point2D anchor = drawingPane.sceneToLocal(sceneX, sceneY);
+        Bounds before = getVisibleRegion();
+
+        scale.setX(clamped);
+        scale.setY(clamped);
+        scrollPane.layout();
+
+        // Scroll so that the anchor keeps the same relative position in the viewport
+        double relX = (anchor.getX() - before.getMinX()) / before.getWidth();
+        double relY = (anchor.getY() - before.getMinY()) / before.getHeight();
+        Bounds viewport = scrollPane.getViewportBounds();
+        double contentWidth = drawingPane.getLayoutBounds().getWidth() * clamped;
+        double contentHeight = drawingPane.getLayoutBounds().getHeight() * clamped;
+        double left = anchor.getX() * clamped - relX * viewport.getWidth();
+        double top = anchor.getY() * clamped - relY * viewport.getHeight();
+
+        if (contentWidth > viewport.getWidth()) {
+            scrollPane.setHvalue(scrollPane.getHmin() + (scrollPane.getHmax() - scrollPane.getHmin())
+                    * clamp01(left / (contentWidth - viewport.getWidth())));
+        }
+        if (contentHeight > viewport.getHeight()) {
+            scrollPane.setVvalue(scrollPane.getVmin() + (scrollPane.getVmax() - scrollPane.getVmin())
+                    * clamp01(top / (contentHeight - viewport.getHeight())));
+        }
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : new ArrayList<>(listeners)) {
+            listener.run();
+        }
+    }
+
+    private static double fraction(double value, double min, double max) {
+        return max > min ? (value - min) / (max - min) : 0;
+    }
+
+    private static double clamp01(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+}
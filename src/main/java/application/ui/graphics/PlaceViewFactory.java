@@ -2,6 +2,7 @@ package application.ui.graphics;
 
 import application.logic.Place;
 import application.ui.utils.Delta;
+import javafx.geometry.Point2D;
 import javafx.scene.Group;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuItem;
@@ -50,14 +51,17 @@ public class PlaceViewFactory {
         //Dragging handling
         Delta dragDelta = new Delta();
         placeNode.setOnMousePressed(event -> {
-            dragDelta.x = event.getSceneX() - placeNode.getLayoutX();
-            dragDelta.y = event.getSceneY() - placeNode.getLayoutY();
+            // Parent coordinates, so dragging follows the mouse at any zoom level
+            Point2D mouse = placeNode.getParent().sceneToLocal(event.getSceneX(), event.getSceneY());
+            dragDelta.x = mouse.getX() - placeNode.getLayoutX();
+            dragDelta.y = mouse.getY() - placeNode.getLayoutY();
             placeNode.toFront();
             event.consume();
         });
         placeNode.setOnMouseDragged(event -> {
-            placeNode.setLayoutX(event.getSceneX() - dragDelta.x);
-            placeNode.setLayoutY(event.getSceneY() - dragDelta.y);
+            Point2D mouse = placeNode.getParent().sceneToLocal(event.getSceneX(), event.getSceneY());
+            placeNode.setLayoutX(mouse.getX() - dragDelta.x);
+            placeNode.setLayoutY(mouse.getY() - dragDelta.y);
         });
 
         // Menu to set place as initial or final
@@ -0,0 +1,156 @@
+package application.ui.graphics;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Uniform grid index of items with rectangular bounds on the drawing area.
+ * Each item is registered in every cell its bounds overlap, so point and region
+ * lookups only look at the few cells under the query instead of at every element of the net.
+ *
+ * @param <T> The type of the indexed items.
+ */
+public class SpatialGrid<T> {
+
+    private final double cellSize;
+    private final Map<Long, List<T>> cells = new HashMap<>();
+    private final Map<T, Bounds> boundsByItem = new HashMap<>();
+
+    /**
+     * @param cellSize The side of a grid cell, in pixels. Should be close to the size of a typical element.
+     */
+    public SpatialGrid(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive.");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds an item, or moves it if it is already indexed.
+     *
+     * @param item   The item to index.
+     * @param bounds The area covered by the item.
+     */
+    public void put(T item, Bounds bounds) {
+        remove(item);
+        boundsByItem.put(item, bounds);
+        forEachCell(bounds, key -> cells.computeIfAbsent(key, k -> new ArrayList<>()).add(item));
+    }
+
+    /**
+     * Removes an item from the index. Does nothing if the item is not indexed.
+     *
+     * @param item The item to remove.
+     */
+    public void remove(T item) {
+        Bounds old = boundsByItem.remove(item);
+        if (old == null) return;
+
+        forEachCell(old, key -> {
+            List<T> cell = cells.get(key);
+            if (cell != null) {
+                cell.remove(item);
+                if (cell.isEmpty()) cells.remove(key);
+            }
+        });
+    }
+
+    /**
+     * @param item An indexed item.
+     * @return The bounds the item was indexed with, or null.
+     */
+    public Bounds getBounds(T item) {
+        return boundsByItem.get(item);
+    }
+
+    /**
+     * Finds the items whose bounds contain a point.
+     *
+     * @param x The X coordinate.
+     * @param y The Y coordinate.
+     * @return The matching items, most recently indexed last.
+     */
+    public List<T> itemsAt(double x, double y) {
+        List<T> result = new ArrayList<>();
+        List<T> cell = cells.get(key(cellOf(x), cellOf(y)));
+        if (cell == null) return result;
+
+        for (T item : cell) {
+            if (boundsByItem.get(item).contains(x, y)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the items whose bounds intersect a region.
+     *
+     * @param region The region to look at.
+     * @return The matching items, without duplicates.
+     */
+    public Set<T> itemsIn(Bounds region) {
+        Set<T> result = new LinkedHashSet<>();
+        forEachCell(region, key -> {
+            List<T> cell = cells.get(key);
+            if (cell == null) return;
+            for (T item : cell) {
+                if (boundsByItem.get(item).intersects(region)) {
+                    result.add(item);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return The number of indexed items.
+     */
+    public int size() {
+        return boundsByItem.size();
+    }
+
+    /**
+     * Removes every item.
+     */
+    public void clear() {
+        cells.clear();
+        boundsByItem.clear();
+    }
+
+    /**
+     * Builds bounds from two corners, in any order.
+     */
+    public static Bounds boundsOf(double x1, double y1, double x2, double y2) {
+        return new BoundingBox(Math.min(x1, x2), Math.min(y1, y2), Math.abs(x2 - x1), Math.abs(y2 - y1));
+    }
+
+    private void forEachCell(Bounds bounds, LongConsumer action) {
+        int minCol = cellOf(bounds.getMinX());
+        int maxCol = cellOf(bounds.getMaxX());
+        int minRow = cellOf(bounds.getMinY());
+        int maxRow = cellOf(bounds.getMaxY());
+        for (int col = minCol; col <= maxCol; col++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                action.accept(key(col, row));
+            }
+        }
+    }
+
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int col, int row) {
+        return ((long) col << 32) | (row & 0xFFFFFFFFL);
+    }
+}
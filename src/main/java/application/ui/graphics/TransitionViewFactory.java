@@ -3,6 +3,7 @@ package application.ui.graphics;
 import application.logic.Transition;
 import application.logic.Type;
 import application.ui.utils.Delta;
+import javafx.geometry.Point2D;
 import javafx.scene.Group;
 import javafx.scene.control.ContextMenu; // Aggiunto per il menu contestuale
 import javafx.scene.control.MenuItem; // Aggiunto per il menu contestuale
@@ -60,13 +61,16 @@ public class TransitionViewFactory {
         // Drag handling
         Delta dragDelta = new Delta();
         transitionGroup.setOnMousePressed(event -> {
-            dragDelta.x = event.getSceneX() - transitionGroup.getLayoutX();
-            dragDelta.y = event.getSceneY() - transitionGroup.getLayoutY();
+            // Parent coordinates, so dragging follows the mouse at any zoom level
+            Point2D mouse = transitionGroup.getParent().sceneToLocal(event.getSceneX(), event.getSceneY());
+            dragDelta.x = mouse.getX() - transitionGroup.getLayoutX();
+            dragDelta.y = mouse.getY() - transitionGroup.getLayoutY();
             transitionGroup.toFront();
         });
         transitionGroup.setOnMouseDragged(event -> {
-            transitionGroup.setLayoutX(event.getSceneX() - dragDelta.x);
-            transitionGroup.setLayoutY(event.getSceneY() - dragDelta.y);
+            Point2D mouse = transitionGroup.getParent().sceneToLocal(event.getSceneX(), event.getSceneY());
+            transitionGroup.setLayoutX(mouse.getX() - dragDelta.x);
+            transitionGroup.setLayoutY(mouse.getY() - dragDelta.y);
         });
 
         ContextMenu contextMenu = new ContextMenu();
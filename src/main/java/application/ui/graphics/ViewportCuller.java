@@ -0,0 +1,269 @@
+package application.ui.graphics;
+
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.Pane;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps only the visible part of a scene-graph net drawing attached to the scene.
+ * Every place, transition and arc node is registered here instead of being added to the drawing pane;
+ * the culler indexes their bounds in a {@link SpatialGrid} and, whenever the {@link NetViewport} scrolls
+ * or zooms, attaches the nodes that intersect the visible region and detaches the others.
+ * Detached nodes keep their state and bindings, so controllers can keep referring to them.
+ * Each refresh changes every layer at most twice (one removal, one addition), and nodes are
+ * attached in registration order, so the stacking order does not depend on how the view was panned.
+ * The drawing pane is enlarged whenever a node lies beyond its edges, so every node can be scrolled to.
+ * Labels are hidden at low zoom levels (level of detail).
+ */
+public class ViewportCuller {
+
+    // Nodes just outside the viewport are kept attached, so small scrolls do not churn the scene graph
+    private static final double MARGIN = 200;
+    private static final double CELL_SIZE = 256;
+
+    private final NetViewport viewport;
+    private final Group arcLayer = new Group();
+    private final Group nodeLayer = new Group();
+
+    private final SpatialGrid<Node> grid = new SpatialGrid<>(CELL_SIZE);
+    private final Map<Node, Boolean> isArc = new HashMap<>();
+    private final Map<Node, Long> registrationOrder = new HashMap<>();
+    private final Comparator<Node> byRegistration = Comparator.comparing(registrationOrder::get);
+    private long registrations;
+    private final Map<Node, ChangeListener<Bounds>> boundsListeners = new HashMap<>();
+    private final Set<Node> attached = new HashSet<>();
+
+    private boolean detailVisible = true;
+    private final Runnable refresher = this::refresh;
+
+    /**
+     * Adds the arc and node layers to the drawing pane of a viewport and starts following it.
+     *
+     * @param viewport The scroll/zoom state of the drawing.
+     */
+    public ViewportCuller(NetViewport viewport) {
+        this.viewport = viewport;
+        arcLayer.setAutoSizeChildren(false);
+        nodeLayer.setAutoSizeChildren(false);
+        viewport.getDrawingPane().getChildren().addAll(arcLayer, nodeLayer);
+        viewport.addListener(refresher);
+    }
+
+    /**
+     * Registers a place or transition node, drawn above every arc.
+     *
+     * @param node The node to manage.
+     */
+    public void addNode(Node node) {
+        register(node, false);
+    }
+
+    /**
+     * Registers an arc node, drawn behind places and transitions.
+     *
+     * @param node The arc to manage.
+     */
+    public void addArc(Node node) {
+        register(node, true);
+    }
+
+    /**
+     * Forgets a node and removes it from the scene.
+     *
+     * @param node The node to remove.
+     */
+    public void remove(Node node) {
+        Boolean arc = isArc.remove(node);
+        if (arc == null) return;
+
+        registrationOrder.remove(node);
+        node.boundsInParentProperty().removeListener(boundsListeners.remove(node));
+        grid.remove(node);
+        attached.remove(node);
+        (arc ? arcLayer : nodeLayer).getChildren().remove(node);
+    }
+
+    /**
+     * Forgets several nodes and removes them from the scene in one change per layer,
+     * instead of one scene graph update per node.
+     *
+     * @param nodes The nodes to remove.
+     */
+    public void removeAll(Collection<? extends Node> nodes) {
+        Set<Node> arcs = new HashSet<>();
+        Set<Node> others = new HashSet<>();
+        for (Node node : nodes) {
+            Boolean arc = isArc.remove(node);
+            if (arc == null) continue;
+
+            registrationOrder.remove(node);
+            node.boundsInParentProperty().removeListener(boundsListeners.remove(node));
+            grid.remove(node);
+            if (attached.remove(node)) {
+                (arc ? arcs : others).add(node);
+            }
+        }
+        if (!arcs.isEmpty()) arcLayer.getChildren().removeAll(arcs);
+        if (!others.isEmpty()) nodeLayer.getChildren().removeAll(others);
+    }
+
+    /**
+     * Forgets every node.
+     */
+    public void clear() {
+        for (Map.Entry<Node, ChangeListener<Bounds>> entry : boundsListeners.entrySet()) {
+            entry.getKey().boundsInParentProperty().removeListener(entry.getValue());
+        }
+        boundsListeners.clear();
+        isArc.clear();
+        registrationOrder.clear();
+        grid.clear();
+        attached.clear();
+        arcLayer.getChildren().clear();
+        nodeLayer.getChildren().clear();
+    }
+
+    /**
+     * Stops following the viewport and removes the layers from the drawing pane.
+     */
+    public void dispose() {
+        clear();
+        viewport.removeListener(refresher);
+        viewport.getDrawingPane().getChildren().removeAll(arcLayer, nodeLayer);
+    }
+
+    /**
+     * Attaches the nodes intersecting the visible region and detaches the others.
+     * The difference is computed first, then applied with one removal and one addition per layer.
+     */
+    public void refresh() {
+        Bounds visible = viewport.getVisibleRegion();
+        Bounds region = new BoundingBox(visible.getMinX() - MARGIN, visible.getMinY() - MARGIN,
+                visible.getWidth() + 2 * MARGIN, visible.getHeight() + 2 * MARGIN);
+        Set<Node> wanted = grid.itemsIn(region);
+
+        boolean detail = viewport.isDetailVisible();
+        boolean detailChanged = detail != detailVisible;
+        detailVisible = detail;
+
+        Set<Node> arcsOut = new HashSet<>();
+        Set<Node> othersOut = new HashSet<>();
+        for (Iterator<Node> iterator = attached.iterator(); iterator.hasNext(); ) {
+            Node node = iterator.next();
+            if (!wanted.contains(node)) {
+                iterator.remove();
+                (isArc.get(node) ? arcsOut : othersOut).add(node);
+            } else if (detailChanged) {
+                applyDetail(node);
+            }
+        }
+
+        List<Node> arcsIn = new ArrayList<>();
+        List<Node> othersIn = new ArrayList<>();
+        for (Node node : wanted) {
+            if (attached.add(node)) {
+                applyDetail(node);
+                (isArc.get(node) ? arcsIn : othersIn).add(node);
+            }
+        }
+
+        update(arcLayer, arcsOut, arcsIn);
+        update(nodeLayer, othersOut, othersIn);
+    }
+
+    private void update(Group layer, Set<Node> removed, List<Node> added) {
+        if (!removed.isEmpty()) layer.getChildren().removeAll(removed);
+        if (!added.isEmpty()) {
+            added.sort(byRegistration);
+            layer.getChildren().addAll(added);
+        }
+    }
+
+    /**
+     * Finds the place and transition nodes (not arcs) whose bounds contain a point,
+     * whether or not they are currently attached. Used for picking in the editor.
+     *
+     * @param x The X coordinate, in drawing pane coordinates.
+     * @param y The Y coordinate, in drawing pane coordinates.
+     * @return The candidate nodes, to be checked precisely with {@link Node#contains(double, double)}.
+     */
+    public List<Node> nodesAt(double x, double y) {
+        List<Node> result = new ArrayList<>();
+        for (Node node : grid.itemsAt(x, y)) {
+            if (!isArc.get(node)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    private void register(Node node, boolean arc) {
+        if (isArc.containsKey(node)) return;
+        isArc.put(node, arc);
+        registrationOrder.put(node, registrations++);
+
+        // Keeps the index in sync while nodes are dragged or arcs follow their endpoints
+        ChangeListener<Bounds> listener = (obs, oldBounds, newBounds) -> {
+            grid.put(node, newBounds);
+            growToFit(newBounds);
+            if (!attached.contains(node) && newBounds.intersects(viewport.getVisibleRegion())) {
+                attach(node);
+            }
+        };
+        boundsListeners.put(node, listener);
+        node.boundsInParentProperty().addListener(listener);
+        grid.put(node, node.getBoundsInParent());
+        growToFit(node.getBoundsInParent());
+
+        // New nodes are normally created where the user is looking
+        if (node.getBoundsInParent().intersects(viewport.getVisibleRegion())) {
+            attach(node);
+        }
+    }
+
+    /**
+     * Enlarges the drawing pane to hold a node, like {@link CanvasNetRenderer#attach} does for the canvas.
+     * The pane is never shrunk.
+     */
+    private void growToFit(Bounds bounds) {
+        Pane drawingPane = viewport.getDrawingPane();
+        if (bounds.getMaxX() + MARGIN > drawingPane.getPrefWidth()) {
+            drawingPane.setPrefWidth(bounds.getMaxX() + MARGIN);
+        }
+        if (bounds.getMaxY() + MARGIN > drawingPane.getPrefHeight()) {
+            drawingPane.setPrefHeight(bounds.getMaxY() + MARGIN);
+        }
+    }
+
+    private void attach(Node node) {
+        Boolean arc = isArc.get(node);
+        if (arc == null || !attached.add(node)) return;
+        applyDetail(node);
+        (arc ? arcLayer : nodeLayer).getChildren().add(node);
+    }
+
+    private void applyDetail(Node node) {
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                if (child instanceof Text) {
+                    child.setVisible(detailVisible);
+                }
+            }
+        }
+    }
+}
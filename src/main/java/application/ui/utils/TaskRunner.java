@@ -0,0 +1,177 @@
+package application.ui.utils;
+
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs service and repository calls off the JavaFX application thread.
+ * Work runs on a virtual thread (the calls mostly wait on file I/O), and the result or error
+ * is handed back on the JavaFX thread. While the work runs, an overlay on the given host pane
+ * swallows input; if it takes longer than a short delay, the overlay shows a progress indicator
+ * and a Cancel button.
+ */
+public class TaskRunner {
+
+    // Below this, the overlay stays invisible so quick operations do not flash a spinner
+    private static final Duration SPINNER_DELAY = Duration.millis(300);
+
+    private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ui-task-", 0).factory());
+
+    /**
+     * Lets background work report progress and notice cancellation.
+     */
+    public interface Progress {
+        /**
+         * @param done  Units of work completed.
+         * @param total Total units of work.
+         */
+        void update(long done, long total);
+
+        /**
+         * @param message Text shown under the progress indicator.
+         */
+        void message(String message);
+
+        /**
+         * @return True once the user pressed Cancel. Long loops should stop early.
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * A unit of background work.
+     *
+     * @param <T> The result type ({@link Void} for none).
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T call(Progress progress) throws Exception;
+    }
+
+    /**
+     * Runs work in the background.
+     * Cancelling interrupts the worker and discards its result; an operation that does not
+     * check {@link Progress#isCancelled()} may still complete on disk.
+     *
+     * @param host      The pane covered by the progress overlay (usually the root StackPane), may be null.
+     * @param message   The text shown while the work runs.
+     * @param work      The work, run on a background thread.
+     * @param onSuccess Receives the result, on the JavaFX thread.
+     * @param onFailure Receives the error thrown by the work, on the JavaFX thread.
+     * @param <T>       The result type.
+     * @return The running task.
+     */
+    public static <T> Task<T> run(StackPane host, String message, Work<T> work,
+                                  Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        return run(host, message, work, onSuccess, onFailure, null);
+    }
+
+    /**
+     * Runs work in the background, with a callback for when the user cancels it.
+     *
+     * @param onCancelled Run on the JavaFX thread after a cancellation, e.g. to reload what
+     *                    the work may have changed before it stopped; may be null.
+     * @see #run(StackPane, String, Work, Consumer, Consumer)
+     */
+    public static <T> Task<T> run(StackPane host, String message, Work<T> work,
+                                  Consumer<T> onSuccess, Consumer<Throwable> onFailure, Runnable onCancelled) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                Task<T> self = this;
+                updateMessage(message);
+                return work.call(new Progress() {
+                    @Override
+                    public void update(long done, long total) {
+                        updateProgress(done, total);
+                    }
+
+                    @Override
+                    public void message(String text) {
+                        updateMessage(text);
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return self.isCancelled();
+                    }
+                });
+            }
+        };
+
+        Runnable hideOverlay = host == null ? () -> { } : showOverlay(host, task);
+
+        task.setOnSucceeded(e -> {
+            hideOverlay.run();
+            if (onSuccess != null) onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            hideOverlay.run();
+            if (onFailure != null) {
+                onFailure.accept(task.getException());
+            } else {
+                task.getException().printStackTrace();
+            }
+        });
+        task.setOnCancelled(e -> {
+            hideOverlay.run();
+            if (onCancelled != null) onCancelled.run();
+        });
+
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Covers the host with an input-blocking overlay, made visible after {@link #SPINNER_DELAY}.
+     *
+     * @return An action removing the overlay.
+     */
+    private static Runnable showOverlay(StackPane host, Task<?> task) {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.progressProperty().bind(task.progressProperty());
+
+        Label label = new Label();
+        label.textProperty().bind(task.messageProperty());
+        label.setStyle("-fx-text-fill: white; -fx-font-size: 14px;");
+
+        Button cancelButton = new Button("Cancel");
+        cancelButton.setOnAction(e -> task.cancel(true));
+
+        VBox box = new VBox(12, indicator, label, cancelButton);
+        box.setAlignment(Pos.CENTER);
+        box.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        box.setStyle("-fx-background-color: rgba(0, 0, 0, 0.7); -fx-background-radius: 10; -fx-padding: 20;");
+        box.setVisible(false);
+
+        // Present from the start, so clicks cannot start a second operation meanwhile
+        StackPane overlay = new StackPane(box);
+        overlay.setPickOnBounds(true);
+        host.getChildren().add(overlay);
+
+        PauseTransition delay = new PauseTransition(SPINNER_DELAY);
+        delay.setOnFinished(e -> {
+            box.setVisible(true);
+            overlay.setStyle("-fx-background-color: rgba(0, 0, 0, 0.25);");
+        });
+        delay.play();
+
+        return () -> {
+            delay.stop();
+            host.getChildren().remove(overlay);
+        };
+    }
+}
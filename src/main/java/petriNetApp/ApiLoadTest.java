@@ -0,0 +1,223 @@
+package petriNetApp;
+
+import application.api.ApiServer;
+import application.api.ApiTokens;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load test for a running local API (see {@link ApiServer}).
+ * Each client runs computations to completion on one of the user's nets: it starts a computation,
+ * asks for the available transitions and fires the first one until none is left.
+ * With a batch size above one, the reads are sent as one {@code /api/batch} request.
+ * Reports requests per second and the p50/p99 latency of the HTTP round trips.
+ * The token of the user is read from the token file of the running server
+ * ({@code data/api.tokens}, or {@code -Dpetrinet.api.tokens=<file>}).
+ * <p>
+ * Usage: {@code ApiLoadTest <port> <email> [clients] [seconds] [batch]}
+ */
+public class ApiLoadTest {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String email;
+    private final String authorization;
+    private final int batchSize;
+
+    ApiLoadTest(int port, String email, String token, int batchSize) {
+        this.baseUrl = "http://localhost:" + port;
+        this.email = email;
+        this.authorization = "Bearer " + token;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * What one client measured.
+     */
+    private static class ClientStats {
+        long[] latencies = new long[1024];
+        int roundTrips;
+        long requests;
+        final Map<Integer, Long> statuses = new TreeMap<>();
+
+        void record(long nanos, int status, int requestCount) {
+            if (roundTrips == latencies.length) latencies = Arrays.copyOf(latencies, roundTrips * 2);
+            latencies[roundTrips++] = nanos;
+            requests += requestCount;
+            statuses.merge(status, 1L, Long::sum);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ApiLoadTest <port> <email> [clients] [seconds] [batch]");
+            System.exit(2);
+        }
+        int port = Integer.parseInt(args[0]);
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int batch = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+        File tokenFile = new File(System.getProperty("petrinet.api.tokens", ApiServer.DEFAULT_TOKEN_FILE.getPath()));
+        String token = ApiTokens.readToken(tokenFile, args[1]);
+        if (token == null) {
+            System.err.println("No API token for " + args[1] + " in " + tokenFile);
+            System.exit(1);
+        }
+
+        new ApiLoadTest(port, args[1], token, Math.max(1, batch)).run(clients, Duration.ofSeconds(seconds));
+    }
+
+    void run(int clients, Duration duration) throws Exception {
+        JsonNode nets = mapper.readTree(call("GET", "/api/nets", null, new ClientStats()).body());
+        if (!nets.isArray() || nets.isEmpty()) {
+            System.err.println("No nets available to " + email + ": " + nets);
+            return;
+        }
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<ClientStats>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                String netId = nets.get(i % nets.size()).get("id").asText();
+                results.add(executor.submit(() -> runClient(netId, deadline)));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        ClientStats total = new ClientStats();
+        for (Future<ClientStats> result : results) {
+            ClientStats stats = result.get();
+            for (int i = 0; i < stats.roundTrips; i++) {
+                if (total.roundTrips == total.latencies.length) {
+                    total.latencies = Arrays.copyOf(total.latencies, total.roundTrips * 2);
+                }
+                total.latencies[total.roundTrips++] = stats.latencies[i];
+            }
+            total.requests += stats.requests;
+            stats.statuses.forEach((status, count) -> total.statuses.merge(status, count, Long::sum));
+        }
+        report(clients, elapsedSeconds, total);
+    }
+
+    private ClientStats runClient(String netId, long deadline) throws IOException, InterruptedException {
+        ClientStats stats = new ClientStats();
+        String computationId = null;
+        while (System.nanoTime() < deadline) {
+            if (computationId == null) {
+                HttpResponse<String> started = call("POST", "/api/computations",
+                        mapper.createObjectNode().put("netId", netId), stats);
+                if (started.statusCode() != 201) {
+                    // Another client (or an earlier run) holds the active computation on this net
+                    computationId = findActive(netId, stats);
+                    if (computationId == null) continue;
+                } else {
+                    computationId = mapper.readTree(started.body()).get("id").asText();
+                }
+            }
+
+            JsonNode transitions = readTransitions(computationId, stats);
+            if (transitions == null) {
+                computationId = null;
+            } else if (transitions.isEmpty()) {
+                // Completed, or only the administrator can go on: start over
+                call("DELETE", "/api/computations/" + computationId, null, stats);
+                computationId = null;
+            } else {
+                ObjectNode fire = mapper.createObjectNode().put("transitionId", transitions.get(0).get("id").asText());
+                call("POST", "/api/computations/" + computationId + "/fire", fire, stats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Reads the available transitions, alone or in a batch with further reads.
+     */
+    private JsonNode readTransitions(String computationId, ClientStats stats) throws IOException, InterruptedException {
+        String path = "/api/computations/" + computationId + "/transitions";
+        if (batchSize == 1) {
+            HttpResponse<String> response = call("GET", path, null, stats);
+            return response.statusCode() == 200 ? mapper.readTree(response.body()) : null;
+        }
+
+        ArrayNode batch = mapper.createArrayNode();
+        batch.addObject().put("method", "GET").put("path", path);
+        for (int i = 1; i < batchSize; i++) {
+            String read = i % 2 == 1 ? "/api/computations/" + computationId : "/api/computations?limit=10";
+            batch.addObject().put("method", "GET").put("path", read);
+        }
+        HttpResponse<String> response = call("POST", "/api/batch", batch, stats);
+        if (response.statusCode() != 200) return null;
+        JsonNode first = mapper.readTree(response.body()).get(0);
+        return first.get("status").asInt() == 200 ? first.get("body") : null;
+    }
+
+    private String findActive(String netId, ClientStats stats) throws IOException, InterruptedException {
+        HttpResponse<String> page = call("GET", "/api/computations?limit=" + 100, null, stats);
+        for (JsonNode computation : mapper.readTree(page.body()).path("computations")) {
+            if (computation.get("netId").asText().equals(netId) && computation.get("status").asText().equals("ACTIVE")) {
+                return computation.get("id").asText();
+            }
+        }
+        return null;
+    }
+
+    private HttpResponse<String> call(String method, String path, JsonNode body, ClientStats stats)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, publisher)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        stats.record(System.nanoTime() - start, response.statusCode(), body != null && body.isArray() ? body.size() : 1);
+        return response;
+    }
+
+    private static void report(int clients, double elapsedSeconds, ClientStats total) {
+        long[] sorted = Arrays.copyOf(total.latencies, total.roundTrips);
+        Arrays.sort(sorted);
+        System.out.printf("%d clients, %.1f s, batch %s%n", clients, elapsedSeconds,
+                total.requests == total.roundTrips ? "off" : "on");
+        System.out.printf("Round trips: %d (%.0f/s), requests: %d (%.0f/s)%n",
+                total.roundTrips, total.roundTrips / elapsedSeconds, total.requests, total.requests / elapsedSeconds);
+        System.out.printf("Latency p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        System.out.println("Statuses: " + total.statuses);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
@@ -0,0 +1,366 @@
+package petriNetApp;
+
+import application.api.ApiServer;
+import application.exceptions.EntityNotFoundException;
+import application.logic.AuthorizationContext;
+import application.logic.Computation;
+import application.logic.ComputationStep;
+import application.logic.MarkingData;
+import application.logic.NetAnalyzer;
+import application.logic.PetriNet;
+import application.logic.Place;
+import application.logic.ProcessService;
+import application.logic.Transition;
+import application.logic.User;
+import application.logic.WorkloadGenerator;
+import application.metrics.Metrics;
+import application.metrics.MetricsReporter;
+import application.repositories.CsvCodec;
+import application.repositories.PersistenceService;
+import application.repositories.PetriNetRepository;
+import application.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Headless entry point: runs nets and computations from the command line, without JavaFX,
+ * so the engine can be scripted and benchmarked on servers.
+ * Results go to standard output; the startup time and errors go to standard error.
+ *
+ * <pre>
+ * Cli list
+ * Cli computations &lt;email&gt;
+ * Cli start &lt;email&gt; &lt;net&gt;
+ * Cli fire &lt;email&gt; &lt;computationId&gt; &lt;transition&gt;...
+ * Cli replay &lt;email&gt; &lt;net&gt; &lt;log&gt;
+ * Cli analyze &lt;net&gt; [maxStates]
+ * Cli export &lt;computationId&gt; [file.csv|file.json]
+ * Cli serve [port]
+ * Cli generate &lt;seed&gt; [admins users nets elements computations maxSteps]
+ * </pre>
+ * Nets and transitions are given by ID or by name. Each line of a replay log is a transition,
+ * optionally preceded by the email of the user firing it ({@code email,transition});
+ * blank lines and lines starting with {@code #} are ignored.
+ * {@code serve} writes the API tokens of every user to {@code data/api.tokens} (see {@link ApiServer}).
+ * {@code generate} adds a synthetic workload (see {@link WorkloadGenerator}) to the store;
+ * the generated users log in with the password {@value WorkloadGenerator#GENERATED_PASSWORD}.
+ * With {@code -Dpetrinet.metrics.report=<file.csv|log>} the metrics are dumped periodically and on exit;
+ * {@code serve} also publishes them over JMX.
+ */
+public class Cli {
+
+    // Startup budget for an empty store, reported when exceeded
+    private static final long STARTUP_BUDGET_MS = 300;
+    private static final int DEFAULT_API_PORT = 8787;
+    // admins, users, nets, elements per net, computations, max steps per computation
+    private static final int[] DEFAULT_WORKLOAD = {2, 20, 10, 200, 100, 1000};
+
+    private final UserRepository userRepository;
+    private final PetriNetRepository petriNetRepository;
+    private final ProcessService processService;
+    private final PrintStream out;
+
+    Cli(UserRepository userRepository, PetriNetRepository petriNetRepository, ProcessService processService, PrintStream out) {
+        this.userRepository = userRepository;
+        this.petriNetRepository = petriNetRepository;
+        this.processService = processService;
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            usage();
+            System.exit(2);
+        }
+
+        // Standard output only carries results: the repositories' messages go to standard error
+        PrintStream results = System.out;
+        System.setOut(System.err);
+
+        // The last dump runs on exit, after the pending writes were flushed
+        MetricsReporter reporter = MetricsReporter.startIfConfigured();
+        if (reporter != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(reporter::stop, "metrics-report"));
+        }
+
+        long start = System.nanoTime();
+        UserRepository userRepository = new UserRepository();
+        PetriNetRepository petriNetRepository = new PetriNetRepository();
+        ProcessService processService = new ProcessService(userRepository, petriNetRepository);
+        long startupMs = (System.nanoTime() - start) / 1_000_000;
+        System.err.println("Loaded " + userRepository.getUserCount() + " users, "
+                + petriNetRepository.getPetriNets().size() + " nets in " + startupMs + " ms"
+                + (startupMs > STARTUP_BUDGET_MS ? " (over the " + STARTUP_BUDGET_MS + " ms budget)" : ""));
+
+        int status;
+        try {
+            status = new Cli(userRepository, petriNetRepository, processService, results).run(args);
+        } catch (RuntimeException | IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            status = 1;
+        } finally {
+            // Waits for the pending writes
+            PersistenceService.getInstance().shutdown();
+            results.flush();
+        }
+        System.exit(status);
+    }
+
+    private static void usage() {
+        System.err.println("Usage: Cli <command> [arguments]");
+        System.err.println("  list");
+        System.err.println("  computations <email>");
+        System.err.println("  start <email> <net>");
+        System.err.println("  fire <email> <computationId> <transition>...");
+        System.err.println("  replay <email> <net> <log>");
+        System.err.println("  analyze <net> [maxStates]");
+        System.err.println("  export <computationId> [file.csv|file.json]");
+        System.err.println("  serve [port]");
+        System.err.println("  generate <seed> [admins users nets elements computations maxSteps]");
+    }
+
+    /**
+     * Runs one command.
+     *
+     * @return The process exit status.
+     */
+    int run(String[] args) throws IOException {
+        String[] rest = Arrays.copyOfRange(args, 1, args.length);
+        switch (args[0]) {
+            case "list" -> list();
+            case "computations" -> {
+                if (rest.length != 1) return badArguments();
+                computations(rest[0]);
+            }
+            case "start" -> {
+                if (rest.length != 2) return badArguments();
+                Computation computation = processService.startNewComputation(findUser(rest[0]).getId(), findNet(rest[1]).getId());
+                out.println(computation.getId());
+            }
+            case "fire" -> {
+                if (rest.length < 3) return badArguments();
+                fire(rest[0], rest[1], Arrays.asList(rest).subList(2, rest.length));
+            }
+            case "replay" -> {
+                if (rest.length != 3) return badArguments();
+                replay(rest[0], rest[1], Path.of(rest[2]));
+            }
+            case "analyze" -> {
+                if (rest.length < 1 || rest.length > 2) return badArguments();
+                int maxStates = rest.length == 2 ? Integer.parseInt(rest[1]) : NetAnalyzer.DEFAULT_MAX_STATES;
+                analyze(findNet(rest[0]), maxStates);
+            }
+            case "export" -> {
+                if (rest.length < 1 || rest.length > 2) return badArguments();
+                export(findComputation(rest[0]), rest.length == 2 ? Path.of(rest[1]) : null);
+            }
+            case "serve" -> {
+                if (rest.length > 1) return badArguments();
+                serve(rest.length == 1 ? Integer.parseInt(rest[0]) : DEFAULT_API_PORT);
+            }
+            case "generate" -> {
+                if (rest.length != 1 && rest.length != 1 + DEFAULT_WORKLOAD.length) return badArguments();
+                int[] sizes = DEFAULT_WORKLOAD.clone();
+                for (int i = 1; i < rest.length; i++) {
+                    sizes[i - 1] = Integer.parseInt(rest[i]);
+                }
+                generate(Long.parseLong(rest[0]), sizes);
+            }
+            default -> {
+                return badArguments();
+            }
+        }
+        return 0;
+    }
+
+    private static int badArguments() {
+        usage();
+        return 2;
+    }
+
+    private void list() {
+        for (PetriNet net : petriNetRepository.getSortedPetriNets()) {
+            User creator = userRepository.getUserById(net.getAdminId());
+            out.println(CsvCodec.format(net.getId(), net.getName(),
+                    creator != null ? creator.getEmail() : net.getAdminId(),
+                    String.valueOf(net.getPlaces().size()), String.valueOf(net.getTransitions().size())));
+        }
+    }
+
+    private void computations(String email) {
+        for (Computation computation : processService.getComputationsForUser(findUser(email).getId())) {
+            PetriNet snapshot = computation.getPetriNetSnapshot();
+            out.println(CsvCodec.format(computation.getId(),
+                    snapshot != null ? snapshot.getName() : computation.getPetriNetId(),
+                    computation.getStatus().name(), String.valueOf(computation.getSteps().size() - 1),
+                    String.valueOf(computation.getStartTime())));
+        }
+    }
+
+    private void fire(String email, String computationId, List<String> transitions) {
+        AuthorizationContext context = processService.getAuthorizationContext(findUser(email).getId());
+        Computation computation = findComputation(computationId);
+        for (String transition : transitions) {
+            processService.fireTransition(context, computation.getId(), findTransition(computation, transition).getId());
+        }
+        printState(computation);
+    }
+
+    private void replay(String email, String net, Path log) throws IOException {
+        User owner = findUser(email);
+        Computation computation = processService.startNewComputation(owner.getId(), findNet(net).getId());
+        out.println(computation.getId());
+
+        long start = System.nanoTime();
+        int fired = 0;
+        for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+            List<String> fields = CsvCodec.parse(line).getFirst();
+            User user = fields.size() > 1 ? findUser(fields.get(0).trim()) : owner;
+            String transition = fields.get(fields.size() - 1).trim();
+            processService.fireTransition(processService.getAuthorizationContext(user.getId()),
+                    computation.getId(), findTransition(computation, transition).getId());
+            fired++;
+        }
+        long elapsedUs = Math.max(1, (System.nanoTime() - start) / 1_000);
+        printState(computation);
+        out.printf("Replayed %d transitions in %.1f ms (%.0f/s)%n", fired, elapsedUs / 1000.0, fired * 1e6 / elapsedUs);
+    }
+
+    private void analyze(PetriNet net, int maxStates) {
+        long start = System.nanoTime();
+        NetAnalyzer.Result result = new NetAnalyzer(maxStates).analyze(net);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        out.println(net.getName() + ": " + result + " in " + elapsedMs + " ms");
+        if (!result.getDeadTransitionIds().isEmpty()) {
+            out.println("Never enabled: " + String.join(", ", NetAnalyzer.namesOf(net, result.getDeadTransitionIds())));
+        }
+    }
+
+    private void export(Computation computation, Path file) throws IOException {
+        if (file != null && file.toString().endsWith(".json")) {
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());
+            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), computation.getSteps());
+            return;
+        }
+
+        PetriNet net = computation.getPetriNetSnapshot();
+        StringBuilder csv = new StringBuilder(CsvCodec.format("step", "timestamp", "transitionId", "transition", "marking"));
+        csv.append(System.lineSeparator());
+        List<ComputationStep> steps = computation.getSteps();
+        for (int i = 0; i < steps.size(); i++) {
+            ComputationStep step = steps.get(i);
+            Transition transition = step.getTransitionId() != null ? net.getTransitions().get(step.getTransitionId()) : null;
+            csv.append(CsvCodec.format(String.valueOf(i), String.valueOf(step.getTimeStamp()),
+                    step.getTransitionId(), transition != null ? transition.getName() : null,
+                    formatMarking(net, step.getMarkingData())));
+            csv.append(System.lineSeparator());
+        }
+        if (file == null) {
+            out.print(csv);
+        } else {
+            Files.writeString(file, csv, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Serves the local API until the process is stopped, with the metrics readable over JMX.
+     */
+    private void serve(int port) throws IOException {
+        Metrics.getInstance().registerMBeans();
+        ApiServer server = new ApiServer(processService, userRepository);
+        server.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            PersistenceService.getInstance().shutdown();
+        }));
+        try {
+            new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void generate(long seed, int[] sizes) {
+        long start = System.nanoTime();
+        WorkloadGenerator.Workload workload = new WorkloadGenerator(seed)
+                .generateWorkload(sizes[0], sizes[1], sizes[2], sizes[3], sizes[4], sizes[5]);
+        long generatedMs = (System.nanoTime() - start) / 1_000_000;
+
+        userRepository.saveUsers(workload.getUsers());
+        petriNetRepository.savePetriNets(workload.getNets());
+        processService.importComputations(workload.getComputations());
+
+        long steps = 0;
+        for (Computation computation : workload.getComputations()) {
+            steps += computation.getSteps().size() - 1;
+        }
+        out.printf("Generated %d users, %d nets, %d computations (%d steps) in %d ms%n",
+                workload.getUsers().size(), workload.getNets().size(), workload.getComputations().size(),
+                steps, generatedMs);
+    }
+
+    private void printState(Computation computation) {
+        out.println(computation.getStatus() + " after " + (computation.getSteps().size() - 1) + " steps: "
+                + formatMarking(computation.getPetriNetSnapshot(), computation.getLastStep().getMarkingData()));
+    }
+
+    /**
+     * Lists the marked places by name, e.g. {@code start=1 queue=2}.
+     */
+    private static String formatMarking(PetriNet net, MarkingData marking) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (Map.Entry<String, Integer> entry : marking.getTokensPerPlace().entrySet()) {
+            Place place = net != null ? net.getPlaces().get(entry.getKey()) : null;
+            joiner.add((place != null ? place.getName() : entry.getKey()) + "=" + entry.getValue());
+        }
+        return joiner.toString();
+    }
+
+    // --- Lookups by ID or name ---
+
+    private User findUser(String email) {
+        User user = userRepository.getUserByEmail(email);
+        if (user == null) throw new EntityNotFoundException("User not found: " + email);
+        return user;
+    }
+
+    private PetriNet findNet(String idOrName) {
+        PetriNet net = petriNetRepository.getPetriNet(idOrName);
+        if (net != null) return net;
+        for (PetriNet candidate : petriNetRepository.getSortedPetriNets()) {
+            if (candidate.getName().equalsIgnoreCase(idOrName)) return candidate;
+        }
+        throw new EntityNotFoundException("PetriNet not found: " + idOrName);
+    }
+
+    private Computation findComputation(String id) {
+        Computation computation = processService.getComputationById(id);
+        if (computation == null) throw new EntityNotFoundException("Computation not found: " + id);
+        return computation;
+    }
+
+    private static Transition findTransition(Computation computation, String idOrName) {
+        Map<String, Transition> transitions = computation.getPetriNetSnapshot().getTransitions();
+        Transition transition = transitions.get(idOrName);
+        if (transition != null) return transition;
+        for (Transition candidate : transitions.values()) {
+            if (candidate.getName().equalsIgnoreCase(idOrName)) return candidate;
+        }
+        throw new EntityNotFoundException("Transition not found: " + idOrName);
+    }
+}
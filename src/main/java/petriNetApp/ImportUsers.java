@@ -0,0 +1,37 @@
+package petriNetApp;
+
+import application.logic.UserImporter;
+import application.repositories.PersistenceService;
+import application.repositories.UserRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command line bulk import of user accounts, without starting the JavaFX application.
+ * Usage: {@code ImportUsers <users.csv>}, where each line is {@code email,password[,type[,username]]}.
+ * Prints the accounts that were skipped and the import throughput.
+ */
+public class ImportUsers {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ImportUsers <users.csv>");
+            System.err.println("Each line: email,password[,USER|ADMIN[,username]]");
+            System.exit(2);
+        }
+
+        List<UserImporter.Entry> entries = UserImporter.parseCsv(
+                Files.readString(Path.of(args[0]), StandardCharsets.UTF_8));
+        System.out.println("Read " + entries.size() + " accounts from " + args[0]);
+
+        UserImporter.Result result = new UserImporter(new UserRepository()).importUsers(entries);
+        PersistenceService.getInstance().shutdown();
+
+        result.getSkipped().forEach(reason -> System.out.println("Skipped " + reason));
+        System.out.println(result);
+    }
+}
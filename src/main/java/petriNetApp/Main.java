@@ -1,5 +1,9 @@
 package petriNetApp;
 
+import application.api.ApiServer;
+import application.logic.SharedResources;
+import application.metrics.Metrics;
+import application.metrics.MetricsReporter;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -14,6 +18,44 @@ import java.io.IOException;
  */
 public class Main extends Application {
 
+    private volatile ApiServer apiServer;
+    private MetricsReporter metricsReporter;
+
+    /**
+     * Starts loading users, nets and computations in the background
+     * while the JavaFX toolkit brings up the login window.
+     * If {@value ApiServer#PORT_PROPERTY} is set, the local API is started once they are loaded,
+     * with the tokens of this launch in {@code data/api.tokens}.
+     * Metrics are published over JMX, and dumped if {@value MetricsReporter#REPORT_PROPERTY} is set.
+     */
+    @Override
+    public void init() {
+        SharedResources resources = SharedResources.getInstance();
+        if (Metrics.isEnabled()) {
+            Thread.ofVirtual().name("metrics-start").start(() -> Metrics.getInstance().registerMBeans());
+            metricsReporter = MetricsReporter.startIfConfigured();
+        }
+        if (System.getProperty(ApiServer.PORT_PROPERTY) != null) {
+            Thread.ofVirtual().name("api-start").start(() -> {
+                try {
+                    apiServer = ApiServer.startIfConfigured(resources.getProcessService(), resources.getUserRepository());
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (apiServer != null) {
+            apiServer.stop();
+        }
+        if (metricsReporter != null) {
+            metricsReporter.stop();
+        }
+    }
+
     @Override
     public void start(Stage primaryStage) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/LoginView.fxml"));
@@ -0,0 +1,135 @@
+package application.api;
+
+import application.logic.AuthorizationContext;
+import application.logic.ComputationEventBus;
+import application.logic.ProcessService;
+import application.logic.Type;
+import application.logic.User;
+import application.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ApiServerTest {
+
+    @TempDir
+    Path directory;
+
+    private ApiServer server;
+    private File tokenFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        User user = new User("USR1", "user@test.com", "hash", Type.USER, "user");
+        UserRepository mockUserRepo = mock(UserRepository.class);
+        when(mockUserRepo.getAllUsers()).thenReturn(List.of(user));
+        when(mockUserRepo.getUserById("USR1")).thenReturn(user);
+
+        AuthorizationContext context = mock(AuthorizationContext.class);
+        when(context.getUserId()).thenReturn("USR1");
+        ProcessService mockService = mock(ProcessService.class);
+        when(mockService.getAuthorizationContext("USR1")).thenReturn(context);
+        when(mockService.getEventBus()).thenReturn(new ComputationEventBus());
+
+        tokenFile = directory.resolve("api.tokens").toFile();
+        server = new ApiServer(mockService, mockUserRepo, tokenFile);
+        server.start(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    /**
+     * Sends a raw request, so that the Host header can be anything, and returns the status code.
+     */
+    private int status(String host, String authorization) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            String request = "GET /api/nets HTTP/1.1\r\n"
+                    + (host != null ? "Host: " + host + "\r\n" : "")
+                    + (authorization != null ? "Authorization: " + authorization + "\r\n" : "")
+                    + "Connection: close\r\n\r\n";
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            String response = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+            return Integer.parseInt(response.substring(9, 12));
+        }
+    }
+
+    @Test
+    void testTokenFromTheFileAuthenticates() throws IOException {
+        String token = ApiTokens.readToken(tokenFile, "USER@test.com");
+        assertNotNull(token);
+
+        assertEquals(200, status("localhost:" + server.getPort(), "Bearer " + token));
+        assertEquals(200, status("127.0.0.1", "bearer " + token));
+        assertEquals(401, status("localhost", null));
+        assertEquals(401, status("localhost", "Basic " + token));
+        assertEquals(401, status("localhost", "Bearer " + token + "x"));
+    }
+
+    @Test
+    void testOtherHostsAreRejected() throws IOException {
+        String token = ApiTokens.readToken(tokenFile, "user@test.com");
+
+        assertEquals(403, status("evil.example.com", "Bearer " + token));
+        assertEquals(403, status("localhost.evil.example.com:" + server.getPort(), "Bearer " + token));
+        assertEquals(403, status("127.0.0.1:x", "Bearer " + token));
+        assertTrue(ApiServer.isLocalHost("LOCALHOST:8787"));
+        assertFalse(ApiServer.isLocalHost(null));
+    }
+
+    @Test
+    void testTokenFileIsPrivateAndRemovedOnStop() throws IOException {
+        if (Files.getFileStore(tokenFile.toPath()).supportsFileAttributeView("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile.toPath())));
+        }
+
+        server.stop();
+        assertFalse(tokenFile.exists());
+    }
+
+    @Test
+    void testStopEndsOpenEventStreams() throws IOException {
+        String token = ApiTokens.readToken(tokenFile, "user@test.com");
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(10_000);
+            String request = "GET /api/events HTTP/1.1\r\nHost: localhost\r\nAuthorization: Bearer " + token + "\r\n\r\n";
+            socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+            InputStream in = socket.getInputStream();
+            // Wait until the stream is open: the first frame sets the retry delay
+            StringBuilder received = new StringBuilder();
+            while (!received.toString().contains("retry:")) {
+                int b = in.read();
+                assertNotEquals(-1, b, "Stream closed before it opened: " + received);
+                received.append((char) b);
+            }
+
+            long start = System.nanoTime();
+            server.stop();
+            long stopMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(stopMillis < 3000, "Stopping took " + stopMillis + " ms");
+            in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package application.api;
+
+import application.exceptions.TransitionNotEnabledException;
+import application.logic.AuthorizationContext;
+import application.logic.Computation;
+import application.logic.ProcessService;
+import application.logic.Type;
+import application.logic.User;
+import application.repositories.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ComputationApiTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ProcessService mockService;
+    private AuthorizationContext context;
+    private ComputationApi api;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("USR1", "user@test.com", "hash", Type.USER, "user");
+        UserRepository mockUserRepo = mock(UserRepository.class);
+        when(mockUserRepo.getUserById("USR1")).thenReturn(user);
+
+        context = mock(AuthorizationContext.class);
+        when(context.getUserId()).thenReturn("USR1");
+
+        mockService = mock(ProcessService.class);
+        when(mockService.getAuthorizationContext("USR1")).thenReturn(context);
+
+        ApiTokens tokens = new ApiTokens(mockUserRepo);
+        token = tokens.issue(user);
+        api = new ComputationApi(mockService, tokens);
+    }
+
+    private JsonNode json(String text) throws Exception {
+        return mapper.readTree(text);
+    }
+
+    @Test
+    void testMissingOrForgedTokenIsRejected() {
+        assertEquals(401, api.handle("GET", "/api/nets", Map.of(), null, null).getStatus());
+        // An email is no longer enough to act as its user
+        assertEquals(401, api.handle("GET", "/api/nets", Map.of(), "user@test.com", null).getStatus());
+        assertEquals(401, api.handle("GET", "/api/nets", Map.of(), "USR1.forged", null).getStatus());
+        // Tokens of another launch are signed with another secret
+        String stale = new ApiTokens(mock(UserRepository.class)).issue(user);
+        assertEquals(401, api.handle("GET", "/api/nets", Map.of(), stale, null).getStatus());
+        assertNull(api.openEventStream(stale, Map.of()));
+        verifyNoInteractions(mockService);
+
+        assertEquals(200, api.handle("GET", "/api/nets", Map.of(), token, null).getStatus());
+    }
+
+    @Test
+    void testRoutingAndErrors() throws Exception {
+        assertEquals(404, api.handle("GET", "/api/unknown", Map.of(), token, null).getStatus());
+        assertEquals(405, api.handle("PUT", "/api/nets", Map.of(), token, null).getStatus());
+        assertEquals(400, api.handle("POST", "/api/computations", Map.of(), token, json("{}")).getStatus());
+        assertEquals(400, api.handle("GET", "/api/computations", Map.of("limit", "x"), token, null).getStatus());
+
+        doThrow(new TransitionNotEnabledException("not enabled"))
+                .when(mockService).fireTransition(context, "C1", "T1");
+        ComputationApi.Response response = api.handle("POST", "/api/computations/C1/fire", Map.of(),
+                token, json("{\"transitionId\":\"T1\"}"));
+        assertEquals(409, response.getStatus());
+        assertEquals(Map.of("error", "not enabled"), response.getBody());
+    }
+
+    @Test
+    void testPageIsCappedAndCounted() {
+        when(mockService.countComputationsForUser("USR1")).thenReturn(3);
+        when(mockService.getComputationsPageForUser(anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        ComputationApi.Response response = api.handle("GET", "/api/computations",
+                Map.of("offset", "2", "limit", "100000"), token, null);
+
+        assertEquals(200, response.getStatus());
+        verify(mockService).getComputationsPageForUser("USR1", 2, ComputationApi.MAX_PAGE_SIZE);
+        assertEquals(3, ((Map<?, ?>) response.getBody()).get("total"));
+    }
+
+    @Test
+    void testBatchRunsEveryRequestInOrder() throws Exception {
+        Computation computation = mock(Computation.class);
+        when(computation.getId()).thenReturn("C1");
+        when(computation.getUserId()).thenReturn("USR1");
+        when(computation.getSteps()).thenReturn(List.of());
+        when(mockService.getComputationById("C1")).thenReturn(computation);
+        when(mockService.getAvailableTransitions(context, "C1")).thenReturn(List.of());
+
+        ComputationApi.Response response = api.handle("POST", "/api/batch", Map.of(), token, json("""
+                [{"method": "GET", "path": "/api/computations/C1/transitions"},
+                 {"method": "GET", "path": "/api/computations/missing"},
+                 {"method": "POST", "path": "/api/batch", "body": []},
+                 {"method": "DELETE", "path": "/api/computations/C1"}]"""));
+
+        assertEquals(200, response.getStatus());
+        List<?> results = (List<?>) response.getBody();
+        assertEquals(List.of(200, 404, 400, 204), results.stream().map(r -> ((Map<?, ?>) r).get("status")).toList());
+        verify(mockService).deleteComputation(context, "C1");
+    }
+}
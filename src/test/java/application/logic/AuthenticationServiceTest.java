@@ -0,0 +1,116 @@
+package application.logic;
+
+import application.exceptions.RateLimitExceededException;
+import application.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuthenticationServiceTest {
+
+    private UserRepository mockUserRepo;
+    private User user;
+    private final AtomicLong now = new AtomicLong();
+    private int originalCost;
+
+    @BeforeEach
+    void setUp() {
+        // The lowest cost keeps the tests fast
+        originalCost = PasswordHasher.getCost();
+        PasswordHasher.setCost(4);
+
+        mockUserRepo = mock(UserRepository.class);
+        user = new User("user@example.com", "secret", Type.USER);
+        when(mockUserRepo.getUserByEmail("user@example.com")).thenReturn(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PasswordHasher.setCost(originalCost);
+    }
+
+    private AuthenticationService service(int globalPerSecond, int maxAttempts) {
+        return new AuthenticationService(mockUserRepo, now::get, globalPerSecond, maxAttempts, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testAuthenticate() {
+        AuthenticationService auth = service(100, 10);
+
+        assertSame(user, auth.authenticate("USER@example.com", "secret"));
+        assertNull(auth.authenticate("user@example.com", "wrong"));
+        assertNull(auth.authenticate("nobody@example.com", "secret"));
+        assertNull(auth.authenticate("", "secret"));
+    }
+
+    @Test
+    void testPerAccountLimitAppliesToUnknownEmailsToo() {
+        AuthenticationService auth = service(100, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(auth.authenticate("user@example.com", "wrong"));
+            assertNull(auth.authenticate("nobody@example.com", "wrong"));
+        }
+        assertThrows(RateLimitExceededException.class, () -> auth.authenticate("user@example.com", "secret"));
+        assertThrows(RateLimitExceededException.class, () -> auth.authenticate("nobody@example.com", "wrong"));
+
+        // Attempts come back over the window
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertSame(user, auth.authenticate("user@example.com", "secret"));
+    }
+
+    @Test
+    void testSuccessfulLoginResetsAccountAttempts() {
+        AuthenticationService auth = service(100, 3);
+
+        assertNull(auth.authenticate("user@example.com", "wrong"));
+        assertNull(auth.authenticate("user@example.com", "wrong"));
+        assertSame(user, auth.authenticate("user@example.com", "secret"));
+
+        assertNull(auth.authenticate("user@example.com", "wrong"));
+        assertNull(auth.authenticate("user@example.com", "wrong"));
+        assertSame(user, auth.authenticate("user@example.com", "secret"));
+    }
+
+    @Test
+    void testGlobalLimit() {
+        AuthenticationService auth = service(2, 10);
+
+        assertNull(auth.authenticate("a@example.com", "x"));
+        assertNull(auth.authenticate("b@example.com", "x"));
+        assertThrows(RateLimitExceededException.class, () -> auth.authenticate("c@example.com", "x"));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(auth.authenticate("c@example.com", "x"));
+    }
+
+    @Test
+    void testRehashWhenCostChanges() {
+        AuthenticationService auth = service(100, 10);
+        assertEquals(4, PasswordHasher.costOf(user.getHashedpw()));
+
+        PasswordHasher.setCost(5);
+        assertSame(user, auth.authenticate("user@example.com", "secret"));
+
+        assertEquals(5, PasswordHasher.costOf(user.getHashedpw()));
+        assertTrue(user.checkPassword("secret"));
+        verify(mockUserRepo).updateUser(user);
+
+        // Already at the current cost: no second rewrite
+        auth.authenticate("user@example.com", "secret");
+        verify(mockUserRepo, times(1)).updateUser(user);
+    }
+
+    @Test
+    void testPasswordHasherCost() {
+        assertEquals(10, PasswordHasher.costOf("$2a$10$UlYDCYC9c4xHFyDZDOmED.eID7/mppl7Y0o0y/wSdowG1Oro1WTLC"));
+        assertEquals(-1, PasswordHasher.costOf("plain"));
+        assertFalse(PasswordHasher.verify("secret", "not-a-hash"));
+    }
+}
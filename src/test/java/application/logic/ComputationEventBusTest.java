@@ -0,0 +1,107 @@
+package application.logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComputationEventBusTest {
+
+    private ComputationEventBus bus;
+    private Computation computation;
+    private ComputationStep step;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ComputationEventBus();
+        PetriNet net = new PetriNet("EventsNet", "Admin123");
+        computation = new Computation(net, null, "USR1");
+        step = new ComputationStep(computation.getId(), null, new MarkingData());
+        computation.addStep(step);
+    }
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            bus.publish(ComputationEvent.Kind.STEP_FIRED, computation, step);
+        }
+    }
+
+    @Test
+    void testDropOldestKeepsNewestEvents() throws InterruptedException {
+        ComputationEventBus.Subscription subscription = bus.subscribe(e -> true, 3, ComputationEventBus.OverflowPolicy.DROP_OLDEST);
+
+        publish(5);
+
+        assertEquals(2, subscription.getDropped());
+        assertFalse(subscription.isClosed());
+        assertEquals(3, subscription.poll(0, TimeUnit.SECONDS).getSequence(), "Events 1 and 2 were dropped");
+        List<ComputationEvent> rest = new ArrayList<>();
+        assertEquals(2, subscription.drainTo(rest, 10));
+        assertEquals(5, rest.get(1).getSequence());
+        assertNull(subscription.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testFilteredEventsLeaveGapsWithoutDrops() {
+        PetriNet otherNet = new PetriNet("OtherNet", "Admin123");
+        Computation other = new Computation(otherNet, null, "USR2");
+        ComputationEventBus.Subscription subscription = bus.subscribe(e -> e.getUserId().equals("USR1"),
+                10, ComputationEventBus.OverflowPolicy.DROP_OLDEST);
+
+        publish(1);
+        bus.publish(ComputationEvent.Kind.STARTED, other, null);
+        publish(1);
+
+        List<ComputationEvent> received = new ArrayList<>();
+        subscription.drainTo(received, 10);
+        assertEquals(List.of(1L, 3L), received.stream().map(ComputationEvent::getSequence).toList());
+        assertEquals(0, subscription.getDropped(), "Only a full queue loses events");
+    }
+
+    @Test
+    void testDisconnectClosesSlowSubscriber() throws InterruptedException {
+        ComputationEventBus.Subscription slow = bus.subscribe(e -> true, 2, ComputationEventBus.OverflowPolicy.DISCONNECT);
+        ComputationEventBus.Subscription other = bus.subscribe(e -> false, 2, ComputationEventBus.OverflowPolicy.DISCONNECT);
+
+        publish(3);
+
+        assertTrue(slow.isClosed());
+        assertTrue(slow.isOverflowed());
+        assertNull(slow.poll(1, TimeUnit.SECONDS), "A closed subscription returns at once");
+        assertFalse(other.isClosed(), "Filtered out events do not fill the queue");
+        assertEquals(1, bus.getSubscriberCount());
+    }
+
+    @Test
+    void testFailingFilterDoesNotBreakPublisher() {
+        ComputationEventBus.Subscription subscription = bus.subscribe(e -> { throw new IllegalStateException(); },
+                2, ComputationEventBus.OverflowPolicy.DROP_OLDEST);
+
+        assertDoesNotThrow(() -> publish(1));
+        assertEquals(0, subscription.drainTo(new ArrayList<>(), 10));
+    }
+
+    @Test
+    void testListenerReceivesEventsInOrder() throws InterruptedException {
+        List<Long> received = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        ComputationEventBus.Subscription subscription = bus.listen(e -> true, 10,
+                ComputationEventBus.OverflowPolicy.DROP_OLDEST, e -> {
+                    synchronized (received) {
+                        received.add(e.getSequence());
+                    }
+                    done.countDown();
+                });
+
+        publish(3);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 3L), received);
+        subscription.close();
+    }
+}
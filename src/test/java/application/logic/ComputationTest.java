@@ -4,6 +4,11 @@ import application.repositories.PetriNetCoordinates;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -191,4 +196,64 @@ class ComputationTest {
 
         assertTrue(wasNotified[0], "Observer should be notified when a step is added");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that a throttled observer receives a burst of changes merged into few deliveries,
+     * with every step and the completion reported.
+     */
+    @Test
+    void testThrottledObserverCoalescesBursts() throws InterruptedException {
+        List<ComputationChanges> deliveries = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        ComputationObserver throttled = new ComputationObserver() {
+            @Override
+            public void update(Computation comp) {
+                fail("The detailed update should be called");
+            }
+
+            @Override
+            public void update(Computation comp, ComputationChanges changes) {
+                deliveries.add(changes);
+                if (changes.isCompleted()) completed.countDown();
+            }
+
+            @Override
+            public long getNotificationIntervalMillis() {
+                return 50;
+            }
+        };
+        computation.attach(throttled);
+
+        MarkingData emptyMarking = new MarkingData();
+        for (int i = 0; i < 1000; i++) {
+            computation.addStep(new ComputationStep(computation.getId(), "T" + i, emptyMarking));
+        }
+        computation.completeComputation();
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS), "Completion should be delivered");
+        assertTrue(deliveries.size() < 10, "A burst should be merged, got " + deliveries.size() + " deliveries");
+        assertEquals(1000, deliveries.stream().mapToInt(c -> c.getNewSteps().size()).sum());
+    }
+
+    /**
+     * Verifies that a detached observer is no longer notified.
+     */
+    @Test
+    void testDetachedObserverIsNotNotified() {
+        final int[] notifications = {0};
+        ComputationObserver testObserver = new ComputationObserver() {
+            @Override
+            public void update(Computation comp) {
+                notifications[0]++;
+            }
+        };
+
+        computation.attach(testObserver);
+        computation.addStep(new ComputationStep(computation.getId(), "T1", new MarkingData()));
+        computation.detach(testObserver);
+        computation.addStep(new ComputationStep(computation.getId(), "T2", new MarkingData()));
+
+        assertEquals(1, notifications[0]);
+    }
+}
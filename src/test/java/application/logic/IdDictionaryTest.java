@@ -0,0 +1,99 @@
+package application.logic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link IdDictionary} class.
+ * Verifies canonical instances, stable int codes and interning during Jackson deserialization.
+ */
+class IdDictionaryTest {
+
+    private final IdDictionary dictionary = IdDictionary.getInstance();
+
+    /**
+     * Verifies that equal ids are collapsed to the same String instance.
+     */
+    @Test
+    void testInternReturnsCanonicalInstance() {
+        String id = "P" + UUID.randomUUID();
+        String copy = new String(id);
+
+        assertNotSame(id, copy);
+        assertSame(dictionary.intern(id), dictionary.intern(copy), "Equal ids should share one instance");
+        assertNull(dictionary.intern(null), "Null should stay null");
+    }
+
+    /**
+     * Verifies that codes are stable and can be resolved back to the id.
+     */
+    @Test
+    void testCodesRoundTrip() {
+        String id = "T" + UUID.randomUUID();
+        assertEquals(-1, dictionary.find(id), "Unknown ids should not be registered by find()");
+
+        int code = dictionary.codeOf(id);
+        assertEquals(code, dictionary.codeOf(new String(id)), "Code should be stable for equal ids");
+        assertEquals(code, dictionary.find(id));
+        assertEquals(id, dictionary.idOf(code));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.idOf(-5));
+    }
+
+    /**
+     * Verifies which strings are treated as shared element ids.
+     */
+    @Test
+    void testSharedElementIdDetection() {
+        assertTrue(IdDictionary.isSharedElementId("P" + UUID.randomUUID()));
+        assertTrue(IdDictionary.isSharedElementId("ADM" + UUID.randomUUID()));
+        assertFalse(IdDictionary.isSharedElementId("S" + UUID.randomUUID()), "Step ids are unique and should be skipped");
+        assertFalse(IdDictionary.isSharedElementId("CO" + UUID.randomUUID()), "Computation ids would stay pinned after deletion");
+        assertFalse(IdDictionary.isSharedElementId("12-03-2025 10:00:00"));
+        assertFalse(IdDictionary.isSharedElementId("P1"));
+    }
+
+    /**
+     * Verifies that place ids used as marking keys are interned while parsing JSON.
+     */
+    @Test
+    void testJacksonModuleInternsMarkingKeysAndIds() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(IdDictionary.jacksonModule());
+
+        String placeId = "P" + UUID.randomUUID();
+        String computationId = "CO" + UUID.randomUUID();
+        String transitionId = "T" + UUID.randomUUID();
+
+        MarkingData marking = new MarkingData();
+        marking.setTokens(placeId, 3);
+        ComputationStep step = new ComputationStep(computationId, transitionId, marking);
+        String json = mapper.writeValueAsString(step);
+
+        ComputationStep first = mapper.readValue(json, ComputationStep.class);
+        ComputationStep second = mapper.readValue(json, ComputationStep.class);
+
+        assertSame(first.getTransitionId(), second.getTransitionId(), "Transition ids should be interned");
+        assertEquals(first.getComputationId(), second.getComputationId());
+        assertNotSame(first.getComputationId(), second.getComputationId(), "Computation ids should not be interned");
+        String firstKey = first.getMarkingData().getTokensPerPlace().keySet().iterator().next();
+        String secondKey = second.getMarkingData().getTokensPerPlace().keySet().iterator().next();
+        assertSame(firstKey, secondKey, "Marking keys should be interned");
+        assertEquals(3, second.getMarkingData().getTokens(placeId));
+    }
+
+    @Test
+    void testInternWhileTableGrows() {
+        // Enough new ids to force the code table to grow at least once
+        int target = dictionary.size() + 2048;
+        while (dictionary.size() < target) {
+            String id = "T" + UUID.randomUUID();
+            assertEquals(id, dictionary.intern(id));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package application.logic;
+
+import application.repositories.PetriNetCoordinates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayoutEngineTest {
+
+    private PetriNet net;
+    private LayoutEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        net = new PetriNet("LayoutNet", "Admin123");
+        engine = LayoutEngine.getInstance();
+    }
+
+    /**
+     * Builds P0 -> T1 -> P1 -> ... -> Pn, with Pn -> T0 -> P1 closing a cycle if requested.
+     */
+    private List<Place> buildChain(int length, boolean cycle) {
+        List<Place> places = new ArrayList<>();
+        Place first = new Place(net.getId(), "P0");
+        net.addPlace(first);
+        places.add(first);
+        net.setInitial(first);
+
+        for (int i = 1; i <= length; i++) {
+            Transition t = new Transition(net.getId(), "T" + i, Type.USER);
+            Place p = new Place(net.getId(), "P" + i);
+            net.addTransition(t);
+            net.addPlace(p);
+            net.addArc(new Arc(net.getId(), places.getLast().getId(), t.getId()));
+            net.addArc(new Arc(net.getId(), t.getId(), p.getId()));
+            places.add(p);
+        }
+
+        if (cycle) {
+            Transition back = new Transition(net.getId(), "T0", Type.USER);
+            net.addTransition(back);
+            net.addArc(new Arc(net.getId(), places.getLast().getId(), back.getId()));
+            net.addArc(new Arc(net.getId(), back.getId(), places.get(1).getId()));
+        }
+        return places;
+    }
+
+    @Test
+    void testLayoutPositionsEveryElementWithoutOverlap() {
+        buildChain(5, true);
+
+        PetriNetCoordinates coords = engine.layout(net);
+
+        assertTrue(LayoutEngine.hasAllPositions(net, coords));
+        Set<String> used = new HashSet<>();
+        coords.getPlacePositions().values().forEach(p -> assertTrue(used.add(p.x + "," + p.y)));
+        coords.getTransitionPositions().values().forEach(p -> assertTrue(used.add(p.x + "," + p.y)));
+    }
+
+    @Test
+    void testArcsFlowLeftToRightFromInitialPlace() {
+        List<Place> places = buildChain(4, true);
+
+        PetriNetCoordinates coords = engine.layout(net);
+
+        for (int i = 1; i < places.size(); i++) {
+            double previous = coords.getPlacePosition(places.get(i - 1).getId()).x;
+            assertTrue(coords.getPlacePosition(places.get(i).getId()).x > previous,
+                    "Places along the chain should move right");
+        }
+    }
+
+    @Test
+    void testBranchesDoNotCross() {
+        // P0 forks into two parallel branches that join again
+        Place p0 = new Place(net.getId(), "P0");
+        net.addPlace(p0);
+        net.setInitial(p0);
+        Transition fork = new Transition(net.getId(), "Fork", Type.USER);
+        Transition join = new Transition(net.getId(), "Join", Type.USER);
+        net.addTransition(fork);
+        net.addTransition(join);
+        net.addArc(new Arc(net.getId(), p0.getId(), fork.getId()));
+        for (int i = 0; i < 3; i++) {
+            Place a = new Place(net.getId(), "A" + i);
+            Transition t = new Transition(net.getId(), "T" + i, Type.USER);
+            Place b = new Place(net.getId(), "B" + i);
+            net.addPlace(a);
+            net.addTransition(t);
+            net.addPlace(b);
+            net.addArc(new Arc(net.getId(), fork.getId(), a.getId()));
+            net.addArc(new Arc(net.getId(), a.getId(), t.getId()));
+            net.addArc(new Arc(net.getId(), t.getId(), b.getId()));
+            net.addArc(new Arc(net.getId(), b.getId(), join.getId()));
+        }
+
+        PetriNetCoordinates coords = engine.layout(net);
+
+        // Each branch should stay on its own row
+        for (Arc arc : net.getArcs().values()) {
+            if (arc.getSourceId().equals(fork.getId()) || arc.getTargetId().equals(join.getId())) continue;
+            double sourceY = arc.isSourcePlace()
+                    ? coords.getPlacePosition(arc.getSourceId()).y
+                    : coords.getTransitionPosition(arc.getSourceId()).y;
+            double targetY = arc.isSourcePlace()
+                    ? coords.getTransitionPosition(arc.getTargetId()).y
+                    : coords.getPlacePosition(arc.getTargetId()).y;
+            assertEquals(sourceY, targetY, 0.001);
+        }
+    }
+
+    @Test
+    void testCountCrossings() {
+        // Layer 0: nodes 0, 1; layer 1: nodes 2, 3. Edges 0->3 and 1->2 cross once
+        int[][] order = {{0, 1}, {2, 3}};
+        int[][] down = {{3}, {2}, {}, {}};
+        int[] pos = {0, 1, 0, 1};
+
+        assertEquals(1, LayoutEngine.countCrossings(order, down, pos));
+
+        down = new int[][]{{2}, {3}, {}, {}};
+        assertEquals(0, LayoutEngine.countCrossings(order, down, pos));
+    }
+
+    @Test
+    void testCompleteKeepsExistingPositions() {
+        List<Place> places = buildChain(2, false);
+        PetriNetCoordinates saved = new PetriNetCoordinates();
+        saved.setPlacePosition(places.getFirst().getId(), 42, 24);
+
+        PetriNetCoordinates completed = engine.complete(net, saved);
+
+        assertTrue(LayoutEngine.hasAllPositions(net, completed));
+        assertEquals(42, completed.getPlacePosition(places.getFirst().getId()).x);
+        assertEquals(24, completed.getPlacePosition(places.getFirst().getId()).y);
+        assertNull(saved.getPlacePosition(places.getLast().getId()), "The saved coordinates must not be modified");
+        assertSame(completed, engine.complete(net, completed));
+    }
+
+    @Test
+    void testVersionKeyChangesWithStructure() {
+        buildChain(2, false);
+        String before = LayoutEngine.versionKey(net);
+        assertEquals(before, LayoutEngine.versionKey(net));
+
+        Transition extra = new Transition(net.getId(), "Extra", Type.USER);
+        net.addTransition(extra);
+
+        assertNotEquals(before, LayoutEngine.versionKey(net));
+    }
+
+    @Test
+    void testCachedLayoutIsACopy() {
+        List<Place> places = buildChain(2, false);
+        PetriNetCoordinates first = engine.layout(net);
+        first.setPlacePosition(places.getFirst().getId(), -1, -1);
+
+        PetriNetCoordinates second = engine.layout(net);
+
+        assertNotEquals(-1, second.getPlacePosition(places.getFirst().getId()).x);
+    }
+
+    @Test
+    void testLargeNetLayoutIsFast() {
+        // ~10k places and transitions with some cross links between the chains
+        buildChain(5000, true);
+        List<Transition> transitions = new ArrayList<>(net.getTransitions().values());
+        List<Place> places = new ArrayList<>(net.getPlaces().values());
+        for (int i = 0; i < 500; i++) {
+            Transition t = transitions.get((i * 7919) % transitions.size());
+            Place p = places.get((i * 104729) % places.size());
+            if (!net.hasArcBetween(t.getId(), p.getId()) && !net.hasArcBetween(p.getId(), t.getId())
+                    && !p.getId().equals(net.getInitialPlaceId())) {
+                net.addArc(new Arc(net.getId(), t.getId(), p.getId()));
+            }
+        }
+
+        PetriNetCoordinates coords = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> engine.completeAsync(net, null).get());
+
+        assertTrue(LayoutEngine.hasAllPositions(net, coords));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -145,4 +146,21 @@ class MarkingDataTest {
         marking.setTokensPerPlace(map);
         assertEquals(10, marking.getTokens("P2"), "Map setter should directly update the tokens");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that only places whose token count changed are reported.
+     */
+    @Test
+    void testChangedPlaces() {
+        marking.setTokens("P1", 1);
+        marking.setTokens("P2", 2);
+
+        MarkingData next = new MarkingData(marking);
+        next.removeTokens("P1", 1);
+        next.addTokens("P3", 1);
+
+        assertEquals(Set.of("P1", "P3"), next.changedPlaces(marking), "P2 kept its tokens and should not be reported");
+        assertTrue(next.changedPlaces(new MarkingData(next)).isEmpty(), "Equal markings should have no changes");
+        assertEquals(Set.of("P2", "P3"), next.changedPlaces(null), "Null should count as an empty marking");
+    }
+}
@@ -0,0 +1,50 @@
+package application.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NaturalSortKeyTest {
+
+    private static List<String> sorted(String... names) {
+        List<NaturalSortKey> keys = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            keys.add(new NaturalSortKey("id" + i, names[i]));
+        }
+        Collections.sort(keys);
+        return keys.stream().map(NaturalSortKey::getName).toList();
+    }
+
+    @Test
+    void testNumbersAreComparedByValue() {
+        assertEquals(List.of("NP1", "NP2", "NP10", "NP100"), sorted("NP10", "NP2", "NP100", "NP1"));
+    }
+
+    @Test
+    void testTextIsComparedIgnoringCase() {
+        assertEquals(List.of("alpha", "Beta", "gamma"), sorted("gamma", "Beta", "alpha"));
+    }
+
+    @Test
+    void testNamesThatAreNotNumberedDoNotFail() {
+        // The old comparator threw NumberFormatException on these and fell back per comparison
+        assertEquals(List.of("NP", "NP3", "NP99999999999999999999", "NP-Test"),
+                sorted("NP-Test", "NP99999999999999999999", "NP3", "NP"));
+    }
+
+    @Test
+    void testLeadingZerosAndTies() {
+        NaturalSortKey a = new NaturalSortKey("a", "NP007");
+        NaturalSortKey b = new NaturalSortKey("b", "NP7");
+        NaturalSortKey c = new NaturalSortKey("c", "NP7");
+
+        assertNotEquals(0, a.compareTo(b), "Different names are never equal");
+        assertTrue(b.compareTo(c) < 0, "Equal names are ordered by ID");
+        assertTrue(a.compareTo(new NaturalSortKey("d", "NP8")) < 0);
+        assertEquals(b, new NaturalSortKey("b", "NP7"));
+    }
+}
@@ -0,0 +1,92 @@
+package application.logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetAnalyzerTest {
+
+    private PetriNet net;
+    private Place start;
+    private Place middle;
+    private Place end;
+
+    @BeforeEach
+    void setUp() {
+        net = new PetriNet("AnalyzedNet", "Admin123");
+        start = new Place(net.getId(), "start");
+        middle = new Place(net.getId(), "middle");
+        end = new Place(net.getId(), "end");
+        net.addPlace(start);
+        net.addPlace(middle);
+        net.addPlace(end);
+        net.setInitial(start);
+        net.setFinal(end);
+    }
+
+    private Transition connect(Place from, Place to, int weight) {
+        Transition t = new Transition(net.getId(), from.getName() + "->" + to.getName(), Type.USER);
+        net.addTransition(t);
+        net.addArc(new Arc(net.getId(), from.getId(), t.getId()));
+        Arc out = new Arc(net.getId(), t.getId(), to.getId());
+        out.setWeight(weight);
+        net.addArc(out);
+        return t;
+    }
+
+    @Test
+    void testSequenceReachesFinalPlace() {
+        connect(start, middle, 1);
+        connect(middle, end, 1);
+
+        NetAnalyzer.Result result = new NetAnalyzer().analyze(net);
+
+        assertTrue(result.isValid());
+        assertTrue(result.isComplete());
+        assertTrue(result.isFinalReachable());
+        assertEquals(3, result.getReachableStates());
+        assertEquals(0, result.getDeadlocks());
+        assertEquals(1, result.getMaxTokens());
+        assertTrue(result.getDeadTransitionIds().isEmpty());
+    }
+
+    @Test
+    void testDeadlockAndDeadTransition() {
+        Place stuck = new Place(net.getId(), "stuck");
+        net.addPlace(stuck);
+        connect(start, stuck, 1);
+        Transition needsTwo = new Transition(net.getId(), "needsTwo", Type.USER);
+        net.addTransition(needsTwo);
+        Arc in = new Arc(net.getId(), middle.getId(), needsTwo.getId());
+        in.setWeight(2);
+        net.addArc(in);
+        net.addArc(new Arc(net.getId(), needsTwo.getId(), end.getId()));
+
+        NetAnalyzer.Result result = new NetAnalyzer().analyze(net);
+
+        assertFalse(result.isValid(), "'stuck' has no outgoing arcs, so there are two final places");
+        assertFalse(result.isFinalReachable());
+        assertEquals(1, result.getDeadlocks());
+        assertEquals(Set.of(needsTwo.getId()), result.getDeadTransitionIds());
+    }
+
+    @Test
+    void testUnboundedNetStopsAtLimit() {
+        Place loop = new Place(net.getId(), "loop");
+        net.addPlace(loop);
+        connect(start, middle, 1);
+        connect(middle, loop, 1);
+        connect(loop, middle, 2);
+        connect(middle, end, 1);
+
+        NetAnalyzer.Result result = new NetAnalyzer(50).analyze(net);
+
+        assertFalse(result.isComplete());
+        assertEquals(50, result.getReachableStates());
+        assertTrue(result.isFinalReachable());
+        assertTrue(result.getMaxTokens() > 1);
+    }
+}
@@ -0,0 +1,91 @@
+package application.logic;
+
+import application.repositories.PetriNetRepository;
+import application.repositories.RepositoryListener;
+import application.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NetSearchIndexTest {
+
+    private NetSearchIndex index;
+    private User admin;
+    private PetriNet orders;
+    private PetriNet invoices;
+
+    @BeforeEach
+    void setUp() {
+        index = new NetSearchIndex();
+        admin = new User("carlo.combi@univr.it", "pass", Type.ADMIN);
+        admin.setUsername("Carlo");
+        orders = new PetriNet("Order Handling", admin.getId());
+        invoices = new PetriNet("Invoice Flow", admin.getId());
+
+        index.putUser(admin);
+        index.putNet(orders);
+        index.putNet(invoices);
+    }
+
+    @Test
+    void testFindByNameIgnoresCase() {
+        assertEquals(Set.of(orders.getId()), index.findNetsByName("ORDER"));
+        assertEquals(Set.of(orders.getId()), index.findNetsByName("r h"));
+        assertEquals(Set.of(invoices.getId()), index.findNetsByName("ce flow"));
+        assertEquals(Set.of(orders.getId(), invoices.getId()), index.findNetsByName("o"));
+        assertTrue(index.findNetsByName("handlingx").isEmpty());
+        assertTrue(index.findNetsByName("zz").isEmpty());
+    }
+
+    @Test
+    void testFindByCreatorMatchesUsernameAndEmail() {
+        Set<String> both = Set.of(orders.getId(), invoices.getId());
+
+        assertEquals(both, index.findNetsByCreator("carlo"));
+        assertEquals(both, index.findNetsByCreator("combi@univr"));
+        assertTrue(index.findNetsByCreator("sala").isEmpty());
+    }
+
+    @Test
+    void testIndexFollowsChanges() {
+        // Saving a net again after an edit replaces its entries
+        index.putNet(orders);
+        assertEquals(Set.of(orders.getId()), index.findNetsByName("order"));
+
+        index.removeNet(invoices.getId());
+        assertTrue(index.findNetsByName("invoice").isEmpty());
+        assertEquals(Set.of(orders.getId()), index.findNetsByCreator("carlo"));
+
+        admin.setUsername("Dragon");
+        index.putUser(admin);
+        assertEquals(Set.of(orders.getId()), index.findNetsByCreator("drag"));
+        assertEquals(Set.of(orders.getId()), index.findNetsByCreator("carlo."), "The email still matches");
+        assertTrue(index.findNetsByCreator("carlo ").isEmpty(), "The old username is gone");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRepositoryListenersKeepIndexUpToDate() {
+        UserRepository users = mock(UserRepository.class);
+        PetriNetRepository nets = mock(PetriNetRepository.class);
+
+        NetSearchIndex wired = new NetSearchIndex(users, nets);
+
+        ArgumentCaptor<RepositoryListener<User>> userListener = ArgumentCaptor.forClass(RepositoryListener.class);
+        ArgumentCaptor<RepositoryListener<PetriNet>> netListener = ArgumentCaptor.forClass(RepositoryListener.class);
+        verify(users).addListener(userListener.capture());
+        verify(nets).addListener(netListener.capture());
+
+        userListener.getValue().saved(admin);
+        netListener.getValue().saved(orders);
+        assertEquals(Set.of(orders.getId()), wired.findNetsByCreator("carlo"));
+
+        netListener.getValue().deleted(orders.getId());
+        assertTrue(wired.findNetsByName("order").isEmpty());
+    }
+}
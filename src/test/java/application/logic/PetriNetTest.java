@@ -1,5 +1,6 @@
 package application.logic;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -134,4 +135,38 @@ class PetriNetTest {
         assertFalse(net.getPlaces().containsKey(p1.getId()));
         assertTrue(net.getArcs().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAdjacencyFollowsArcChanges() throws Exception {
+        Place p1 = createPlace();
+        Transition t1 = createTransition();
+        Place p2 = createPlace();
+        net.addPlace(p1);
+        net.addTransition(t1);
+        net.addPlace(p2);
+
+        Arc in = new Arc(net.getId(), p1.getId(), t1.getId());
+        Arc out = new Arc(net.getId(), t1.getId(), p2.getId());
+        net.addArc(in);
+        net.addArc(out);
+
+        assertEquals(1, net.getIncomingArcs(t1.getId()).size());
+        assertEquals(1, net.getOutgoingArcs(t1.getId()).size());
+        assertTrue(net.hasArcBetween(p1.getId(), t1.getId()));
+
+        net.removeArc(in.getId());
+        assertTrue(net.getIncomingArcs(t1.getId()).isEmpty());
+        assertTrue(net.getOutgoingArcs(p1.getId()).isEmpty());
+        assertFalse(net.hasArcBetween(p1.getId(), t1.getId()));
+
+        // The index is not serialized and must be rebuilt when the net is read back
+        ObjectMapper mapper = new ObjectMapper();
+        PetriNet copy = mapper.readValue(mapper.writeValueAsString(net), PetriNet.class);
+        assertEquals(1, copy.getOutgoingArcs(t1.getId()).size());
+        assertEquals(out.getId(), copy.getIncomingArcs(p2.getId()).getFirst().getId());
+
+        copy.removeTransition(t1.getId());
+        assertTrue(copy.getArcs().isEmpty());
+        assertTrue(copy.getIncomingArcs(p2.getId()).isEmpty());
+    }
+}
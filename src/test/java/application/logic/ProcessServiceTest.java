@@ -4,14 +4,24 @@ import application.repositories.PetriNetRepository;
 import application.repositories.UserRepository;
 import application.exceptions.*;
 
+import application.repositories.ChecksummedFiles;
+import application.repositories.PersistenceService;
+import application.repositories.RepositoryListener;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import static org.mockito.Mockito.*;
 
 import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -62,16 +72,18 @@ class ProcessServiceTest {
         Map<String, PetriNet> fakeNetDb = new HashMap<>();
         fakeNetDb.put(netId, testNet);
         when(mockNetRepo.getPetriNets()).thenReturn(fakeNetDb);
+        when(mockNetRepo.getPetriNet(anyString())).thenAnswer(invocation -> fakeNetDb.get(invocation.<String>getArgument(0)));
+        when(mockNetRepo.getSortedPetriNets()).thenReturn(List.of(testNet));
 
         processService = new ProcessService(mockUserRepo, mockNetRepo);
     }
 
     @AfterEach
-    void tearDown() {
-        File testFile = new File("data/computations.json");
-        if (testFile.exists()) {
-            testFile.delete();
-        }
+    void tearDown() throws IOException {
+        // Saves run on the persistence writer: wait for them before removing the file
+        PersistenceService.getInstance().flush();
+        // Also removes the previous generation, which would otherwise be loaded by the next test
+        ChecksummedFiles.delete(new File("data/computations.json"));
     }
 
     @Test
@@ -148,4 +160,148 @@ class ProcessServiceTest {
                 () -> processService.deleteComputation(comp.getId(), sUid),
                 "Unauthorized user should not be able to delete the computation");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testComputationsPageForUser_NewestFirst() {
+        // Loaded computations of two users, started one minute apart
+        Map<String, Computation> loaded = new HashMap<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 25; i++) {
+            Computation comp = new Computation("CO" + i, netId, i % 5 == 0 ? aUid : rUid,
+                    Computation.ComputationStatus.COMPLETED, start.plusMinutes(i), null, null, testNet, null);
+            loaded.put(comp.getId(), comp);
+        }
+        ProcessService service = new ProcessService(mockUserRepo, mockNetRepo, loaded);
+
+        assertEquals(20, service.countComputationsForUser(rUid));
+        assertEquals(5, service.countComputationsForUser(aUid));
+
+        List<Computation> all = service.getComputationsForUser(rUid);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getStartTime().isAfter(all.get(i).getStartTime()), "Expected newest first");
+        }
+
+        assertEquals(all.subList(0, 8), service.getComputationsPageForUser(rUid, 0, 8));
+        assertEquals(all.subList(8, 16), service.getComputationsPageForUser(rUid, 8, 8));
+        assertEquals(all.subList(16, 20), service.getComputationsPageForUser(rUid, 16, 8));
+        assertTrue(service.getComputationsPageForUser(rUid, 20, 8).isEmpty());
+        assertTrue(service.getComputationsPageForUser("nobody", 0, 8).isEmpty());
+
+        assertEquals(all, service.getComputationsForUserOnNets(rUid, Set.of(netId, "other")));
+        assertTrue(service.getComputationsForUserOnNets(rUid, Set.of("other")).isEmpty());
+    }
+
+    @Test
+    void testComputationsPageForUserOnNets_MergesNetsNewestFirst() {
+        // Computations of one user spread over four nets, started one minute apart
+        Map<String, Computation> loaded = new HashMap<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 40; i++) {
+            Computation comp = new Computation("CO" + i, "NET" + (i % 4), rUid,
+                    Computation.ComputationStatus.COMPLETED, start.plusMinutes(i * 7L % 40), null, null, testNet, null);
+            loaded.put(comp.getId(), comp);
+        }
+        ProcessService service = new ProcessService(mockUserRepo, mockNetRepo, loaded);
+        Set<String> nets = Set.of("NET0", "NET2", "NET3", "missing");
+
+        List<Computation> expected = service.getComputationsForUser(rUid).stream()
+                .filter(c -> nets.contains(c.getPetriNetId()))
+                .toList();
+        assertEquals(30, expected.size());
+        assertEquals(30, service.countComputationsForUserOnNets(rUid, nets));
+        assertEquals(expected, service.getComputationsForUserOnNets(rUid, nets));
+
+        // Pages follow each other from the last computation shown
+        List<Computation> paged = new ArrayList<>();
+        Computation last = null;
+        List<Computation> page;
+        while (!(page = service.getComputationsPageForUserOnNets(rUid, nets, last, 7)).isEmpty()) {
+            assertTrue(page.size() <= 7);
+            paged.addAll(page);
+            last = page.getLast();
+        }
+        assertEquals(expected, paged);
+        assertTrue(service.getComputationsPageForUserOnNets("nobody", nets, null, 7).isEmpty());
+        assertEquals(0, service.countComputationsForUserOnNets(rUid, Set.of("NET1x")));
+    }
+
+    @Test
+    void testComputationsPageForUser_FollowsStartAndDelete() {
+        Computation comp = processService.startNewComputation(rUid, netId);
+        assertEquals(List.of(comp), processService.getComputationsPageForUser(rUid, 0, 10));
+
+        processService.deleteComputation(comp.getId(), rUid);
+
+        assertEquals(0, processService.countComputationsForUser(rUid));
+        assertTrue(processService.getComputationsPageForUser(rUid, 0, 10).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAuthorizationContextIsCachedUntilNetsChange() {
+        AuthorizationContext context = processService.getAuthorizationContext(aUid);
+        assertTrue(context.isAdmin());
+        assertTrue(context.isAdminOf(netId));
+        assertSame(context, processService.getAuthorizationContext(aUid));
+        assertFalse(processService.getAuthorizationContext(rUid).isAdminOf(netId));
+
+        ArgumentCaptor<RepositoryListener<PetriNet>> listener = ArgumentCaptor.forClass(RepositoryListener.class);
+        verify(mockNetRepo).addListener(listener.capture());
+
+        // The net is deleted: the cached context must not be used any more
+        mockNetRepo.getPetriNets().remove(netId);
+        listener.getValue().deleted(netId);
+
+        AuthorizationContext refreshed = processService.getAuthorizationContext(aUid);
+        assertNotSame(context, refreshed);
+        assertFalse(refreshed.isAdminOf(netId));
+    }
+
+    @Test
+    void testAvailableTransitionsForUnknownUserIsEmpty() {
+        Computation comp = processService.startNewComputation(rUid, netId);
+        clearInvocations(mockUserRepo);
+
+        assertTrue(processService.getAvailableTransitions(comp.getId(), "unknown").isEmpty());
+        // Only the authorization context looks the user up
+        verify(mockUserRepo, times(1)).getUserById("unknown");
+    }
+
+    @Test
+    void testContextOverloads() {
+        Computation comp = processService.startNewComputation(rUid, netId);
+        AuthorizationContext owner = processService.getAuthorizationContext(rUid);
+        AuthorizationContext admin = processService.getAuthorizationContext(aUid);
+
+        assertTrue(processService.getAvailableTransitions(owner, comp.getId()).isEmpty());
+
+        User sneakyUser = new User("intruder@example.com", "password", Type.USER);
+        when(mockUserRepo.getUserById(sneakyUser.getId())).thenReturn(sneakyUser);
+        AuthorizationContext intruder = processService.getAuthorizationContext(sneakyUser.getId());
+        assertThrows(UnauthorizedAccessException.class, () -> processService.deleteComputation(intruder, comp.getId()));
+
+        processService.deleteComputation(admin, comp.getId());
+        assertNull(processService.getComputationById(comp.getId()));
+        assertThrows(EntityNotFoundException.class, () -> processService.getAuthorizationContext("unknown"));
+    }
+
+    @Test
+    void testLifecycleEventsArePublished() throws InterruptedException {
+        ComputationEventBus.Subscription subscription = processService.getEventBus()
+                .subscribe(event -> event.getUserId().equals(rUid), 16, ComputationEventBus.OverflowPolicy.DROP_OLDEST);
+
+        Computation comp = processService.startNewComputation(rUid, netId);
+        processService.deleteComputation(comp.getId(), rUid);
+
+        ComputationEvent started = subscription.poll(0, TimeUnit.SECONDS);
+        ComputationEvent deleted = subscription.poll(0, TimeUnit.SECONDS);
+        assertEquals(ComputationEvent.Kind.STARTED, started.getKind());
+        assertEquals(comp.getId(), started.getComputationId());
+        assertEquals(1, started.getMarking().getTokens(testNet.getInitialPlaceId()));
+        assertEquals(ComputationEvent.Kind.DELETED, deleted.getKind());
+        assertEquals(started.getSequence() + 1, deleted.getSequence());
+
+        subscription.close();
+        assertFalse(processService.getEventBus().hasSubscribers());
+    }
+}
@@ -1,6 +1,11 @@
 package application.logic;
 
 import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -46,4 +51,19 @@ class SharedResourcesTest {
         assertSame(resources.getUserRepository(), resources.getUserRepository());
         assertSame(resources.getPetriNetRepository(), resources.getPetriNetRepository());
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that the parallel bootstrap records a timing for every loading phase.
+     */
+    @Test
+    void testStartupTimingsAreRecorded() {
+        SharedResources resources = SharedResources.getInstance();
+        resources.getProcessService(); // Blocks until every store is loaded
+
+        assertTrue(resources.isReady(), "All stores should be loaded once the service is available");
+        Map<String, Duration> timings = resources.getStartupTimings();
+        for (String phase : List.of("users", "nets", "computations", "service")) {
+            assertTrue(timings.containsKey(phase), "Missing timing for phase: " + phase);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package application.logic;
+
+import application.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserImporterTest {
+
+    private UserRepository mockUserRepo;
+    private int originalCost;
+
+    @BeforeEach
+    void setUp() {
+        originalCost = PasswordHasher.getCost();
+        PasswordHasher.setCost(4);
+
+        mockUserRepo = mock(UserRepository.class);
+        when(mockUserRepo.isEmailValid(anyString())).thenAnswer(inv -> ((String) inv.getArgument(0)).contains("@"));
+        when(mockUserRepo.isEmailAvailable(anyString())).thenReturn(true);
+        when(mockUserRepo.isEmailAvailable("taken@example.com")).thenReturn(false);
+        when(mockUserRepo.saveUsers(any())).thenReturn(CompletableFuture.completedFuture(List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        PasswordHasher.setCost(originalCost);
+    }
+
+    @Test
+    void testParseCsv() {
+        List<UserImporter.Entry> entries = UserImporter.parseCsv(
+                "email,password,type,username\n"
+                        + "a@example.com,pw1\n"
+                        + "b@example.com,\"p,w\",admin,Bee\n");
+
+        assertEquals(2, entries.size());
+        assertEquals("a@example.com", entries.get(0).getEmail());
+        assertEquals("b@example.com", entries.get(1).getEmail());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportHashesAndSavesInOneBatch() {
+        List<UserImporter.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            entries.add(new UserImporter.Entry("user" + i + "@example.com", "pw" + i, Type.USER, null));
+        }
+        entries.add(new UserImporter.Entry("admin@example.com", "secret", Type.ADMIN, "Boss"));
+        entries.add(new UserImporter.Entry("user0@EXAMPLE.com", "again", Type.USER, null));
+        entries.add(new UserImporter.Entry("taken@example.com", "pw", Type.USER, null));
+        entries.add(new UserImporter.Entry("not-an-email", "pw", Type.USER, null));
+        entries.add(new UserImporter.Entry("empty@example.com", "", Type.USER, null));
+
+        UserImporter.Result result = new UserImporter(mockUserRepo, 4).importUsers(entries);
+
+        assertEquals(21, result.getImported());
+        assertEquals(4, result.getSkipped().size());
+        assertTrue(result.getUsersPerSecond() > 0);
+
+        ArgumentCaptor<Collection<User>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(mockUserRepo, times(1)).saveUsers(saved.capture());
+        verify(mockUserRepo, never()).saveUser(any());
+
+        List<User> users = new ArrayList<>(saved.getValue());
+        assertEquals(21, users.size());
+        assertTrue(users.get(0).checkPassword("pw0"));
+        User admin = users.get(20);
+        assertTrue(admin.isAdmin());
+        assertEquals("Boss", admin.getUsername());
+    }
+
+    @Test
+    void testEmailTakenDuringImportIsReportedAsSkipped() {
+        // The repository refuses the second user: its email was registered while hashing
+        when(mockUserRepo.saveUsers(any())).thenAnswer(inv -> {
+            List<User> users = new ArrayList<>(inv.<Collection<User>>getArgument(0));
+            return CompletableFuture.completedFuture(List.of(users.get(1)));
+        });
+        List<UserImporter.Entry> entries = List.of(
+                new UserImporter.Entry("first@example.com", "pw", Type.USER, null),
+                new UserImporter.Entry("raced@example.com", "pw", Type.USER, null));
+
+        UserImporter.Result result = new UserImporter(mockUserRepo, 2).importUsers(entries);
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of("raced@example.com: email already registered"), result.getSkipped());
+    }
+}
@@ -0,0 +1,107 @@
+package application.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadGeneratorTest {
+
+    @Test
+    void testEveryTopologyGivesAValidSoundNet() {
+        WorkloadGenerator generator = new WorkloadGenerator(7);
+        for (WorkloadGenerator.Topology topology : WorkloadGenerator.Topology.values()) {
+            for (int elements : new int[]{3, 10, 57, 400}) {
+                PetriNet net = generator.generateNet(topology, elements, 3, "ADMtest");
+                assertDoesNotThrow(net::validate);
+
+                // Chains are odd-sized, and fork/join blocks cannot always absorb the difference
+                int size = net.getPlaces().size() + net.getTransitions().size();
+                int missing = switch (topology) {
+                    case SEQUENCE -> 1 - elements % 2;
+                    case FORK_JOIN -> Math.max(1, elements / 20);
+                    default -> 0;
+                };
+                assertTrue(size <= elements && size >= elements - missing, topology + " " + elements + ": " + size);
+
+                // Structured nets have no deadlocks: every run ends in the final place
+                if (elements <= 57) {
+                    NetAnalyzer.Result result = new NetAnalyzer(200_000).analyze(net);
+                    if (result.isComplete()) {
+                        assertTrue(result.isFinalReachable(), topology + " " + elements);
+                        assertEquals(0, result.getDeadlocks(), topology + " " + elements);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSameSeedGivesSameWorkload() {
+        WorkloadGenerator.Workload first = new WorkloadGenerator(42).generateWorkload(2, 5, 5, 60, 20, 500);
+        WorkloadGenerator.Workload second = new WorkloadGenerator(42).generateWorkload(2, 5, 5, 60, 20, 500);
+
+        assertEquals(ids(first.getNets()), ids(second.getNets()));
+        assertEquals(first.getNets().getFirst().getArcs().keySet(), second.getNets().getFirst().getArcs().keySet());
+        assertEquals(first.getUsers().stream().map(User::getEmail).toList(), second.getUsers().stream().map(User::getEmail).toList());
+        assertEquals(first.getComputations().size(), second.getComputations().size());
+        for (int i = 0; i < first.getComputations().size(); i++) {
+            Computation a = first.getComputations().get(i);
+            Computation b = second.getComputations().get(i);
+            assertEquals(a.getId(), b.getId());
+            assertEquals(a.getStartTime(), b.getStartTime());
+            assertEquals(a.getSteps().stream().map(ComputationStep::getTransitionId).toList(),
+                    b.getSteps().stream().map(ComputationStep::getTransitionId).toList());
+        }
+
+        WorkloadGenerator.Workload other = new WorkloadGenerator(43).generateWorkload(2, 5, 5, 60, 20, 500);
+        assertNotEquals(ids(first.getNets()), ids(other.getNets()));
+    }
+
+    @Test
+    void testComputationsFollowTheServiceRules() {
+        WorkloadGenerator.Workload workload = new WorkloadGenerator(1).generateWorkload(3, 10, 6, 80, 200, 40);
+
+        assertEquals(13, workload.getUsers().size());
+        assertEquals(3, workload.getUsers().stream().filter(User::isAdmin).count());
+        assertTrue(workload.getUsers().getFirst().checkPassword(WorkloadGenerator.GENERATED_PASSWORD));
+
+        Set<String> activePairs = new HashSet<>();
+        for (Computation computation : workload.getComputations()) {
+            PetriNet net = computation.getPetriNetSnapshot();
+            assertNotEquals(net.getAdminId(), computation.getUserId());
+            if (computation.isActive()) {
+                assertTrue(activePairs.add(computation.getUserId() + "/" + net.getId()));
+                assertTrue(computation.getSteps().size() - 1 <= 40);
+            } else {
+                assertTrue(computation.getLastStep().getMarkingData().getTokens(net.getFinalPlaceId()) > 0);
+                assertNotNull(computation.getEndTime());
+            }
+
+            // Replaying the history on the net gives the recorded markings
+            MarkingData marking = computation.getInitialStep().getMarkingData();
+            for (ComputationStep step : computation.getSteps().subList(1, computation.getSteps().size())) {
+                marking = net.fire(step.getTransitionId(), marking);
+                assertEquals(marking, step.getMarkingData());
+                assertFalse(step.getTimeStamp().isBefore(computation.getStartTime()));
+            }
+        }
+        assertTrue(workload.getComputations().stream().anyMatch(c -> !c.isActive()));
+    }
+
+    @Test
+    void testRejectsOutOfRangeSizes() {
+        WorkloadGenerator generator = new WorkloadGenerator(0);
+        assertThrows(IllegalArgumentException.class, () -> generator.generateNet(WorkloadGenerator.Topology.MIXED, 2, 1, "ADMtest"));
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.generateNet(WorkloadGenerator.Topology.MIXED, WorkloadGenerator.MAX_ELEMENTS + 1, 1, "ADMtest"));
+        assertThrows(IllegalArgumentException.class, () -> generator.generateWorkload(0, 5, 1, 10, 1, 10));
+    }
+
+    private static List<String> ids(List<PetriNet> nets) {
+        return nets.stream().map(PetriNet::getId).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package application.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsKeepValuesWithinThreePercent() {
+        for (long value = 0; value < 1L << 42; value = value * 3 / 2 + 1) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long low = LatencyHistogram.lowestValueOf(bucket);
+            long high = LatencyHistogram.highestValueOf(bucket);
+            assertTrue(low <= value && value <= high, value + " in [" + low + ", " + high + "]");
+            if (value < 1L << 40) {
+                assertTrue(high - low <= Math.max(1, value / 32), "bucket of " + value + " too wide");
+            }
+        }
+        // Neighbouring buckets touch
+        for (int bucket = 0; bucket < 1000; bucket++) {
+            assertEquals(LatencyHistogram.highestValueOf(bucket) + 1, LatencyHistogram.lowestValueOf(bucket + 1));
+        }
+    }
+
+    @Test
+    void testPercentilesAndMean() {
+        LatencyHistogram histogram = new LatencyHistogram("test.percentiles", 1);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500_500, snapshot.getMean(), 0.001);
+        assertEquals(500_000, snapshot.getValueAtPercentile(50), 500_000 / 32.0);
+        assertEquals(990_000, snapshot.getValueAtPercentile(99), 990_000 / 32.0);
+        assertEquals(1_000_000, snapshot.getMax(), 1_000_000 / 32.0);
+        assertTrue(snapshot.getMax() >= 1_000_000);
+    }
+
+    @Test
+    void testSnapshotDifferenceCoversTheInterval() {
+        LatencyHistogram histogram = new LatencyHistogram("test.interval", 1);
+        histogram.record(100);
+        histogram.record(200);
+        LatencyHistogram.Snapshot first = histogram.snapshot();
+        histogram.record(5_000_000);
+        LatencyHistogram.Snapshot interval = histogram.snapshot().minus(first);
+
+        assertEquals(1, interval.getCount());
+        assertEquals(5_000_000, interval.getMean(), 0.001);
+        assertEquals(interval.getMax(), interval.getValueAtPercentile(0));
+        assertEquals(0, first.minus(first).getValueAtPercentile(50));
+    }
+
+    @Test
+    void testSampledCallsCountForTheWholeInterval() {
+        LatencyHistogram histogram = new LatencyHistogram("test.sampled", 8);
+        int timed = 0;
+        for (int i = 0; i < 800; i++) {
+            long start = histogram.start();
+            if (start != Long.MIN_VALUE) timed++;
+            histogram.stop(start);
+        }
+
+        assertEquals(100, timed);
+        assertEquals(800, histogram.getCount());
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram("test.bad", 3));
+    }
+
+    @Test
+    void testReporterWritesOnlyWhatChanged() throws IOException {
+        Metrics metrics = Metrics.getInstance();
+        LatencyHistogram histogram = metrics.histogram("test.reported");
+        Counter counter = metrics.counter("test.reported.count");
+        Path csv = Files.createTempFile("metrics", ".csv");
+        Files.delete(csv);
+        try {
+            MetricsReporter reporter = new MetricsReporter(metrics, csv, null);
+            histogram.record(2_000);
+            counter.add(3);
+            reporter.report();
+            reporter.report();
+            counter.increment();
+            reporter.report();
+
+            List<String> lines = Files.readAllLines(csv).stream()
+                    .filter(line -> line.equals(MetricsReporter.CSV_HEADER) || line.contains(",test.reported"))
+                    .toList();
+            assertEquals(4, lines.size(), lines.toString());
+            assertEquals(MetricsReporter.CSV_HEADER, lines.get(0));
+            assertTrue(lines.get(1).contains(",test.reported.count,counter,3,3,"));
+            assertTrue(lines.get(2).contains(",test.reported,latency,1,1,2.0,"));
+            assertTrue(lines.get(3).contains(",test.reported.count,counter,1,4,"));
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+}
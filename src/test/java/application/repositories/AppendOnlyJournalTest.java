@@ -0,0 +1,114 @@
+package application.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppendOnlyJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<String> replay(File file) throws IOException {
+        List<String> records = new ArrayList<>();
+        new AppendOnlyJournal(file).replay(records::add);
+        return records;
+    }
+
+    @Test
+    void testRecordsSurviveReopening() throws IOException {
+        File file = directory.resolve("users.journal").toFile();
+        AppendOnlyJournal journal = new AppendOnlyJournal(file);
+        journal.append("PUT,1,a@b.c");
+        journal.append("PUT,2,\"multi\nline\"");
+        journal.append("àccènted €");
+        journal.close();
+
+        assertEquals(List.of("PUT,1,a@b.c", "PUT,2,\"multi\nline\"", "àccènted €"), replay(file));
+        assertEquals(file.length(), new AppendOnlyJournal(file).length());
+    }
+
+    @Test
+    void testTornLastRecordIsCutOff() throws IOException {
+        File file = directory.resolve("users.journal").toFile();
+        AppendOnlyJournal journal = new AppendOnlyJournal(file);
+        journal.append("first");
+        journal.append("second");
+        long intact = journal.length();
+        journal.append("third, torn by a crash");
+        journal.close();
+
+        // The crash left only part of the last record on disk
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(file.length() - 5);
+        }
+
+        AppendOnlyJournal reopened = new AppendOnlyJournal(file);
+        List<String> records = new ArrayList<>();
+        assertEquals(2, reopened.replay(records::add));
+        assertEquals(List.of("first", "second"), records);
+        assertEquals(intact, file.length(), "The torn record should be truncated away");
+        assertEquals(intact, reopened.length());
+
+        // New records go right after the intact ones
+        reopened.append("fourth");
+        reopened.close();
+        assertEquals(List.of("first", "second", "fourth"), replay(file));
+    }
+
+    @Test
+    void testCorruptedRecordStopsTheReplay() throws IOException {
+        File file = directory.resolve("users.journal").toFile();
+        AppendOnlyJournal journal = new AppendOnlyJournal(file);
+        journal.append("first");
+        long intact = journal.length();
+        journal.append("second");
+        journal.append("third");
+        journal.close();
+
+        // Flip a payload byte of the second record: its checksum no longer matches
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[new String(bytes, StandardCharsets.ISO_8859_1).indexOf("second")] ^= 1;
+        Files.write(file.toPath(), bytes);
+
+        assertEquals(List.of("first"), replay(file));
+        assertEquals(intact, file.length());
+    }
+
+    @Test
+    void testDropPrefixKeepsRecordsAppendedAfterTheSnapshot() throws IOException {
+        File file = directory.resolve("users.journal").toFile();
+        AppendOnlyJournal journal = new AppendOnlyJournal(file);
+        journal.append("in snapshot 1");
+        journal.append("in snapshot 2");
+        long snapshotOffset = journal.length();
+        journal.append("after snapshot");
+
+        journal.dropPrefix(snapshotOffset);
+        assertEquals(List.of("after snapshot"), replay(file));
+        assertEquals(file.length(), journal.length());
+
+        // The journal reopens its file after the rewrite
+        journal.append("later");
+        journal.close();
+        assertEquals(List.of("after snapshot", "later"), replay(file));
+
+        // Dropping everything leaves an empty journal
+        AppendOnlyJournal reopened = new AppendOnlyJournal(file);
+        reopened.dropPrefix(reopened.length());
+        assertEquals(0, file.length());
+        assertTrue(replay(file).isEmpty());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+}
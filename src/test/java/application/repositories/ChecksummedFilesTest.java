@@ -0,0 +1,116 @@
+package application.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChecksummedFilesTest {
+
+    @TempDir
+    Path directory;
+
+    private static String read(File file) throws IOException {
+        try (InputStream in = ChecksummedFiles.read(file)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void write(File file, String content) throws IOException {
+        ChecksummedFiles.write(file, content.getBytes(StandardCharsets.UTF_8), true);
+    }
+
+    private static File previous(File file) {
+        return new File(file.getPath() + ".prev");
+    }
+
+    @Test
+    void testWriteKeepsThePreviousGeneration() throws IOException {
+        File file = directory.resolve("data.json").toFile();
+        write(file, "first");
+        write(file, "second");
+
+        assertEquals("second", read(file));
+        assertTrue(Files.readString(file.toPath()).contains("#CRC32C:"));
+        assertTrue(previous(file).exists());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    void testChecksumMismatchFallsBackToPreviousGeneration() throws IOException {
+        File file = directory.resolve("data.json").toFile();
+        write(file, "{\"version\":1}");
+        write(file, "{\"version\":2}");
+
+        // Flip one byte of the content, leaving the footer intact
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[2] ^= 1;
+        Files.write(file.toPath(), bytes);
+
+        assertEquals("{\"version\":1}", read(file));
+    }
+
+    @Test
+    void testTruncatedFooterFallsBackToPreviousGeneration() throws IOException {
+        File file = directory.resolve("data.json").toFile();
+        write(file, "{\"version\":1}");
+        write(file, "{\"version\":2}");
+        String written = Files.readString(file.toPath());
+        int footer = written.indexOf("#CRC32C:");
+
+        // Torn inside the footer prefix
+        Files.writeString(file.toPath(), written.substring(0, footer + 4));
+        assertEquals("{\"version\":1}", read(file));
+
+        // Torn right before the footer: looks like a legacy file, but a footer must be there
+        Files.writeString(file.toPath(), written.substring(0, footer));
+        assertEquals("{\"version\":1}", read(file));
+    }
+
+    @Test
+    void testLegacyFileWithoutFooterIsAccepted() throws IOException {
+        File file = directory.resolve("users.csv").toFile();
+        Files.writeString(file.toPath(), "email,password\na@b.c,x\n");
+
+        assertEquals("email,password\na@b.c,x\n", read(file));
+
+        // Its first rewrite keeps it as the previous generation, still readable as legacy
+        write(file, "email,password\n");
+        Files.write(file.toPath(), Arrays.copyOf(Files.readAllBytes(file.toPath()), 5));
+        assertEquals("email,password\na@b.c,x\n", read(file));
+    }
+
+    @Test
+    void testPartialFooterWithoutPreviousGenerationIsRejected() throws IOException {
+        File file = directory.resolve("data.json").toFile();
+        Files.writeString(file.toPath(), "{\"version\":1}\n#CRC3");
+
+        assertThrows(FileNotFoundException.class, () -> read(file));
+    }
+
+    @Test
+    void testNoValidGenerationThrows() throws IOException {
+        File file = directory.resolve("data.json").toFile();
+        assertThrows(FileNotFoundException.class, () -> read(file));
+        assertFalse(ChecksummedFiles.exists(file));
+
+        write(file, "first");
+        write(file, "second");
+        Files.writeString(file.toPath(), "garbage\n#CRC32C:00000000:7\n");
+        Files.writeString(previous(file).toPath(), "garbage\n#CRC32C:00000000:7\n");
+        assertThrows(FileNotFoundException.class, () -> read(file));
+
+        ChecksummedFiles.delete(file);
+        assertFalse(file.exists());
+        assertFalse(previous(file).exists());
+    }
+}
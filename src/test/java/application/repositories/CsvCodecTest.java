@@ -0,0 +1,47 @@
+package application.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvCodecTest {
+
+    @Test
+    void testSpecialCharactersRoundTrip() {
+        String[] fields = {"plain", "with,comma", "with \"quotes\"", "line\nbreak", "crlf\r\nbreak", "cr\ronly", "", "\"", "àé€"};
+        String line = CsvCodec.format(fields);
+
+        assertEquals(List.of(List.of(fields)), CsvCodec.parse(line));
+        assertEquals(List.of(List.of(fields)), CsvCodec.parse(line + "\r\n"));
+    }
+
+    @Test
+    void testEmptyAndNullFields() {
+        assertEquals("a,,c,", CsvCodec.format("a", null, "c", ""));
+        assertEquals(List.of(List.of("a", "", "c", "")), CsvCodec.parse("a,,c,"));
+        assertEquals(List.of(List.of("", "")), CsvCodec.parse(CsvCodec.format("", "")));
+        assertEquals(List.of(List.of("", "x")), CsvCodec.parse("\"\",x"));
+    }
+
+    @Test
+    void testSeveralRecordsWithMixedLineEndings() {
+        String text = CsvCodec.format("id", "email") + "\r\n"
+                + CsvCodec.format("1", "a@b.c") + "\n"
+                + "\n"
+                + CsvCodec.format("2", "multi\nline") + "\r\n";
+
+        assertEquals(List.of(
+                List.of("id", "email"),
+                List.of("1", "a@b.c"),
+                List.of("2", "multi\nline")
+        ), CsvCodec.parse(text));
+    }
+
+    @Test
+    void testUnterminatedQuoteEndsAtEndOfText() {
+        assertEquals(List.of(List.of("a", "open, never\nclosed")), CsvCodec.parse("a,\"open, never\nclosed"));
+        assertTrue(CsvCodec.parse("").isEmpty());
+    }
+}
@@ -0,0 +1,181 @@
+package application.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private PersistenceService service;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        service = new PersistenceService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(File file) throws IOException {
+        try (InputStream in = ChecksummedFiles.read(file)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Keeps the writer thread busy until {@link #release} is counted down,
+     * so the following requests pile up in the queue.
+     */
+    private CompletableFuture<Void> blockWriter() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = service.write(directory.resolve("blocker").toFile(), () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return bytes("blocker");
+        }, PersistenceService.Durability.FIRE_AND_FORGET);
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Writer never picked up the first request");
+        return blocker;
+    }
+
+    @Test
+    void testBurstOfWritesIsCoalesced() throws Exception {
+        blockWriter();
+        File file = directory.resolve("nets.json").toFile();
+        AtomicInteger serialized = new AtomicInteger();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String content = "version " + i;
+            writes.add(service.write(file, () -> {
+                serialized.incrementAndGet();
+                return bytes(content);
+            }, PersistenceService.Durability.FIRE_AND_FORGET));
+        }
+        release.countDown();
+
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(1, serialized.get(), "Only the latest snapshot should be serialized");
+        assertEquals("version 99", read(file));
+    }
+
+    @Test
+    void testDeleteSupersedesQueuedWrite() throws Exception {
+        File file = directory.resolve("coordinates.json").toFile();
+        service.write(file, bytes("old"), PersistenceService.Durability.DURABLE).get(5, TimeUnit.SECONDS);
+
+        blockWriter();
+        CompletableFuture<Void> write = service.write(file, bytes("new"), PersistenceService.Durability.FIRE_AND_FORGET);
+        CompletableFuture<Void> delete = service.delete(file);
+        release.countDown();
+
+        CompletableFuture.allOf(write, delete).get(5, TimeUnit.SECONDS);
+        assertFalse(ChecksummedFiles.exists(file));
+    }
+
+    @Test
+    void testAwaitPendingSeesTheLatestContent() throws Exception {
+        File file = directory.resolve("users.csv").toFile();
+        blockWriter();
+        service.write(file, bytes("latest"), PersistenceService.Durability.FIRE_AND_FORGET);
+
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            release.countDown();
+        });
+        service.awaitPending(file);
+        assertEquals("latest", read(file));
+    }
+
+    @Test
+    void testShutdownWritesEverythingQueued() throws Exception {
+        blockWriter();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            writes.add(service.write(directory.resolve("file" + i).toFile(), bytes("content " + i),
+                    PersistenceService.Durability.DURABLE));
+        }
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            release.countDown();
+        });
+
+        service.shutdown();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(writes.get(i).isDone() && !writes.get(i).isCompletedExceptionally());
+            assertEquals("content " + i, read(directory.resolve("file" + i).toFile()));
+        }
+
+        // Without a writer thread, later writes happen on the caller's thread
+        File late = directory.resolve("late").toFile();
+        assertTrue(service.write(late, bytes("late"), PersistenceService.Durability.DURABLE).isDone());
+        assertEquals("late", read(late));
+    }
+
+    @Test
+    void testShutdownWaitsForTheWriterToFinish() throws Exception {
+        blockWriter();
+        File file = directory.resolve("slow.json").toFile();
+        CompletableFuture<Thread> writerThread = new CompletableFuture<>();
+        service.write(file, () -> {
+            writerThread.complete(Thread.currentThread());
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return bytes("slow");
+        }, PersistenceService.Durability.DURABLE);
+        release.countDown();
+
+        service.shutdown();
+        assertFalse(writerThread.get(5, TimeUnit.SECONDS).isAlive(), "shutdown() returned before the writer stopped");
+        assertEquals("slow", read(file));
+    }
+
+    @Test
+    void testFailedSnapshotCompletesExceptionally() {
+        File file = directory.resolve("broken.json").toFile();
+        CompletableFuture<Void> write = service.write(file, () -> {
+            throw new IOException("serialization failed");
+        }, PersistenceService.Durability.FIRE_AND_FORGET);
+
+        assertThrows(Exception.class, () -> write.get(5, TimeUnit.SECONDS));
+        assertFalse(file.exists());
+    }
+}
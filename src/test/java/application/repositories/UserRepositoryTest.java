@@ -0,0 +1,127 @@
+package application.repositories;
+
+import application.logic.Type;
+import application.logic.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRepositoryTest {
+
+    // Any BCrypt hash will do: no password is checked here
+    private static final String HASH = "$2a$10$WdttP5ke7KyKriV9mg389urso8aEEtRC1wrIclnLaCi5lzBfOj0YK";
+
+    @TempDir
+    Path directory;
+
+    private File journal() {
+        return directory.resolve("userData.journal").toFile();
+    }
+
+    /**
+     * Waits until the snapshot scheduled by a repository is written and its journal trimmed.
+     * An empty batch reuses the pending snapshot write, if any.
+     */
+    private static void settle(UserRepository repository) {
+        repository.saveUsers(List.of()).join();
+    }
+
+    @Test
+    void testLeftoverJournalIsReplayedAtStartup() throws IOException {
+        UserRepository first = new UserRepository(directory.toFile());
+        settle(first);
+
+        // Saved through the journal only: the CSV snapshot does not have these users yet
+        User alice = User.withHashedPassword("alice@example.com", HASH, Type.USER);
+        first.saveUser(alice);
+        User renamed = new User(alice.getId(), "alice@example.org", HASH, Type.USER, "alice, \"the first\"");
+        first.saveUser(renamed);
+        first.saveUser(User.withHashedPassword("bob@example.com", HASH, Type.ADMIN));
+        assertTrue(journal().length() > 0);
+        assertFalse(Files.readString(directory.resolve("userData.csv")).contains("bob@example.com"));
+
+        // As after a crash: a new repository opens the same store
+        UserRepository second = new UserRepository(directory.toFile());
+        assertNull(second.getUserByEmail("alice@example.com"));
+        User replayed = second.getUserByEmail("alice@example.org");
+        assertNotNull(replayed);
+        assertEquals(alice.getId(), replayed.getId());
+        assertEquals("alice, \"the first\"", replayed.getUsername());
+        assertTrue(second.getUserByEmail("bob@example.com").isAdmin());
+
+        // The replayed records are folded into a new snapshot, then dropped from the journal
+        settle(second);
+        assertEquals(0, journal().length());
+        UserRepository third = new UserRepository(directory.toFile());
+        assertNotNull(third.getUserByEmail("bob@example.com"));
+        assertEquals(second.getUserCount(), third.getUserCount());
+        settle(third);
+    }
+
+    @Test
+    void testTornJournalRecordIsIgnored() throws IOException {
+        UserRepository first = new UserRepository(directory.toFile());
+        settle(first);
+        first.saveUser(User.withHashedPassword("carol@example.com", HASH, Type.USER));
+        int users = first.getUserCount();
+
+        // A crash in the middle of the next append
+        Files.write(journal().toPath(), "1f2e3d4c 80 PUT,partial".getBytes(), StandardOpenOption.APPEND);
+
+        UserRepository second = new UserRepository(directory.toFile());
+        assertNotNull(second.getUserByEmail("carol@example.com"));
+        assertEquals(users, second.getUserCount());
+        settle(second);
+        assertEquals(0, journal().length());
+    }
+
+    @Test
+    void testBatchWithTakenEmailsRejectsThem() {
+        UserRepository repository = new UserRepository(directory.toFile());
+        settle(repository);
+        User dave = User.withHashedPassword("dave@example.com", HASH, Type.USER);
+        repository.saveUser(dave);
+
+        User impostor = User.withHashedPassword("DAVE@example.com", HASH, Type.USER);
+        User erin = User.withHashedPassword("erin@example.com", HASH, Type.USER);
+        User erinAgain = User.withHashedPassword("erin@example.com", HASH, Type.ADMIN);
+        User daveRenamed = new User(dave.getId(), "dave@example.com", HASH, Type.USER, "Dave");
+
+        List<User> rejected = repository.saveUsers(List.of(impostor, erin, erinAgain, daveRenamed)).join();
+
+        assertEquals(List.of(impostor, erinAgain), rejected);
+        assertEquals(dave.getId(), repository.getUserByEmail("dave@example.com").getId());
+        assertEquals("Dave", repository.getUserByEmail("dave@example.com").getUsername());
+        assertFalse(repository.getUserByEmail("erin@example.com").isAdmin());
+        assertNull(repository.getUserById(impostor.getId()));
+    }
+
+    @Test
+    void testTypeCountsFollowTypeChanges() {
+        UserRepository repository = new UserRepository(directory.toFile());
+        settle(repository);
+        int admins = repository.countUsersByType(Type.ADMIN);
+        int users = repository.countUsersByType(Type.USER);
+        assertEquals(repository.getUserCount(), admins + users);
+
+        User frank = User.withHashedPassword("frank@example.com", HASH, Type.USER);
+        repository.saveUser(frank);
+        assertEquals(users + 1, repository.countUsersByType(Type.USER));
+
+        // Promoted: counted once, as an administrator only
+        repository.saveUser(new User(frank.getId(), frank.getEmail(), HASH, Type.ADMIN, "Frank"));
+        assertEquals(admins + 1, repository.countUsersByType(Type.ADMIN));
+        assertEquals(users, repository.countUsersByType(Type.USER));
+        assertEquals(repository.getUserCount(),
+                repository.countUsersByType(Type.ADMIN) + repository.countUsersByType(Type.USER));
+        settle(repository);
+    }
+}
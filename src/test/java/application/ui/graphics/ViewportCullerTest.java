@@ -0,0 +1,71 @@
+package application.ui.graphics;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs without the JavaFX toolkit: the viewport is mocked, so scrolling is simulated
+ * by changing the visible region and notifying the culler.
+ */
+class ViewportCullerTest {
+
+    private final Pane drawingPane = new Pane();
+    private NetViewport viewport;
+    private ViewportCuller culler;
+    private Runnable viewportChanged;
+
+    @BeforeEach
+    void setUp() {
+        // The size set in the FXML files
+        drawingPane.setPrefSize(2000, 2000);
+        viewport = mock(NetViewport.class);
+        when(viewport.getDrawingPane()).thenReturn(drawingPane);
+        when(viewport.isDetailVisible()).thenReturn(true);
+        scrollTo(new BoundingBox(0, 0, 800, 600));
+
+        culler = new ViewportCuller(viewport);
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(viewport).addListener(listener.capture());
+        viewportChanged = listener.getValue();
+    }
+
+    private void scrollTo(Bounds visible) {
+        when(viewport.getVisibleRegion()).thenReturn(visible);
+    }
+
+    @Test
+    void testFarNodeEnlargesPaneAndIsAttachedAfterScrolling() {
+        Rectangle far = new Rectangle(5000, 5000, 60, 40);
+        culler.addNode(far);
+
+        assertNull(far.getParent(), "Off screen nodes are not attached");
+        assertTrue(drawingPane.getPrefWidth() >= 5060, "The pane must be wide enough to scroll to the node");
+        assertTrue(drawingPane.getPrefHeight() >= 5040, "The pane must be tall enough to scroll to the node");
+
+        // Scrolled to the bottom right corner of the enlarged pane
+        scrollTo(new BoundingBox(drawingPane.getPrefWidth() - 800, drawingPane.getPrefHeight() - 600, 800, 600));
+        viewportChanged.run();
+
+        assertNotNull(far.getParent());
+    }
+
+    @Test
+    void testMovedNodeEnlargesPane() {
+        Rectangle node = new Rectangle(100, 100, 60, 40);
+        culler.addNode(node);
+        assertEquals(2000, drawingPane.getPrefWidth());
+        assertNotNull(node.getParent());
+
+        node.setLayoutX(3000);
+        assertTrue(drawingPane.getPrefWidth() >= 3160);
+        assertEquals(2000, drawingPane.getPrefHeight(), "The pane is only enlarged where needed");
+    }
+}